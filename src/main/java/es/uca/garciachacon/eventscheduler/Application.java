@@ -100,7 +100,7 @@ public class Application {
                             System.out.println();
                         }
 
-                        InverseSchedule groupedSchedule = new InverseSchedule(tournament);
+                        InverseSchedule groupedSchedule = tournament.getInverseSchedule();
                         System.out.println("Combined schedule grouped by courts");
                         System.out.println(groupedSchedule);
 
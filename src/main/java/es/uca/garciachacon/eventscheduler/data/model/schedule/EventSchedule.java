@@ -1,7 +1,6 @@
 package es.uca.garciachacon.eventscheduler.data.model.schedule;
 
 import es.uca.garciachacon.eventscheduler.data.model.schedule.value.ScheduleValue;
-import es.uca.garciachacon.eventscheduler.data.model.schedule.value.ScheduleValueOccupied;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 
@@ -21,8 +20,8 @@ public class EventSchedule extends Schedule {
      * matriz tridimensional de enteros que contiene la información del horario calculado por la clase
      * {@link TournamentSolver}.
      * <p>
-     * Este método procesa la matriz de enteros con la solución y construye el horario representado mediante una
-     * matriz bidimensional de {@link ScheduleValue}.
+     * Este método procesa la matriz de enteros con la solución y construye el horario codificado por tipos de
+     * hueco, cuya vista como matriz bidimensional de {@link ScheduleValue} se obtiene bajo demanda.
      *
      * @param event evento al que pertenece el horario que se va a construir
      * @param x     array de IntVar de tres dimensiones con los valores de la solución calculada por
@@ -42,36 +41,41 @@ public class EventSchedule extends Schedule {
 
         tournament = event.getTournament();
 
-        schedule = new ScheduleValue[players.size()][timeslots.size()];
+        int nPlayers = players.size();
+        int nLocalizations = localizations.size();
+        int nTimeslots = timeslots.size();
+
+        kinds = new byte[nPlayers][nTimeslots];
+        indices = new int[nPlayers][nTimeslots];
+
+        // Los breaks y las localizaciones no disponibles son comunes a todos los jugadores
+        boolean[] breaks = new boolean[nTimeslots];
+        boolean[] limited = new boolean[nTimeslots];
+        for (int t = 0; t < nTimeslots; t++) {
+            Timeslot timeslot = timeslots.get(t);
+            breaks[t] = event.isBreak(timeslot);
+            for (int c = 0; c < nLocalizations && !limited[t]; c++)
+                limited[t] = event.isLocalizationUnavailable(localizations.get(c), timeslot);
+        }
 
-        for (int p = 0; p < players.size(); p++) {
-            for (int t = 0; t < timeslots.size(); t++) {
-                Timeslot timeslot = event.getTimeslots().get(t);
+        for (int p = 0; p < nPlayers; p++) {
+            Player player = players.get(p);
 
-                if (event.isBreak(timeslot))
-                    schedule[p][t] = new ScheduleValue(ScheduleValue.BREAK);
-                else if (event.isPlayerUnavailable(event.getPlayers().get(p), timeslot)) {
-                    schedule[p][t] = new ScheduleValue(ScheduleValue.UNAVAILABLE);
-                } else {
-                    schedule[p][t] = new ScheduleValue(ScheduleValue.FREE);
+            for (int t = 0; t < nTimeslots; t++) {
+                if (breaks[t])
+                    kinds[p][t] = BREAK;
+                else if (event.isPlayerUnavailable(player, timeslots.get(t)))
+                    kinds[p][t] = UNAVAILABLE;
+                else {
+                    kinds[p][t] = limited[t] ? LIMITED : FREE;
 
-                    boolean matchInCourt = false;
-                    for (int c = 0; c < localizations.size(); c++) {
+                    for (int c = 0; c < nLocalizations; c++) {
                         if (x[p][c][t] == 1) {
-                            schedule[p][t] = new ScheduleValueOccupied(c);
-                            matchInCourt = true;
+                            kinds[p][t] = OCCUPIED;
+                            indices[p][t] = c;
                             break;
                         }
                     }
-
-                    if (!matchInCourt) {
-                        for (int c = 0; c < localizations.size(); c++) {
-                            if (event.isLocalizationUnavailable(event.getLocalizations().get(c), timeslot)) {
-                                schedule[p][t] = new ScheduleValue(ScheduleValue.LIMITED);
-                                break;
-                            }
-                        }
-                    }
                 }
             }
         }
@@ -99,114 +103,124 @@ public class EventSchedule extends Schedule {
 
     /**
      * Calcula los partidos que componen el horario basándose en los valores
-     * actuales del horario
+     * actuales del horario.
+     * <p>
+     * Primero se localizan los comienzos de partido de cada jugador y se agrupan por <i>timeslot</i> mediante una
+     * ordenación por cuentas. Después, en cada <i>timeslot</i> se reparten los jugadores que comienzan partido entre
+     * las localizaciones de juego donde lo hacen: los jugadores que coinciden en la misma localización forman un
+     * partido, en grupos del número de jugadores por partido. El coste es lineal en el tamaño del horario.
      */
     private void calculateMatches() {
+        int nPlayers = players.size();
+        int nLocalizations = localizations.size();
+        int nTimeslots = timeslots.size();
         int matchDuration = event.getTimeslotsPerMatch();
+        int nPlayersPerMatch = event.getPlayersPerMatch();
 
-        // Horario donde sólo se marcan los comienzos de partidos
-        ScheduleValue[][] scheduleBeginnings = new ScheduleValue[players.size()][timeslots.size()];
-        for (int p = 0; p < players.size(); p++) {
-            for (int t = 0; t < timeslots.size(); t++) {
-                // si se juega un partido se marcan los siguientes de su rango como libres
-                if (schedule[p][t].isOccupied()) {
-                    scheduleBeginnings[p][t] = (ScheduleValue) schedule[p][t];
-                    for (int i = 1; i < matchDuration; i++)
-                        scheduleBeginnings[p][t + i] = new ScheduleValue(ScheduleValue.FREE);
+        // Número de comienzos de partido en cada timeslot, acumulado: los comienzos del timeslot t ocupan las
+        // posiciones [offsets[t], offsets[t + 1]) de startingPlayers
+        int[] offsets = new int[nTimeslots + 1];
+        for (int p = 0; p < nPlayers; p++)
+            for (int t = 0; t < nTimeslots; t++)
+                if (kinds[p][t] == OCCUPIED) {
+                    offsets[t + 1]++;
+                    // se salta el resto del rango del partido
+                    t += matchDuration - 1;
+                }
+        for (int t = 0; t < nTimeslots; t++)
+            offsets[t + 1] += offsets[t];
+
+        // Jugadores que comienzan partido en cada timeslot, en el orden de la lista de jugadores
+        int[] startingPlayers = new int[offsets[nTimeslots]];
+        int[] next = Arrays.copyOf(offsets, nTimeslots);
+        for (int p = 0; p < nPlayers; p++)
+            for (int t = 0; t < nTimeslots; t++)
+                if (kinds[p][t] == OCCUPIED) {
+                    startingPlayers[next[t]++] = p;
                     t += matchDuration - 1;
-                } else {
-                    scheduleBeginnings[p][t] = (ScheduleValue) schedule[p][t];
                 }
-            }
-        }
-        matches = new ArrayList<>((players.size() / event.getPlayersPerMatch()) * event.getMatchesPerPlayer());
-
-
-        List<Player> players = event.getPlayers();
-        List<Localization> localizations = event.getLocalizations();
-        List<Timeslot> timeslots = event.getTimeslots();
-        int nPlayersPerMatch = event.getPlayersPerMatch();
-
-        // Recorre cada columna (timeslot) del horario para averiguar qué partidos se juegan en ese momento
-        for (int t = 0; t < timeslots.size(); t++) {
-
-            // Lista de control con los jugadores para los que ya se ha encontrado partido en este timeslot
-            List<Integer> playersAlreadyMatched = new ArrayList<>();
-
-            // Recorre cada fila (jugadores) (menos las del final) para ver si cada jugador juega o no juega
-            for (int thisPlayer = 0; thisPlayer < this.players.size() - nPlayersPerMatch + 1; thisPlayer++) {
-
-                // El jugador actual juega en este momento y no ha sido añadido ya a un partido
-                if (scheduleBeginnings[thisPlayer][t].isOccupied() && !playersAlreadyMatched.contains(thisPlayer)) {
-
-                    // Lista que contendrá la composición de jugadores del partido encontrado
-                    List<Player> playersInMatch = new ArrayList<>(Arrays.asList(players.get(thisPlayer)));
 
-                    // Busca jugadores que pertenezcan al partido encontrado
-                    for (int otherPlayer = thisPlayer + 1; otherPlayer < this.players.size(); otherPlayer++) {
+        matches = new ArrayList<>(startingPlayers.length / nPlayersPerMatch);
 
-                        // Si el "otro" jugador juega un partido, no se ha añadido ya y ambos valores son iguales (se
-                        // juegan en la misma localización), el jugador pertenece al mismo partido y se añade
-                        if (scheduleBeginnings[otherPlayer][t].isOccupied() &&
-                                !playersAlreadyMatched.contains(otherPlayer) &&
-                                scheduleBeginnings[otherPlayer][t].equals(scheduleBeginnings[thisPlayer][t])) {
+        // Partido en formación en cada localización para el timeslot actual
+        List<List<Player>> openMatches = new ArrayList<>(Collections.nCopies(nLocalizations, null));
 
-                            playersAlreadyMatched.add(otherPlayer);
+        for (int t = 0; t < nTimeslots; t++) {
+            // Partidos del timeslot en el orden en el que aparece su primer jugador
+            List<List<Player>> timeslotMatches = new ArrayList<>();
+            List<Integer> timeslotLocalizations = new ArrayList<>();
 
-                            playersInMatch.add(players.get(otherPlayer));
+            for (int i = offsets[t]; i < offsets[t + 1]; i++) {
+                int p = startingPlayers[i];
+                int c = indices[p][t];
 
-                            if (playersInMatch.size() == nPlayersPerMatch)
-                                break;
-                        }
-                    }
-
-                    Match match = new Match(
-                            playersInMatch,
-                            localizations.get(((ScheduleValueOccupied) scheduleBeginnings[thisPlayer][t])
-                                    .getLocalization()),
-                            timeslots.get(t),
-                            timeslots.get(t + matchDuration - 1),
-                            matchDuration
-                    );
+                List<Player> openMatch = openMatches.get(c);
+                if (openMatch == null || openMatch.size() == nPlayersPerMatch) {
+                    openMatch = new ArrayList<>(nPlayersPerMatch);
+                    openMatches.set(c, openMatch);
+                    timeslotMatches.add(openMatch);
+                    timeslotLocalizations.add(c);
+                }
+                openMatch.add(players.get(p));
+            }
 
-                    matches.add(match);
+            for (int i = 0; i < timeslotMatches.size(); i++) {
+                int c = timeslotLocalizations.get(i);
+                openMatches.set(c, null);
 
-                    playersInMatch = new ArrayList<>(playersInMatch);
+                Match match = new Match(
+                        timeslotMatches.get(i),
+                        localizations.get(c),
+                        timeslots.get(t),
+                        timeslots.get(t + matchDuration - 1),
+                        matchDuration
+                );
 
-                    if (event.hasTeams()) {
-                        List<Team> teamsInMatch = new ArrayList<>();
+                if (event.hasTeams())
+                    setTeams(match);
 
-                        // Primero se añaden los equipos conocidos
-                        for (int i = 0; i < playersInMatch.size(); i++) {
-                            Team team = event.filterTeamByPlayer(playersInMatch.get(i));
+                matches.add(match);
+            }
+        }
+    }
 
-                            if (team != null && !teamsInMatch.contains(team)) {
-                                team.getPlayers().forEach(playersInMatch::remove);
-                                teamsInMatch.add(team);
-                            }
-                        }
+    /**
+     * Asigna los equipos que se enfrentan en un partido. Los equipos conocidos del evento a los que pertenecen los
+     * jugadores del partido se respetan, y el resto de jugadores se agrupan en equipos aleatorios.
+     *
+     * @param match partido de un evento con equipos
+     */
+    private void setTeams(Match match) {
+        List<Player> playersInMatch = new ArrayList<>(match.getPlayers());
+        List<Team> teamsInMatch = new ArrayList<>();
 
-                        int nPlayersPerTeam = event.getPlayersPerTeam();
+        // Primero se añaden los equipos conocidos
+        for (int i = 0; i < playersInMatch.size(); i++) {
+            Team team = event.filterTeamByPlayer(playersInMatch.get(i));
 
-                        // Se crean aleatoriamente los equipos desconocidos
-                        Collections.shuffle(playersInMatch);
-                        while (!playersInMatch.isEmpty()) {
-                            Set<Player> randomTeamPlayers = new HashSet<>(nPlayersPerTeam);
+            if (team != null && !teamsInMatch.contains(team)) {
+                team.getPlayers().forEach(playersInMatch::remove);
+                teamsInMatch.add(team);
+            }
+        }
 
-                            for (int i = 0; i < nPlayersPerTeam; i++) {
-                                Player randomPlayer = playersInMatch.get(0);
-                                randomTeamPlayers.add(randomPlayer);
-                                playersInMatch.remove(randomPlayer);
-                            }
+        int nPlayersPerTeam = event.getPlayersPerTeam();
 
-                            teamsInMatch.add(new Team(randomTeamPlayers));
-                        }
+        // Se crean aleatoriamente los equipos desconocidos
+        Collections.shuffle(playersInMatch);
+        while (!playersInMatch.isEmpty()) {
+            Set<Player> randomTeamPlayers = new HashSet<>(nPlayersPerTeam);
 
-                        match.setTeams(teamsInMatch);
-                    }
-                }
+            for (int i = 0; i < nPlayersPerTeam; i++) {
+                Player randomPlayer = playersInMatch.get(0);
+                randomTeamPlayers.add(randomPlayer);
+                playersInMatch.remove(randomPlayer);
             }
+
+            teamsInMatch.add(new Team(randomTeamPlayers));
         }
+
+        match.setTeams(teamsInMatch);
     }
 
     /**
@@ -214,7 +228,7 @@ public class EventSchedule extends Schedule {
      *
      */
     protected void calculateAvailableTimeslots() {
-        availableTimeslots = new InverseSchedule(event).getAvailableTimeslots();
+        availableTimeslots = tournament.getInverseSchedule(event).getAvailableTimeslots();
     }
 
     /**
@@ -3,6 +3,7 @@ package es.uca.garciachacon.eventscheduler.data.model.schedule;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.value.AbstractScheduleValue;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.value.InverseScheduleValue;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.value.InverseScheduleValueOccupied;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.value.Value.Kind;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
 
 import java.util.*;
@@ -13,6 +14,19 @@ import java.util.stream.Collectors;
  * {@link InverseScheduleValue}.
  */
 public class InverseSchedule extends Schedule {
+    /**
+     * Valores compartidos por todos los horarios agrupados para los tipos de hueco que no dependen del hueco,
+     * indexados por la codificación del tipo
+     */
+    private static final InverseScheduleValue[] INVERSE_SCHEDULE_VALUES = {
+            new InverseScheduleValue(InverseScheduleValue.FREE),
+            null,
+            new InverseScheduleValue(InverseScheduleValue.CONTINUATION),
+            new InverseScheduleValue(InverseScheduleValue.UNAVAILABLE),
+            null,
+            new InverseScheduleValue(InverseScheduleValue.LIMITED),
+            null
+    };
 
     /**
      * Construye el horario agrupado de un evento, teniendo en cuenta los partidos del horario, los breaks y la
@@ -39,42 +53,24 @@ public class InverseSchedule extends Schedule {
 
         tournament = event.getTournament();
 
-        schedule = new InverseScheduleValue[localizations.size()][timeslots.size()];
+        kinds = new byte[localizations.size()][timeslots.size()];
+        indices = new int[localizations.size()][timeslots.size()];
 
         List<Timeslot> breaks = event.getBreaks();
         Map<Localization, Set<Timeslot>> unavailableLocalizations = event.getUnavailableLocalizations();
 
-        for (int i = 0; i < localizations.size(); i++)
-            for (int j = 0; j < timeslots.size(); j++)
-                schedule[i][j] = new InverseScheduleValue(InverseScheduleValue.FREE);
-
         for (Timeslot breakTimeslot : breaks)
             for (int i = 0; i < localizations.size(); i++)
-                schedule[i][timeslots.indexOf(breakTimeslot)] =
-                        new InverseScheduleValue(InverseScheduleValue.UNAVAILABLE);
+                kinds[i][timeslots.indexOf(breakTimeslot)] = UNAVAILABLE;
 
         for (Localization localization : unavailableLocalizations.keySet()) {
             Set<Timeslot> localizationTimeslots = unavailableLocalizations.get(localization);
             int c = localizations.indexOf(localization);
             for (Timeslot timeslot : localizationTimeslots)
-                schedule[c][timeslots.indexOf(timeslot)] = new InverseScheduleValue(InverseScheduleValue.UNAVAILABLE);
+                kinds[c][timeslots.indexOf(timeslot)] = UNAVAILABLE;
         }
 
-        int matchDuration = event.getTimeslotsPerMatch();
-        for (Match match : matches) {
-            int c = localizations.indexOf(match.getLocalization());
-            int t = timeslots.indexOf(match.getStartTimeslot());
-
-            List<Player> matchPlayers = match.getPlayers();
-            List<Integer> playersIndices = new ArrayList<>(players.size());
-            playersIndices.addAll(matchPlayers.stream().map(players::indexOf).collect(Collectors.toList()));
-
-            schedule[c][t] = new InverseScheduleValueOccupied(playersIndices);
-
-            if (matchDuration > 1)
-                for (int i = 1; i < matchDuration; i++)
-                    schedule[c][i + t] = new InverseScheduleValue(InverseScheduleValue.CONTINUATION);
-        }
+        markMatches();
 
         calculateAvailableTimeslots();
         calculateOccupation();
@@ -103,147 +99,114 @@ public class InverseSchedule extends Schedule {
 
         this.tournament = tournament;
 
-        this.schedule = new InverseScheduleValue[localizations.size()][timeslots.size()];
-
         int nTimeslots = timeslots.size();
         int nLocalization = localizations.size();
 
-        // Como punto de partida se marca el horario entero como libre
-        for (int i = 0; i < nLocalization; i++)
-            for (int j = 0; j < nTimeslots; j++)
-                this.schedule[i][j] = new InverseScheduleValue(InverseScheduleValue.FREE);
+        // Como punto de partida el horario entero está libre
+        kinds = new byte[nLocalization][nTimeslots];
+        indices = new int[nLocalization][nTimeslots];
 
-        List<Event> events = tournament.getEvents();
+        // Cada hueco (localización, timeslot) del torneo se representa por el bit c * nTimeslots + t
+        int nCells = nLocalization * nTimeslots;
 
-        Map<Event, List<Timeslot>> breaks = new HashMap<>();
-        Map<Event, Map<Localization, Set<Timeslot>>> unavailableLocalizations = new HashMap<>();
+        // Huecos bloqueados, por un break o por indisponibilidad de la pista, en alguna categoría
+        BitSet limited = new BitSet(nCells);
 
-        for (Event event : events) {
-            if (event.hasBreaks()) {
-                List<Timeslot> eventBreaks = event.getBreaks();
+        // Huecos que pertenecen al dominio de alguna categoría y no están bloqueados en ella
+        BitSet available = new BitSet(nCells);
 
-                // Al principio se marcan las pistas a las horas de break como limitadas
-                for (Timeslot timeslot : eventBreaks) {
-                    int t = timeslots.indexOf(timeslot);
-                    for (int c = 0; c < nLocalization; c++)
-                        this.schedule[c][t] = new InverseScheduleValue(InverseScheduleValue.LIMITED);
-                }
-                breaks.put(event, eventBreaks);
-            }
+        for (Event event : tournament.getEvents()) {
+            int[] eventLocalizations =
+                    event.getLocalizations().stream().mapToInt(tournament::getLocalizationIndex).toArray();
+            int[] eventTimeslots = event.getTimeslots().stream().mapToInt(tournament::getTimeslotIndex).toArray();
 
-            if (event.hasUnavailableLocalizations()) {
-                Map<Localization, Set<Timeslot>> eventUnavailableLocalizations = event.getUnavailableLocalizations();
-
-                // Al principio se marcan las pistas a las horas no disponibles como limitadas
-                for (Localization localization : eventUnavailableLocalizations.keySet()) {
-                    int c = localizations.indexOf(localization);
-                    Set<Timeslot> unavailableLocalizationTimeslots = eventUnavailableLocalizations.get(localization);
-
-                    // Si solamente hay un evento se marca directamente como no disponible porque el bucle que se
-                    // encuentra más adelante solamente funciona para un torneo con más de una categoría
-                    for (Timeslot timeslot : unavailableLocalizationTimeslots)
-                        if (events.size() > 1)
-                            this.schedule[c][timeslots.indexOf(timeslot)] =
-                                    new InverseScheduleValue(InverseScheduleValue.LIMITED);
-                        else
-                            this.schedule[c][timeslots.indexOf(timeslot)] =
-                                    new InverseScheduleValue(InverseScheduleValue.UNAVAILABLE);
-                }
-                unavailableLocalizations.put(event, eventUnavailableLocalizations);
-            }
-        }
+            BitSet domain = new BitSet(nCells);
+            for (int c : eventLocalizations)
+                for (int t : eventTimeslots)
+                    domain.set(c * nTimeslots + t);
 
-        // Sobreescribe con no disponibles las marcadas anteriormente como limitadas, si lo son para todas las
-        // categorías
-        for (int t = 0; t < nTimeslots; t++) {
-            Timeslot timeslot = timeslots.get(t);
-
-            for (int c = 0; c < nLocalization; c++) {
-                boolean all = true;
-                Localization localization = localizations.get(c);
-
-                // Si todas las categorías tienen un break a la hora_t, se marca como no disponible
-                for (Event event : events) {
-                    if (!event.getLocalizations().contains(localization) || !event.getTimeslots().contains(timeslot) ||
-                            !breaks.containsKey(event) || !breaks.get(event).contains(timeslot)) {
-                        all = false;
-                        break;
-                    }
-                }
-                if (all)
-                    this.schedule[c][t] = new InverseScheduleValue(InverseScheduleValue.UNAVAILABLE);
+            BitSet blocked = new BitSet(nCells);
+            for (Timeslot breakTimeslot : event.getBreaks()) {
+                int t = tournament.getTimeslotIndex(breakTimeslot);
+                for (int c : eventLocalizations)
+                    blocked.set(c * nTimeslots + t);
             }
-        }
 
-        // Si todos los eventos tienen la pista no disponible a la misma hora se marca como no disponible,
-        // sobreescribiendo las marcadas como limitadas anteriormente (si se da el caso)
-        for (int i = 0; i < events.size() - 1; i++) {
-            Event thisEvent = events.get(i);
-
-            if (unavailableLocalizations.containsKey(thisEvent)) {
-                Map<Localization, Set<Timeslot>> eventUnavailableLocalizations =
-                        unavailableLocalizations.get(thisEvent);
-
-                for (Localization localization : eventUnavailableLocalizations.keySet()) {
-                    int c = localizations.indexOf(localization);
-
-                    for (Timeslot unavailableLocalizationTimeslot : eventUnavailableLocalizations.get(localization)) {
-                        boolean all = true;
-                        int t = timeslots.indexOf(unavailableLocalizationTimeslot);
-
-                        for (int j = i + 1; j < events.size(); j++) {
-                            Event otherEvent = events.get(j);
-
-                            if (unavailableLocalizations.containsKey(otherEvent) &&
-                                    otherEvent.getLocalizations().contains(localization) &&
-                                    otherEvent.getTimeslots().contains(unavailableLocalizationTimeslot) &&
-                                    !(unavailableLocalizations.get(otherEvent).containsKey(localization) &&
-                                            unavailableLocalizations.get(otherEvent)
-                                                    .get(localization)
-                                                    .contains(unavailableLocalizationTimeslot)
-                                    )) {
-
-                                all = false;
-                                break;
-                            }
-                        }
-
-                        if (all)
-                            this.schedule[c][t] = new InverseScheduleValue(InverseScheduleValue.UNAVAILABLE);
-                    }
-                }
+            for (Map.Entry<Localization, Set<Timeslot>> entry : event.getUnavailableLocalizations().entrySet()) {
+                int c = tournament.getLocalizationIndex(entry.getKey());
+                for (Timeslot timeslot : entry.getValue())
+                    blocked.set(c * nTimeslots + tournament.getTimeslotIndex(timeslot));
             }
+
+            limited.or(blocked);
+            domain.andNot(blocked);
+            available.or(domain);
         }
 
-        // Se añaden los partidos al horario
-        for (Match match : matches) {
-            int c = localizations.indexOf(match.getLocalization());
-            int t = timeslots.indexOf(match.getStartTimeslot());
+        // Un hueco bloqueado en todas las categorías a cuyo dominio pertenece no está disponible; si solamente lo
+        // está en alguna de ellas, está limitado
+        BitSet unavailable = (BitSet) limited.clone();
+        unavailable.andNot(available);
+        limited.and(available);
 
-            List<Player> matchPlayers = match.getPlayers();
-            List<Integer> playersIndices = new ArrayList<>(players.size());
-            playersIndices.addAll(matchPlayers.stream().map(players::indexOf).collect(Collectors.toList()));
+        for (int i = limited.nextSetBit(0); i >= 0; i = limited.nextSetBit(i + 1))
+            kinds[i / nTimeslots][i % nTimeslots] = LIMITED;
 
-            this.schedule[c][t] = new InverseScheduleValueOccupied(playersIndices);
+        for (int i = unavailable.nextSetBit(0); i >= 0; i = unavailable.nextSetBit(i + 1))
+            kinds[i / nTimeslots][i % nTimeslots] = UNAVAILABLE;
 
-            int matchDuration = match.getDuration();
-            if (matchDuration > 1)
-                for (int i = 1; i < matchDuration; i++)
-                    this.schedule[c][i + t] = new InverseScheduleValue(InverseScheduleValue.CONTINUATION);
-        }
+        markMatches();
 
         calculateAvailableTimeslots();
         calculateOccupation();
     }
 
+    /**
+     * Marca en el horario el comienzo y la continuación de cada partido. El índice asociado al hueco donde comienza
+     * un partido es la posición del partido en la lista de partidos del horario.
+     */
+    private void markMatches() {
+        for (int i = 0; i < matches.size(); i++) {
+            Match match = matches.get(i);
+            int c = localizations.indexOf(match.getLocalization());
+            int t = timeslots.indexOf(match.getStartTimeslot());
+
+            kinds[c][t] = OCCUPIED;
+            indices[c][t] = i;
+
+            for (int j = 1; j < match.getDuration(); j++)
+                kinds[c][t + j] = CONTINUATION;
+        }
+    }
+
+    /**
+     * Devuelve el valor de un hueco del horario. Los valores que no dependen del hueco son instancias compartidas;
+     * los huecos donde comienza un partido construyen su valor con los índices de los jugadores del partido.
+     *
+     * @param row    localización de juego del hueco
+     * @param column <i>timeslot</i> del hueco
+     * @return valor del hueco
+     */
+    protected AbstractScheduleValue getScheduleValue(int row, int column) {
+        if (kinds[row][column] != OCCUPIED)
+            return INVERSE_SCHEDULE_VALUES[kinds[row][column]];
+
+        List<Player> matchPlayers = matches.get(indices[row][column]).getPlayers();
+        List<Integer> playersIndices = new ArrayList<>(matchPlayers.size());
+        playersIndices.addAll(matchPlayers.stream().map(players::indexOf).collect(Collectors.toList()));
+
+        return new InverseScheduleValueOccupied(playersIndices);
+    }
+
     /**
      * Calcula el número de timeslots disponibles.
      */
     protected void calculateAvailableTimeslots() {
-        availableTimeslots = Math.toIntExact(Arrays.stream(schedule)
-                .flatMap(Arrays::stream)
-                .filter(AbstractScheduleValue::isPlayable)
-                .count());
+        availableTimeslots = 0;
+        for (byte[] row : kinds)
+            for (byte kind : row)
+                if (Kind.belongsTo(kind, Kind.PLAYABLE))
+                    availableTimeslots++;
     }
 
     public String toString() {
@@ -261,8 +224,8 @@ public class InverseSchedule extends Schedule {
         }
 
         int padding = maxPlayersPerMatch * 2 + 4;
-        int nTimeslots = schedule[0].length;
-        int nLocalizations = schedule.length;
+        int nTimeslots = kinds[0].length;
+        int nLocalizations = kinds.length;
 
         for (int t = 0; t < nTimeslots; t++)
             sb.append(String.format("%" + padding + "s", "t" + t));
@@ -275,7 +238,7 @@ public class InverseSchedule extends Schedule {
 
             sb.append(String.format("%" + w + "s", localizationStr));
             for (int t = 0; t < nTimeslots; t++) {
-                sb.append(String.format("%" + padding + "s", schedule[c][t]));
+                sb.append(String.format("%" + padding + "s", getScheduleValue(c, t)));
             }
             sb.append("\n");
         }
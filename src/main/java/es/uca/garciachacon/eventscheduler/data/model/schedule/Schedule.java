@@ -5,9 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.value.AbstractScheduleValue;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.value.ScheduleValue;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.value.ScheduleValueOccupied;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.value.Value.Kind;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Localization;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Player;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Timeslot;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.TimeslotOrder;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
 import es.uca.garciachacon.eventscheduler.rest.serializer.ScheduleSerializer;
 
@@ -21,16 +24,89 @@ import java.util.stream.Collectors;
  * La primera dimensión de la matriz (filas) corresponde a los jugadores y la segunda dimensión (columnas)
  * corresponde con las horas de juego.
  * <p>
+ * Internamente, el horario se almacena como una matriz de tipos de valor ({@link Kind}) codificados en un
+ * <code>byte</code> y una matriz de enteros con el índice asociado a cada hueco ocupado, de modo que construir y
+ * recorrer un horario no crea un objeto por hueco. La matriz de {@link AbstractScheduleValue} de
+ * {@link #getScheduleValues()} es una vista que se construye bajo demanda y comparte las instancias de los valores
+ * que no dependen del hueco.
+ * <p>
  * Además, mantiene una lista de partidos (ver {@link Match}) que se extraen del procesamiento de la matriz mencionada.
+ * Las consultas de partidos por jugador, por localización o por <i>timeslots</i> se resuelven sobre índices que se
+ * construyen la primera vez que se necesitan.
  */
 @JsonSerialize(using = ScheduleSerializer.class)
 public abstract class Schedule {
 
     /**
-     * Representación del horario con la ayuda de la clase {@link ScheduleValue}
+     * Hueco libre
+     */
+    protected static final byte FREE = (byte) Kind.FREE.ordinal();
+
+    /**
+     * Hueco ocupado por un partido, o donde comienza un partido en horarios agrupados por localizaciones
+     */
+    protected static final byte OCCUPIED = (byte) Kind.OCCUPIED.ordinal();
+
+    /**
+     * Continuación de un partido en horarios agrupados por localizaciones
+     */
+    protected static final byte CONTINUATION = (byte) Kind.CONTINUATION.ordinal();
+
+    /**
+     * Hueco no disponible
+     */
+    protected static final byte UNAVAILABLE = (byte) Kind.UNAVAILABLE.ordinal();
+
+    /**
+     * Hueco correspondiente a un <i>break</i>
+     */
+    protected static final byte BREAK = (byte) Kind.BREAK.ordinal();
+
+    /**
+     * Hueco con las localizaciones de juego limitadas
+     */
+    protected static final byte LIMITED = (byte) Kind.LIMITED.ordinal();
+
+    /**
+     * Hueco fuera del dominio de la entidad de la fila
+     */
+    protected static final byte NOT_IN_DOMAIN = (byte) Kind.NOT_IN_DOMAIN.ordinal();
+
+    /**
+     * Valores compartidos por todos los horarios por jugadores para los tipos de hueco que no dependen del hueco,
+     * indexados por la codificación del tipo
+     */
+    private static final ScheduleValue[] SCHEDULE_VALUES = {
+            new ScheduleValue(ScheduleValue.FREE),
+            null,
+            null,
+            new ScheduleValue(ScheduleValue.UNAVAILABLE),
+            new ScheduleValue(ScheduleValue.BREAK),
+            new ScheduleValue(ScheduleValue.LIMITED),
+            new ScheduleValue(ScheduleValue.NOT_IN_DOMAIN)
+    };
+
+    /**
+     * Tipo de valor de cada hueco del horario
+     */
+    protected byte[][] kinds;
+
+    /**
+     * Índice asociado a cada hueco ocupado: la localización de juego en horarios por jugadores, o el partido en
+     * horarios agrupados por localizaciones
+     */
+    protected int[][] indices;
+
+    /**
+     * Vista del horario con la ayuda de la clase {@link ScheduleValue}, construida bajo demanda
      */
     protected AbstractScheduleValue[][] schedule;
 
+    /**
+     * Valores ocupados compartidos, uno por localización de juego, construidos bajo demanda
+     */
+    private ScheduleValueOccupied[] occupiedValues;
+
     /**
      * Lista de partidos que se dan en el horario
      */
@@ -71,15 +147,58 @@ public abstract class Schedule {
      */
     protected int availableTimeslots = -1;
 
+    /**
+     * Índice de partidos por jugador, construido bajo demanda
+     */
+    private Map<Player, List<Match>> matchesByPlayer;
+
+    /**
+     * Índice de partidos por localización de juego, construido bajo demanda
+     */
+    private Map<Localization, List<Match>> matchesByLocalization;
+
+    /**
+     * Índice temporal de los partidos, construido bajo demanda
+     */
+    private Timeline timeline;
+
     /**
      * Devuelve la matriz bidimensional con la representación del horario
      *
      * @return matriz bidimensional que representa el horario
      */
     public AbstractScheduleValue[][] getScheduleValues() {
+        if (schedule == null) {
+            schedule = new AbstractScheduleValue[kinds.length][];
+            for (int i = 0; i < kinds.length; i++) {
+                schedule[i] = new AbstractScheduleValue[kinds[i].length];
+                for (int j = 0; j < kinds[i].length; j++)
+                    schedule[i][j] = getScheduleValue(i, j);
+            }
+        }
         return schedule;
     }
 
+    /**
+     * Devuelve el valor de un hueco del horario. Los valores que no dependen del hueco son instancias compartidas.
+     *
+     * @param row    fila del hueco
+     * @param column columna del hueco
+     * @return valor del hueco
+     */
+    protected AbstractScheduleValue getScheduleValue(int row, int column) {
+        if (kinds[row][column] != OCCUPIED)
+            return SCHEDULE_VALUES[kinds[row][column]];
+
+        if (occupiedValues == null)
+            occupiedValues = new ScheduleValueOccupied[localizations.size()];
+
+        int localization = indices[row][column];
+        if (occupiedValues[localization] == null)
+            occupiedValues[localization] = new ScheduleValueOccupied(localization);
+        return occupiedValues[localization];
+    }
+
     /**
      * @return los partidos que componen este horario
      */
@@ -114,7 +233,7 @@ public abstract class Schedule {
      * @return lista de partidos
      */
     public List<Match> filterMatchesByPlayer(Player player) {
-        return matches.stream().filter(m -> m.getPlayers().contains(player)).collect(Collectors.toList());
+        return new ArrayList<>(getMatchesByPlayer().getOrDefault(player, Collections.emptyList()));
     }
 
     /**
@@ -124,7 +243,18 @@ public abstract class Schedule {
      * @return lista de partidos
      */
     public List<Match> filterMatchesByPlayers(List<Player> players) {
-        return matches.stream().filter(m -> m.getPlayers().containsAll(players)).collect(Collectors.toList());
+        if (players.isEmpty())
+            return new ArrayList<>(matches);
+
+        // Basta con recorrer los partidos del jugador que menos partidos juega
+        List<Match> candidates = null;
+        for (Player player : players) {
+            List<Match> playerMatches = getMatchesByPlayer().getOrDefault(player, Collections.emptyList());
+            if (candidates == null || playerMatches.size() < candidates.size())
+                candidates = playerMatches;
+        }
+
+        return candidates.stream().filter(m -> m.getPlayers().containsAll(players)).collect(Collectors.toList());
     }
 
     /**
@@ -134,7 +264,7 @@ public abstract class Schedule {
      * @return lista de partidos
      */
     public List<Match> filterMatchesByLocalization(Localization localization) {
-        return matches.stream().filter(m -> m.getLocalization().equals(localization)).collect(Collectors.toList());
+        return new ArrayList<>(getMatchesByLocalization().getOrDefault(localization, Collections.emptyList()));
     }
 
     /**
@@ -144,7 +274,14 @@ public abstract class Schedule {
      * @return lista de partidos
      */
     public List<Match> filterMatchesByStartTimeslot(Timeslot timeslot) {
-        return matches.stream().filter(m -> m.getStartTimeslot().equals(timeslot)).collect(Collectors.toList());
+        Timeline timeline = getTimeline();
+        int rank = timeline.lastRankNotAfter(timeslot);
+
+        List<Match> result = new ArrayList<>();
+        for (int i = timeline.firstWithStartFrom(rank); i < timeline.firstWithStartFrom(rank + 1); i++)
+            if (timeline.matches[i].getStartTimeslot().equals(timeslot))
+                result.add(timeline.matches[i]);
+        return timeline.sort(result);
     }
 
     /**
@@ -154,7 +291,9 @@ public abstract class Schedule {
      * @return lista de partidos
      */
     public List<Match> filterMatchesByEndTimeslot(Timeslot timeslot) {
-        return matches.stream().filter(m -> m.getEndTimeslot().equals(timeslot)).collect(Collectors.toList());
+        return filterMatchesDuringTimeslot(timeslot).stream()
+                .filter(m -> m.getEndTimeslot().equals(timeslot))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -168,8 +307,8 @@ public abstract class Schedule {
      * @return lista de partidos
      */
     public List<Match> filterMatchesInTimeslotRange(Timeslot start, Timeslot end) {
-        return matches.stream()
-                .filter(m -> m.getStartTimeslot().equals(start) && m.getEndTimeslot().equals(end))
+        return filterMatchesByStartTimeslot(start).stream()
+                .filter(m -> m.getEndTimeslot().equals(end))
                 .collect(Collectors.toList());
     }
 
@@ -181,10 +320,12 @@ public abstract class Schedule {
      * @return lista de partidos
      */
     public List<Match> filterMatchesDuringTimeslot(Timeslot timeslot) {
-        return matches.stream()
-                .filter(m -> timeslot.compareTo(m.getStartTimeslot()) <= 0 &&
-                        timeslot.compareTo(m.getEndTimeslot()) >= 0)
-                .collect(Collectors.toList());
+        Objects.requireNonNull(timeslot);
+
+        Timeline timeline = getTimeline();
+        return timeline.sort(timeline.during(timeline.firstRankNotBefore(timeslot),
+                timeline.lastRankNotAfter(timeslot)
+        ));
     }
 
     /**
@@ -195,11 +336,25 @@ public abstract class Schedule {
      * @return lista de partidos
      */
     public List<Match> filterMatchesDuringTimeslots(List<Timeslot> timeslots) {
-        Set<Match> timeslotsMatches = new HashSet<>();
-        for (Timeslot timeslot : timeslots)
-            timeslotsMatches.addAll(filterMatchesDuringTimeslot(timeslot));
+        Timeline timeline = getTimeline();
+
+        // Los timeslots consecutivos en el orden cronológico se consultan como un único rango
+        List<Timeslot> sortedTimeslots = new ArrayList<>(timeslots);
+        sortedTimeslots.sort(Comparator.comparingInt(timeline::firstRankNotBefore));
+
+        Set<Match> timeslotsMatches = Collections.newSetFromMap(new IdentityHashMap<>());
+        int i = 0;
+        while (i < sortedTimeslots.size()) {
+            int firstRank = timeline.firstRankNotBefore(sortedTimeslots.get(i));
+            int lastRank = timeline.lastRankNotAfter(sortedTimeslots.get(i));
+
+            while (++i < sortedTimeslots.size() && timeline.firstRankNotBefore(sortedTimeslots.get(i)) <= lastRank + 1)
+                lastRank = Math.max(lastRank, timeline.lastRankNotAfter(sortedTimeslots.get(i)));
 
-        return new ArrayList<>(timeslotsMatches);
+            timeslotsMatches.addAll(timeline.during(firstRank, lastRank));
+        }
+
+        return timeline.sort(new ArrayList<>(timeslotsMatches));
     }
 
     /**
@@ -219,20 +374,50 @@ public abstract class Schedule {
         if (!(timeslots.contains(start) && timeslots.contains(end)))
             return null;
 
-        Timeslot startTimeslot, endTimeslot;
-        if (start.compareTo(end) >= 0) {
-            startTimeslot = start;
-            endTimeslot = end;
-        } else {
-            startTimeslot = end;
-            endTimeslot = end;
+        Timeline timeline = getTimeline();
+        int startRank = timeline.firstRankNotBefore(start);
+        int endRank = timeline.firstRankNotBefore(end);
+        return timeline.sort(timeline.during(Math.min(startRank, endRank), Math.max(startRank, endRank)));
+    }
+
+    /**
+     * Devuelve el índice de partidos por jugador, construyéndolo si aún no se ha hecho.
+     *
+     * @return diccionario de cada jugador con los partidos en los que participa, en el orden del horario
+     */
+    private Map<Player, List<Match>> getMatchesByPlayer() {
+        if (matchesByPlayer == null) {
+            matchesByPlayer = new HashMap<>();
+            for (Match match : matches)
+                for (Player player : match.getPlayers())
+                    matchesByPlayer.computeIfAbsent(player, p -> new ArrayList<>()).add(match);
         }
+        return matchesByPlayer;
+    }
 
-        List<Timeslot> timeslotRange = new ArrayList<>();
-        for (int i = timeslots.indexOf(startTimeslot); i <= timeslots.indexOf(endTimeslot); i++)
-            timeslotRange.add(timeslots.get(i));
+    /**
+     * Devuelve el índice de partidos por localización de juego, construyéndolo si aún no se ha hecho.
+     *
+     * @return diccionario de cada localización con los partidos que tienen lugar en ella, en el orden del horario
+     */
+    private Map<Localization, List<Match>> getMatchesByLocalization() {
+        if (matchesByLocalization == null) {
+            matchesByLocalization = new HashMap<>();
+            for (Match match : matches)
+                matchesByLocalization.computeIfAbsent(match.getLocalization(), l -> new ArrayList<>()).add(match);
+        }
+        return matchesByLocalization;
+    }
 
-        return filterMatchesDuringTimeslots(timeslotRange);
+    /**
+     * Devuelve el índice temporal de los partidos, construyéndolo si aún no se ha hecho.
+     *
+     * @return índice temporal de los partidos
+     */
+    private Timeline getTimeline() {
+        if (timeline == null)
+            timeline = new Timeline();
+        return timeline;
     }
 
     /**
@@ -281,10 +466,11 @@ public abstract class Schedule {
      * Calcula la ocupación del horario
      */
     protected void calculateOccupation() {
-        occupation = Math.toIntExact(Arrays.stream(schedule)
-                .flatMap(Arrays::stream)
-                .filter(val -> val.isOccupied() || val.isContinuation())
-                .count());
+        occupation = 0;
+        for (byte[] row : kinds)
+            for (byte kind : row)
+                if (Kind.belongsTo(kind, Kind.IN_MATCH))
+                    occupation++;
     }
 
     public String toString() {
@@ -305,7 +491,7 @@ public abstract class Schedule {
 
             sb.append(String.format("%" + w + "s", playerStr));
             for (int t = 0; t < timeslots.size(); t++)
-                sb.append(String.format("%4s", schedule[p][t]));
+                sb.append(String.format("%4s", getScheduleValue(p, t)));
             sb.append("\n");
         }
 
@@ -321,4 +507,151 @@ public abstract class Schedule {
     public String toJson() throws JsonProcessingException {
         return new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(this);
     }
+
+    /**
+     * Índice temporal de los partidos del horario.
+     * <p>
+     * Los <i>timeslots</i> se ordenan cronológicamente y a cada uno se le asigna un rango denso, compartido por los
+     * <i>timeslots</i> que son iguales según {@link Timeslot#compareTo(Timeslot)}. Si el horario pertenece a un
+     * torneo, se usan los rangos que el torneo calcula al construirse ({@link Tournament#getTimeslotOrder()}), de modo
+     * que el rango de cualquier <i>timeslot</i> del torneo se obtiene sin comparaciones. Los partidos se ordenan por el
+     * rango de su comienzo, de modo que los partidos que discurren durante un rango de <i>timeslots</i> se localizan
+     * mediante búsqueda binaria: como ningún partido abarca más rangos que el partido más largo, basta con recorrer
+     * los partidos que comienzan entre el inicio del rango consultado menos esa longitud y el final del rango.
+     */
+    private class Timeline {
+        /**
+         * Orden cronológico de los <i>timeslots</i> del horario
+         */
+        private final TimeslotOrder order;
+
+        /**
+         * Partidos ordenados por el rango de su comienzo
+         */
+        private final Match[] matches;
+
+        /**
+         * Rango del comienzo de cada partido
+         */
+        private final int[] starts;
+
+        /**
+         * Rango del final de cada partido
+         */
+        private final int[] ends;
+
+        /**
+         * Número máximo de rangos que separan el comienzo y el final de un partido
+         */
+        private final int maxSpan;
+
+        /**
+         * Posición de cada partido en la lista de partidos del horario
+         */
+        private final Map<Match, Integer> positions = new IdentityHashMap<>();
+
+        private Timeline() {
+            List<Match> scheduleMatches = Schedule.this.matches;
+
+            order = buildOrder();
+
+            for (int i = 0; i < scheduleMatches.size(); i++)
+                positions.put(scheduleMatches.get(i), i);
+
+            Integer[] positionsByStart = new Integer[scheduleMatches.size()];
+            int[] matchStarts = new int[positionsByStart.length];
+            for (int i = 0; i < positionsByStart.length; i++) {
+                positionsByStart[i] = i;
+                matchStarts[i] = order.rankOf(scheduleMatches.get(i).getStartTimeslot());
+            }
+            Arrays.sort(positionsByStart, Comparator.comparingInt(i -> matchStarts[i]));
+
+            matches = new Match[positionsByStart.length];
+            starts = new int[positionsByStart.length];
+            ends = new int[positionsByStart.length];
+            int span = 0;
+            for (int i = 0; i < positionsByStart.length; i++) {
+                matches[i] = scheduleMatches.get(positionsByStart[i]);
+                starts[i] = matchStarts[positionsByStart[i]];
+                ends[i] = order.rankOf(matches[i].getEndTimeslot());
+                span = Math.max(span, ends[i] - starts[i]);
+            }
+            maxSpan = span;
+        }
+
+        /**
+         * Devuelve el orden del torneo si incluye todos los <i>timeslots</i> del horario y de sus partidos, o un
+         * orden propio del horario si no.
+         *
+         * @return orden cronológico que asigna un rango a cada <i>timeslot</i> del horario
+         */
+        private TimeslotOrder buildOrder() {
+            List<Timeslot> scheduleTimeslots = new ArrayList<>(timeslots);
+            for (Match match : Schedule.this.matches) {
+                scheduleTimeslots.add(match.getStartTimeslot());
+                scheduleTimeslots.add(match.getEndTimeslot());
+            }
+
+            if (tournament != null) {
+                TimeslotOrder tournamentOrder = tournament.getTimeslotOrder();
+                if (scheduleTimeslots.stream().allMatch(tournamentOrder::contains))
+                    return tournamentOrder;
+            }
+            return new TimeslotOrder(scheduleTimeslots);
+        }
+
+        private int firstRankNotBefore(Timeslot timeslot) {
+            return order.firstRankNotBefore(timeslot);
+        }
+
+        private int lastRankNotAfter(Timeslot timeslot) {
+            return order.lastRankNotAfter(timeslot);
+        }
+
+        /**
+         * Devuelve la posición del primer partido, en el orden por comienzo, cuyo comienzo tiene un rango mayor o
+         * igual que el indicado.
+         *
+         * @param rank rango de comienzo
+         * @return posición en el orden por comienzo
+         */
+        private int firstWithStartFrom(int rank) {
+            int low = 0, high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < rank)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            return low;
+        }
+
+        /**
+         * Devuelve los partidos que discurren durante algún rango comprendido entre los indicados, ambos incluidos.
+         *
+         * @param firstRank primer rango
+         * @param lastRank  último rango
+         * @return lista de partidos, en el orden por comienzo
+         */
+        private List<Match> during(int firstRank, int lastRank) {
+            List<Match> result = new ArrayList<>();
+            int end = firstWithStartFrom(lastRank + 1);
+            for (int i = firstWithStartFrom(firstRank - maxSpan); i < end; i++)
+                if (ends[i] >= firstRank)
+                    result.add(matches[i]);
+            return result;
+        }
+
+        /**
+         * Ordena una lista de partidos según su orden en la lista de partidos del horario.
+         *
+         * @param list lista de partidos del horario
+         * @return la misma lista, ordenada
+         */
+        private List<Match> sort(List<Match> list) {
+            list.sort(Comparator.comparingInt(positions::get));
+            return list;
+        }
+    }
 }
@@ -0,0 +1,240 @@
+package es.uca.garciachacon.eventscheduler.data.model.schedule;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.value.AbstractScheduleValue;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Player;
+
+import java.util.*;
+
+/**
+ * Diferencias entre los horarios de dos soluciones de un mismo torneo.
+ * <p>
+ * Los partidos de ambos horarios se emparejan por su composición de jugadores. Los partidos que se juegan en la misma
+ * localización y comienzan en el mismo <i>timeslot</i> en los dos horarios no han cambiado y no se incluyen. Los
+ * restantes que tienen pareja en el otro horario se han <strong>movido</strong>, y los que no la tienen se han
+ * <strong>añadido</strong>, si solamente aparecen en el horario de destino, o <strong>eliminado</strong>, si
+ * solamente aparecen en el de origen.
+ * <p>
+ * Además, se incluyen los huecos del horario cuyo valor ha cambiado, identificados por la posición del jugador y del
+ * <i>timeslot</i> en el horario. Como los dos horarios comparten jugadores y <i>timeslots</i>, los huecos se comparan
+ * directamente sobre la codificación interna de los horarios, sin construir sus valores salvo para los huecos que
+ * cambian.
+ */
+public class ScheduleDiff {
+    /**
+     * Número de la solución de origen
+     */
+    private final long fromSolution;
+
+    /**
+     * Número de la solución de destino
+     */
+    private final long toSolution;
+
+    /**
+     * Partidos del horario de destino que no están en el de origen
+     */
+    private final List<Match> addedMatches = new ArrayList<>();
+
+    /**
+     * Partidos del horario de origen que no están en el de destino
+     */
+    private final List<Match> removedMatches = new ArrayList<>();
+
+    /**
+     * Partidos de ambos horarios que cambian de localización o de hora de comienzo
+     */
+    private final List<MovedMatch> movedMatches = new ArrayList<>();
+
+    /**
+     * Huecos del horario cuyo valor es distinto en ambos horarios
+     */
+    private final List<ChangedCell> changedCells = new ArrayList<>();
+
+    /**
+     * Calcula las diferencias entre los horarios de dos soluciones de un torneo.
+     *
+     * @param fromSolution número de la solución de origen
+     * @param from         horario de la solución de origen
+     * @param toSolution   número de la solución de destino
+     * @param to           horario de la solución de destino
+     * @throws NullPointerException     si alguno de los horarios es <code>null</code>
+     * @throws IllegalArgumentException si los horarios no tienen los mismos jugadores y <i>timeslots</i>
+     */
+    public ScheduleDiff(long fromSolution, Schedule from, long toSolution, Schedule to) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+
+        if (!from.getPlayers().equals(to.getPlayers()) || !from.getTimeslots().equals(to.getTimeslots()))
+            throw new IllegalArgumentException("Schedules do not share the same players and timeslots");
+
+        this.fromSolution = fromSolution;
+        this.toSolution = toSolution;
+
+        diffMatches(from.getMatches(), to.getMatches());
+        diffCells(from, to);
+    }
+
+    /**
+     * Empareja los partidos de ambos horarios por su composición de jugadores y clasifica los que han cambiado.
+     *
+     * @param from partidos del horario de origen
+     * @param to   partidos del horario de destino
+     */
+    private void diffMatches(List<Match> from, List<Match> to) {
+        Map<List<Player>, List<Match>> fromByPlayers = new HashMap<>();
+        for (Match match : from)
+            fromByPlayers.computeIfAbsent(match.getPlayers(), p -> new ArrayList<>()).add(match);
+
+        List<Match> unmatched = new ArrayList<>();
+        for (Match match : to) {
+            List<Match> candidates = fromByPlayers.get(match.getPlayers());
+            Match same = null;
+            if (candidates != null)
+                for (Match candidate : candidates)
+                    if (candidate.getLocalization() == match.getLocalization() &&
+                            candidate.getStartTimeslot() == match.getStartTimeslot()) {
+                        same = candidate;
+                        break;
+                    }
+
+            if (same == null)
+                unmatched.add(match);
+            else
+                candidates.remove(same);
+        }
+
+        for (Match match : unmatched) {
+            List<Match> candidates = fromByPlayers.get(match.getPlayers());
+            if (candidates == null || candidates.isEmpty())
+                addedMatches.add(match);
+            else
+                movedMatches.add(new MovedMatch(candidates.remove(0), match));
+        }
+
+        for (Match match : from)
+            if (fromByPlayers.get(match.getPlayers()).contains(match))
+                removedMatches.add(match);
+    }
+
+    /**
+     * Compara hueco a hueco la codificación de ambos horarios y registra los huecos que han cambiado.
+     *
+     * @param from horario de origen
+     * @param to   horario de destino
+     */
+    private void diffCells(Schedule from, Schedule to) {
+        for (int p = 0; p < from.kinds.length; p++)
+            for (int t = 0; t < from.kinds[p].length; t++)
+                if (from.kinds[p][t] != to.kinds[p][t] ||
+                        from.kinds[p][t] == Schedule.OCCUPIED && from.indices[p][t] != to.indices[p][t])
+                    changedCells.add(new ChangedCell(p, t, from.getScheduleValue(p, t), to.getScheduleValue(p, t)));
+    }
+
+    public long getFromSolution() {
+        return fromSolution;
+    }
+
+    public long getToSolution() {
+        return toSolution;
+    }
+
+    public List<Match> getAddedMatches() {
+        return Collections.unmodifiableList(addedMatches);
+    }
+
+    public List<Match> getRemovedMatches() {
+        return Collections.unmodifiableList(removedMatches);
+    }
+
+    public List<MovedMatch> getMovedMatches() {
+        return Collections.unmodifiableList(movedMatches);
+    }
+
+    public List<ChangedCell> getChangedCells() {
+        return Collections.unmodifiableList(changedCells);
+    }
+
+    /**
+     * Comprueba si los horarios de ambas soluciones son iguales.
+     *
+     * @return <code>true</code> si no hay ninguna diferencia, <code>false</code> si no
+     */
+    public boolean isEmpty() {
+        return addedMatches.isEmpty() && removedMatches.isEmpty() && movedMatches.isEmpty() && changedCells.isEmpty();
+    }
+
+    public String toString() {
+        return String.format("Diff from solution %d to %d: %d added, %d removed, %d moved, %d changed cells",
+                fromSolution,
+                toSolution,
+                addedMatches.size(),
+                removedMatches.size(),
+                movedMatches.size(),
+                changedCells.size()
+        );
+    }
+
+    /**
+     * Partido que se juega entre los mismos jugadores en ambos horarios, pero en otra localización o a otra hora
+     */
+    public static class MovedMatch {
+        private final Match from;
+        private final Match to;
+
+        MovedMatch(Match from, Match to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public Match getFrom() {
+            return from;
+        }
+
+        public Match getTo() {
+            return to;
+        }
+    }
+
+    /**
+     * Hueco del horario cuyo valor ha cambiado
+     */
+    public static class ChangedCell {
+        private final int row;
+        private final int column;
+        private final AbstractScheduleValue from;
+        private final AbstractScheduleValue to;
+
+        ChangedCell(int row, int column, AbstractScheduleValue from, AbstractScheduleValue to) {
+            this.row = row;
+            this.column = column;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Devuelve la fila del hueco, la posición del jugador en la lista de jugadores del horario.
+         *
+         * @return fila del hueco
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * Devuelve la columna del hueco, la posición del <i>timeslot</i> en la lista de <i>timeslots</i> del horario.
+         *
+         * @return columna del hueco
+         */
+        public int getColumn() {
+            return column;
+        }
+
+        public AbstractScheduleValue getFrom() {
+            return from;
+        }
+
+        public AbstractScheduleValue getTo() {
+            return to;
+        }
+    }
+}
@@ -0,0 +1,565 @@
+package es.uca.garciachacon.eventscheduler.data.model.schedule;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.ScheduleViolation.Type;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+
+/**
+ * Comprobación de que un horario cumple todas las reglas de un torneo, sin necesidad de volver a resolverlo. Permite
+ * aceptar o rechazar rápidamente un horario editado manualmente o comprobar si un horario sigue siendo válido tras
+ * un cambio en el torneo.
+ * <p>
+ * Se comprueban las mismas reglas que el <i>solver</i> impone sobre el modelo:
+ * <ul>
+ * <li>Cada partido tiene el número de jugadores y la duración de su categoría, y se compone de jugadores,
+ * localización y <i>timeslots</i> de la misma</li>
+ * <li>Ningún partido ocupa un <i>break</i>, ni un <i>timeslot</i> en el que alguno de sus jugadores o su
+ * localización no estén disponibles</li>
+ * <li>Los partidos respetan las localizaciones y los <i>timeslots</i> de comienzo asignados a sus jugadores</li>
+ * <li>Los miembros de un equipo juegan siempre juntos</li>
+ * <li>Una localización no está ocupada por más de un partido a la vez, y un jugador no juega más de un partido a la
+ * vez, ya sean de la misma categoría o de categorías distintas</li>
+ * <li>Cada jugador juega el número de partidos por jugador de su categoría, y la categoría tiene el número de
+ * partidos esperado</li>
+ * <li>Los enfrentamientos se repiten según el modo de enfrentamiento de la categoría, y los enfrentamientos
+ * predefinidos tienen lugar el número de veces requerido</li>
+ * </ul>
+ * La comprobación recorre los partidos una sola vez, registrando la ocupación de cada localización y de cada jugador
+ * en cada <i>timeslot</i> del torneo sobre <i>arrays</i> indexados por las posiciones de las entidades en el torneo.
+ * Las reglas de una categoría se consultan sobre mapas de bits calculados al comienzo de cada comprobación, de modo
+ * que el horario se comprueba siempre contra el estado actual del torneo.
+ * <p>
+ * El resultado es la lista de violaciones ({@link ScheduleViolation}) detectadas, vacía si el horario es válido. Las
+ * violaciones aparecen en el orden de las categorías del torneo y, dentro de cada categoría, en el orden de sus
+ * partidos, seguidas de las que se refieren al conjunto de partidos de la categoría.
+ */
+public class ScheduleVerifier {
+    /**
+     * Torneo cuyas reglas se comprueban
+     */
+    private final Tournament tournament;
+
+    /**
+     * Construye un verificador de los horarios de un torneo.
+     *
+     * @param tournament torneo no <code>null</code>
+     */
+    public ScheduleVerifier(Tournament tournament) {
+        this.tournament = Objects.requireNonNull(tournament);
+    }
+
+    public Tournament getTournament() {
+        return tournament;
+    }
+
+    /**
+     * Comprueba el horario completo del torneo, incluyendo las colisiones entre partidos de distintas categorías.
+     *
+     * @param schedule horario no <code>null</code> del torneo
+     * @return lista de violaciones de las reglas del torneo, vacía si el horario es válido
+     * @throws IllegalArgumentException si el horario no pertenece al torneo
+     */
+    public List<ScheduleViolation> verify(TournamentSchedule schedule) {
+        Objects.requireNonNull(schedule);
+
+        if (schedule.getTournament() != tournament)
+            throw new IllegalArgumentException("Schedule does not belong to the tournament");
+
+        Map<Event, List<Match>> eventMatches = new HashMap<>();
+        schedule.getEventSchedules().forEach((event, eventSchedule) -> eventMatches.put(event,
+                eventSchedule.getMatches()
+        ));
+        return verify(eventMatches);
+    }
+
+    /**
+     * Comprueba el horario de una categoría del torneo, sin tener en cuenta los partidos de las demás categorías.
+     *
+     * @param schedule horario no <code>null</code> de una categoría del torneo
+     * @return lista de violaciones de las reglas de la categoría, vacía si el horario es válido
+     * @throws IllegalArgumentException si la categoría del horario no pertenece al torneo
+     */
+    public List<ScheduleViolation> verify(EventSchedule schedule) {
+        Objects.requireNonNull(schedule);
+
+        return verify(Collections.singletonMap(schedule.getEvent(), schedule.getMatches()));
+    }
+
+    /**
+     * Comprueba los partidos de varias categorías del torneo, por ejemplo, los de un horario editado manualmente.
+     * Solamente se comprueban las categorías presentes en el diccionario; las colisiones se detectan entre los
+     * partidos de todas ellas.
+     *
+     * @param eventMatches diccionario no <code>null</code> de cada categoría con sus partidos
+     * @return lista de violaciones de las reglas del torneo, vacía si los partidos son válidos
+     * @throws NullPointerException     si alguna lista de partidos o alguno de los partidos es <code>null</code>
+     * @throws IllegalArgumentException si alguna de las categorías no pertenece al torneo
+     */
+    public List<ScheduleViolation> verify(Map<Event, List<Match>> eventMatches) {
+        Objects.requireNonNull(eventMatches);
+
+        for (Map.Entry<Event, List<Match>> entry : eventMatches.entrySet()) {
+            if (entry.getKey() == null || !tournament.getEvents().contains(entry.getKey()))
+                throw new IllegalArgumentException(String.format("Event (%s) does not belong to the tournament",
+                        entry.getKey()
+                ));
+            Objects.requireNonNull(entry.getValue());
+        }
+
+        int nTimeslots = tournament.getAllTimeslots().size();
+        Occupation occupation = new Occupation(new Match[tournament.getAllLocalizations().size() * nTimeslots],
+                new Match[tournament.getAllPlayers().size() * nTimeslots],
+                nTimeslots
+        );
+
+        List<ScheduleViolation> violations = new ArrayList<>();
+        for (Event event : tournament.getEvents()) {
+            List<Match> matches = eventMatches.get(event);
+            if (matches != null)
+                new EventVerification(event, occupation, violations).verify(matches);
+        }
+        return violations;
+    }
+
+    /**
+     * Ocupación de las localizaciones y los jugadores del torneo en cada <i>timeslot</i> por los partidos ya
+     * recorridos, con una celda <code>entidad * nTimeslots + t</code> por cada pareja (entidad, <i>timeslot</i>) del
+     * torneo
+     */
+    private static class Occupation {
+        private final Match[] localizations;
+        private final Match[] players;
+        private final int nTimeslots;
+
+        Occupation(Match[] localizations, Match[] players, int nTimeslots) {
+            this.localizations = localizations;
+            this.players = players;
+            this.nTimeslots = nTimeslots;
+        }
+
+        /**
+         * Ocupa una celda con un partido.
+         *
+         * @return el partido que ya ocupaba la celda, o <code>null</code> si estaba libre
+         */
+        private static Match occupy(Match[] cells, int cell, Match match) {
+            Match previous = cells[cell];
+            if (previous == null)
+                cells[cell] = match;
+            return previous;
+        }
+
+        Match occupyLocalization(int localization, int timeslot, Match match) {
+            return occupy(localizations, localization * nTimeslots + timeslot, match);
+        }
+
+        Match occupyPlayer(int player, int timeslot, Match match) {
+            return occupy(players, player * nTimeslots + timeslot, match);
+        }
+    }
+
+    /**
+     * Comprobación de los partidos de una categoría, con las reglas de la categoría precalculadas como mapas de bits
+     * sobre las posiciones de sus jugadores, localizaciones y <i>timeslots</i>
+     */
+    private class EventVerification {
+        private final Event event;
+        private final Occupation occupation;
+        private final List<ScheduleViolation> violations;
+
+        private final EntityIndex<Player> playerIndex;
+        private final EntityIndex<Localization> localizationIndex;
+        private final EntityIndex<Timeslot> timeslotIndex;
+
+        /**
+         * Posición en el torneo de cada jugador, localización y <i>timeslot</i> de la categoría
+         */
+        private final int[] tournamentPlayers;
+        private final int[] tournamentLocalizations;
+        private final int[] tournamentTimeslots;
+
+        private final BitSet breaks;
+        private final BitSet[] unavailablePlayers;
+        private final BitSet[] unavailableLocalizations;
+        private final BitSet[] assignedLocalizations;
+        private final BitSet[] assignedTimeslots;
+
+        /**
+         * Equipo de cada jugador, o <code>null</code> si no pertenece a ninguno
+         */
+        private final Team[] teams;
+
+        /**
+         * Número de partidos que juega cada jugador
+         */
+        private final int[] matchesPerPlayer;
+
+        /**
+         * Partidos de cada enfrentamiento, en el orden en el que aparecen
+         */
+        private final Map<Set<Player>, List<Match>> matchups = new LinkedHashMap<>();
+
+        /**
+         * Número de partidos que satisfacen cada enfrentamiento predefinido
+         */
+        private final Map<Matchup, Integer> predefinedMatchups = new IdentityHashMap<>();
+
+        EventVerification(Event event, Occupation occupation, List<ScheduleViolation> violations) {
+            this.event = event;
+            this.occupation = occupation;
+            this.violations = violations;
+
+            List<Player> players = event.getPlayers();
+            List<Localization> localizations = event.getLocalizations();
+            List<Timeslot> timeslots = event.getTimeslots();
+
+            playerIndex = new EntityIndex<>(players);
+            localizationIndex = new EntityIndex<>(localizations);
+            timeslotIndex = new EntityIndex<>(timeslots);
+
+            tournamentPlayers = players.stream().mapToInt(tournament::getPlayerIndex).toArray();
+            tournamentLocalizations = localizations.stream().mapToInt(tournament::getLocalizationIndex).toArray();
+            tournamentTimeslots = timeslots.stream().mapToInt(tournament::getTimeslotIndex).toArray();
+
+            breaks = new BitSet(timeslots.size());
+            for (Timeslot breakTimeslot : event.getBreaks())
+                if (timeslotIndex.contains(breakTimeslot))
+                    breaks.set(timeslotIndex.indexOf(breakTimeslot));
+
+            unavailablePlayers = new BitSet[players.size()];
+            assignedLocalizations = new BitSet[players.size()];
+            assignedTimeslots = new BitSet[players.size()];
+            for (int p = 0; p < players.size(); p++) {
+                unavailablePlayers[p] = event.getUnavailableTimeslotsOf(players.get(p));
+                assignedLocalizations[p] = event.getAssignedLocalizationsOf(players.get(p));
+                assignedTimeslots[p] = event.getAssignedTimeslotsOf(players.get(p));
+            }
+
+            unavailableLocalizations = new BitSet[localizations.size()];
+            for (int c = 0; c < localizations.size(); c++)
+                unavailableLocalizations[c] = event.getUnavailableTimeslotsOf(localizations.get(c));
+
+            teams = new Team[players.size()];
+            for (Team team : event.getTeams())
+                for (Player player : team.getPlayers())
+                    if (playerIndex.contains(player))
+                        teams[playerIndex.indexOf(player)] = team;
+
+            matchesPerPlayer = new int[players.size()];
+        }
+
+        /**
+         * Comprueba cada partido de la categoría y, a continuación, las reglas sobre el conjunto de sus partidos.
+         *
+         * @param matches partidos de la categoría
+         */
+        void verify(List<Match> matches) {
+            for (Match match : matches)
+                verifyMatch(Objects.requireNonNull(match));
+
+            verifyMatchesPerPlayer();
+
+            if (matches.size() != event.getNumberOfMatches())
+                add(Type.NUMBER_OF_MATCHES, null, null, null, null, null, String.format(
+                        "Number of matches (%d) is not the expected number of matches of the event (%d)",
+                        matches.size(),
+                        event.getNumberOfMatches()
+                ));
+
+            verifyMatchupMode();
+            verifyPredefinedMatchups();
+        }
+
+        /**
+         * Comprueba las reglas que afectan a un único partido y registra su ocupación.
+         *
+         * @param match partido de la categoría
+         */
+        private void verifyMatch(Match match) {
+            List<Player> players = match.getPlayers();
+            if (players.size() != event.getPlayersPerMatch())
+                add(Type.PLAYERS_PER_MATCH, match, null, null, null, null, String.format(
+                        "Match (%s) has %d players instead of the players per match of the event (%d)",
+                        match,
+                        players.size(),
+                        event.getPlayersPerMatch()
+                ));
+
+            // Posiciones en la categoría de los jugadores del partido que pertenecen a ella
+            int[] matchPlayers = new int[players.size()];
+            int nMatchPlayers = 0;
+            for (Player player : players) {
+                int p = playerIndex.indexOf(player);
+                if (p < 0)
+                    add(Type.OUT_OF_DOMAIN, match, player, null, null, null, String.format(
+                            "Player (%s) of match (%s) does not belong to the event",
+                            player,
+                            match
+                    ));
+                else {
+                    matchPlayers[nMatchPlayers++] = p;
+                    matchesPerPlayer[p]++;
+                }
+            }
+            matchPlayers = Arrays.copyOf(matchPlayers, nMatchPlayers);
+
+            Localization localization = match.getLocalization();
+            int c = localizationIndex.indexOf(localization);
+            if (c < 0)
+                add(Type.OUT_OF_DOMAIN, match, null, localization, null, null, String.format(
+                        "Localization (%s) of match (%s) does not belong to the event",
+                        localization,
+                        match
+                ));
+
+            int start = timeslotIndex.indexOf(match.getStartTimeslot());
+            int end = timeslotIndex.indexOf(match.getEndTimeslot());
+            if (start < 0)
+                add(Type.OUT_OF_DOMAIN, match, null, null, match.getStartTimeslot(), null, String.format(
+                        "Start timeslot (%s) of match (%s) does not belong to the event",
+                        match.getStartTimeslot(),
+                        match
+                ));
+            if (end < 0)
+                add(Type.OUT_OF_DOMAIN, match, null, null, match.getEndTimeslot(), null, String.format(
+                        "End timeslot (%s) of match (%s) does not belong to the event",
+                        match.getEndTimeslot(),
+                        match
+                ));
+
+            int duration = match.getDuration();
+            if (duration != event.getTimeslotsPerMatch())
+                add(Type.MATCH_DURATION, match, null, null, null, null, String.format(
+                        "Duration of match (%s) is %d instead of the timeslots per match of the event (%d)",
+                        match,
+                        duration,
+                        event.getTimeslotsPerMatch()
+                ));
+            else if (start >= 0 && end >= 0 && end - start + 1 != duration)
+                add(Type.MATCH_DURATION, match, null, null, null, null, String.format(
+                        "Match (%s) spans %d timeslots of the event but its duration is %d",
+                        match,
+                        end - start + 1,
+                        duration
+                ));
+
+            verifyTeams(match, matchPlayers);
+            countMatchup(match, c, start);
+
+            if (c >= 0)
+                for (int p : matchPlayers)
+                    if (!assignedLocalizations[p].isEmpty() && !assignedLocalizations[p].get(c))
+                        add(Type.ASSIGNED_LOCALIZATION, match, event.getPlayers().get(p), localization, null, null,
+                                String.format("Match (%s) takes place in a localization not assigned to player (%s)",
+                                        match,
+                                        event.getPlayers().get(p)
+                                )
+                        );
+
+            if (start < 0)
+                return;
+
+            for (int p : matchPlayers)
+                if (!assignedTimeslots[p].isEmpty() && !assignedTimeslots[p].get(start))
+                    add(Type.ASSIGNED_TIMESLOT, match, event.getPlayers().get(p), null, match.getStartTimeslot(), null,
+                            String.format("Match (%s) starts at a timeslot not assigned to player (%s)",
+                                    match,
+                                    event.getPlayers().get(p)
+                            )
+                    );
+
+            List<Timeslot> timeslots = event.getTimeslots();
+            for (int t = start; t < Math.min(start + duration, timeslots.size()); t++) {
+                Timeslot timeslot = timeslots.get(t);
+
+                if (breaks.get(t))
+                    add(Type.BREAK, match, null, null, timeslot, null, String.format(
+                            "Match (%s) takes place during a break (%s)",
+                            match,
+                            timeslot
+                    ));
+
+                if (c >= 0) {
+                    if (unavailableLocalizations[c].get(t))
+                        add(Type.LOCALIZATION_UNAVAILABLE, match, null, localization, timeslot, null, String.format(
+                                "Localization of match (%s) is unavailable at timeslot (%s)",
+                                match,
+                                timeslot
+                        ));
+
+                    Match other = occupation.occupyLocalization(tournamentLocalizations[c], tournamentTimeslots[t],
+                            match
+                    );
+                    if (other != null)
+                        add(Type.LOCALIZATION_COLLISION, match, null, localization, timeslot, null, String.format(
+                                "Match (%s) collides with match (%s) at timeslot (%s)",
+                                match,
+                                other,
+                                timeslot
+                        ));
+                }
+
+                for (int p : matchPlayers) {
+                    Player player = event.getPlayers().get(p);
+
+                    if (unavailablePlayers[p].get(t))
+                        add(Type.PLAYER_UNAVAILABLE, match, player, null, timeslot, null, String.format(
+                                "Player (%s) of match (%s) is unavailable at timeslot (%s)",
+                                player,
+                                match,
+                                timeslot
+                        ));
+
+                    Match other = occupation.occupyPlayer(tournamentPlayers[p], tournamentTimeslots[t], match);
+                    if (other != null)
+                        add(Type.PLAYER_COLLISION, match, player, null, timeslot, null, String.format(
+                                "Player (%s) plays match (%s) and match (%s) at timeslot (%s)",
+                                player,
+                                other,
+                                match,
+                                timeslot
+                        ));
+                }
+            }
+
+            if (start + duration > timeslots.size())
+                add(Type.MATCH_DURATION, match, null, null, null, null, String.format(
+                        "Match (%s) exceeds the last timeslot of the event",
+                        match
+                ));
+        }
+
+        /**
+         * Comprueba que los miembros de los equipos de los jugadores de un partido juegan todos en él.
+         *
+         * @param match        partido de la categoría
+         * @param matchPlayers posiciones en la categoría de los jugadores del partido
+         */
+        private void verifyTeams(Match match, int[] matchPlayers) {
+            Set<Team> verifiedTeams = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int p : matchPlayers) {
+                Team team = teams[p];
+                if (team != null && verifiedTeams.add(team) && !match.getPlayers().containsAll(team.getPlayers()))
+                    add(Type.TEAM, match, event.getPlayers().get(p), null, null, null, String.format(
+                            "Player (%s) of match (%s) does not play with the rest of team (%s)",
+                            event.getPlayers().get(p),
+                            match,
+                            team
+                    ));
+            }
+        }
+
+        /**
+         * Registra el enfrentamiento de un partido y los enfrentamientos predefinidos que satisface.
+         *
+         * @param match        partido de la categoría
+         * @param localization posición de la localización del partido en la categoría, o -1
+         * @param start        posición del <i>timeslot</i> de comienzo del partido en la categoría, o -1
+         */
+        private void countMatchup(Match match, int localization, int start) {
+            Set<Player> players = new HashSet<>(match.getPlayers());
+            matchups.computeIfAbsent(players, k -> new ArrayList<>()).add(match);
+
+            if (localization < 0 || start < 0)
+                return;
+
+            for (Matchup matchup : event.getPredefinedMatchups(players)) {
+                boolean localizationAllowed = matchup.getLocalizations().isEmpty() ||
+                        matchup.getLocalizations().contains(match.getLocalization());
+                boolean startAllowed = matchup.getTimeslots().isEmpty() ?
+                        start + event.getTimeslotsPerMatch() <= event.getTimeslots().size() :
+                        matchup.getTimeslots().contains(match.getStartTimeslot());
+
+                if (localizationAllowed && startAllowed)
+                    predefinedMatchups.merge(matchup, 1, Integer::sum);
+            }
+        }
+
+        /**
+         * Comprueba que cada jugador juega el número de partidos por jugador de la categoría.
+         */
+        private void verifyMatchesPerPlayer() {
+            for (int p = 0; p < matchesPerPlayer.length; p++)
+                if (matchesPerPlayer[p] != event.getMatchesPerPlayer())
+                    add(Type.MATCHES_PER_PLAYER, null, event.getPlayers().get(p), null, null, null, String.format(
+                            "Player (%s) plays %d matches instead of the matches per player of the event (%d)",
+                            event.getPlayers().get(p),
+                            matchesPerPlayer[p],
+                            event.getMatchesPerPlayer()
+                    ));
+        }
+
+        /**
+         * Comprueba que los enfrentamientos se repiten según el modo de enfrentamiento de la categoría: una sola vez
+         * en el modo "todos diferentes" y tantas veces como partidos por jugador en el modo "todos iguales".
+         */
+        private void verifyMatchupMode() {
+            switch (event.getMatchupMode()) {
+                case ALL_DIFFERENT:
+                    for (Map.Entry<Set<Player>, List<Match>> entry : matchups.entrySet())
+                        if (entry.getValue().size() > 1)
+                            add(Type.MATCHUP_MODE, entry.getValue().get(1), null, null, null, null, String.format(
+                                    "Matchup between players [%s] takes place %d times but matchups cannot repeat",
+                                    StringUtils.join(entry.getValue().get(0).getPlayers(), ","),
+                                    entry.getValue().size()
+                            ));
+                    break;
+
+                case ALL_EQUAL:
+                    for (Map.Entry<Set<Player>, List<Match>> entry : matchups.entrySet())
+                        if (entry.getValue().size() != event.getMatchesPerPlayer())
+                            add(Type.MATCHUP_MODE, entry.getValue().get(0), null, null, null, null, String.format(
+                                    "Matchup between players [%s] takes place %d times instead of %d",
+                                    StringUtils.join(entry.getValue().get(0).getPlayers(), ","),
+                                    entry.getValue().size(),
+                                    event.getMatchesPerPlayer()
+                            ));
+            }
+        }
+
+        /**
+         * Comprueba que cada enfrentamiento predefinido tiene lugar el número de veces que requiere el modo de
+         * enfrentamiento de la categoría.
+         */
+        private void verifyPredefinedMatchups() {
+            int nMatchesPerPlayer = event.getMatchesPerPlayer();
+
+            for (Matchup matchup : event.getPredefinedMatchups()) {
+                int occurrences = predefinedMatchups.getOrDefault(matchup, 0);
+
+                int min, max;
+                switch (event.getMatchupMode()) {
+                    case ALL_DIFFERENT:
+                        min = max = 1;
+                        break;
+                    case ALL_EQUAL:
+                        min = max = nMatchesPerPlayer;
+                        break;
+                    case ANY:
+                        min = 1;
+                        max = nMatchesPerPlayer;
+                        break;
+                    default:
+                        min = max = matchup.getOccurrences();
+                }
+
+                if (occurrences < min || occurrences > max)
+                    add(Type.PREDEFINED_MATCHUP, null, null, null, null, matchup, String.format(
+                            "Predefined matchup (%s) takes place %d times instead of %s",
+                            matchup,
+                            occurrences,
+                            min == max ? String.valueOf(min) : String.format("between %d and %d", min, max)
+                    ));
+            }
+        }
+
+        private void add(Type type, Match match, Player player, Localization localization, Timeslot timeslot,
+                Matchup matchup, String message) {
+            violations.add(new ScheduleViolation(type, event, match, player, localization, timeslot, matchup,
+                    message
+            ));
+        }
+    }
+}
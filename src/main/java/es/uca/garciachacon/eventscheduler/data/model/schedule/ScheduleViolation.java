@@ -0,0 +1,193 @@
+package es.uca.garciachacon.eventscheduler.data.model.schedule;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
+
+import java.util.Objects;
+
+/**
+ * Incumplimiento de una de las reglas de un torneo por parte de un horario, detectado por {@link ScheduleVerifier}.
+ * <p>
+ * Cada violación indica de qué regla se trata, la categoría en la que se produce y, según el tipo, el partido y las
+ * entidades implicadas; las demás son <code>null</code>. Por ejemplo, una violación {@link Type#PLAYER_UNAVAILABLE}
+ * indica el partido, el jugador y el <i>timeslot</i> en el que no está disponible, mientras que una violación
+ * {@link Type#MATCHES_PER_PLAYER} indica solamente el jugador, porque se refiere al conjunto de sus partidos. Además,
+ * incluye un mensaje que describe la violación.
+ */
+public class ScheduleViolation {
+    /**
+     * Reglas que un horario puede incumplir
+     */
+    public enum Type {
+        /**
+         * El partido tiene un número de jugadores distinto al número de jugadores por partido de la categoría
+         */
+        PLAYERS_PER_MATCH,
+
+        /**
+         * El partido dura un número de <i>timeslots</i> distinto al de la categoría, o sus <i>timeslots</i> de
+         * comienzo y fin no se corresponden con esa duración (indica el partido)
+         */
+        MATCH_DURATION,
+
+        /**
+         * El partido incluye un jugador, una localización o un <i>timeslot</i> que no pertenece a la categoría
+         * (indica el partido y la entidad ajena)
+         */
+        OUT_OF_DOMAIN,
+
+        /**
+         * El partido ocupa un <i>break</i> (indica el partido y el <i>timeslot</i>)
+         */
+        BREAK,
+
+        /**
+         * Un jugador del partido no está disponible en un <i>timeslot</i> que ocupa (indica el partido, el jugador y
+         * el <i>timeslot</i>)
+         */
+        PLAYER_UNAVAILABLE,
+
+        /**
+         * La localización del partido no está disponible en un <i>timeslot</i> que ocupa (indica el partido, la
+         * localización y el <i>timeslot</i>)
+         */
+        LOCALIZATION_UNAVAILABLE,
+
+        /**
+         * El partido tiene lugar en una localización que no está entre las asignadas a uno de sus jugadores (indica
+         * el partido, el jugador y la localización)
+         */
+        ASSIGNED_LOCALIZATION,
+
+        /**
+         * El partido comienza en un <i>timeslot</i> que no está entre los asignados a uno de sus jugadores (indica el
+         * partido, el jugador y el <i>timeslot</i>)
+         */
+        ASSIGNED_TIMESLOT,
+
+        /**
+         * Un jugador del partido juega sin el resto de los miembros de su equipo (indica el partido y el jugador)
+         */
+        TEAM,
+
+        /**
+         * La localización del partido ya está ocupada por otro partido, de esta u otra categoría, en uno de los
+         * <i>timeslots</i> (indica el partido, la localización y el <i>timeslot</i>)
+         */
+        LOCALIZATION_COLLISION,
+
+        /**
+         * Un jugador del partido ya juega otro partido, de esta u otra categoría, en uno de los <i>timeslots</i>
+         * (indica el partido, el jugador y el <i>timeslot</i>)
+         */
+        PLAYER_COLLISION,
+
+        /**
+         * Un jugador no juega el número de partidos por jugador de la categoría (indica el jugador)
+         */
+        MATCHES_PER_PLAYER,
+
+        /**
+         * El número de partidos de la categoría no es el esperado
+         */
+        NUMBER_OF_MATCHES,
+
+        /**
+         * Un mismo enfrentamiento se repite un número de veces que el modo de enfrentamiento de la categoría no
+         * permite (indica uno de los partidos del enfrentamiento)
+         */
+        MATCHUP_MODE,
+
+        /**
+         * Un enfrentamiento predefinido no tiene lugar el número de veces requerido (indica el enfrentamiento)
+         */
+        PREDEFINED_MATCHUP
+    }
+
+    /**
+     * Regla incumplida
+     */
+    private final Type type;
+
+    /**
+     * Categoría en la que se produce la violación
+     */
+    private final Event event;
+
+    /**
+     * Partido y entidades implicados, <code>null</code> si el tipo de violación no los indica
+     */
+    private final Match match;
+    private final Player player;
+    private final Localization localization;
+    private final Timeslot timeslot;
+    private final Matchup matchup;
+
+    /**
+     * Descripción de la violación
+     */
+    private final String message;
+
+    /**
+     * Construye una violación de las reglas del torneo.
+     *
+     * @param type         regla incumplida, no <code>null</code>
+     * @param event        categoría en la que se produce, no <code>null</code>
+     * @param match        partido implicado, o <code>null</code>
+     * @param player       jugador implicado, o <code>null</code>
+     * @param localization localización implicada, o <code>null</code>
+     * @param timeslot     <i>timeslot</i> implicado, o <code>null</code>
+     * @param matchup      enfrentamiento predefinido implicado, o <code>null</code>
+     * @param message      descripción de la violación, no <code>null</code>
+     */
+    ScheduleViolation(Type type, Event event, Match match, Player player, Localization localization,
+            Timeslot timeslot, Matchup matchup, String message) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(event);
+        Objects.requireNonNull(message);
+
+        this.type = type;
+        this.event = event;
+        this.match = match;
+        this.player = player;
+        this.localization = localization;
+        this.timeslot = timeslot;
+        this.matchup = matchup;
+        this.message = message;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public Match getMatch() {
+        return match;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Localization getLocalization() {
+        return localization;
+    }
+
+    public Timeslot getTimeslot() {
+        return timeslot;
+    }
+
+    public Matchup getMatchup() {
+        return matchup;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String toString() {
+        return String.format("%s in event (%s): %s", type, event, message);
+    }
+}
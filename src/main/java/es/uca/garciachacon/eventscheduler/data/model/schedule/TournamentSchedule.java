@@ -1,31 +1,40 @@
 package es.uca.garciachacon.eventscheduler.data.model.schedule;
 
-import es.uca.garciachacon.eventscheduler.data.model.schedule.value.AbstractScheduleValue;
-import es.uca.garciachacon.eventscheduler.data.model.schedule.value.ScheduleValue;
-import es.uca.garciachacon.eventscheduler.data.model.schedule.value.ScheduleValueOccupied;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * Horario de un torneo formado por la combinación de los horarios de cada categoría que lo compone
  */
 public class TournamentSchedule extends Schedule {
+    /**
+     * Horarios de cada categoría que se combinan en este horario
+     */
+    private final Map<Event, EventSchedule> schedules;
 
     /**
-     * Construye un horario combinado a partir de los horarios de cada categoría del torneo
+     * Construye un horario combinado a partir de los horarios actuales de cada categoría del torneo
      *
      * @param tournament torneo al que pertenece el horario que se va a construir
      */
     public TournamentSchedule(Tournament tournament) {
+        this(tournament, Objects.requireNonNull(tournament).getEventSchedules());
+    }
+
+    /**
+     * Construye un horario combinado a partir de los horarios de cada categoría del torneo correspondientes a una
+     * solución, que no tiene por qué ser la actual.
+     *
+     * @param tournament torneo al que pertenece el horario que se va a construir
+     * @param schedules  horarios de cada categoría del torneo en una misma solución
+     * @throws IllegalStateException si los horarios son <code>null</code>
+     */
+    public TournamentSchedule(Tournament tournament, Map<Event, EventSchedule> schedules) {
         Objects.requireNonNull(tournament);
 
         this.tournament = tournament;
-
-        Map<Event, EventSchedule> schedules = tournament.getEventSchedules();
+        this.schedules = schedules;
 
         if (schedules == null)
             throw new IllegalStateException("Tournament schedules not calculated");
@@ -36,51 +45,120 @@ public class TournamentSchedule extends Schedule {
         localizations = tournament.getAllLocalizations();
         timeslots = tournament.getAllTimeslots();
 
-        schedule = new ScheduleValue[players.size()][timeslots.size()];
+        kinds = new byte[players.size()][timeslots.size()];
+        indices = new int[players.size()][timeslots.size()];
+
+        for (byte[] row : kinds)
+            Arrays.fill(row, NOT_IN_DOMAIN);
 
-        for (int p = 0; p < players.size(); p++)
-            for (int t = 0; t < timeslots.size(); t++)
-                schedule[p][t] = new ScheduleValue(ScheduleValue.NOT_IN_DOMAIN);
+        // Jugadores cuya fila del horario aún no ha recibido valores de ninguna categoría
+        boolean[] emptyRows = new boolean[players.size()];
+        Arrays.fill(emptyRows, true);
 
-        for (Event event : tournament.getEvents()) {
-            AbstractScheduleValue[][] eventSchedule = schedules.get(event).getScheduleValues();
+        List<Event> events = tournament.getEvents();
+        List<List<Match>> eventMatches = new ArrayList<>(events.size());
+
+        for (Event event : events) {
+            EventSchedule eventSchedule = schedules.get(event);
+            eventMatches.add(eventSchedule.getMatches());
 
             int nPlayers = event.getPlayers().size();
             int nTimeslots = event.getTimeslots().size();
 
-            List<Localization> eventLocalizations = event.getLocalizations();
+            // Índices en el torneo de los jugadores, localizaciones y timeslots de la categoría
+            int[] playerIndices = event.getPlayers().stream().mapToInt(tournament::getPlayerIndex).toArray();
+            int[] localizationIndices =
+                    event.getLocalizations().stream().mapToInt(tournament::getLocalizationIndex).toArray();
+            int[] timeslotIndices = event.getTimeslots().stream().mapToInt(tournament::getTimeslotIndex).toArray();
+
+            // Si los timeslots de la categoría ocupan posiciones consecutivas y en el mismo orden en el torneo, sus
+            // filas se copian en bloque. Las posiciones en el torneo siguen el orden de inserción, no el cronológico,
+            // así que no basta con comparar la primera y la última
+            int firstTimeslot = nTimeslots > 0 ? timeslotIndices[0] : 0;
+            boolean contiguous = true;
+            for (int t = 1; t < nTimeslots && contiguous; t++)
+                contiguous = timeslotIndices[t] == firstTimeslot + t;
 
             for (int p = 0; p < nPlayers; p++) {
-                for (int t = 0; t < nTimeslots; t++) {
-                    Player player = event.getPlayers().get(p);
-                    Timeslot timeslot = event.getTimeslots().get(t);
-
-                    int playerIndex = players.indexOf(player);
-                    int timeslotIndex = timeslots.indexOf(timeslot);
-
-                    // Si no hay ya una pista marcada sobre la hora_t para el jugador_p (esto evita sobreescribir
-                    // valores  de pistas ya escritos sobre el horario)
-                    if (!schedule[playerIndex][timeslotIndex].isOccupied()) {
-                        if (eventSchedule[p][t].isOccupied()) {
-                            schedule[playerIndex][timeslotIndex] =
-                                    new ScheduleValueOccupied(localizations.indexOf(eventLocalizations.get((
-                                            (ScheduleValueOccupied) eventSchedule[p][t])
-                                            .getLocalization())));
-                        } else if (!schedule[playerIndex][timeslotIndex].isLimited())
-                            schedule[playerIndex][timeslotIndex] = eventSchedule[p][t];
+                int playerRow = playerIndices[p];
+                byte[] eventKinds = eventSchedule.kinds[p];
+                int[] eventIndices = eventSchedule.indices[p];
+
+                if (contiguous && emptyRows[playerRow]) {
+                    System.arraycopy(eventKinds, 0, kinds[playerRow], firstTimeslot, nTimeslots);
+                    for (int t = 0; t < nTimeslots; t++)
+                        if (eventKinds[t] == OCCUPIED)
+                            indices[playerRow][firstTimeslot + t] = localizationIndices[eventIndices[t]];
+                } else {
+                    for (int t = 0; t < nTimeslots; t++) {
+                        int timeslotColumn = timeslotIndices[t];
+                        byte kind = kinds[playerRow][timeslotColumn];
+
+                        // Si no hay ya una pista marcada sobre la hora_t para el jugador_p (esto evita
+                        // sobreescribir valores de pistas ya escritos sobre el horario)
+                        if (kind != OCCUPIED) {
+                            byte eventKind = eventKinds[t];
+                            if (eventKind == OCCUPIED) {
+                                kinds[playerRow][timeslotColumn] = OCCUPIED;
+                                indices[playerRow][timeslotColumn] = localizationIndices[eventIndices[t]];
+                            } else if (kind != LIMITED)
+                                kinds[playerRow][timeslotColumn] = eventKind;
+                        }
                     }
                 }
+                emptyRows[playerRow] = false;
             }
         }
 
         calculateOccupation();
 
-        matches = tournament.getEventSchedules()
-                .values()
-                .stream()
-                .flatMap(l -> l.getMatches().stream())
-                .sorted((m1, m2) -> -m1.getStartTimeslot().compareTo(m2.getStartTimeslot()))
-                .collect(Collectors.toList());
+        matches = mergeMatches(eventMatches);
+    }
+
+    /**
+     * Combina las listas de partidos de cada categoría, ordenadas cronológicamente por su comienzo, en una única
+     * lista ordenada mediante una mezcla de k vías. Los partidos que comienzan a la vez se ordenan según el orden de
+     * sus categorías en el torneo.
+     *
+     * @param eventMatches partidos de cada categoría, en el orden de las categorías del torneo
+     * @return lista de partidos del torneo ordenada por su comienzo
+     */
+    private static List<Match> mergeMatches(List<List<Match>> eventMatches) {
+        int[] positions = new int[eventMatches.size()];
+
+        // Categorías pendientes de mezclar, priorizadas por el comienzo de su siguiente partido
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Math.max(1, eventMatches.size()), (e1, e2) -> {
+            int cmp = eventMatches.get(e2)
+                    .get(positions[e2])
+                    .getStartTimeslot()
+                    .compareTo(eventMatches.get(e1).get(positions[e1]).getStartTimeslot());
+            return cmp != 0 ? cmp : Integer.compare(e1, e2);
+        });
+
+        int size = 0;
+        for (int e = 0; e < eventMatches.size(); e++) {
+            size += eventMatches.get(e).size();
+            if (!eventMatches.get(e).isEmpty())
+                queue.add(e);
+        }
+
+        List<Match> merged = new ArrayList<>(size);
+        while (!queue.isEmpty()) {
+            int e = queue.poll();
+            merged.add(eventMatches.get(e).get(positions[e]++));
+            if (positions[e] < eventMatches.get(e).size())
+                queue.add(e);
+        }
+        return merged;
+    }
+
+    /**
+     * Devuelve los horarios de cada categoría que se combinan en este horario.
+     *
+     * @return diccionario no modificable de cada categoría con su horario
+     */
+    public Map<Event, EventSchedule> getEventSchedules() {
+        return Collections.unmodifiableMap(schedules);
     }
 
     /**
@@ -100,7 +178,7 @@ public class TournamentSchedule extends Schedule {
      *
      */
     protected void calculateAvailableTimeslots() {
-        availableTimeslots = new InverseSchedule(tournament).getAvailableTimeslots();
+        availableTimeslots = tournament.getInverseSchedule().getAvailableTimeslots();
     }
 
     /**
@@ -108,6 +186,6 @@ public class TournamentSchedule extends Schedule {
      * los horarios de cada categoría del mismo.
      */
     protected void calculateOccupation() {
-        occupation = tournament.getEventSchedules().values().stream().mapToInt(Schedule::getOccupation).sum();
+        occupation = schedules.values().stream().mapToInt(Schedule::getOccupation).sum();
     }
 }
@@ -36,7 +36,7 @@ public abstract class AbstractScheduleValue {
      * @return <code>true</code> si el hueco está ocupado, <code>false</code> si no
      */
     public boolean isOccupied() {
-        return value.is("OCCUPIED");
+        return value.is(Value.Kind.OCCUPIED);
     }
 
     /**
@@ -45,7 +45,7 @@ public abstract class AbstractScheduleValue {
      * @return <code>true</code> si el hueco está libre, <code>false</code> si no
      */
     public boolean isFree() {
-        return value.is("FREE");
+        return value.is(Value.Kind.FREE);
     }
 
     /**
@@ -54,7 +54,7 @@ public abstract class AbstractScheduleValue {
      * @return <code>true</code> si el hueco no está disponible, <code>false</code> si no
      */
     public boolean isUnavailable() {
-        return value.is("UNAVAILABLE");
+        return value.is(Value.Kind.UNAVAILABLE);
     }
 
     /**
@@ -63,7 +63,7 @@ public abstract class AbstractScheduleValue {
      * @return <code>true</code> si el hueco es un <i>break</i>, <code>false</code> si no
      */
     public boolean isBreak() {
-        return value.is("BREAK");
+        return value.is(Value.Kind.BREAK);
     }
 
     /**
@@ -72,7 +72,7 @@ public abstract class AbstractScheduleValue {
      * @return <code>true</code> si el hueco está limitado, <code>false</code> si no
      */
     public boolean isLimited() {
-        return value.is("LIMITED");
+        return value.is(Value.Kind.LIMITED);
     }
 
     /**
@@ -81,7 +81,7 @@ public abstract class AbstractScheduleValue {
      * @return <code>true</code> si el hueco no pertenece al dominio, <code>false</code> si no
      */
     public boolean isNotInDomain() {
-        return value.is("NOT_IN_DOMAIN");
+        return value.is(Value.Kind.NOT_IN_DOMAIN);
     }
 
     /**
@@ -90,7 +90,7 @@ public abstract class AbstractScheduleValue {
      * @return <code>true</code> si el hueco es la continuación de un partido, <code>false</code> si no
      */
     public boolean isContinuation() {
-        return value.is("CONTINUATION");
+        return value.is(Value.Kind.CONTINUATION);
     }
 
     /**
@@ -100,7 +100,7 @@ public abstract class AbstractScheduleValue {
      * @return <code>true</code> si el hueco de horario es jugable; <code>si no</code>
      */
     public boolean isPlayable() {
-        return isOccupied() || isContinuation() || isFree();
+        return value.isAnyOf(Value.Kind.PLAYABLE);
     }
 
     /**
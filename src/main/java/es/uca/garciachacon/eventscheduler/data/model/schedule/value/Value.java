@@ -2,15 +2,101 @@ package es.uca.garciachacon.eventscheduler.data.model.schedule.value;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Clase para la representación interna del valor de un hueco en un horario.
+ * <p>
+ * Cada valor cuyo nombre corresponde a uno de los tipos de hueco conocidos ({@link Kind}) queda asociado a ese tipo
+ * en su construcción, de modo que las comprobaciones sobre el tipo de hueco son comparaciones de enteros en lugar de
+ * comparaciones de cadenas.
  */
 public class Value {
+    /**
+     * Tipos de hueco de horario conocidos. Cada tipo tiene asociado un bit, de forma que un conjunto de tipos se
+     * representa mediante una máscara y comprobar la pertenencia de un tipo al conjunto se hace en tiempo constante.
+     * <p>
+     * El orden de los tipos es la codificación de los huecos en los horarios, por lo que el primero es el de un
+     * hueco libre.
+     */
+    public enum Kind {
+        FREE, OCCUPIED, CONTINUATION, UNAVAILABLE, BREAK, LIMITED, NOT_IN_DOMAIN;
+
+        /**
+         * Tipos de hueco sobre los que transcurre un partido
+         */
+        public static final int IN_MATCH = OCCUPIED.mask | CONTINUATION.mask;
+
+        /**
+         * Tipos de hueco jugables: libres o sobre los que transcurre un partido
+         */
+        public static final int PLAYABLE = FREE.mask | IN_MATCH;
+
+        private static final Kind[] KINDS = values();
+
+        private final int mask;
+
+        Kind() {
+            mask = 1 << ordinal();
+        }
+
+        public int getMask() {
+            return mask;
+        }
+
+        /**
+         * Comprueba si este tipo pertenece a un conjunto de tipos.
+         *
+         * @param kinds máscara del conjunto de tipos
+         * @return <code>true</code> si el tipo pertenece al conjunto, <code>false</code> si no
+         */
+        public boolean belongsTo(int kinds) {
+            return (mask & kinds) != 0;
+        }
+
+        /**
+         * Comprueba si el tipo con la codificación indicada pertenece a un conjunto de tipos.
+         *
+         * @param code  codificación del tipo, su ordinal
+         * @param kinds máscara del conjunto de tipos
+         * @return <code>true</code> si el tipo pertenece al conjunto, <code>false</code> si no
+         */
+        public static boolean belongsTo(int code, int kinds) {
+            return ((1 << code) & kinds) != 0;
+        }
+
+        /**
+         * Devuelve el tipo a partir de su codificación.
+         *
+         * @param code codificación del tipo, su ordinal
+         * @return tipo de hueco
+         */
+        public static Kind of(int code) {
+            return KINDS[code];
+        }
+    }
+
+    /**
+     * Tipos conocidos por su nombre
+     */
+    private static final Map<String, Kind> kindsByName = new HashMap<>();
+
+    static {
+        for (Kind kind : Kind.values())
+            kindsByName.put(kind.name(), kind);
+    }
+
     /**
      * Nombre que identifica al valor
      */
     private final String name;
 
+    /**
+     * Tipo de hueco asociado al valor, o <code>null</code> si el nombre no corresponde a ningún tipo conocido
+     */
+    private final Kind kind;
+
     /**
      * Construye un valor con la cadena especificada, eliminando espacios en los extremos de la cadena y
      * transformándola a mayúsculas.
@@ -19,6 +105,7 @@ public class Value {
      */
     public Value(String name) {
         this.name = name.trim().toUpperCase();
+        kind = kindsByName.get(this.name);
     }
 
     @JsonValue
@@ -26,6 +113,15 @@ public class Value {
         return name;
     }
 
+    /**
+     * Devuelve el tipo de hueco asociado al valor.
+     *
+     * @return el tipo de hueco, o <code>null</code> si el nombre del valor no corresponde a ningún tipo conocido
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
     /**
      * Comprueba si este valor de horario es el indicado por la cadena.
      *
@@ -37,7 +133,37 @@ public class Value {
         return name.equalsIgnoreCase(val);
     }
 
+    /**
+     * Comprueba si este valor de horario es del tipo indicado.
+     *
+     * @param kind tipo de hueco
+     * @return <code>true</code> si el valor es del tipo indicado, <code>false</code> si no
+     */
+    public boolean is(Kind kind) {
+        return this.kind == kind;
+    }
+
+    /**
+     * Comprueba si el tipo de este valor de horario pertenece a un conjunto de tipos.
+     *
+     * @param kinds máscara del conjunto de tipos
+     * @return <code>true</code> si el valor es de un tipo conocido y pertenece al conjunto, <code>false</code> si no
+     */
+    public boolean isAnyOf(int kinds) {
+        return kind != null && kind.belongsTo(kinds);
+    }
+
     public boolean equals(Object o) {
-        return o != null && o instanceof Value && ((Value) o).getName().equalsIgnoreCase(name);
+        if (!(o instanceof Value))
+            return false;
+
+        Value other = (Value) o;
+        if (kind != null || other.kind != null)
+            return kind == other.kind;
+        return other.getName().equalsIgnoreCase(name);
+    }
+
+    public int hashCode() {
+        return name.hashCode();
     }
 }
@@ -0,0 +1,467 @@
+package es.uca.garciachacon.eventscheduler.data.model.tournament;
+
+import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
+
+import java.util.*;
+
+/**
+ * Edición por lotes de las restricciones de disponibilidad y de los <i>breaks</i> de un conjunto de categorías, que
+ * se obtiene mediante {@link Tournament#edit(java.util.function.Consumer)} o
+ * {@link Event#edit(java.util.function.Consumer)}.
+ * <p>
+ * Los métodos de esta clase no modifican las categorías, sino que registran los cambios como operaciones de bits
+ * pendientes sobre los índices de jugadores, localizaciones y <i>timeslots</i> de cada categoría. Al terminar la
+ * edición, los cambios se aplican de una vez, fila a fila, cada categoría afectada se marca como cambiada una sola
+ * vez y se valida una sola vez. Si la validación de alguna categoría falla, se restaura el estado anterior de todas
+ * ellas, de modo que la edición se aplica completa o no se aplica.
+ * <p>
+ * Al igual que los métodos equivalentes de {@link Tournament}, cada cambio se aplica a las categorías del lote que
+ * incluyen los elementos indicados y se ignora en las demás. Si un cambio se añade y después se elimina, o al
+ * revés, prevalece el último.
+ * <p>
+ * Si alguno de los elementos indicados al añadir una restricción no pertenece a ninguna de las categorías del lote,
+ * se lanza {@link IllegalArgumentException} y no se aplica ningún cambio de la edición.
+ */
+public class BatchEdit {
+    /**
+     * Categorías a las que afecta la edición
+     */
+    private final List<Event> events;
+
+    /**
+     * Cambios pendientes de cada categoría, en el orden de la lista de categorías, <code>null</code> si la categoría
+     * no tiene cambios
+     */
+    private final EventChanges[] changes;
+
+    /**
+     * Construye una edición vacía de las categorías indicadas.
+     *
+     * @param events categorías a las que afecta la edición
+     */
+    BatchEdit(List<Event> events) {
+        this.events = events;
+        changes = new EventChanges[events.size()];
+    }
+
+    /**
+     * Marca al jugador como no disponible a la hora indicada en las categorías donde participe y que incluyan la
+     * hora.
+     *
+     * @param player   jugador de alguna de las categorías
+     * @param timeslot hora de alguna de las categorías
+     * @throws NullPointerException     si alguno de los argumentos es <code>null</code>
+     * @throws IllegalArgumentException si el jugador o la hora no pertenecen a ninguna categoría
+     */
+    public void addUnavailablePlayerAtTimeslot(Player player, Timeslot timeslot) {
+        checkPlayer(player);
+        checkTimeslot(timeslot);
+
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int p = event.indexOf(player);
+            int t = event.indexOf(timeslot);
+            if (p >= 0 && t >= 0)
+                getChanges(e).unavailablePlayers.add(p, t, t + 1);
+        }
+    }
+
+    /**
+     * Marca al jugador como no disponible a las horas indicadas en las categorías donde participe, para las horas
+     * que incluya cada una.
+     *
+     * @param player    jugador de alguna de las categorías
+     * @param timeslots horas de alguna de las categorías
+     * @throws NullPointerException     si alguno de los argumentos es <code>null</code>
+     * @throws IllegalArgumentException si el jugador o alguna de las horas no pertenecen a ninguna categoría
+     */
+    public void addUnavailablePlayerAtTimeslots(Player player, Set<Timeslot> timeslots) {
+        Objects.requireNonNull(timeslots);
+
+        timeslots.forEach(t -> addUnavailablePlayerAtTimeslot(player, t));
+    }
+
+    /**
+     * Marca al jugador como no disponible en el rango de horas indicado, extremos incluidos, en las categorías donde
+     * participe. En cada categoría, el rango lo componen sus <i>timeslots</i> que se encuentran entre ambos extremos
+     * según el orden cronológico.
+     *
+     * @param player jugador de alguna de las categorías
+     * @param t1     un extremo del rango, hora de alguna de las categorías
+     * @param t2     el otro extremo del rango, hora de alguna de las categorías
+     * @throws NullPointerException     si alguno de los argumentos es <code>null</code>
+     * @throws IllegalArgumentException si el jugador o alguno de los extremos no pertenecen a ninguna categoría
+     */
+    public void addUnavailablePlayerAtTimeslotRange(Player player, Timeslot t1, Timeslot t2) {
+        checkPlayer(player);
+        checkTimeslot(t1);
+        checkTimeslot(t2);
+
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int p = event.indexOf(player);
+            int[] range = timeslotRange(event, t1, t2);
+            if (p >= 0 && range != null)
+                getChanges(e).unavailablePlayers.add(p, range[0], range[1]);
+        }
+    }
+
+    /**
+     * Revierte la no disponibilidad del jugador a la hora indicada en las categorías donde participe y que incluyan
+     * la hora. Si no pertenecen a ninguna categoría, no se registra ningún cambio.
+     *
+     * @param player   cualquier jugador
+     * @param timeslot cualquier hora
+     */
+    public void removeUnavailablePlayerAtTimeslot(Player player, Timeslot timeslot) {
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int p = event.indexOf(player);
+            int t = event.indexOf(timeslot);
+            if (p >= 0 && t >= 0)
+                getChanges(e).unavailablePlayers.remove(p, t, t + 1);
+        }
+    }
+
+    /**
+     * Revierte la no disponibilidad del jugador a todas las horas en las categorías donde participe. Si no pertenece
+     * a ninguna categoría, no se registra ningún cambio.
+     *
+     * @param player cualquier jugador
+     */
+    public void removeUnavailablePlayer(Player player) {
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int p = event.indexOf(player);
+            if (p >= 0)
+                getChanges(e).unavailablePlayers.remove(p, 0, event.getTimeslots().size());
+        }
+    }
+
+    /**
+     * Marca la localización como no disponible a la hora indicada en las categorías que incluyan ambas.
+     *
+     * @param localization localización de alguna de las categorías
+     * @param timeslot     hora de alguna de las categorías
+     * @throws NullPointerException     si alguno de los argumentos es <code>null</code>
+     * @throws IllegalArgumentException si la localización o la hora no pertenecen a ninguna categoría
+     */
+    public void addUnavailableLocalizationAtTimeslot(Localization localization, Timeslot timeslot) {
+        checkLocalization(localization);
+        checkTimeslot(timeslot);
+
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int c = event.indexOf(localization);
+            int t = event.indexOf(timeslot);
+            if (c >= 0 && t >= 0)
+                getChanges(e).unavailableLocalizations.add(c, t, t + 1);
+        }
+    }
+
+    /**
+     * Marca la localización como no disponible a las horas indicadas en las categorías que la incluyan, para las
+     * horas que incluya cada una.
+     *
+     * @param localization localización de alguna de las categorías
+     * @param timeslots    horas de alguna de las categorías
+     * @throws NullPointerException     si alguno de los argumentos es <code>null</code>
+     * @throws IllegalArgumentException si la localización o alguna de las horas no pertenecen a ninguna categoría
+     */
+    public void addUnavailableLocalizationAtTimeslots(Localization localization, Set<Timeslot> timeslots) {
+        Objects.requireNonNull(timeslots);
+
+        timeslots.forEach(t -> addUnavailableLocalizationAtTimeslot(localization, t));
+    }
+
+    /**
+     * Marca la localización como no disponible en el rango de horas indicado, extremos incluidos, en las categorías
+     * que la incluyan. En cada categoría, el rango lo componen sus <i>timeslots</i> que se encuentran entre ambos
+     * extremos según el orden cronológico.
+     *
+     * @param localization localización de alguna de las categorías
+     * @param t1           un extremo del rango, hora de alguna de las categorías
+     * @param t2           el otro extremo del rango, hora de alguna de las categorías
+     * @throws NullPointerException     si alguno de los argumentos es <code>null</code>
+     * @throws IllegalArgumentException si la localización o alguno de los extremos no pertenecen a ninguna categoría
+     */
+    public void addUnavailableLocalizationAtTimeslotRange(Localization localization, Timeslot t1, Timeslot t2) {
+        checkLocalization(localization);
+        checkTimeslot(t1);
+        checkTimeslot(t2);
+
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int c = event.indexOf(localization);
+            int[] range = timeslotRange(event, t1, t2);
+            if (c >= 0 && range != null)
+                getChanges(e).unavailableLocalizations.add(c, range[0], range[1]);
+        }
+    }
+
+    /**
+     * Revierte la no disponibilidad de la localización a la hora indicada en las categorías que incluyan ambas. Si
+     * no pertenecen a ninguna categoría, no se registra ningún cambio.
+     *
+     * @param localization cualquier localización de juego
+     * @param timeslot     cualquier hora
+     */
+    public void removeUnavailableLocalizationAtTimeslot(Localization localization, Timeslot timeslot) {
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int c = event.indexOf(localization);
+            int t = event.indexOf(timeslot);
+            if (c >= 0 && t >= 0)
+                getChanges(e).unavailableLocalizations.remove(c, t, t + 1);
+        }
+    }
+
+    /**
+     * Revierte la no disponibilidad de la localización a todas las horas en las categorías que la incluyan. Si no
+     * pertenece a ninguna categoría, no se registra ningún cambio.
+     *
+     * @param localization cualquier localización de juego
+     */
+    public void removeUnavailableLocalization(Localization localization) {
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int c = event.indexOf(localization);
+            if (c >= 0)
+                getChanges(e).unavailableLocalizations.remove(c, 0, event.getTimeslots().size());
+        }
+    }
+
+    /**
+     * Marca la hora como <i>break</i> en las categorías que la incluyan.
+     *
+     * @param timeslotBreak hora de alguna de las categorías
+     * @throws NullPointerException     si la hora es <code>null</code>
+     * @throws IllegalArgumentException si la hora no pertenece a ninguna categoría
+     */
+    public void addBreak(Timeslot timeslotBreak) {
+        checkTimeslot(timeslotBreak);
+
+        for (int e = 0; e < events.size(); e++) {
+            int t = events.get(e).indexOf(timeslotBreak);
+            if (t >= 0)
+                getChanges(e).breaks.add(0, t, t + 1);
+        }
+    }
+
+    /**
+     * Marca las horas como <i>breaks</i> en las categorías que las incluyan.
+     *
+     * @param timeslotBreaks horas de alguna de las categorías
+     * @throws NullPointerException     si el conjunto o alguna de las horas es <code>null</code>
+     * @throws IllegalArgumentException si alguna de las horas no pertenece a ninguna categoría
+     */
+    public void addBreaks(Set<Timeslot> timeslotBreaks) {
+        Objects.requireNonNull(timeslotBreaks);
+
+        timeslotBreaks.forEach(this::addBreak);
+    }
+
+    /**
+     * Marca como <i>breaks</i> las horas del rango indicado, extremos incluidos, en las categorías que las incluyan.
+     * En cada categoría, el rango lo componen sus <i>timeslots</i> que se encuentran entre ambos extremos según el
+     * orden cronológico.
+     *
+     * @param t1 un extremo del rango, hora de alguna de las categorías
+     * @param t2 el otro extremo del rango, hora de alguna de las categorías
+     * @throws NullPointerException     si alguno de los extremos es <code>null</code>
+     * @throws IllegalArgumentException si alguno de los extremos no pertenece a ninguna categoría
+     */
+    public void addBreakRange(Timeslot t1, Timeslot t2) {
+        checkTimeslot(t1);
+        checkTimeslot(t2);
+
+        for (int e = 0; e < events.size(); e++) {
+            int[] range = timeslotRange(events.get(e), t1, t2);
+            if (range != null)
+                getChanges(e).breaks.add(0, range[0], range[1]);
+        }
+    }
+
+    /**
+     * Elimina el <i>break</i> en las categorías que incluyan la hora. Si no pertenece a ninguna categoría, no se
+     * registra ningún cambio.
+     *
+     * @param timeslotBreak cualquier hora
+     */
+    public void removeBreak(Timeslot timeslotBreak) {
+        for (int e = 0; e < events.size(); e++) {
+            int t = events.get(e).indexOf(timeslotBreak);
+            if (t >= 0)
+                getChanges(e).breaks.remove(0, t, t + 1);
+        }
+    }
+
+    /**
+     * Aplica los cambios registrados a cada categoría afectada, marcándola como cambiada una sola vez, y valida las
+     * categorías que han cambiado. Si alguna validación falla, se restaura el estado anterior de todas las categorías.
+     *
+     * @throws ValidationException si alguna de las categorías modificadas no es válida tras aplicar los cambios
+     */
+    void apply() throws ValidationException {
+        List<Event> changedEvents = new ArrayList<>();
+        for (int e = 0; e < events.size(); e++)
+            if (changes[e] != null && events.get(e).applyEdit(changes[e]))
+                changedEvents.add(events.get(e));
+
+        try {
+            for (Event event : changedEvents)
+                event.validate();
+        } catch (ValidationException e) {
+            for (int i = 0; i < events.size(); i++)
+                if (changes[i] != null)
+                    events.get(i).revertEdit(changes[i]);
+            throw e;
+        }
+    }
+
+    private EventChanges getChanges(int event) {
+        if (changes[event] == null)
+            changes[event] = new EventChanges(events.get(event));
+        return changes[event];
+    }
+
+    /**
+     * Calcula el rango de índices de los <i>timeslots</i> de una categoría que se encuentran entre dos extremos.
+     *
+     * @param event categoría
+     * @param t1    un extremo del rango
+     * @param t2    el otro extremo
+     * @return primer índice, incluido, y último índice, excluido, o <code>null</code> si ningún <i>timeslot</i> de la
+     * categoría está en el rango
+     */
+    private static int[] timeslotRange(Event event, Timeslot t1, Timeslot t2) {
+        int t1Index = event.indexOf(t1);
+        int t2Index = event.indexOf(t2);
+        if (t1Index >= 0 && t2Index >= 0)
+            return new int[]{ Math.min(t1Index, t2Index), Math.max(t1Index, t2Index) + 1 };
+
+        // Los timeslots de la categoría están ordenados cronológicamente, luego los del rango son consecutivos
+        List<Timeslot> timeslots = event.getTimeslots();
+        int from = 0;
+        while (from < timeslots.size() && !timeslots.get(from).within(t1, t2))
+            from++;
+        int to = from;
+        while (to < timeslots.size() && timeslots.get(to).within(t1, t2))
+            to++;
+        return from < to ? new int[]{ from, to } : null;
+    }
+
+    private void checkPlayer(Player player) {
+        Objects.requireNonNull(player);
+
+        if (events.stream().noneMatch(event -> event.hasPlayer(player)))
+            throw new IllegalArgumentException(String.format("Player (%s) does not exist in the edited events",
+                    player
+            ));
+    }
+
+    private void checkLocalization(Localization localization) {
+        Objects.requireNonNull(localization);
+
+        if (events.stream().noneMatch(event -> event.hasLocalization(localization)))
+            throw new IllegalArgumentException(String.format("Localization (%s) does not exist in the edited events",
+                    localization
+            ));
+    }
+
+    private void checkTimeslot(Timeslot timeslot) {
+        Objects.requireNonNull(timeslot);
+
+        if (events.stream().noneMatch(event -> event.hasTimeslot(timeslot)))
+            throw new IllegalArgumentException(String.format("Timeslot (%s) does not exist in the edited events",
+                    timeslot
+            ));
+    }
+
+    /**
+     * Cambios pendientes de una matriz de bits de una categoría: las columnas que se añaden y las que se eliminan de
+     * cada fila. Ambos conjuntos de cada fila son siempre disjuntos, de modo que el orden en que se aplican es
+     * indiferente.
+     */
+    static class RowChanges {
+        /**
+         * Columnas que se añaden a cada fila, <code>null</code> si la fila no tiene cambios
+         */
+        final BitSet[] added;
+
+        /**
+         * Columnas que se eliminan de cada fila, <code>null</code> si la fila no tiene cambios
+         */
+        final BitSet[] removed;
+
+        /**
+         * Estado de cada fila modificada antes de aplicar los cambios, para poder restaurarlo
+         */
+        final BitSet[] previous;
+
+        RowChanges(int rows) {
+            added = new BitSet[rows];
+            removed = new BitSet[rows];
+            previous = new BitSet[rows];
+        }
+
+        void add(int row, int fromIndex, int toIndex) {
+            ensureRow(row);
+            added[row].set(fromIndex, toIndex);
+            removed[row].clear(fromIndex, toIndex);
+        }
+
+        void remove(int row, int fromIndex, int toIndex) {
+            ensureRow(row);
+            removed[row].set(fromIndex, toIndex);
+            added[row].clear(fromIndex, toIndex);
+        }
+
+        private void ensureRow(int row) {
+            if (added[row] == null) {
+                added[row] = new BitSet();
+                removed[row] = new BitSet();
+            }
+        }
+
+        /**
+         * Aplica los cambios a la fila de unos bits.
+         *
+         * @param row  índice de la fila
+         * @param bits bits actuales de la fila
+         * @return bits resultantes, o <code>null</code> si la fila no tiene cambios
+         */
+        BitSet apply(int row, BitSet bits) {
+            if (added[row] == null)
+                return null;
+
+            previous[row] = (BitSet) bits.clone();
+            bits.or(added[row]);
+            bits.andNot(removed[row]);
+            return bits;
+        }
+    }
+
+    /**
+     * Cambios pendientes de una categoría
+     */
+    static class EventChanges {
+        final RowChanges unavailablePlayers;
+        final RowChanges unavailableLocalizations;
+
+        /**
+         * Cambios de los <i>breaks</i>, como una única fila sobre los índices de los <i>timeslots</i>
+         */
+        final RowChanges breaks = new RowChanges(1);
+
+        /**
+         * Si la categoría ya estaba marcada como cambiada antes de aplicar los cambios
+         */
+        boolean wasChanged;
+
+        EventChanges(Event event) {
+            unavailablePlayers = new RowChanges(event.getPlayers().size());
+            unavailableLocalizations = new RowChanges(event.getLocalizations().size());
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package es.uca.garciachacon.eventscheduler.data.model.tournament;
+
+import java.util.*;
+
+/**
+ * Relación entre los elementos de dos listas de una categoría, como los jugadores y los <i>timeslots</i> en los que
+ * no están disponibles, representada como una matriz de bits.
+ * <p>
+ * Cada elemento de la primera lista (las filas) tiene un {@link BitSet} sobre los índices de los elementos de la
+ * segunda lista (las columnas), de modo que comprobar si dos elementos están relacionados es consultar un bit, y
+ * las filas completas se pueden combinar con operaciones de bits. Las listas no cambian, así que los índices se
+ * calculan una sola vez.
+ * <p>
+ * La relación se puede consultar como un diccionario no modificable ({@link #asMap()}) en el que solamente aparecen
+ * las filas con algún bit activo. Es una vista: refleja en todo momento el contenido de la matriz.
+ *
+ * @param <K> tipo de los elementos de las filas
+ * @param <V> tipo de los elementos de las columnas
+ */
+class BitMatrix<K extends Entity, V extends Entity> {
+    /**
+     * Elementos de las filas, en el orden de la categoría
+     */
+    private final List<K> rowElements;
+
+    /**
+     * Índice de cada elemento de las filas
+     */
+    private final EntityIndex<K> rowIndices;
+
+    /**
+     * Elementos de las columnas, en el orden de la categoría
+     */
+    private final List<V> columnElements;
+
+    /**
+     * Índice de cada elemento de las columnas
+     */
+    private final EntityIndex<V> columnIndices;
+
+    /**
+     * Columnas relacionadas con cada fila
+     */
+    private final BitSet[] rows;
+
+    /**
+     * Número de filas con algún bit activo
+     */
+    private int nonEmptyRows;
+
+    /**
+     * Vista de la relación como diccionario
+     */
+    private final Map<K, Set<V>> mapView = Collections.unmodifiableMap(new MapView());
+
+    /**
+     * Construye una matriz vacía sobre los elementos de dos listas.
+     *
+     * @param rowElements    elementos de las filas
+     * @param rowIndices     índice de cada elemento de las filas
+     * @param columnElements elementos de las columnas
+     * @param columnIndices  índice de cada elemento de las columnas
+     */
+    BitMatrix(List<K> rowElements, EntityIndex<K> rowIndices, List<V> columnElements, EntityIndex<V> columnIndices) {
+        this.rowElements = rowElements;
+        this.rowIndices = rowIndices;
+        this.columnElements = columnElements;
+        this.columnIndices = columnIndices;
+
+        rows = new BitSet[rowElements.size()];
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = new BitSet(columnElements.size());
+    }
+
+    /**
+     * Relaciona una fila con una columna.
+     *
+     * @param row    elemento de las filas existente
+     * @param column elemento de las columnas existente
+     * @return <code>true</code> si no estaban relacionadas, <code>false</code> si ya lo estaban
+     */
+    boolean add(K row, V column) {
+        BitSet bits = rows[rowIndices.indexOf(row)];
+        int c = columnIndices.indexOf(column);
+        if (bits.get(c))
+            return false;
+
+        if (bits.isEmpty())
+            nonEmptyRows++;
+        bits.set(c);
+        return true;
+    }
+
+    /**
+     * Relaciona una fila con todas las columnas de un rango de índices.
+     *
+     * @param row       elemento de las filas existente
+     * @param fromIndex primer índice del rango, incluido
+     * @param toIndex   último índice del rango, excluido
+     */
+    void addRange(K row, int fromIndex, int toIndex) {
+        BitSet bits = rows[rowIndices.indexOf(row)];
+        if (bits.isEmpty() && fromIndex < toIndex)
+            nonEmptyRows++;
+        bits.set(fromIndex, toIndex);
+    }
+
+    /**
+     * Elimina la relación entre una fila y una columna. Si alguno de los elementos no existe, no hay modificaciones.
+     *
+     * @param row    elemento de las filas
+     * @param column elemento de las columnas
+     * @return <code>true</code> si estaban relacionadas, <code>false</code> si no
+     */
+    boolean remove(K row, V column) {
+        int r = rowIndices.indexOf(row);
+        int c = columnIndices.indexOf(column);
+        if (r < 0 || c < 0 || !rows[r].get(c))
+            return false;
+
+        rows[r].clear(c);
+        if (rows[r].isEmpty())
+            nonEmptyRows--;
+        return true;
+    }
+
+    /**
+     * Elimina todas las relaciones de una fila. Si el elemento no existe, no hay modificaciones.
+     *
+     * @param row elemento de las filas
+     * @return <code>true</code> si la fila tenía alguna relación, <code>false</code> si no
+     */
+    boolean removeRow(K row) {
+        int r = rowIndices.indexOf(row);
+        if (r < 0 || rows[r].isEmpty())
+            return false;
+
+        rows[r].clear();
+        nonEmptyRows--;
+        return true;
+    }
+
+    /**
+     * Elimina todas las relaciones.
+     *
+     * @return <code>true</code> si había alguna relación, <code>false</code> si no
+     */
+    boolean clear() {
+        if (nonEmptyRows == 0)
+            return false;
+
+        for (BitSet bits : rows)
+            bits.clear();
+        nonEmptyRows = 0;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return nonEmptyRows == 0;
+    }
+
+    /**
+     * Comprueba si una fila y una columna están relacionadas.
+     *
+     * @param row    elemento de las filas
+     * @param column elemento de las columnas
+     * @return <code>true</code> si ambos elementos existen y están relacionados, <code>false</code> si no
+     */
+    boolean contains(K row, V column) {
+        int r = rowIndices.indexOf(row);
+        int c = columnIndices.indexOf(column);
+        return r >= 0 && c >= 0 && rows[r].get(c);
+    }
+
+    /**
+     * Comprueba si una fila tiene alguna relación.
+     *
+     * @param row elemento de las filas
+     * @return <code>true</code> si el elemento existe y tiene alguna relación, <code>false</code> si no
+     */
+    boolean hasRow(K row) {
+        int r = rowIndices.indexOf(row);
+        return r >= 0 && !rows[r].isEmpty();
+    }
+
+    /**
+     * Devuelve una copia de los bits de una fila.
+     *
+     * @param row elemento de las filas
+     * @return índices de las columnas relacionadas con la fila, vacío si el elemento no existe
+     */
+    BitSet getRow(K row) {
+        int r = rowIndices.indexOf(row);
+        return r < 0 ? new BitSet() : (BitSet) rows[r].clone();
+    }
+
+    /**
+     * Devuelve una copia de los bits de la fila con el índice indicado.
+     *
+     * @param row índice de una fila
+     * @return índices de las columnas relacionadas con la fila
+     */
+    BitSet copyRow(int row) {
+        return (BitSet) rows[row].clone();
+    }
+
+    /**
+     * Sustituye las columnas relacionadas con la fila con el índice indicado.
+     *
+     * @param row  índice de una fila
+     * @param bits índices de las columnas que quedan relacionadas con la fila
+     * @return <code>true</code> si la fila ha cambiado, <code>false</code> si no
+     */
+    boolean setRow(int row, BitSet bits) {
+        if (rows[row].equals(bits))
+            return false;
+
+        if (rows[row].isEmpty())
+            nonEmptyRows++;
+        else if (bits.isEmpty())
+            nonEmptyRows--;
+
+        rows[row].clear();
+        rows[row].or(bits);
+        return true;
+    }
+
+    /**
+     * Devuelve la relación como un diccionario no modificable de cada fila con alguna relación y el conjunto de
+     * columnas relacionadas con ella. Tanto el diccionario como los conjuntos son vistas de la matriz.
+     *
+     * @return vista no modificable de la relación
+     */
+    Map<K, Set<V>> asMap() {
+        return mapView;
+    }
+
+    /**
+     * Vista de la relación como diccionario, que recorre las filas en el orden de la categoría
+     */
+    private class MapView extends AbstractMap<K, Set<V>> {
+        private final Set<Entry<K, Set<V>>> entries = new AbstractSet<Entry<K, Set<V>>>() {
+            public Iterator<Entry<K, Set<V>>> iterator() {
+                return new Iterator<Entry<K, Set<V>>>() {
+                    private int next = nextRow(0);
+
+                    public boolean hasNext() {
+                        return next < rows.length;
+                    }
+
+                    public Entry<K, Set<V>> next() {
+                        if (next >= rows.length)
+                            throw new NoSuchElementException();
+
+                        Entry<K, Set<V>> entry = new SimpleImmutableEntry<>(rowElements.get(next), new RowView(next));
+                        next = nextRow(next + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            public int size() {
+                return nonEmptyRows;
+            }
+        };
+
+        private int nextRow(int from) {
+            while (from < rows.length && rows[from].isEmpty())
+                from++;
+            return from;
+        }
+
+        public Set<Entry<K, Set<V>>> entrySet() {
+            return entries;
+        }
+
+        public int size() {
+            return nonEmptyRows;
+        }
+
+        public boolean containsKey(Object key) {
+            int r = rowIndices.indexOf(key);
+            return r >= 0 && !rows[r].isEmpty();
+        }
+
+        public Set<V> get(Object key) {
+            int r = rowIndices.indexOf(key);
+            return r < 0 || rows[r].isEmpty() ? null : new RowView(r);
+        }
+    }
+
+    /**
+     * Vista de las columnas relacionadas con una fila como conjunto, en el orden de la categoría
+     */
+    private class RowView extends AbstractSet<V> {
+        private final BitSet bits;
+
+        RowView(int row) {
+            bits = rows[row];
+        }
+
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private int next = bits.nextSetBit(0);
+
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                public V next() {
+                    if (next < 0)
+                        throw new NoSuchElementException();
+
+                    V column = columnElements.get(next);
+                    next = bits.nextSetBit(next + 1);
+                    return column;
+                }
+            };
+        }
+
+        public int size() {
+            return bits.cardinality();
+        }
+
+        public boolean contains(Object o) {
+            int c = columnIndices.indexOf(o);
+            return c >= 0 && bits.get(c);
+        }
+    }
+}
@@ -1,9 +1,28 @@
 package es.uca.garciachacon.eventscheduler.data.model.tournament;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Una entidad abstracta que representa un modelo básico con un nombre.
+ * <p>
+ * Cada entidad recibe al construirse un identificador entero único en toda la aplicación que no cambia nunca, aunque
+ * cambie su nombre. Las entidades construidas juntas reciben identificadores consecutivos, lo que permite indexarlas
+ * en <i>arrays</i> en lugar de en diccionarios (ver {@link EntityIndex}). Como el identificador es inmutable, las
+ * estructuras construidas a partir de él se pueden compartir entre torneos y entre resoluciones concurrentes.
  */
 public abstract class Entity {
+    /**
+     * Siguiente identificador a asignar
+     */
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Identificador único e inmutable de la entidad
+     */
+    private final int id = nextId.getAndIncrement();
+
     /**
      * Nombre de la entidad
      */
@@ -39,6 +58,16 @@ public abstract class Entity {
         return name;
     }
 
+    /**
+     * Devuelve el identificador único de la entidad, asignado al construirla.
+     *
+     * @return identificador que no cambia durante la vida de la entidad
+     */
+    @JsonIgnore
+    public int getId() {
+        return id;
+    }
+
     public String toString() {
         return name;
     }
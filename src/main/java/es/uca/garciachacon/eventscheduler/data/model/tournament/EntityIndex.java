@@ -0,0 +1,126 @@
+package es.uca.garciachacon.eventscheduler.data.model.tournament;
+
+import java.util.*;
+
+/**
+ * Índice no modificable de la posición de cada entidad en una lista, como la lista de jugadores de una categoría o
+ * la de todas las localizaciones de un torneo.
+ * <p>
+ * Las posiciones se guardan en un <i>array</i> indexado por el identificador estable de cada entidad
+ * ({@link Entity#getId()}), desplazado por el menor identificador de la lista, de modo que consultar la posición de
+ * una entidad no requiere calcular <i>hashes</i> ni comparar objetos. Como las entidades de una misma lista suelen
+ * construirse juntas, sus identificadores son próximos y el <i>array</i> apenas tiene huecos. Si los identificadores
+ * están demasiado dispersos, el índice recurre a un diccionario por identidad.
+ * <p>
+ * El índice no cambia una vez construido, así que se puede compartir entre hilos sin sincronización.
+ *
+ * @param <T> tipo de las entidades
+ */
+public final class EntityIndex<T extends Entity> {
+    /**
+     * Huecos tolerados en el <i>array</i> de posiciones, además del doble del número de entidades
+     */
+    private static final int MAX_GAPS = 64;
+
+    /**
+     * Número de entidades de la lista indexada
+     */
+    private final int size;
+
+    /**
+     * Menor identificador de las entidades indexadas
+     */
+    private final int minId;
+
+    /**
+     * Posición de cada entidad, indexada por su identificador menos {@link #minId}, o -1 en los huecos.
+     * <code>null</code> si los identificadores están demasiado dispersos
+     */
+    private final int[] positions;
+
+    /**
+     * Posición de cada entidad si los identificadores están demasiado dispersos, o <code>null</code> si no
+     */
+    private final Map<T, Integer> sparsePositions;
+
+    /**
+     * Construye el índice de las entidades de una lista. La lista no se guarda, así que los cambios posteriores
+     * sobre ella no se reflejan en el índice.
+     * <p>
+     * Si una entidad aparece varias veces en la lista, se indexa su primera posición.
+     *
+     * @param elements lista no <code>null</code> de entidades no <code>null</code>
+     * @throws NullPointerException si la lista o alguna de sus entidades es <code>null</code>
+     */
+    public EntityIndex(List<T> elements) {
+        Objects.requireNonNull(elements);
+
+        size = elements.size();
+
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (T element : elements) {
+            int id = element.getId();
+            min = Math.min(min, id);
+            max = Math.max(max, id);
+        }
+
+        if (size == 0) {
+            minId = 0;
+            positions = new int[0];
+            sparsePositions = null;
+        } else if ((long) max - min < 2L * size + MAX_GAPS) {
+            minId = min;
+            positions = new int[max - min + 1];
+            sparsePositions = null;
+
+            Arrays.fill(positions, -1);
+            int i = 0;
+            for (T element : elements) {
+                int offset = element.getId() - minId;
+                if (positions[offset] < 0)
+                    positions[offset] = i;
+                i++;
+            }
+        } else {
+            minId = 0;
+            positions = null;
+            sparsePositions = new IdentityHashMap<>(size);
+
+            int i = 0;
+            for (T element : elements)
+                sparsePositions.putIfAbsent(element, i++);
+        }
+    }
+
+    /**
+     * Devuelve la posición de una entidad en la lista indexada. Como los identificadores son únicos entre entidades
+     * de cualquier tipo, un objeto de otro tipo nunca se confunde con una de las entidades indexadas.
+     *
+     * @param element cualquier objeto, o <code>null</code>
+     * @return posición de la entidad, o -1 si no está en la lista
+     */
+    public int indexOf(Object element) {
+        if (!(element instanceof Entity))
+            return -1;
+
+        if (positions == null)
+            return sparsePositions.getOrDefault(element, -1);
+
+        int offset = ((Entity) element).getId() - minId;
+        return offset >= 0 && offset < positions.length ? positions[offset] : -1;
+    }
+
+    /**
+     * Comprueba si una entidad está en la lista indexada.
+     *
+     * @param element cualquier objeto, o <code>null</code>
+     * @return <code>true</code> si la entidad está en la lista, <code>false</code> si no
+     */
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
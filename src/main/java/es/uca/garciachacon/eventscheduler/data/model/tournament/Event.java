@@ -2,6 +2,7 @@ package es.uca.garciachacon.eventscheduler.data.model.tournament;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.EventChange.Type;
 import es.uca.garciachacon.eventscheduler.data.validation.validable.Validable;
 import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
 import es.uca.garciachacon.eventscheduler.data.validation.validator.EventValidator;
@@ -9,6 +10,7 @@ import es.uca.garciachacon.eventscheduler.data.validation.validator.Validator;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.MatchupMode;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -187,6 +189,12 @@ import java.util.stream.Collectors;
  * mediante el método de {@link Observable}, {@link Event#setChanged()}. Esto indicará que la instancia del evento es
  * antigua, y su estado difiere del que poseía al construir el torneo.
  * <p>
+ * Además, cada modificación efectiva se anota en un registro de cambios con entradas tipadas ({@link EventChange}) y
+ * un número de versión creciente. A diferencia de la marca de <i>cambiado</i>, que solamente indica que algo ha
+ * cambiado, el registro permite a quien conozca una versión anterior consultar exactamente qué ha cambiado desde
+ * entonces con {@link Event#getChangesSince(long)}, sin tener que volver a leer la categoría completa. El registro
+ * conserva solamente los últimos cambios (ver {@link Event#setChangeLogSize(int)}).
+ * <p>
  * Un evento se considerará en un estado final y consistente cuando no esté marcado como <i>cambiadp</i>. En el
  * contexto de la resolución de un torneo, ese estado consistente se conseguirá al invocar el proceso de resolución
  * mediante {@link Tournament#solve()}, que restablece el estado del evento llamando al método
@@ -194,6 +202,10 @@ import java.util.stream.Collectors;
  */
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
 public class Event extends Observable implements Validable {
+    /**
+     * Número de cambios que se conservan en el registro de cambios por defecto
+     */
+    public static final int DEFAULT_CHANGE_LOG_SIZE = 1024;
 
     /**
      * Nombre del evento o la categoría
@@ -215,6 +227,13 @@ public class Event extends Observable implements Validable {
      */
     private final List<Timeslot> timeslots;
 
+    /**
+     * Posición de cada jugador, localización y <i>timeslot</i> en las listas de la categoría
+     */
+    private final EntityIndex<Player> playerIndices;
+    private final EntityIndex<Localization> localizationIndices;
+    private final EntityIndex<Timeslot> timeslotIndices;
+
     /**
      * Torneo al que pertenece la categoría
      */
@@ -254,12 +273,12 @@ public class Event extends Observable implements Validable {
     /**
      * Timeslots u horas en las que cada jugador no está disponible
      */
-    private Map<Player, Set<Timeslot>> unavailablePlayers = new HashMap<>();
+    private final BitMatrix<Player, Timeslot> unavailablePlayers;
 
     /**
-     * Diccionario de localizaciones de juego no disponibles en determinadas horas
+     * Localizaciones de juego no disponibles en determinadas horas
      */
-    private Map<Localization, Set<Timeslot>> unavailableLocalizations = new HashMap<>();
+    private final BitMatrix<Localization, Timeslot> unavailableLocalizations;
 
     /**
      * Emparejamientos fijos predefinidos
@@ -267,16 +286,27 @@ public class Event extends Observable implements Validable {
     private Set<Matchup> predefinedMatchups = new HashSet<>();
 
     /**
-     * Diccionario de jugadores para cada cual los enfrentamientos de los que forme parte han de tener lugar
-     * en cualquiera de las localizaciones del conjunto de localizaciones de juego asociado a su entrada
+     * Número de partidos predefinidos de cada jugador, es decir, la suma de las ocurrencias de los enfrentamientos
+     * predefinidos de los que forma parte, indexado por la posición del jugador
+     */
+    private final int[] matchupOccurrences;
+
+    /**
+     * Enfrentamientos predefinidos agrupados por el conjunto de jugadores que los componen
      */
-    private Map<Player, Set<Localization>> playersInLocalizations = new HashMap<>();
+    private final Map<Set<Player>, Set<Matchup>> matchupsByPlayers = new HashMap<>();
 
     /**
-     * Diccionario de jugadores para cada cual los enfrentamientos de los que forme parte han de comenzar en
-     * cualquiera de las horas del conjunto de timeslots asociado a su entrada
+     * Jugadores para cada cual los enfrentamientos de los que forme parte han de tener lugar en cualquiera de las
+     * localizaciones de juego asociadas a su fila
      */
-    private Map<Player, Set<Timeslot>> playersAtTimeslots = new HashMap<>();
+    private final BitMatrix<Player, Localization> playersInLocalizations;
+
+    /**
+     * Jugadores para cada cual los enfrentamientos de los que forme parte han de comenzar en cualquiera de las
+     * horas asociadas a su fila
+     */
+    private final BitMatrix<Player, Timeslot> playersAtTimeslots;
 
     /**
      * Si esta categoría define más de un partido por jugador, indica el modo de emparejamiento
@@ -288,6 +318,26 @@ public class Event extends Observable implements Validable {
      */
     private Validator<Event> validator = new EventValidator();
 
+    /**
+     * Mensajes de error de la última validación del evento
+     */
+    private volatile List<String> messages = Collections.emptyList();
+
+    /**
+     * Versión de la categoría, que se incrementa con cada cambio registrado
+     */
+    private long version;
+
+    /**
+     * Últimos cambios registrados, en orden de versión
+     */
+    private final Deque<EventChange> changeLog = new ArrayDeque<>();
+
+    /**
+     * Número máximo de cambios que conserva el registro
+     */
+    private int changeLogSize = DEFAULT_CHANGE_LOG_SIZE;
+
     /**
      * Construye un evento que tendrá un conjunto de jugadores que participarán en él, un conjunto de localizaciones
      * de juego donde tendrán lugar los enfrentamientos, así como un conjunto de <i>timeslots</i> donde transcurrirán
@@ -403,6 +453,19 @@ public class Event extends Observable implements Validable {
         this.localizations = new ArrayList<>(localizations);
         this.timeslots = new ArrayList<>(timeslots);
 
+        playerIndices = new EntityIndex<>(this.players);
+        localizationIndices = new EntityIndex<>(this.localizations);
+        timeslotIndices = new EntityIndex<>(this.timeslots);
+
+        unavailablePlayers = new BitMatrix<>(this.players, playerIndices, this.timeslots, timeslotIndices);
+        unavailableLocalizations =
+                new BitMatrix<>(this.localizations, localizationIndices, this.timeslots, timeslotIndices);
+        playersInLocalizations =
+                new BitMatrix<>(this.players, playerIndices, this.localizations, localizationIndices);
+        playersAtTimeslots = new BitMatrix<>(this.players, playerIndices, this.timeslots, timeslotIndices);
+
+        matchupOccurrences = new int[this.players.size()];
+
         nMatchesPerPlayer = matchesPerPlayer;
         nTimeslotsPerMatch = timeslotsPerMatch;
         nPlayersPerMatch = playersPerMatch;
@@ -461,6 +524,52 @@ public class Event extends Observable implements Validable {
         return Collections.unmodifiableList(timeslots);
     }
 
+    /**
+     * Comprueba si un jugador pertenece a la categoría, sin recorrer la lista de jugadores.
+     *
+     * @param player cualquier jugador
+     * @return <code>true</code> si el jugador pertenece a la categoría, <code>false</code> si no
+     */
+    public boolean hasPlayer(Player player) {
+        return playerIndices.contains(player);
+    }
+
+    /**
+     * Comprueba si una localización de juego pertenece a la categoría, sin recorrer la lista de localizaciones.
+     *
+     * @param localization cualquier localización de juego
+     * @return <code>true</code> si la localización pertenece a la categoría, <code>false</code> si no
+     */
+    public boolean hasLocalization(Localization localization) {
+        return localizationIndices.contains(localization);
+    }
+
+    /**
+     * Comprueba si una hora de juego pertenece a la categoría, sin recorrer la lista de <i>timeslots</i>.
+     *
+     * @param timeslot cualquier hora de juego
+     * @return <code>true</code> si el <i>timeslot</i> pertenece a la categoría, <code>false</code> si no
+     */
+    public boolean hasTimeslot(Timeslot timeslot) {
+        return timeslotIndices.contains(timeslot);
+    }
+
+    /**
+     * Devuelven la posición de un jugador, una localización o un <i>timeslot</i> en la lista correspondiente de la
+     * categoría, o -1 si no pertenece a ella.
+     */
+    int indexOf(Player player) {
+        return playerIndices.indexOf(player);
+    }
+
+    int indexOf(Localization localization) {
+        return localizationIndices.indexOf(localization);
+    }
+
+    int indexOf(Timeslot timeslot) {
+        return timeslotIndices.indexOf(timeslot);
+    }
+
     public int getMatchesPerPlayer() {
         return nMatchesPerPlayer;
     }
@@ -484,12 +593,15 @@ public class Event extends Observable implements Validable {
         if (matchesPerPlayer == nMatchesPerPlayer)
             return;
 
-        predefinedMatchups.clear();
+        clearMatchups();
 
-        if (matchesPerPlayer == 1)
+        if (matchesPerPlayer == 1 && matchupMode != MatchupMode.ANY) {
             matchupMode = MatchupMode.ANY;
+            record(Type.MATCHUP_MODE);
+        }
 
         nMatchesPerPlayer = matchesPerPlayer;
+        record(Type.MATCHES_PER_PLAYER);
 
         setChanged();
     }
@@ -515,9 +627,10 @@ public class Event extends Observable implements Validable {
         if (timeslotsPerMatch == nTimeslotsPerMatch)
             return;
 
-        predefinedMatchups.clear();
+        clearMatchups();
 
         nTimeslotsPerMatch = timeslotsPerMatch;
+        record(Type.TIMESLOTS_PER_MATCH);
 
         setChanged();
     }
@@ -562,13 +675,16 @@ public class Event extends Observable implements Validable {
         if (playersPerMatch == nPlayersPerMatch)
             return;
 
-        predefinedMatchups.clear();
+        clearMatchups();
         clearTeams();
 
-        if (playersPerMatch == 1)
+        if (playersPerMatch == 1 && matchupMode != MatchupMode.ANY) {
             matchupMode = MatchupMode.ANY;
+            record(Type.MATCHUP_MODE);
+        }
 
         nPlayersPerMatch = playersPerMatch;
+        record(Type.PLAYERS_PER_MATCH);
 
         setChanged();
     }
@@ -619,9 +735,13 @@ public class Event extends Observable implements Validable {
         if (playersPerTeam == nPlayersPerTeam)
             return;
 
-        teams.clear();
+        if (!teams.isEmpty()) {
+            teams.clear();
+            record(Type.TEAMS_CLEARED);
+        }
 
         nPlayersPerTeam = playersPerTeam;
+        record(Type.PLAYERS_PER_TEAM);
 
         setChanged();
     }
@@ -695,6 +815,7 @@ public class Event extends Observable implements Validable {
         team.setEvent(this);
 
         teams.add(team);
+        record(Type.TEAM_ADDED, team);
 
         setChanged();
     }
@@ -723,6 +844,8 @@ public class Event extends Observable implements Validable {
             if (teams.isEmpty())
                 nPlayersPerTeam = 0;
 
+            record(Type.TEAM_REMOVED, team);
+
             setChanged();
         }
     }
@@ -737,6 +860,7 @@ public class Event extends Observable implements Validable {
 
         if (!teams.isEmpty()) {
             teams.clear();
+            record(Type.TEAMS_CLEARED);
 
             setChanged();
         }
@@ -769,12 +893,24 @@ public class Event extends Observable implements Validable {
     }
 
     /**
-     * Devuelve el diccionario de jugadores y horas no disponibles en un wrapper que la hace no modificable
+     * Devuelve el diccionario de jugadores y horas no disponibles como una vista no modificable, que solamente
+     * incluye a los jugadores con alguna hora no disponible
      *
      * @return el diccionario de jugadores y sus horas no disponibles, no modificable
      */
     public Map<Player, Set<Timeslot>> getUnavailablePlayers() {
-        return Collections.unmodifiableMap(unavailablePlayers);
+        return unavailablePlayers.asMap();
+    }
+
+    /**
+     * Devuelve las horas a las que el jugador no está disponible como un mapa de bits sobre los índices de la lista
+     * de <i>timeslots</i> de la categoría.
+     *
+     * @param player jugador de la categoría
+     * @return copia de los bits de las horas no disponibles, vacía si el jugador no pertenece a la categoría
+     */
+    public BitSet getUnavailableTimeslotsOf(Player player) {
+        return unavailablePlayers.getRow(player);
     }
 
     /**
@@ -828,13 +964,14 @@ public class Event extends Observable implements Validable {
         Objects.requireNonNull(player);
         Objects.requireNonNull(timeslot);
 
-        if (!players.contains(player))
+        if (!playerIndices.contains(player))
             throw new IllegalArgumentException("Player does not exist in this event");
 
-        if (!timeslots.contains(timeslot))
+        if (!timeslotIndices.contains(timeslot))
             throw new IllegalArgumentException("Timeslot does not exist in this event");
 
-        unavailablePlayers.computeIfAbsent(player, t -> new HashSet<>()).add(timeslot);
+        if (unavailablePlayers.add(player, timeslot))
+            record(Type.PLAYER_UNAVAILABLE, player, timeslot);
 
         setChanged();
     }
@@ -868,8 +1005,9 @@ public class Event extends Observable implements Validable {
 
         // No se incluye en el bucle t1 ni t2 (el comienzo y el final) porque ya se añadieron al principio de este
         // método; la razón por la que se hiciera esto es aprovecharse de las precondiciones del otro método
-        for (int t = timeslots.indexOf(start) + 1; t < timeslots.indexOf(end); t++)
-            addUnavailablePlayerAtTimeslot(player, timeslots.get(t));
+        BitSet before = unavailablePlayers.getRow(player);
+        unavailablePlayers.addRange(player, timeslotIndices.indexOf(start) + 1, timeslotIndices.indexOf(end));
+        recordUnavailablePlayerChanges(player, before, unavailablePlayers.getRow(player));
     }
 
     /**
@@ -880,17 +1018,19 @@ public class Event extends Observable implements Validable {
      * @param timeslot hora perteneciente al dominio del evento
      */
     public void removeUnavailablePlayerAtTimeslot(Player player, Timeslot timeslot) {
-        // Elimina el timeslot asociado al jugador, y si el conjunto queda vacío, se elimina la entrada del diccionario
-        if (unavailablePlayers.computeIfPresent(player, (p, t) -> t.remove(timeslot) && t.isEmpty() ? null : t) == null)
+        if (unavailablePlayers.remove(player, timeslot)) {
+            record(Type.PLAYER_AVAILABLE, player, timeslot);
+
             setChanged();
+        }
     }
 
     /**
      * Vacía el diccionario de jugadores no disponibles en <i>timeslots</i>
      */
     public void clearUnavailablePlayers() {
-        if (!unavailablePlayers.isEmpty()) {
-            unavailablePlayers.clear();
+        if (unavailablePlayers.clear()) {
+            record(Type.UNAVAILABLE_PLAYERS_CLEARED);
 
             setChanged();
         }
@@ -966,23 +1106,20 @@ public class Event extends Observable implements Validable {
                     nPlayersPerMatch
             ));
 
-        if (!players.containsAll(matchup.getPlayers()))
+        if (!matchup.getPlayers().stream().allMatch(this::hasPlayer))
             throw new IllegalArgumentException("Nonexisting players are contained in the matchup");
 
-        if (!localizations.containsAll(matchup.getLocalizations()))
+        if (!matchup.getLocalizations().stream().allMatch(this::hasLocalization))
             throw new IllegalArgumentException("Nonexisting localizations are contained in the matchup");
 
-        if (matchup.getTimeslots().stream().anyMatch(t -> timeslots.indexOf(t) + nTimeslotsPerMatch > timeslots.size()))
+        if (matchup.getTimeslots().stream().anyMatch(t -> indexOf(t) + nTimeslotsPerMatch > timeslots.size()))
             throw new IllegalArgumentException("Starting timeslot out of range");
 
-        if (!timeslots.containsAll(matchup.getTimeslots()))
+        if (!matchup.getTimeslots().stream().allMatch(this::hasTimeslot))
             throw new IllegalArgumentException("Nonexisting timeslots are contained in the matchup");
 
         for (Player player : matchup.getPlayers()) {
-            long playerAssignedMatchups = predefinedMatchups.stream()
-                    .filter(m -> m.getPlayers().contains(player))
-                    .mapToInt(Matchup::getOccurrences)
-                    .sum() + matchup.getOccurrences();
+            long playerAssignedMatchups = getPredefinedMatchupOccurrences(player) + matchup.getOccurrences();
 
             if (playerAssignedMatchups > nMatchesPerPlayer)
                 throw new IllegalArgumentException(String.format(
@@ -993,27 +1130,34 @@ public class Event extends Observable implements Validable {
                 ));
         }
 
-        predefinedMatchups.add(matchup);
-
-        for (Player player : matchup.getPlayers()) {
-            Set<Localization> assignedLocalizations = matchup.getLocalizations();
-            Set<Timeslot> assignedTimeslots = matchup.getTimeslots();
-
-            if (nMatchesPerPlayer > 1) {
-                if (!playersInLocalizations.containsKey(player) ||
-                        (!playersInLocalizations.containsKey(player) && assignedLocalizations.isEmpty()))
-                    assignedLocalizations = new HashSet<>(localizations);
-
-                if (!playersAtTimeslots.containsKey(player) ||
-                        (!playersAtTimeslots.containsKey(player) && assignedTimeslots.isEmpty()))
-                    assignedTimeslots = new HashSet<>(timeslots.subList(0, timeslots.size() - nTimeslotsPerMatch + 1));
-            }
+        if (predefinedMatchups.add(matchup)) {
+            matchupsByPlayers.computeIfAbsent(new HashSet<>(matchup.getPlayers()), k -> new HashSet<>()).add(matchup);
+            for (Player player : matchup.getPlayers())
+                matchupOccurrences[indexOf(player)] += matchup.getOccurrences();
 
-            if (!assignedLocalizations.isEmpty())
-                playersInLocalizations.computeIfAbsent(player, l -> new HashSet<>()).addAll(assignedLocalizations);
+            record(Type.MATCHUP_ADDED, matchup);
+        }
 
-            if (!assignedTimeslots.isEmpty())
-                playersAtTimeslots.computeIfAbsent(player, l -> new HashSet<>()).addAll(assignedTimeslots);
+        for (Player player : matchup.getPlayers()) {
+            BitSet localizationsBefore = playersInLocalizations.getRow(player);
+            BitSet timeslotsBefore = playersAtTimeslots.getRow(player);
+
+            // Si el jugador juega más partidos y no tenía asignaciones, el resto de sus partidos pueden tener lugar
+            // en cualquier localización y comenzar a cualquier hora
+            if (nMatchesPerPlayer > 1 && !playersInLocalizations.hasRow(player))
+                playersInLocalizations.addRange(player, 0, localizations.size());
+            else
+                matchup.getLocalizations().forEach(l -> playersInLocalizations.add(player, l));
+
+            if (nMatchesPerPlayer > 1 && !playersAtTimeslots.hasRow(player))
+                playersAtTimeslots.addRange(player, 0, timeslots.size() - nTimeslotsPerMatch + 1);
+            else
+                matchup.getTimeslots().forEach(t -> playersAtTimeslots.add(player, t));
+
+            difference(playersInLocalizations.getRow(player), localizationsBefore).stream()
+                    .forEach(l -> record(Type.PLAYER_IN_LOCALIZATION_ADDED, player, localizations.get(l)));
+            difference(playersAtTimeslots.getRow(player), timeslotsBefore).stream()
+                    .forEach(t -> record(Type.PLAYER_AT_TIMESLOT_ADDED, player, timeslots.get(t)));
         }
 
         setChanged();
@@ -1072,8 +1216,20 @@ public class Event extends Observable implements Validable {
      * @param matchup un conjunto de jugadores a eliminar de la lista, si existe
      */
     public void removeMatchup(Matchup matchup) {
-        if (predefinedMatchups.remove(matchup))
+        if (predefinedMatchups.remove(matchup)) {
+            Set<Player> matchupPlayers = new HashSet<>(matchup.getPlayers());
+            Set<Matchup> matchups = matchupsByPlayers.get(matchupPlayers);
+            matchups.remove(matchup);
+            if (matchups.isEmpty())
+                matchupsByPlayers.remove(matchupPlayers);
+
+            for (Player player : matchup.getPlayers())
+                matchupOccurrences[indexOf(player)] -= matchup.getOccurrences();
+
+            record(Type.MATCHUP_REMOVED, matchup);
+
             setChanged();
+        }
     }
 
     /**
@@ -1084,8 +1240,18 @@ public class Event extends Observable implements Validable {
      * @param players jugadores para los que se borrarán los enfrentamientos predefinidos entre sí
      */
     public void removeMatchup(Set<Player> players) {
-        if (predefinedMatchups.removeIf(m -> m.getPlayers().equals(players)))
+        Set<Matchup> matchups = players == null ? null : matchupsByPlayers.remove(players);
+        if (matchups != null) {
+            predefinedMatchups.removeAll(matchups);
+            for (Matchup matchup : matchups) {
+                for (Player player : matchup.getPlayers())
+                    matchupOccurrences[indexOf(player)] -= matchup.getOccurrences();
+
+                record(Type.MATCHUP_REMOVED, matchup);
+            }
+
             setChanged();
+        }
     }
 
     /**
@@ -1105,12 +1271,27 @@ public class Event extends Observable implements Validable {
      */
     public void clearPredefinedMatchups() {
         if (!predefinedMatchups.isEmpty()) {
-            predefinedMatchups.clear();
+            clearMatchups();
 
             setChanged();
         }
     }
 
+    /**
+     * Vacía el conjunto de enfrentamientos predefinidos junto con su índice por jugadores y los contadores de
+     * partidos predefinidos de cada jugador, y registra el cambio si había alguno.
+     */
+    private void clearMatchups() {
+        if (predefinedMatchups.isEmpty())
+            return;
+
+        predefinedMatchups.clear();
+        matchupsByPlayers.clear();
+        Arrays.fill(matchupOccurrences, 0);
+
+        record(Type.MATCHUPS_CLEARED);
+    }
+
     /**
      * Comprueba si este evento tiene emparejamientos predefinidos
      *
@@ -1118,6 +1299,31 @@ public class Event extends Observable implements Validable {
      */
     public boolean hasPredefinedMatchups() { return !predefinedMatchups.isEmpty(); }
 
+    /**
+     * Devuelve el número de partidos predefinidos de un jugador, es decir, la suma de las ocurrencias de los
+     * enfrentamientos predefinidos de los que forma parte. El valor se mantiene al añadir y eliminar enfrentamientos,
+     * por lo que consultarlo no recorre los enfrentamientos.
+     *
+     * @param player cualquier jugador
+     * @return número de partidos predefinidos del jugador, o 0 si no pertenece a la categoría
+     */
+    public int getPredefinedMatchupOccurrences(Player player) {
+        int index = indexOf(player);
+        return index < 0 ? 0 : matchupOccurrences[index];
+    }
+
+    /**
+     * Devuelve los enfrentamientos predefinidos compuestos exactamente por el conjunto de jugadores indicado.
+     *
+     * @param players conjunto de jugadores
+     * @return conjunto no modificable de los enfrentamientos predefinidos entre esos jugadores, vacío si no hay
+     * ninguno
+     */
+    public Set<Matchup> getPredefinedMatchups(Set<Player> players) {
+        Set<Matchup> matchups = matchupsByPlayers.get(players);
+        return matchups == null ? Collections.emptySet() : Collections.unmodifiableSet(matchups);
+    }
+
     /**
      * Devuelve la lista no modificable de horas del evento que representan un break o descanso
      *
@@ -1160,6 +1366,7 @@ public class Event extends Observable implements Validable {
         if (!breaks.contains(timeslotBreak)) {
             breaks.add(timeslotBreak);
             breaks.sort(Comparator.reverseOrder());
+            record(Type.BREAK_ADDED, timeslotBreak);
 
             setChanged();
         }
@@ -1187,7 +1394,7 @@ public class Event extends Observable implements Validable {
             end = t1;
         }
 
-        for (int t = timeslots.indexOf(start) + 1; t < timeslots.indexOf(end); t++)
+        for (int t = timeslotIndices.indexOf(start) + 1; t < timeslotIndices.indexOf(end); t++)
             addBreak(timeslots.get(t));
     }
 
@@ -1199,8 +1406,11 @@ public class Event extends Observable implements Validable {
      * @param timeslotBreak una hora del evento
      */
     public void removeBreak(Timeslot timeslotBreak) {
-        if (breaks.remove(timeslotBreak))
+        if (breaks.remove(timeslotBreak)) {
+            record(Type.BREAK_REMOVED, timeslotBreak);
+
             setChanged();
+        }
     }
 
     /**
@@ -1209,6 +1419,7 @@ public class Event extends Observable implements Validable {
     public void clearBreaks() {
         if (!breaks.isEmpty()) {
             breaks.clear();
+            record(Type.BREAKS_CLEARED);
 
             setChanged();
         }
@@ -1240,7 +1451,18 @@ public class Event extends Observable implements Validable {
      * @return diccionario no modificable de localizaciones no disponibles a determinadas horas
      */
     public Map<Localization, Set<Timeslot>> getUnavailableLocalizations() {
-        return Collections.unmodifiableMap(unavailableLocalizations);
+        return unavailableLocalizations.asMap();
+    }
+
+    /**
+     * Devuelve las horas a las que la localización no está disponible como un mapa de bits sobre los índices de la
+     * lista de <i>timeslots</i> de la categoría.
+     *
+     * @param localization localización de la categoría
+     * @return copia de los bits de las horas no disponibles, vacía si la localización no pertenece a la categoría
+     */
+    public BitSet getUnavailableTimeslotsOf(Localization localization) {
+        return unavailableLocalizations.getRow(localization);
     }
 
     /**
@@ -1296,13 +1518,14 @@ public class Event extends Observable implements Validable {
         Objects.requireNonNull(localization);
         Objects.requireNonNull(timeslot);
 
-        if (!localizations.contains(localization))
+        if (!localizationIndices.contains(localization))
             throw new IllegalArgumentException("Localization does not exist in this event");
 
-        if (!timeslots.contains(timeslot))
+        if (!timeslotIndices.contains(timeslot))
             throw new IllegalArgumentException("Timeslot does not exist in this event");
 
-        unavailableLocalizations.computeIfAbsent(localization, t -> new HashSet<>()).add(timeslot);
+        if (unavailableLocalizations.add(localization, timeslot))
+            record(Type.LOCALIZATION_UNAVAILABLE, localization, timeslot);
 
         setChanged();
     }
@@ -1331,8 +1554,12 @@ public class Event extends Observable implements Validable {
             end = t1;
         }
 
-        for (int t = timeslots.indexOf(start) + 1; t < timeslots.indexOf(end); t++)
-            addUnavailableLocalizationAtTimeslot(localization, timeslots.get(t));
+        BitSet before = unavailableLocalizations.getRow(localization);
+        unavailableLocalizations.addRange(localization,
+                timeslotIndices.indexOf(start) + 1,
+                timeslotIndices.indexOf(end)
+        );
+        recordUnavailableLocalizationChanges(localization, before, unavailableLocalizations.getRow(localization));
     }
 
     /**
@@ -1342,8 +1569,12 @@ public class Event extends Observable implements Validable {
      * @param localization localización perteneciente al conjunto de localizaciones del evento
      */
     public void removeUnavailableLocalization(Localization localization) {
-        if (unavailableLocalizations.remove(localization) != null)
+        BitSet before = unavailableLocalizations.getRow(localization);
+        if (unavailableLocalizations.removeRow(localization)) {
+            recordUnavailableLocalizationChanges(localization, before, new BitSet());
+
             setChanged();
+        }
     }
 
     /**
@@ -1355,18 +1586,19 @@ public class Event extends Observable implements Validable {
      * @param timeslot     hora perteneciente al conjunto de horas en las que el evento discurre
      */
     public void removeUnavailableLocalizationTimeslot(Localization localization, Timeslot timeslot) {
-        if (unavailableLocalizations.computeIfPresent(localization,
-                (l, t) -> t.remove(timeslot) && t.isEmpty() ? null : t
-        ) == null)
+        if (unavailableLocalizations.remove(localization, timeslot)) {
+            record(Type.LOCALIZATION_AVAILABLE, localization, timeslot);
+
             setChanged();
+        }
     }
 
     /**
      * Vacía el diccionario de localizaciones de juego no disponibles en <i>timeslots</i>.
      */
     public void clearUnavailableLocalizations() {
-        if (!unavailableLocalizations.isEmpty()) {
-            unavailableLocalizations.clear();
+        if (unavailableLocalizations.clear()) {
+            record(Type.UNAVAILABLE_LOCALIZATIONS_CLEARED);
 
             setChanged();
         }
@@ -1389,7 +1621,18 @@ public class Event extends Observable implements Validable {
      * @return diccionario no modificable de jugadores y localizaciones asignadas
      */
     public Map<Player, Set<Localization>> getPlayersInLocalizations() {
-        return Collections.unmodifiableMap(playersInLocalizations);
+        return playersInLocalizations.asMap();
+    }
+
+    /**
+     * Devuelve las localizaciones asignadas al jugador como un mapa de bits sobre los índices de la lista de
+     * localizaciones de la categoría.
+     *
+     * @param player jugador de la categoría
+     * @return copia de los bits de las localizaciones asignadas, vacía si no tiene ninguna asignada
+     */
+    public BitSet getAssignedLocalizationsOf(Player player) {
+        return playersInLocalizations.getRow(player);
     }
 
     /**
@@ -1422,13 +1665,14 @@ public class Event extends Observable implements Validable {
         Objects.requireNonNull(player);
         Objects.requireNonNull(localization);
 
-        if (!players.contains(player))
+        if (!playerIndices.contains(player))
             throw new IllegalArgumentException("Player does not exist in this event");
 
-        if (!localizations.contains(localization))
+        if (!localizationIndices.contains(localization))
             throw new IllegalArgumentException("Localization does not exist in this event");
 
-        playersInLocalizations.computeIfAbsent(player, l -> new HashSet<>()).add(localization);
+        if (playersInLocalizations.add(player, localization))
+            record(Type.PLAYER_IN_LOCALIZATION_ADDED, player, localization);
 
         setChanged();
     }
@@ -1441,10 +1685,11 @@ public class Event extends Observable implements Validable {
      * @param localization localización cuya asignación al jugador se quiere eliminar
      */
     public void removePlayerInLocalization(Player player, Localization localization) {
-        if (playersInLocalizations.computeIfPresent(player,
-                (p, l) -> l.remove(localization) && l.isEmpty() ? null : l
-        ) == null)
+        if (playersInLocalizations.remove(player, localization)) {
+            record(Type.PLAYER_IN_LOCALIZATION_REMOVED, player, localization);
+
             setChanged();
+        }
     }
 
     /**
@@ -1452,8 +1697,8 @@ public class Event extends Observable implements Validable {
      * asociada donde sus partidos deban tener lugar.
      */
     public void clearPlayersInLocalizations() {
-        if (!playersInLocalizations.isEmpty()) {
-            playersInLocalizations.clear();
+        if (playersInLocalizations.clear()) {
+            record(Type.PLAYERS_IN_LOCALIZATIONS_CLEARED);
 
             setChanged();
         }
@@ -1474,7 +1719,18 @@ public class Event extends Observable implements Validable {
      * @return diccionario no modificable de jugadores asociados a <i>timeslots</i> en los que deben jugar
      */
     public Map<Player, Set<Timeslot>> getPlayersAtTimeslots() {
-        return Collections.unmodifiableMap(playersAtTimeslots);
+        return playersAtTimeslots.asMap();
+    }
+
+    /**
+     * Devuelve las horas asignadas al jugador para comenzar sus partidos como un mapa de bits sobre los índices de
+     * la lista de <i>timeslots</i> de la categoría.
+     *
+     * @param player jugador de la categoría
+     * @return copia de los bits de las horas asignadas, vacía si no tiene ninguna asignada
+     */
+    public BitSet getAssignedTimeslotsOf(Player player) {
+        return playersAtTimeslots.getRow(player);
     }
 
     /**
@@ -1495,8 +1751,8 @@ public class Event extends Observable implements Validable {
         Objects.requireNonNull(playersAtTimeslots);
 
         playersAtTimeslots.values()
-                .forEach(playerTimeslots -> playerTimeslots.removeIf(t -> timeslots.indexOf(t) + nTimeslotsPerMatch >
-                        timeslots.size()));
+                .forEach(playerTimeslots -> playerTimeslots.removeIf(t -> timeslotIndices.contains(t) &&
+                        timeslotIndices.indexOf(t) + nTimeslotsPerMatch > timeslots.size()));
 
         playersAtTimeslots.forEach(this::addPlayerAtTimeslots);
     }
@@ -1542,14 +1798,15 @@ public class Event extends Observable implements Validable {
         Objects.requireNonNull(player);
         Objects.requireNonNull(timeslot);
 
-        if (!players.contains(player))
+        if (!playerIndices.contains(player))
             throw new IllegalArgumentException("Player does not exist in this event");
 
-        if (!timeslots.contains(timeslot))
+        if (!timeslotIndices.contains(timeslot))
             throw new IllegalArgumentException("Timeslot does not exist in this event");
 
-        if (timeslots.indexOf(timeslot) + nTimeslotsPerMatch <= timeslots.size())
-            playersAtTimeslots.computeIfAbsent(player, t -> new HashSet<>()).add(timeslot);
+        if (timeslotIndices.indexOf(timeslot) + nTimeslotsPerMatch <= timeslots.size() &&
+                playersAtTimeslots.add(player, timeslot))
+            record(Type.PLAYER_AT_TIMESLOT_ADDED, player, timeslot);
 
         setChanged();
     }
@@ -1578,7 +1835,7 @@ public class Event extends Observable implements Validable {
             end = t1;
         }
 
-        for (int t = timeslots.indexOf(start) + 1; t < timeslots.indexOf(end); t++)
+        for (int t = timeslotIndices.indexOf(start) + 1; t < timeslotIndices.indexOf(end); t++)
             addPlayerAtTimeslot(player, timeslots.get(t));
     }
 
@@ -1590,8 +1847,11 @@ public class Event extends Observable implements Validable {
      * @param timeslot <i>timeslot</i> cuya asociación con el jugador se quiere eliminar
      */
     public void removePlayerAtTimeslot(Player player, Timeslot timeslot) {
-        if (playersAtTimeslots.computeIfPresent(player, (p, t) -> t.remove(timeslot) && t.isEmpty() ? null : t) == null)
+        if (playersAtTimeslots.remove(player, timeslot)) {
+            record(Type.PLAYER_AT_TIMESLOT_REMOVED, player, timeslot);
+
             setChanged();
+        }
     }
 
     /**
@@ -1608,8 +1868,8 @@ public class Event extends Observable implements Validable {
      * <i>timeslot</i> donde sus partidos deban jugarse.
      */
     public void clearPlayersAtTimeslots() {
-        if (!playersAtTimeslots.isEmpty()) {
-            playersAtTimeslots.clear();
+        if (playersAtTimeslots.clear()) {
+            record(Type.PLAYERS_AT_TIMESLOTS_CLEARED);
 
             setChanged();
         }
@@ -1632,11 +1892,15 @@ public class Event extends Observable implements Validable {
         if (matchupMode == this.matchupMode)
             return;
 
+        MatchupMode previousMatchupMode = this.matchupMode;
         if (nMatchesPerPlayer > 1 && nPlayersPerMatch > 1)
             this.matchupMode = matchupMode;
         else
             this.matchupMode = MatchupMode.ANY;
 
+        if (this.matchupMode != previousMatchupMode)
+            record(Type.MATCHUP_MODE);
+
         setChanged();
     }
 
@@ -1659,7 +1923,7 @@ public class Event extends Observable implements Validable {
      * @return <code>true</code> si el jugador está disponible a esa hora, <code>false</code> si no
      */
     public boolean isPlayerUnavailable(Player player, Timeslot timeslot) {
-        return unavailablePlayers.containsKey(player) && unavailablePlayers.get(player).contains(timeslot);
+        return unavailablePlayers.contains(player, timeslot);
     }
 
     /**
@@ -1671,8 +1935,7 @@ public class Event extends Observable implements Validable {
      * disponible
      */
     public boolean isLocalizationUnavailable(Localization localization, Timeslot timeslot) {
-        return unavailableLocalizations.containsKey(localization) &&
-                unavailableLocalizations.get(localization).contains(timeslot);
+        return unavailableLocalizations.contains(localization, timeslot);
     }
 
     /**
@@ -1714,24 +1977,287 @@ public class Event extends Observable implements Validable {
     }
 
     /**
-     * Si falla la validación de este evento, devuelve la lista de mensajes de error.
+     * Si falla la validación de este evento, devuelve la lista de mensajes de error de la última validación.
      *
-     * @return mensajes de error de validación
+     * @return lista no modificable de mensajes de error de validación
      */
     public List<String> getMessages() {
-        return validator.getValidationMessages();
+        return messages;
     }
 
     /**
-     * Valida el estado final de este evento
+     * Valida el estado final de este evento y conserva los mensajes de error resultantes.
+     * <p>
+     * Mientras dura la validación, el validador queda bloqueado, de modo que un mismo validador asignado a varios
+     * eventos se puede usar desde distintos hilos (ver
+     * {@link es.uca.garciachacon.eventscheduler.data.validation.validator.TournamentValidator}) sin que los mensajes
+     * de un evento se mezclen con los de otro.
      *
      * @throws ValidationException si falla la validación
      */
     public void validate() throws ValidationException {
-        if (!validator.validate(this))
+        Validator<Event> eventValidator = validator;
+
+        boolean isValid;
+        synchronized (eventValidator) {
+            isValid = eventValidator.validate(this);
+            messages = Collections.unmodifiableList(new ArrayList<>(eventValidator.getValidationMessages()));
+        }
+
+        if (!isValid)
             throw new ValidationException(String.format("Validation has failed for this event (%s)", name));
     }
 
+    /**
+     * Edita por lotes las restricciones de disponibilidad y los <i>breaks</i> de esta categoría. Los cambios que
+     * registra <code>edits</code> se aplican de una vez al terminar, la categoría se marca como cambiada una sola vez
+     * y se valida una sola vez. Si algún argumento no es válido o la validación falla, la categoría no se modifica.
+     * Véase {@link BatchEdit}.
+     *
+     * @param edits operación que registra los cambios sobre la edición
+     * @throws NullPointerException     si <code>edits</code> es <code>null</code>
+     * @throws IllegalArgumentException si alguno de los elementos de los cambios no pertenece a la categoría
+     * @throws ValidationException      si la categoría no es válida tras aplicar los cambios
+     */
+    public void edit(Consumer<BatchEdit> edits) throws ValidationException {
+        Objects.requireNonNull(edits);
+
+        BatchEdit batch = new BatchEdit(Collections.singletonList(this));
+        edits.accept(batch);
+        batch.apply();
+    }
+
+    /**
+     * Aplica los cambios de una edición por lotes, guardando el estado anterior en los propios cambios, y marca la
+     * categoría como cambiada si ha habido alguna modificación.
+     *
+     * @param changes cambios de la categoría
+     * @return <code>true</code> si la categoría ha cambiado, <code>false</code> si no
+     */
+    boolean applyEdit(BatchEdit.EventChanges changes) {
+        changes.wasChanged = hasChanged();
+
+        boolean changed = false;
+        for (int p = 0; p < players.size(); p++) {
+            BitSet bits = changes.unavailablePlayers.apply(p, unavailablePlayers.copyRow(p));
+            if (bits != null && unavailablePlayers.setRow(p, bits)) {
+                recordUnavailablePlayerChanges(players.get(p), changes.unavailablePlayers.previous[p], bits);
+                changed = true;
+            }
+        }
+
+        for (int c = 0; c < localizations.size(); c++) {
+            BitSet bits = changes.unavailableLocalizations.apply(c, unavailableLocalizations.copyRow(c));
+            if (bits != null && unavailableLocalizations.setRow(c, bits)) {
+                recordUnavailableLocalizationChanges(localizations.get(c),
+                        changes.unavailableLocalizations.previous[c],
+                        bits
+                );
+                changed = true;
+            }
+        }
+
+        BitSet breakIndices = new BitSet(timeslots.size());
+        breaks.forEach(t -> breakIndices.set(timeslotIndices.indexOf(t)));
+        BitSet newBreaks = changes.breaks.apply(0, (BitSet) breakIndices.clone());
+        if (newBreaks != null && !newBreaks.equals(breakIndices)) {
+            setBreakIndices(newBreaks);
+            recordBreakChanges(breakIndices, newBreaks);
+            changed = true;
+        }
+
+        if (changed)
+            setChanged();
+        return changed;
+    }
+
+    /**
+     * Restaura el estado que tenía la categoría antes de aplicar los cambios de una edición por lotes.
+     *
+     * @param changes cambios ya aplicados con {@link #applyEdit(BatchEdit.EventChanges)}
+     */
+    void revertEdit(BatchEdit.EventChanges changes) {
+        for (int p = 0; p < players.size(); p++) {
+            BitSet previous = changes.unavailablePlayers.previous[p];
+            BitSet current = unavailablePlayers.copyRow(p);
+            if (previous != null && unavailablePlayers.setRow(p, previous))
+                recordUnavailablePlayerChanges(players.get(p), current, previous);
+        }
+
+        for (int c = 0; c < localizations.size(); c++) {
+            BitSet previous = changes.unavailableLocalizations.previous[c];
+            BitSet current = unavailableLocalizations.copyRow(c);
+            if (previous != null && unavailableLocalizations.setRow(c, previous))
+                recordUnavailableLocalizationChanges(localizations.get(c), current, previous);
+        }
+
+        BitSet previousBreaks = changes.breaks.previous[0];
+        if (previousBreaks != null) {
+            BitSet currentBreaks = new BitSet(timeslots.size());
+            breaks.forEach(t -> currentBreaks.set(timeslotIndices.indexOf(t)));
+            if (!currentBreaks.equals(previousBreaks)) {
+                setBreakIndices(previousBreaks);
+                recordBreakChanges(currentBreaks, previousBreaks);
+            }
+        }
+
+        if (!changes.wasChanged)
+            clearChanged();
+    }
+
+    /**
+     * Sustituye los <i>breaks</i> por los <i>timeslots</i> con los índices indicados, que quedan en orden
+     * cronológico.
+     *
+     * @param indices índices de los <i>timeslots</i> que son <i>breaks</i>
+     */
+    private void setBreakIndices(BitSet indices) {
+        breaks.clear();
+        indices.stream().forEach(t -> breaks.add(timeslots.get(t)));
+    }
+
+    /**
+     * Devuelve la versión actual de la categoría. Es 0 al construirla y se incrementa en uno con cada cambio
+     * registrado.
+     *
+     * @return versión de la categoría
+     */
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Devuelve los cambios registrados desde la versión indicada, es decir, los cambios con una versión posterior,
+     * en orden de versión. Si la versión indicada es la actual, la lista está vacía.
+     * <p>
+     * El registro conserva solamente los últimos cambios. Si alguno de los cambios posteriores a la versión indicada
+     * se ha descartado, no se puede reconstruir lo que ha cambiado y se devuelve un valor vacío; en ese caso se debe
+     * volver a leer el estado completo de la categoría.
+     *
+     * @param version versión de la categoría conocida, entre 0 y la versión actual
+     * @return lista no modificable de los cambios posteriores a la versión, o un valor vacío si se han descartado
+     * @throws IllegalArgumentException si la versión es negativa o posterior a la versión actual
+     */
+    public Optional<List<EventChange>> getChangesSince(long version) {
+        if (version < 0 || version > this.version)
+            throw new IllegalArgumentException(String.format(
+                    "Version (%d) must be between 0 and the current version (%d)",
+                    version,
+                    this.version
+            ));
+
+        long oldestVersion = changeLog.isEmpty() ? this.version + 1 : changeLog.getFirst().getVersion();
+        if (version + 1 < oldestVersion)
+            return Optional.empty();
+
+        List<EventChange> changes = new ArrayList<>((int) (this.version - version));
+        Iterator<EventChange> it = changeLog.descendingIterator();
+        while (it.hasNext()) {
+            EventChange change = it.next();
+            if (change.getVersion() <= version)
+                break;
+            changes.add(change);
+        }
+        Collections.reverse(changes);
+
+        return Optional.of(Collections.unmodifiableList(changes));
+    }
+
+    @JsonIgnore
+    public int getChangeLogSize() {
+        return changeLogSize;
+    }
+
+    /**
+     * Asigna el número máximo de cambios que conserva el registro de cambios. Si el registro contiene más cambios,
+     * se descartan los más antiguos.
+     *
+     * @param size número de cambios, mayor o igual que 1
+     * @throws IllegalArgumentException si el número de cambios es menor que 1
+     */
+    public void setChangeLogSize(int size) {
+        if (size < 1)
+            throw new IllegalArgumentException("Change log size cannot be less than one");
+
+        changeLogSize = size;
+
+        while (changeLog.size() > changeLogSize)
+            changeLog.removeFirst();
+    }
+
+    /**
+     * Registran un cambio con las entidades afectadas, asignándole la siguiente versión de la categoría y
+     * descartando el cambio más antiguo si el registro está lleno.
+     */
+    private void record(Type type) {
+        record(new EventChange(++version, type, null, null, null, null, null));
+    }
+
+    private void record(Type type, Timeslot timeslot) {
+        record(new EventChange(++version, type, null, null, timeslot, null, null));
+    }
+
+    private void record(Type type, Player player, Timeslot timeslot) {
+        record(new EventChange(++version, type, player, null, timeslot, null, null));
+    }
+
+    private void record(Type type, Localization localization, Timeslot timeslot) {
+        record(new EventChange(++version, type, null, localization, timeslot, null, null));
+    }
+
+    private void record(Type type, Player player, Localization localization) {
+        record(new EventChange(++version, type, player, localization, null, null, null));
+    }
+
+    private void record(Type type, Matchup matchup) {
+        record(new EventChange(++version, type, null, null, null, matchup, null));
+    }
+
+    private void record(Type type, Team team) {
+        record(new EventChange(++version, type, null, null, null, null, team));
+    }
+
+    private void record(EventChange change) {
+        changeLog.addLast(change);
+        if (changeLog.size() > changeLogSize)
+            changeLog.removeFirst();
+    }
+
+    /**
+     * Registran los cambios entre dos estados de una fila de horas no disponibles de un jugador o una localización,
+     * o entre dos estados de los <i>breaks</i>, a partir de los bits sobre los índices de los <i>timeslots</i>.
+     */
+    private void recordUnavailablePlayerChanges(Player player, BitSet before, BitSet after) {
+        difference(after, before).stream().forEach(t -> record(Type.PLAYER_UNAVAILABLE, player, timeslots.get(t)));
+        difference(before, after).stream().forEach(t -> record(Type.PLAYER_AVAILABLE, player, timeslots.get(t)));
+    }
+
+    private void recordUnavailableLocalizationChanges(Localization localization, BitSet before, BitSet after) {
+        difference(after, before).stream()
+                .forEach(t -> record(Type.LOCALIZATION_UNAVAILABLE, localization, timeslots.get(t)));
+        difference(before, after).stream()
+                .forEach(t -> record(Type.LOCALIZATION_AVAILABLE, localization, timeslots.get(t)));
+    }
+
+    private void recordBreakChanges(BitSet before, BitSet after) {
+        difference(after, before).stream().forEach(t -> record(Type.BREAK_ADDED, timeslots.get(t)));
+        difference(before, after).stream().forEach(t -> record(Type.BREAK_REMOVED, timeslots.get(t)));
+    }
+
+    /**
+     * Devuelve los bits activos en el primer mapa de bits que no lo están en el segundo.
+     *
+     * @param bits  mapa de bits
+     * @param other mapa de bits que se descuenta
+     * @return nuevo mapa de bits con la diferencia
+     */
+    private static BitSet difference(BitSet bits, BitSet other) {
+        BitSet difference = (BitSet) bits.clone();
+        difference.andNot(other);
+        return difference;
+    }
+
     /**
      * Marca el evento con un estado final consistente, es decir, que no se han producido cambios en ningunos de sus
      * atributos.
@@ -0,0 +1,237 @@
+package es.uca.garciachacon.eventscheduler.data.model.tournament;
+
+import java.util.Objects;
+
+/**
+ * Entrada del registro de cambios de una categoría ({@link Event}). Cada modificación efectiva de la categoría que es
+ * relevante para el modelo del problema se registra con una de estas entradas, que indica de qué tipo de cambio se
+ * trata, las entidades a las que afecta y el número de versión de la categoría que resulta del cambio.
+ * <p>
+ * Según el tipo de cambio, se informan unas entidades u otras; las demás son <code>null</code>. Por ejemplo, un
+ * cambio {@link Type#PLAYER_UNAVAILABLE} indica el jugador y el <i>timeslot</i>, y un cambio
+ * {@link Type#BREAK_ADDED}, solamente el <i>timeslot</i>. Los cambios de configuración, como
+ * {@link Type#MATCHES_PER_PLAYER}, no indican ninguna entidad; el nuevo valor se consulta en la propia categoría.
+ */
+public class EventChange {
+    /**
+     * Tipos de cambio de una categoría
+     */
+    public enum Type {
+        /**
+         * Cambio del número de partidos por jugador
+         */
+        MATCHES_PER_PLAYER,
+
+        /**
+         * Cambio del número de <i>timeslots</i> por partido
+         */
+        TIMESLOTS_PER_MATCH,
+
+        /**
+         * Cambio del número de jugadores por partido
+         */
+        PLAYERS_PER_MATCH,
+
+        /**
+         * Cambio del número de jugadores por equipo
+         */
+        PLAYERS_PER_TEAM,
+
+        /**
+         * Cambio del modo de emparejamiento
+         */
+        MATCHUP_MODE,
+
+        /**
+         * Se añade un equipo, que puede fijar el número de jugadores por equipo si es el primero (indica el equipo)
+         */
+        TEAM_ADDED,
+
+        /**
+         * Se elimina un equipo, que vuelve a dejar a 0 el número de jugadores por equipo si es el último (indica el
+         * equipo)
+         */
+        TEAM_REMOVED,
+
+        /**
+         * Se eliminan todos los equipos
+         */
+        TEAMS_CLEARED,
+
+        /**
+         * Un jugador deja de estar disponible a una hora (indica el jugador y el <i>timeslot</i>)
+         */
+        PLAYER_UNAVAILABLE,
+
+        /**
+         * Un jugador vuelve a estar disponible a una hora (indica el jugador y el <i>timeslot</i>)
+         */
+        PLAYER_AVAILABLE,
+
+        /**
+         * Todos los jugadores vuelven a estar disponibles a cualquier hora
+         */
+        UNAVAILABLE_PLAYERS_CLEARED,
+
+        /**
+         * Una localización deja de estar disponible a una hora (indica la localización y el <i>timeslot</i>)
+         */
+        LOCALIZATION_UNAVAILABLE,
+
+        /**
+         * Una localización vuelve a estar disponible a una hora (indica la localización y el <i>timeslot</i>)
+         */
+        LOCALIZATION_AVAILABLE,
+
+        /**
+         * Todas las localizaciones vuelven a estar disponibles a cualquier hora
+         */
+        UNAVAILABLE_LOCALIZATIONS_CLEARED,
+
+        /**
+         * Se añade un enfrentamiento predefinido (indica el enfrentamiento)
+         */
+        MATCHUP_ADDED,
+
+        /**
+         * Se elimina un enfrentamiento predefinido (indica el enfrentamiento)
+         */
+        MATCHUP_REMOVED,
+
+        /**
+         * Se eliminan todos los enfrentamientos predefinidos
+         */
+        MATCHUPS_CLEARED,
+
+        /**
+         * Un <i>timeslot</i> pasa a ser un <i>break</i> (indica el <i>timeslot</i>)
+         */
+        BREAK_ADDED,
+
+        /**
+         * Un <i>timeslot</i> deja de ser un <i>break</i> (indica el <i>timeslot</i>)
+         */
+        BREAK_REMOVED,
+
+        /**
+         * Se eliminan todos los <i>breaks</i>
+         */
+        BREAKS_CLEARED,
+
+        /**
+         * Se asigna a un jugador una localización donde jugar (indica el jugador y la localización)
+         */
+        PLAYER_IN_LOCALIZATION_ADDED,
+
+        /**
+         * Se retira a un jugador una localización donde jugar (indica el jugador y la localización)
+         */
+        PLAYER_IN_LOCALIZATION_REMOVED,
+
+        /**
+         * Se retiran todas las localizaciones asignadas a los jugadores
+         */
+        PLAYERS_IN_LOCALIZATIONS_CLEARED,
+
+        /**
+         * Se asigna a un jugador una hora donde comenzar sus partidos (indica el jugador y el <i>timeslot</i>)
+         */
+        PLAYER_AT_TIMESLOT_ADDED,
+
+        /**
+         * Se retira a un jugador una hora donde comenzar sus partidos (indica el jugador y el <i>timeslot</i>)
+         */
+        PLAYER_AT_TIMESLOT_REMOVED,
+
+        /**
+         * Se retiran todas las horas asignadas a los jugadores
+         */
+        PLAYERS_AT_TIMESLOTS_CLEARED
+    }
+
+    /**
+     * Versión de la categoría resultante del cambio
+     */
+    private final long version;
+
+    /**
+     * Tipo de cambio
+     */
+    private final Type type;
+
+    /**
+     * Entidades afectadas por el cambio, <code>null</code> si el tipo de cambio no las indica
+     */
+    private final Player player;
+    private final Localization localization;
+    private final Timeslot timeslot;
+    private final Matchup matchup;
+    private final Team team;
+
+    /**
+     * Construye una entrada del registro de cambios.
+     *
+     * @param version      versión de la categoría resultante del cambio
+     * @param type         tipo de cambio, no <code>null</code>
+     * @param player       jugador afectado, o <code>null</code>
+     * @param localization localización afectada, o <code>null</code>
+     * @param timeslot     <i>timeslot</i> afectado, o <code>null</code>
+     * @param matchup      enfrentamiento afectado, o <code>null</code>
+     * @param team         equipo afectado, o <code>null</code>
+     */
+    EventChange(long version, Type type, Player player, Localization localization, Timeslot timeslot,
+            Matchup matchup, Team team) {
+        Objects.requireNonNull(type);
+
+        this.version = version;
+        this.type = type;
+        this.player = player;
+        this.localization = localization;
+        this.timeslot = timeslot;
+        this.matchup = matchup;
+        this.team = team;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Localization getLocalization() {
+        return localization;
+    }
+
+    public Timeslot getTimeslot() {
+        return timeslot;
+    }
+
+    public Matchup getMatchup() {
+        return matchup;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("EventChange {Version=%d, Type=%s", version, type));
+        if (player != null)
+            sb.append(", Player=").append(player);
+        if (localization != null)
+            sb.append(", Localization=").append(localization);
+        if (timeslot != null)
+            sb.append(", Timeslot=").append(timeslot);
+        if (matchup != null)
+            sb.append(", Matchup=").append(matchup);
+        if (team != null)
+            sb.append(", Team=").append(team);
+        return sb.append("}").toString();
+    }
+}
@@ -0,0 +1,193 @@
+package es.uca.garciachacon.eventscheduler.data.model.tournament;
+
+import java.util.*;
+
+/**
+ * Orden cronológico precalculado de un conjunto de <i>timeslots</i>.
+ * <p>
+ * Los <i>timeslots</i> se ordenan cronológicamente una sola vez y a cada uno se le asigna un rango denso, empezando
+ * por 0 para el más temprano, compartido por los <i>timeslots</i> que son iguales según
+ * {@link Timeslot#compareTo(Timeslot)}. A partir de entonces, comparar dos <i>timeslots</i> del conjunto, comprobar si
+ * uno está dentro de un rango o si dos intervalos se solapan son comparaciones de enteros, sin recurrir a
+ * {@link Timeslot#compareTo(Timeslot)}.
+ * <p>
+ * Los <i>timeslots</i> ajenos al conjunto también se pueden consultar: su posición se localiza mediante búsqueda
+ * binaria sobre un <i>timeslot</i> representante de cada rango.
+ * <p>
+ * Los métodos de comparación siguen el mismo criterio que {@link Timeslot#compareTo(Timeslot)}, es decir, un
+ * <i>timeslot</i> anterior es mayor que uno posterior.
+ */
+public class TimeslotOrder {
+    /**
+     * Rango de cada <i>timeslot</i> del conjunto
+     */
+    private final Map<Timeslot, Integer> ranks;
+
+    /**
+     * Un <i>timeslot</i> representante de cada rango, en orden cronológico
+     */
+    private final Timeslot[] representatives;
+
+    /**
+     * Calcula el orden de un conjunto de <i>timeslots</i>.
+     *
+     * @param timeslots <i>timeslots</i> no nulos, que pueden repetirse
+     * @throws NullPointerException si la colección o alguno de sus elementos es <code>null</code>
+     */
+    public TimeslotOrder(Collection<Timeslot> timeslots) {
+        Objects.requireNonNull(timeslots);
+
+        List<Timeslot> sortedTimeslots = new ArrayList<>(timeslots);
+        sortedTimeslots.sort(Collections.reverseOrder());
+
+        ranks = new IdentityHashMap<>(sortedTimeslots.size());
+        List<Timeslot> distinctTimeslots = new ArrayList<>();
+        for (Timeslot timeslot : sortedTimeslots) {
+            if (distinctTimeslots.isEmpty() ||
+                    distinctTimeslots.get(distinctTimeslots.size() - 1).compareTo(timeslot) != 0)
+                distinctTimeslots.add(timeslot);
+            ranks.put(timeslot, distinctTimeslots.size() - 1);
+        }
+        representatives = distinctTimeslots.toArray(new Timeslot[distinctTimeslots.size()]);
+    }
+
+    /**
+     * Devuelve el número de rangos distintos, es decir, de <i>timeslots</i> distintos según el orden cronológico.
+     *
+     * @return número de rangos
+     */
+    public int size() {
+        return representatives.length;
+    }
+
+    /**
+     * Comprueba si el <i>timeslot</i> pertenece al conjunto ordenado.
+     *
+     * @param timeslot <i>timeslot</i>
+     * @return <code>true</code> si tiene un rango asignado, <code>false</code> si no
+     */
+    public boolean contains(Timeslot timeslot) {
+        return ranks.containsKey(timeslot);
+    }
+
+    /**
+     * Devuelve el rango de un <i>timeslot</i> del conjunto.
+     *
+     * @param timeslot <i>timeslot</i> del conjunto
+     * @return rango del <i>timeslot</i>, 0 para los más tempranos
+     * @throws IllegalArgumentException si el <i>timeslot</i> no pertenece al conjunto
+     */
+    public int rankOf(Timeslot timeslot) {
+        Integer rank = ranks.get(timeslot);
+        if (rank == null)
+            throw new IllegalArgumentException(String.format("Timeslot (%s) is not ranked", timeslot));
+        return rank;
+    }
+
+    /**
+     * Devuelve el menor rango cuyos <i>timeslots</i> no son anteriores al indicado. Para un <i>timeslot</i> del
+     * conjunto es su propio rango.
+     *
+     * @param timeslot <i>timeslot</i> no nulo
+     * @return rango, que puede ser igual al número de rangos si todos son anteriores
+     */
+    public int firstRankNotBefore(Timeslot timeslot) {
+        Integer rank = ranks.get(timeslot);
+        if (rank != null)
+            return rank;
+
+        Objects.requireNonNull(timeslot);
+
+        int low = 0, high = representatives.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (representatives[mid].compareTo(timeslot) > 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Devuelve el mayor rango cuyos <i>timeslots</i> no son posteriores al indicado. Para un <i>timeslot</i> del
+     * conjunto es su propio rango.
+     *
+     * @param timeslot <i>timeslot</i> no nulo
+     * @return rango, que puede ser -1 si todos son posteriores
+     */
+    public int lastRankNotAfter(Timeslot timeslot) {
+        Integer rank = ranks.get(timeslot);
+        if (rank != null)
+            return rank;
+
+        Objects.requireNonNull(timeslot);
+
+        int low = 0, high = representatives.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (representatives[mid].compareTo(timeslot) >= 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low - 1;
+    }
+
+    /**
+     * Compara dos <i>timeslots</i> con el mismo resultado que {@link Timeslot#compareTo(Timeslot)}. Si ambos
+     * pertenecen al conjunto, la comparación es entre sus rangos.
+     *
+     * @param t1 primer <i>timeslot</i>, no nulo
+     * @param t2 segundo <i>timeslot</i>, no nulo
+     * @return <code>1</code> si <code>t1</code> es anterior (mayor), <code>-1</code> si es posterior (menor) y
+     * <code>0</code> si son iguales
+     */
+    public int compare(Timeslot t1, Timeslot t2) {
+        Integer r1 = ranks.get(t1);
+        Integer r2 = ranks.get(t2);
+        if (r1 == null || r2 == null)
+            return t1.compareTo(t2);
+        return Integer.signum(r2 - r1);
+    }
+
+    /**
+     * Comprueba si un <i>timeslot</i> se encuentra entre otros dos, con el mismo resultado que
+     * {@link Timeslot#within(Timeslot, Timeslot)}. El orden de los extremos es indiferente y ambos se incluyen.
+     *
+     * @param timeslot <i>timeslot</i> no nulo
+     * @param t1       un extremo del rango, no nulo
+     * @param t2       el otro extremo, no nulo
+     * @return <code>true</code> si el <i>timeslot</i> está dentro del rango, <code>false</code> si no
+     */
+    public boolean within(Timeslot timeslot, Timeslot t1, Timeslot t2) {
+        Integer rank = ranks.get(timeslot);
+        Integer r1 = ranks.get(t1);
+        Integer r2 = ranks.get(t2);
+        if (rank == null || r1 == null || r2 == null)
+            return timeslot.within(t1, t2);
+        return rank >= Math.min(r1, r2) && rank <= Math.max(r1, r2);
+    }
+
+    /**
+     * Comprueba si dos intervalos de <i>timeslots</i> se solapan, es decir, si comparten algún rango. El orden de los
+     * extremos de cada intervalo es indiferente y ambos se incluyen.
+     *
+     * @param s1 un extremo del primer intervalo, no nulo
+     * @param e1 el otro extremo del primer intervalo, no nulo
+     * @param s2 un extremo del segundo intervalo, no nulo
+     * @param e2 el otro extremo del segundo intervalo, no nulo
+     * @return <code>true</code> si los intervalos se solapan, <code>false</code> si no
+     */
+    public boolean overlaps(Timeslot s1, Timeslot e1, Timeslot s2, Timeslot e2) {
+        if (!(contains(s1) && contains(e1) && contains(s2) && contains(e2)))
+            return !(Collections.max(Arrays.asList(s1, e1)).compareTo(Collections.min(Arrays.asList(s2, e2))) < 0 ||
+                    Collections.min(Arrays.asList(s1, e1)).compareTo(Collections.max(Arrays.asList(s2, e2))) > 0);
+
+        int first1 = Math.min(ranks.get(s1), ranks.get(e1));
+        int last1 = Math.max(ranks.get(s1), ranks.get(e1));
+        int first2 = Math.min(ranks.get(s2), ranks.get(e2));
+        int last2 = Math.max(ranks.get(s2), ranks.get(e2));
+        return first1 <= last2 && first2 <= last1;
+    }
+}
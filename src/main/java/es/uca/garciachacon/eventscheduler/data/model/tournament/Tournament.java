@@ -5,7 +5,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.InverseSchedule;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.Match;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.ScheduleDiff;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.TournamentSchedule;
 import es.uca.garciachacon.eventscheduler.data.validation.validable.Validable;
 import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
@@ -13,11 +15,17 @@ import es.uca.garciachacon.eventscheduler.data.validation.validator.TournamentVa
 import es.uca.garciachacon.eventscheduler.data.validation.validator.Validator;
 import es.uca.garciachacon.eventscheduler.rest.deserializer.TournamentDeserializer;
 import es.uca.garciachacon.eventscheduler.rest.serializer.TournamentSerializer;
+import es.uca.garciachacon.eventscheduler.solver.SolverEngine;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.OptimizationMode;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.ResolutionState;
+import es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolver;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +44,11 @@ import java.util.stream.Collectors;
  * valores específicos una vez se ejecute el método {@link #solve()} que inicia por primera vez el proceso de
  * resolución, del que es responsable {@link TournamentSolver}.
  * <p>
+ * Al iniciar el proceso de resolución, el torneo elige el motor que lo llevará a cabo según la configuración del
+ * <i>solver</i> (ver {@link TournamentSolver.EngineSelection}): el propio {@link TournamentSolver}, o bien
+ * {@link LocalSearchSolver} para torneos cuyo modelo sea demasiado grande. El motor en uso se obtiene mediante
+ * {@link #getEngine()}.
+ * <p>
  * Si el proceso de resolución ha sido satisfactorio, los horarios de los eventos y, por ende, el horario del
  * torneo combinado, se actualizarán a los valores de la primera solución encontrada. Si no se encuentra ninguna
  * solución, los horarios permanecerán con un valor por defecto <code>null</code> sin asignar.
@@ -50,6 +63,10 @@ import java.util.stream.Collectors;
 @JsonDeserialize(using = TournamentDeserializer.class)
 @JsonSerialize(using = TournamentSerializer.class)
 public class Tournament implements Validable {
+    /**
+     * Logger del torneo
+     */
+    private static final Logger LOGGER = Logger.getLogger(Tournament.class.getName());
 
     /**
      * Todos los jugadores que participan en el torneo. No se repiten los presentes en múltiples categorías
@@ -67,6 +84,26 @@ public class Tournament implements Validable {
      */
     private final List<Timeslot> allTimeslots;
 
+    /**
+     * Posición de cada jugador en la lista de todos los jugadores del torneo
+     */
+    private final EntityIndex<Player> playerIndices;
+
+    /**
+     * Posición de cada localización en la lista de todas las localizaciones del torneo
+     */
+    private final EntityIndex<Localization> localizationIndices;
+
+    /**
+     * Posición de cada timeslot en la lista de todos los timeslots del torneo
+     */
+    private final EntityIndex<Timeslot> timeslotIndices;
+
+    /**
+     * Orden cronológico precalculado de todos los timeslots del torneo
+     */
+    private final TimeslotOrder timeslotOrder;
+
     /**
      * Categorías que componen el torneo
      */
@@ -77,6 +114,11 @@ public class Tournament implements Validable {
      */
     private TournamentSolver solver;
 
+    /**
+     * El motor de resolución empleado en el proceso de resolución actual
+     */
+    private SolverEngine engine;
+
     /**
      * Nombre del torneo
      */
@@ -88,10 +130,26 @@ public class Tournament implements Validable {
     private Map<Event, EventSchedule> eventSchedules;
 
     /**
-     * Horario del torneo que combina los horarios de todas las categorías en uno solo
+     * Horario del torneo que combina los horarios de todas las categorías en uno solo. Se construye bajo demanda a
+     * partir de los horarios de la solución actual
      */
     private TournamentSchedule schedule;
 
+    /**
+     * Horario agrupado por localizaciones del torneo, construido bajo demanda para la solución actual
+     */
+    private InverseSchedule inverseSchedule;
+
+    /**
+     * Horarios agrupados por localizaciones de cada categoría, construidos bajo demanda para la solución actual
+     */
+    private Map<Event, InverseSchedule> eventInverseSchedules = new HashMap<>();
+
+    /**
+     * Número de la solución actual en el proceso de resolución, 0 si no hay solución
+     */
+    private long solutionNumber;
+
     /**
      * Validador del torneo
      */
@@ -122,28 +180,40 @@ public class Tournament implements Validable {
         allTimeslots = new ArrayList<>();
         allLocalizations = new ArrayList<>();
 
+        Set<Entity> seen = Collections.newSetFromMap(new IdentityHashMap<>());
         for (Event event : events) {
-            allPlayers.addAll(event.getPlayers()
-                    .stream()
-                    .filter(p -> !allPlayers.contains(p))
-                    .collect(Collectors.toList()));
-
-            allLocalizations.addAll(event.getLocalizations()
-                    .stream()
-                    .filter(l -> !allLocalizations.contains(l))
-                    .collect(Collectors.toList()));
-
-            allTimeslots.addAll(event.getTimeslots()
-                    .stream()
-                    .filter(t -> !allTimeslots.contains(t))
-                    .collect(Collectors.toList()));
+            addAll(event.getPlayers(), allPlayers, seen);
+            addAll(event.getLocalizations(), allLocalizations, seen);
+            addAll(event.getTimeslots(), allTimeslots, seen);
 
             event.setTournament(this);
 
             event.setAsUnchanged();
         }
 
+        playerIndices = new EntityIndex<>(allPlayers);
+        localizationIndices = new EntityIndex<>(allLocalizations);
+        timeslotIndices = new EntityIndex<>(allTimeslots);
+
+        timeslotOrder = new TimeslotOrder(allTimeslots);
+
         solver = new TournamentSolver(this);
+        engine = solver;
+    }
+
+    /**
+     * Añade a una lista de elementos del torneo los elementos de una categoría que aún no contiene, en el orden de la
+     * categoría.
+     *
+     * @param elements elementos de una categoría
+     * @param all      lista de elementos del torneo
+     * @param seen     entidades ya añadidas a alguna de las listas del torneo
+     * @param <T>      tipo de los elementos
+     */
+    private static <T extends Entity> void addAll(List<T> elements, List<T> all, Set<Entity> seen) {
+        for (T element : elements)
+            if (seen.add(element))
+                all.add(element);
     }
 
     /**
@@ -177,7 +247,7 @@ public class Tournament implements Validable {
      * @throws ValidationException si la validación del torneo falla
      */
     public boolean solve() throws ValidationException {
-        if (solver.getResolutionState() == ResolutionState.COMPUTING)
+        if (engine.getResolutionState() == ResolutionState.COMPUTING)
             throw new IllegalStateException("Solver is already computing the solution");
 
         validate();
@@ -187,16 +257,11 @@ public class Tournament implements Validable {
         if (events.stream().anyMatch(Observable::hasChanged))
             solver = new TournamentSolver(solver);
 
-        boolean solved = solver.execute();
+        engine = selectEngine();
 
-        Optional<Map<Event, EventSchedule>> optSchedules = solver.getSolution();
-        if (optSchedules.isPresent()) {
-            eventSchedules = optSchedules.get();
-            schedule = new TournamentSchedule(this);
-        } else {
-            eventSchedules = null;
-            schedule = null;
-        }
+        boolean solved = engine.execute();
+
+        setEventSchedules(engine.getSolution().orElse(null));
 
         events.forEach(Event::setAsUnchanged);
 
@@ -209,7 +274,8 @@ public class Tournament implements Validable {
      * <p>
      * Si el proceso de resolución aún no ha comenzado, se devuelve <code>false</code>.
      * <p>
-     * Además, se recalcula el horario combinado, o se le asigna <code>null</code> si no hay más soluciones.
+     * Además, se descartan los horarios derivados de la solución anterior, como el horario combinado, que se
+     * volverán a calcular bajo demanda.
      * <p>
      * Si se realizan modificaciones sobre la configuración del torneo, es decir, sobre alguno de los elementos
      * configurables de los eventos que lo componen, se debe hacer uso de {@link Tournament#solve} para iniciar el
@@ -233,17 +299,10 @@ public class Tournament implements Validable {
         if (events.stream().anyMatch(Observable::hasChanged))
             throw new IllegalStateException("An event has an inconsistent state");
 
-        if (solver.getResolutionState() != ResolutionState.STARTED)
+        if (engine.getResolutionState() != ResolutionState.STARTED)
             return false;
 
-        Optional<Map<Event, EventSchedule>> optSchedules = solver.getSolution();
-        if (optSchedules.isPresent()) {
-            eventSchedules = optSchedules.get();
-            schedule = new TournamentSchedule(this);
-        } else {
-            eventSchedules = null;
-            schedule = null;
-        }
+        setEventSchedules(engine.getSolution().orElse(null));
 
         return eventSchedules != null;
     }
@@ -276,10 +335,154 @@ public class Tournament implements Validable {
      * <code>null</code> si el torneo no tiene un horario posible, o aún no se ha calculado, o ya se han calculado
      * todos.
      */
-    public TournamentSchedule getSchedule() {
+    public synchronized TournamentSchedule getSchedule() {
+        if (schedule == null && eventSchedules != null)
+            schedule = new TournamentSchedule(this);
         return schedule;
     }
 
+    /**
+     * Devuelve el horario del torneo agrupado por localizaciones de juego. Se construye la primera vez que se
+     * solicita para la solución actual y se reutiliza en las siguientes peticiones, mientras no cambie la solución
+     * ni la configuración de las categorías.
+     *
+     * @return horario agrupado por localizaciones
+     * @throws IllegalStateException si el torneo no tiene un horario calculado
+     */
+    public synchronized InverseSchedule getInverseSchedule() {
+        if (eventSchedules == null)
+            throw new IllegalStateException("Tournament schedule not calculated");
+
+        if (hasChangedEvents())
+            return new InverseSchedule(this);
+
+        if (inverseSchedule == null)
+            inverseSchedule = new InverseSchedule(this);
+        return inverseSchedule;
+    }
+
+    /**
+     * Devuelve el horario de una categoría del torneo agrupado por localizaciones de juego. Se construye la primera
+     * vez que se solicita para la solución actual y se reutiliza en las siguientes peticiones, mientras no cambie la
+     * solución ni la configuración de las categorías.
+     *
+     * @param event categoría del torneo
+     * @return horario agrupado por localizaciones
+     * @throws IllegalArgumentException si la categoría no pertenece al torneo
+     * @throws IllegalStateException    si el torneo no tiene un horario calculado
+     */
+    public synchronized InverseSchedule getInverseSchedule(Event event) {
+        if (!events.contains(event))
+            throw new IllegalArgumentException("Event does not belong to the tournament");
+
+        if (eventSchedules == null)
+            throw new IllegalStateException("Tournament schedules not calculated");
+
+        if (hasChangedEvents())
+            return new InverseSchedule(event);
+
+        return eventInverseSchedules.computeIfAbsent(event, InverseSchedule::new);
+    }
+
+    /**
+     * Devuelve el número de la solución actual en el proceso de resolución, empezando por 1.
+     *
+     * @return número de la solución actual, o 0 si el torneo no tiene un horario calculado
+     */
+    public synchronized long getSolutionNumber() {
+        return solutionNumber;
+    }
+
+    /**
+     * Calcula las diferencias entre el horario de una solución anterior del proceso de resolución actual y el de la
+     * solución actual. Solamente se pueden comparar las soluciones que el motor de resolución conserva en su
+     * historial (ver {@link SolverEngine#getSolution(long)}).
+     *
+     * @param solution número de la solución con la que se compara la actual
+     * @return diferencias entre el horario de la solución indicada y el de la actual
+     * @throws IllegalStateException    si el torneo no tiene un horario calculado
+     * @throws IllegalArgumentException si la solución indicada no se conserva
+     */
+    public synchronized ScheduleDiff getScheduleDiff(long solution) {
+        if (eventSchedules == null)
+            throw new IllegalStateException("Tournament schedule not calculated");
+
+        TournamentSchedule from = getSchedule();
+        if (solution != solutionNumber)
+            from = new TournamentSchedule(this, getVisitedSchedules(solution));
+        return new ScheduleDiff(solution, from, solutionNumber, getSchedule());
+    }
+
+    /**
+     * Vuelve a los horarios de una solución ya visitada en el proceso de resolución actual, sin reiniciar la
+     * búsqueda. La solución indicada pasa a ser la actual, pero {@link #nextSchedules()} continúa a partir de la
+     * última solución encontrada por el motor de resolución. Solamente se puede volver a las soluciones que el motor
+     * conserva en su historial (ver {@link SolverEngine#getSolution(long)}).
+     *
+     * @param solution número de la solución, empezando por 1
+     * @throws IllegalStateException    si algún evento se encuentra en un estado inconsistente, porque la solución
+     *                                  no corresponde a la configuración actual
+     * @throws IllegalArgumentException si la solución indicada no se conserva
+     */
+    public synchronized void goToSolution(long solution) {
+        if (events.stream().anyMatch(Observable::hasChanged))
+            throw new IllegalStateException("An event has an inconsistent state");
+
+        if (solution != solutionNumber || eventSchedules == null)
+            setEventSchedules(getVisitedSchedules(solution), solution);
+    }
+
+    /**
+     * Devuelve los horarios de una solución visitada que conserva el motor de resolución.
+     *
+     * @param solution número de la solución
+     * @return horarios de cada categoría de la solución
+     * @throws IllegalArgumentException si la solución indicada no se conserva
+     */
+    private Map<Event, EventSchedule> getVisitedSchedules(long solution) {
+        return engine.getSolution(solution)
+                .orElseThrow(() -> new IllegalArgumentException("Solution " + solution + " is not available"));
+    }
+
+    /**
+     * Establece los horarios de la solución actual y descarta los horarios derivados de la anterior.
+     *
+     * @param eventSchedules horarios de cada categoría, o <code>null</code> si no hay solución
+     */
+    private synchronized void setEventSchedules(Map<Event, EventSchedule> eventSchedules) {
+        setEventSchedules(eventSchedules, engine.getFoundSolutions());
+    }
+
+    /**
+     * Establece los horarios de una solución como los actuales y descarta los horarios derivados de la anterior.
+     *
+     * @param eventSchedules horarios de cada categoría, o <code>null</code> si no hay solución
+     * @param solution       número de la solución
+     */
+    private synchronized void setEventSchedules(Map<Event, EventSchedule> eventSchedules, long solution) {
+        this.eventSchedules = eventSchedules;
+        solutionNumber = eventSchedules == null ? 0 : solution;
+
+        schedule = null;
+        inverseSchedule = null;
+        eventInverseSchedules.clear();
+    }
+
+    /**
+     * Comprueba si la configuración de alguna categoría ha cambiado desde que se calculó la solución actual. En ese
+     * caso, los horarios agrupados por localizaciones memorizados ya no son válidos y se descartan.
+     *
+     * @return <code>true</code> si alguna categoría ha cambiado, <code>false</code> si no
+     */
+    private boolean hasChangedEvents() {
+        if (events.stream().anyMatch(Observable::hasChanged)) {
+            inverseSchedule = null;
+            eventInverseSchedules.clear();
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Comprueba si el torneo tiene horarios calculados o no. Si no tiene, puede ser porque aún no se ha iniciado el
      * proceso de resolución ({@link Tournament#solve()}), o porque ya se han encontrado todos los horarios posibles
@@ -288,7 +491,7 @@ public class Tournament implements Validable {
      * @return <code>true</code> si el torneo posee un horario que ha sido calculado; <code>false</code> si no
      */
     public boolean hasSchedule() {
-        return schedule != null;
+        return eventSchedules != null;
     }
 
     public String getName() {
@@ -343,6 +546,46 @@ public class Tournament implements Validable {
         return Collections.unmodifiableList(allTimeslots);
     }
 
+    /**
+     * Devuelve la posición de un jugador en la lista de todos los jugadores del torneo.
+     *
+     * @param player cualquier jugador
+     * @return posición del jugador, o -1 si no pertenece al torneo
+     */
+    public int getPlayerIndex(Player player) {
+        return playerIndices.indexOf(player);
+    }
+
+    /**
+     * Devuelve la posición de una localización en la lista de todas las localizaciones del torneo.
+     *
+     * @param localization cualquier localización de juego
+     * @return posición de la localización, o -1 si no pertenece al torneo
+     */
+    public int getLocalizationIndex(Localization localization) {
+        return localizationIndices.indexOf(localization);
+    }
+
+    /**
+     * Devuelve la posición de un timeslot en la lista de todos los timeslots del torneo.
+     *
+     * @param timeslot cualquier hora de juego
+     * @return posición del timeslot, o -1 si no pertenece al torneo
+     */
+    public int getTimeslotIndex(Timeslot timeslot) {
+        return timeslotIndices.indexOf(timeslot);
+    }
+
+    /**
+     * Devuelve el orden cronológico de todas las horas de juego del torneo, que asigna a cada una un rango denso
+     * calculado al construir el torneo.
+     *
+     * @return orden de los timeslots del torneo
+     */
+    public TimeslotOrder getTimeslotOrder() {
+        return timeslotOrder;
+    }
+
     /**
      * Devuelve el número de partidos del torneo
      *
@@ -365,6 +608,50 @@ public class Tournament implements Validable {
         return solver;
     }
 
+    /**
+     * Devuelve el motor de resolución empleado en el proceso de resolución actual. Antes de iniciar el primer
+     * proceso de resolución, el motor es el propio <i>solver</i> del torneo.
+     *
+     * @return motor de resolución en uso
+     */
+    public SolverEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Elige el motor de resolución según la selección configurada en el <i>solver</i> del torneo. En la selección
+     * automática, se opta por la búsqueda local si el modelo de Choco excediese
+     * {@link TournamentSolver#AUTO_ENGINE_THRESHOLD} variables y no se ha configurado ningún modo de optimización,
+     * ya que la búsqueda local no lo aplica.
+     *
+     * @return motor de resolución que se empleará en el proceso de resolución
+     */
+    SolverEngine selectEngine() {
+        switch (solver.getEngineSelection()) {
+            case LOCAL_SEARCH:
+                return new LocalSearchSolver(solver);
+            case GREEDY:
+                LocalSearchSolver greedySolver = new LocalSearchSolver(solver);
+                greedySolver.setStrategy(LocalSearchSolver.Strategy.GREEDY);
+                return greedySolver;
+            case AUTO:
+                long modelSize = TournamentSolver.getModelSize(this);
+                if (modelSize > TournamentSolver.AUTO_ENGINE_THRESHOLD &&
+                        solver.getOptimizationMode() == OptimizationMode.NONE) {
+                    LOGGER.log(Level.WARNING, String.format("Model size (%d) exceeds the threshold (%d), local " +
+                            "search is used instead of Choco and the search strategy (%s) is ignored",
+                            modelSize,
+                            TournamentSolver.AUTO_ENGINE_THRESHOLD,
+                            solver.getSearchStrategy()
+                    ));
+                    return new LocalSearchSolver(solver);
+                }
+                return solver;
+            default:
+                return solver;
+        }
+    }
+
     public <T> void setValidator(Validator<T> validator) {
         if (validator == null)
             throw new IllegalArgumentException("The parameter cannot be null");
@@ -404,7 +691,7 @@ public class Tournament implements Validable {
         Objects.requireNonNull(timeslot);
 
         events.stream()
-                .filter(event -> event.getPlayers().contains(player) && event.getTimeslots().contains(timeslot))
+                .filter(event -> event.hasPlayer(player) && event.hasTimeslot(timeslot))
                 .forEach(event -> event.addUnavailablePlayerAtTimeslot(player, timeslot));
     }
 
@@ -434,17 +721,17 @@ public class Tournament implements Validable {
      * @throws IllegalArgumentException si alguno de los parámetros no existe en el dominio del torneo
      */
     public void addUnavailablePlayerAtTimeslotRange(Player player, Timeslot t1, Timeslot t2) {
-        if (!allPlayers.contains(player))
+        if (!playerIndices.contains(player))
             throw new IllegalArgumentException(String.format("Player (%s) does not exist in the list of players of "
                     + "the tournament",
                     player
             ));
 
-        if (!allTimeslots.contains(t1))
+        if (!timeslotIndices.contains(t1))
             throw new IllegalArgumentException(String.format("Timeslots (%s) does not exist in the list of timeslots " +
                     "" + "of the tournament", t1));
 
-        if (!allTimeslots.contains(t2))
+        if (!timeslotIndices.contains(t2))
             throw new IllegalArgumentException(String.format("Timeslots (%s) does not exist in the list of timeslots " +
                     "" + " of the tournament", t2));
 
@@ -457,7 +744,7 @@ public class Tournament implements Validable {
             end = t1;
         }
 
-        for (int t = allTimeslots.indexOf(start); t <= allTimeslots.indexOf(end); t++)
+        for (int t = timeslotIndices.indexOf(start); t <= timeslotIndices.indexOf(end); t++)
             addUnavailablePlayerAtTimeslot(player, allTimeslots.get(t));
     }
 
@@ -472,7 +759,7 @@ public class Tournament implements Validable {
      */
     public void removeUnavailablePlayerAtTimeslot(Player player, Timeslot timeslot) {
         events.stream()
-                .filter(event -> event.getPlayers().contains(player) && event.getTimeslots().contains(timeslot))
+                .filter(event -> event.hasPlayer(player) && event.hasTimeslot(timeslot))
                 .forEach(event -> event.removeUnavailablePlayerAtTimeslot(player, timeslot));
     }
 
@@ -486,7 +773,7 @@ public class Tournament implements Validable {
         Objects.requireNonNull(timeslotBreak);
 
         events.stream()
-                .filter(event -> event.getTimeslots().contains(timeslotBreak) && !event.isBreak(timeslotBreak))
+                .filter(event -> event.hasTimeslot(timeslotBreak) && !event.isBreak(timeslotBreak))
                 .forEach(event -> event.addBreak(timeslotBreak));
     }
 
@@ -503,7 +790,7 @@ public class Tournament implements Validable {
 
         for (Timeslot timeslot : timeslotBreaks)
             events.stream()
-                    .filter(event -> event.getTimeslots().contains(timeslot) && !event.isBreak(timeslot))
+                    .filter(event -> event.hasTimeslot(timeslot) && !event.isBreak(timeslot))
                     .forEach(event -> event.addBreak(timeslot));
     }
 
@@ -515,7 +802,7 @@ public class Tournament implements Validable {
      */
     public void removeBreak(Timeslot timeslot) {
         events.stream()
-                .filter(event -> event.getTimeslots().contains(timeslot) && event.isBreak(timeslot))
+                .filter(event -> event.hasTimeslot(timeslot) && event.isBreak(timeslot))
                 .forEach(event -> event.removeBreak(timeslot));
     }
 
@@ -531,11 +818,10 @@ public class Tournament implements Validable {
         Objects.requireNonNull(localization);
         Objects.requireNonNull(timeslot);
 
-        events.stream().filter(event -> event.getLocalizations().contains(localization) &&
-                event.getTimeslots().contains(timeslot) &&
-                (!event.getUnavailableLocalizations().containsKey(localization) ||
-                        !event.getUnavailableLocalizations().get(localization).contains(timeslot)
-                )).forEach(event -> event.addUnavailableLocalizationAtTimeslot(localization, timeslot));
+        events.stream().filter(event -> event.hasLocalization(localization) &&
+                event.hasTimeslot(timeslot) &&
+                !event.isLocalizationUnavailable(localization, timeslot))
+                .forEach(event -> event.addUnavailableLocalizationAtTimeslot(localization, timeslot));
     }
 
     /**
@@ -562,17 +848,17 @@ public class Tournament implements Validable {
      * @throws IllegalArgumentException si alguno de los parámetros no pertenecen al dominio del torneo
      */
     public void addUnavailableLocalizationAtTimeslotRange(Localization localization, Timeslot t1, Timeslot t2) {
-        if (!allLocalizations.contains(localization))
+        if (!localizationIndices.contains(localization))
             throw new IllegalArgumentException(String.format(
                     "Localization (%s) does not exist in the list of " + "localizations of the tournament",
                     localization
             ));
 
-        if (!allTimeslots.contains(t1))
+        if (!timeslotIndices.contains(t1))
             throw new IllegalArgumentException(String.format("Timeslots (%s) does not exist in the list of timeslots " +
                     "" + "of the tournament", t1));
 
-        if (!allTimeslots.contains(t2))
+        if (!timeslotIndices.contains(t2))
             throw new IllegalArgumentException(String.format("Timeslots (%s) does not exist in the list of timeslots " +
                     "" + "of the tournament", t2));
 
@@ -585,7 +871,7 @@ public class Tournament implements Validable {
             end = t1;
         }
 
-        for (int t = allTimeslots.indexOf(start); t <= allTimeslots.indexOf(end); t++)
+        for (int t = timeslotIndices.indexOf(start); t <= timeslotIndices.indexOf(end); t++)
             addUnavailableLocalizationAtTimeslot(localization, allTimeslots.get(t));
     }
 
@@ -597,7 +883,7 @@ public class Tournament implements Validable {
      */
     public void removeUnavailableLocalization(Localization localization) {
         events.stream()
-                .filter(event -> event.getLocalizations().contains(localization))
+                .filter(event -> event.hasLocalization(localization))
                 .forEach(event -> event.removeUnavailableLocalization(localization));
     }
 
@@ -612,11 +898,40 @@ public class Tournament implements Validable {
      */
     public void removeUnavailableLocalizationAtTimeslot(Localization localization, Timeslot timeslot) {
         events.stream()
-                .filter(event -> event.getLocalizations().contains(localization) &&
-                        event.getTimeslots().contains(timeslot))
+                .filter(event -> event.hasLocalization(localization) &&
+                        event.hasTimeslot(timeslot))
                 .forEach(event -> event.removeUnavailableLocalizationTimeslot(localization, timeslot));
     }
 
+    /**
+     * Edita por lotes las restricciones de disponibilidad y los <i>breaks</i> de las categorías del torneo.
+     * <p>
+     * Los cambios que registra <code>edits</code> se aplican a las categorías que incluyen los elementos indicados,
+     * igual que los métodos equivalentes de esta clase, pero no uno a uno: al terminar se aplican de una vez como
+     * operaciones de bits, cada categoría afectada se marca como cambiada una sola vez y se valida una sola vez. Si
+     * algún argumento no es válido o alguna validación falla, ninguna categoría se modifica. Véase {@link BatchEdit}.
+     * <pre>
+     * {@code
+     * tournament.edit(b -> {
+     *     b.addUnavailablePlayerAtTimeslotRange(player, t1, t2);
+     *     b.addBreak(t3);
+     * });
+     * }
+     * </pre>
+     *
+     * @param edits operación que registra los cambios sobre la edición
+     * @throws NullPointerException     si <code>edits</code> es <code>null</code>
+     * @throws IllegalArgumentException si alguno de los elementos de los cambios no pertenece al torneo
+     * @throws ValidationException      si alguna categoría modificada no es válida tras aplicar los cambios
+     */
+    public void edit(Consumer<BatchEdit> edits) throws ValidationException {
+        Objects.requireNonNull(edits);
+
+        BatchEdit batch = new BatchEdit(events);
+        edits.accept(batch);
+        batch.apply();
+    }
+
     /**
      * Muestra por la salida estándar una representación de los horarios de cada categoría.
      *
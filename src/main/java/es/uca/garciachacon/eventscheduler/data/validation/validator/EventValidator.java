@@ -2,10 +2,7 @@ package es.uca.garciachacon.eventscheduler.data.validation.validator;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Valida el estado final de un evento o categoría.
@@ -133,24 +130,224 @@ import java.util.Set;
  * <li>Todos los jugadores deben pertenecer a la lista de jugadores del evento
  * <li>Todas las horas deben pertenecer a la lista de <i>timeslots</i> del evento
  * </ul>
+ * <p>
+ * <h2>Validación incremental</h2>
+ * Las reglas se agrupan como se describe arriba y los grupos se validan en ese orden, deteniéndose en el primero que
+ * no se cumple. El resultado de cada grupo se guarda junto con la versión del evento validado (ver
+ * {@link Event#getVersion()}). En las siguientes validaciones del mismo evento, solamente se vuelven a comprobar los
+ * grupos afectados por los cambios registrados desde entonces ({@link Event#getChangesSince(long)}), además del
+ * nombre, cuyo cambio no se registra. Si los cambios ya no están disponibles, se valida el evento completo.
+ * <p>
+ * Las modificaciones que se hagan directamente sobre los conjuntos de un enfrentamiento o de un equipo ya añadidos al
+ * evento no quedan registradas. Para validar de nuevo el evento completo tras una de ellas se puede asignar al evento
+ * un nuevo validador.
+ * <p>
+ * Un validador se puede compartir entre varios eventos y usar desde distintos hilos: la validación y la consulta de
+ * los mensajes están sincronizadas sobre el propio validador.
  */
 public class EventValidator implements Validator<Event> {
+    /**
+     * Grupos de reglas de validación, en el orden en el que se comprueban
+     */
+    private enum RuleGroup {
+        NAME,
+        PLAYERS,
+        LOCALIZATIONS,
+        TIMESLOTS,
+        MATCHES_PER_PLAYER,
+        PLAYERS_PER_MATCH,
+        MATCH_DURATION,
+        TEAMS,
+        UNAVAILABLE_PLAYERS,
+        PREDEFINED_MATCHUPS,
+        BREAKS,
+        UNAVAILABLE_LOCALIZATIONS,
+        PLAYERS_IN_LOCALIZATIONS,
+        PLAYERS_AT_TIMESLOTS
+    }
+
+    /**
+     * Resultado de la última validación de un evento
+     */
+    private static class ValidationState {
+        /**
+         * Versión del evento validada
+         */
+        long version;
+
+        /**
+         * Si cada grupo de reglas se cumple, para los grupos que se han comprobado y no han cambiado desde entonces
+         */
+        final Map<RuleGroup, Boolean> results = new EnumMap<>(RuleGroup.class);
+
+        /**
+         * Mensajes de error de cada grupo de reglas comprobado
+         */
+        final Map<RuleGroup, List<String>> messages = new EnumMap<>(RuleGroup.class);
+
+        void invalidate(RuleGroup group) {
+            results.remove(group);
+            messages.remove(group);
+        }
+    }
+
     /**
      * Mensajes de error de la validación
      */
     private final List<String> messages = new ArrayList<>();
 
-    public boolean validate(Event event) {
+    /**
+     * Resultado de la última validación de cada evento validado
+     */
+    private final Map<Event, ValidationState> states = new WeakHashMap<>();
+
+    public synchronized boolean validate(Event event) {
         messages.clear();
 
-        // No se devuelve directamente para formar los mensajes de validación
-        boolean isValid = validateName(event) && validatePlayers(event) && validateLocalizations(event) &&
-                validateTimeslots(event) && validateMatchesPerPlayer(event) && validatePlayersPerMatch(event) &&
-                validateMatchDuration(event) && validateTeams(event) && validateUnavailablePlayers(event) &&
-                validatePredefinedMatchups(event) && validateBreaks(event) && validateUnavailableLocaliztions(event) &&
-                validatePlayersInLocalizations(event) && validatePlayersAtTimeslots(event);
+        ValidationState state = states.get(event);
+        Optional<List<EventChange>> changes = Optional.empty();
+        if (state != null && state.version <= event.getVersion())
+            changes = event.getChangesSince(state.version);
 
-        return isValid;
+        if (changes.isPresent()) {
+            for (EventChange change : changes.get())
+                affectedRules(change.getType()).forEach(state::invalidate);
+        } else {
+            state = new ValidationState();
+            states.put(event, state);
+        }
+
+        // El cambio de nombre no se registra, luego siempre se comprueba
+        state.invalidate(RuleGroup.NAME);
+        state.version = event.getVersion();
+
+        for (RuleGroup group : RuleGroup.values()) {
+            Boolean isValid = state.results.get(group);
+            if (isValid == null) {
+                int firstMessage = messages.size();
+                isValid = check(group, event);
+
+                state.results.put(group, isValid);
+                state.messages.put(group, new ArrayList<>(messages.subList(firstMessage, messages.size())));
+            } else
+                messages.addAll(state.messages.get(group));
+
+            if (!isValid)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Comprueba un grupo de reglas de validación sobre el evento.
+     *
+     * @param group grupo de reglas
+     * @param event evento no <code>null</code>
+     * @return si la validación es satisfactoria <code>true</code>, de lo contrario, se devuelve <code>false</code>
+     */
+    private boolean check(RuleGroup group, Event event) {
+        switch (group) {
+            case NAME:
+                return validateName(event);
+            case PLAYERS:
+                return validatePlayers(event);
+            case LOCALIZATIONS:
+                return validateLocalizations(event);
+            case TIMESLOTS:
+                return validateTimeslots(event);
+            case MATCHES_PER_PLAYER:
+                return validateMatchesPerPlayer(event);
+            case PLAYERS_PER_MATCH:
+                return validatePlayersPerMatch(event);
+            case MATCH_DURATION:
+                return validateMatchDuration(event);
+            case TEAMS:
+                return validateTeams(event);
+            case UNAVAILABLE_PLAYERS:
+                return validateUnavailablePlayers(event);
+            case PREDEFINED_MATCHUPS:
+                return validatePredefinedMatchups(event);
+            case BREAKS:
+                return validateBreaks(event);
+            case UNAVAILABLE_LOCALIZATIONS:
+                return validateUnavailableLocaliztions(event);
+            case PLAYERS_IN_LOCALIZATIONS:
+                return validatePlayersInLocalizations(event);
+            default:
+                return validatePlayersAtTimeslots(event);
+        }
+    }
+
+    /**
+     * Devuelve los grupos de reglas cuyo resultado puede variar tras un tipo de cambio del evento. Las listas de
+     * jugadores, localizaciones y <i>timeslots</i> de un evento no cambian, luego sus grupos solamente dependen de
+     * la configuración de los partidos.
+     *
+     * @param type tipo de cambio
+     * @return grupos de reglas afectados
+     */
+    private static Set<RuleGroup> affectedRules(EventChange.Type type) {
+        switch (type) {
+            case MATCHES_PER_PLAYER:
+                return EnumSet.of(RuleGroup.TIMESLOTS,
+                        RuleGroup.MATCHES_PER_PLAYER,
+                        RuleGroup.MATCH_DURATION,
+                        RuleGroup.PREDEFINED_MATCHUPS
+                );
+            case TIMESLOTS_PER_MATCH:
+                return EnumSet.of(RuleGroup.TIMESLOTS, RuleGroup.MATCHES_PER_PLAYER, RuleGroup.MATCH_DURATION);
+            case PLAYERS_PER_MATCH:
+                return EnumSet.of(RuleGroup.PLAYERS_PER_MATCH, RuleGroup.PREDEFINED_MATCHUPS);
+            case PLAYERS_PER_TEAM:
+            case TEAM_ADDED:
+            case TEAM_REMOVED:
+            case TEAMS_CLEARED:
+                return EnumSet.of(RuleGroup.TEAMS);
+            case PLAYER_UNAVAILABLE:
+            case PLAYER_AVAILABLE:
+            case UNAVAILABLE_PLAYERS_CLEARED:
+                return EnumSet.of(RuleGroup.UNAVAILABLE_PLAYERS);
+            case LOCALIZATION_UNAVAILABLE:
+            case LOCALIZATION_AVAILABLE:
+            case UNAVAILABLE_LOCALIZATIONS_CLEARED:
+                return EnumSet.of(RuleGroup.UNAVAILABLE_LOCALIZATIONS);
+            case MATCHUP_ADDED:
+            case MATCHUP_REMOVED:
+            case MATCHUPS_CLEARED:
+                return EnumSet.of(RuleGroup.PREDEFINED_MATCHUPS);
+            case BREAK_ADDED:
+            case BREAK_REMOVED:
+            case BREAKS_CLEARED:
+                return EnumSet.of(RuleGroup.BREAKS);
+            case PLAYER_IN_LOCALIZATION_ADDED:
+            case PLAYER_IN_LOCALIZATION_REMOVED:
+            case PLAYERS_IN_LOCALIZATIONS_CLEARED:
+                return EnumSet.of(RuleGroup.PLAYERS_IN_LOCALIZATIONS);
+            case PLAYER_AT_TIMESLOT_ADDED:
+            case PLAYER_AT_TIMESLOT_REMOVED:
+            case PLAYERS_AT_TIMESLOTS_CLEARED:
+                return EnumSet.of(RuleGroup.PLAYERS_AT_TIMESLOTS);
+            default:
+                return EnumSet.noneOf(RuleGroup.class);
+        }
+    }
+
+    /**
+     * Devuelve los elementos repetidos de una lista, comparados por identidad, una vez por cada aparición posterior a
+     * la primera.
+     *
+     * @param elements lista de elementos
+     * @param <T>      tipo de los elementos
+     * @return elementos repetidos, en el orden de la lista
+     */
+    static <T> List<T> findDuplicates(List<T> elements) {
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>(elements.size()));
+        List<T> duplicates = new ArrayList<>();
+        for (T element : elements)
+            if (!seen.add(element))
+                duplicates.add(element);
+        return duplicates;
     }
 
     /**
@@ -193,14 +390,10 @@ public class EventValidator implements Validator<Event> {
             return false;
         }
 
-        for (int i = 0; i < players.size() - 1; i++)
-            for (int j = i + 1; j < players.size(); j++)
-                if (players.get(i) == players.get(j)) {
-                    isValid = false;
-                    messages.add(String.format("Players must contain unique elements; player (%s) is duplicated)",
-                            players.get(i)
-                    ));
-                }
+        for (Player player : findDuplicates(players)) {
+            isValid = false;
+            messages.add(String.format("Players must contain unique elements; player (%s) is duplicated)", player));
+        }
 
         return isValid;
     }
@@ -231,15 +424,13 @@ public class EventValidator implements Validator<Event> {
             return false;
         }
 
-        for (int i = 0; i < localizations.size() - 1; i++)
-            for (int j = i + 1; j < localizations.size(); j++)
-                if (localizations.get(i) == localizations.get(j)) {
-                    isValid = false;
-                    messages.add(String.format(
-                            "Localizations must contain unique elements; localization (%s) is duplicated",
-                            localizations.get(i)
-                    ));
-                }
+        for (Localization localization : findDuplicates(localizations)) {
+            isValid = false;
+            messages.add(String.format(
+                    "Localizations must contain unique elements; localization (%s) is duplicated",
+                    localization
+            ));
+        }
 
         return isValid;
     }
@@ -270,14 +461,11 @@ public class EventValidator implements Validator<Event> {
             return false;
         }
 
-        for (int i = 0; i < timeslots.size() - 1; i++) {
-            for (int j = i + 1; j < timeslots.size(); j++)
-                if (timeslots.get(i) == timeslots.get(j)) {
-                    isValid = false;
-                    messages.add(String.format("Timeslots must contain unique elements; timeslot (%s) is duplicated",
-                            timeslots.get(i)
-                    ));
-                }
+        for (Timeslot timeslot : findDuplicates(timeslots)) {
+            isValid = false;
+            messages.add(String.format("Timeslots must contain unique elements; timeslot (%s) is duplicated",
+                    timeslot
+            ));
         }
 
         for (int i = 0; i < timeslots.size() - 1; i++) {
@@ -397,12 +585,10 @@ public class EventValidator implements Validator<Event> {
                 return false;
             }
 
-            for (int i = 0; i < teams.size() - 1; i++)
-                for (int j = i + 1; j < teams.size(); j++)
-                    if (teams.get(i) == teams.get(j)) {
-                        isValid = false;
-                        messages.add(String.format("Teams cannot be duplicated; team (%s) is", teams.get(i)));
-                    }
+            for (Team team : findDuplicates(teams)) {
+                isValid = false;
+                messages.add(String.format("Teams cannot be duplicated; team (%s) is", team));
+            }
 
             int nPlayersPerTeam = teams.get(0).getPlayers().size();
             for (int i = 1; i < teams.size(); i++)
@@ -417,7 +603,7 @@ public class EventValidator implements Validator<Event> {
 
             for (Team team : teams)
                 for (Player player : team.getPlayers())
-                    if (!event.getPlayers().contains(player)) {
+                    if (!event.hasPlayer(player)) {
                         isValid = false;
                         messages.add(String.format(
                                 "All players must exist in the list of players of the event; player (%s) does not",
@@ -425,16 +611,16 @@ public class EventValidator implements Validator<Event> {
                         ));
                     }
 
-            for (int i = 0; i < teams.size() - 1; i++)
-                for (Player player : teams.get(i).getPlayers())
-                    for (int j = i + 1; j < teams.size(); j++)
-                        if (teams.get(j).getPlayers().contains(player)) {
-                            isValid = false;
-                            messages.add(String.format("A player cannot exist in multiple teams; player (%s) is " +
-                                            "duplicated",
-                                    player
-                            ));
-                        }
+            Set<Team> distinctTeams = Collections.newSetFromMap(new IdentityHashMap<>(teams.size()));
+            distinctTeams.addAll(teams);
+            List<Player> teamPlayers = new ArrayList<>();
+            distinctTeams.forEach(team -> teamPlayers.addAll(team.getPlayers()));
+            for (Player player : findDuplicates(teamPlayers)) {
+                isValid = false;
+                messages.add(String.format("A player cannot exist in multiple teams; player (%s) is duplicated",
+                        player
+                ));
+            }
 
             int nPlayers = 0;
             for (Team team : teams)
@@ -485,7 +671,7 @@ public class EventValidator implements Validator<Event> {
                 messages.add("Set of unavailable timeslots associated to a player cannot be empty");
             } else {
                 for (Timeslot timeslot : timeslots)
-                    if (!event.getTimeslots().contains(timeslot)) {
+                    if (!event.hasTimeslot(timeslot)) {
                         isValid = false;
                         messages.add(String.format("All timeslots must exist in the list of timeslots of the event; " +
                                 "timeslot (%s) does " +
@@ -495,7 +681,7 @@ public class EventValidator implements Validator<Event> {
         }
 
         for (Player player : unavailablePlayers.keySet())
-            if (!event.getPlayers().contains(player)) {
+            if (!event.hasPlayer(player)) {
                 isValid = false;
                 messages.add(String.format(
                         "All players must exist in the list of players of the event; player (%s) " + "does not",
@@ -536,7 +722,7 @@ public class EventValidator implements Validator<Event> {
 
         for (Matchup matchup : matchups) {
             for (Player player : matchup.getPlayers())
-                if (!event.getPlayers().contains(player)) {
+                if (!event.hasPlayer(player)) {
                     isValid = false;
                     messages.add(String.format(
                             "All players must exist in the list of players of the event; player (%s) does not",
@@ -554,23 +740,21 @@ public class EventValidator implements Validator<Event> {
             }
 
             for (Localization localization : matchup.getLocalizations())
-                if (!event.getLocalizations().contains(localization)) {
+                if (!event.hasLocalization(localization)) {
                     isValid = false;
                     messages.add(String.format("All localizations must exist in the list of localizations of the " +
                             "event; localization (%s) does not", localization));
                 }
 
             for (Timeslot timeslot : matchup.getTimeslots())
-                if (!event.getTimeslots().contains(timeslot)) {
+                if (!event.hasTimeslot(timeslot)) {
                     isValid = false;
                     messages.add(String.format("All timeslots must exist in the list of timeslots of the " +
                             "event; localization (%s) does not", timeslot));
                 }
 
             for (Player player : matchup.getPlayers()) {
-                long count = event.getPredefinedMatchups()
-                        .stream().filter(m -> m.getPlayers().contains(player)).mapToInt(Matchup::getOccurrences)
-                        .sum();
+                int count = event.getPredefinedMatchupOccurrences(player);
                 if (count > event.getMatchesPerPlayer()) {
                     isValid = false;
                     messages.add(String.format(
@@ -607,15 +791,13 @@ public class EventValidator implements Validator<Event> {
             messages.add("Break cannot be null");
         }
 
-        for (int i = 0; i < breaks.size() - 1; i++)
-            for (int j = i + 1; j < breaks.size(); j++)
-                if (breaks.get(i) == breaks.get(j)) {
-                    isValid = false;
-                    messages.add(String.format("All breaks must be unique; break (%s) is duplicated", breaks.get(i)));
-                }
+        for (Timeslot timeslot : findDuplicates(breaks)) {
+            isValid = false;
+            messages.add(String.format("All breaks must be unique; break (%s) is duplicated", timeslot));
+        }
 
         for (Timeslot timeslot : breaks)
-            if (!event.getTimeslots().contains(timeslot)) {
+            if (!event.hasTimeslot(timeslot)) {
                 isValid = false;
                 messages.add(String.format(
                         "All breaks must exist in the list of timeslots of the event; timeslot (%s) does not",
@@ -646,7 +828,7 @@ public class EventValidator implements Validator<Event> {
             if (localization == null) {
                 isValid = false;
                 messages.add("Unavailable localizations cannot be null");
-            } else if (!event.getLocalizations().contains(localization)) {
+            } else if (!event.hasLocalization(localization)) {
                 isValid = false;
                 messages.add(String.format("All localizations must exist in the list of localizations of the event; " +
                         "localization (%s) " +
@@ -663,7 +845,7 @@ public class EventValidator implements Validator<Event> {
                     if (timeslot == null) {
                         isValid = false;
                         messages.add("Timeslot cannot be null");
-                    } else if (!event.getTimeslots().contains(timeslot)) {
+                    } else if (!event.hasTimeslot(timeslot)) {
                         isValid = false;
                         messages.add(String.format("All timeslots must exist in the list of timeslots of the event; " +
                                 "timeslot (%s) does " +
@@ -697,7 +879,7 @@ public class EventValidator implements Validator<Event> {
             if (player == null) {
                 isValid = false;
                 messages.add("Players in localizations cannot be null");
-            } else if (!event.getPlayers().contains(player)) {
+            } else if (!event.hasPlayer(player)) {
                 isValid = false;
                 messages.add(String.format(
                         "All players must exist in the list of players of the event; player (%s) " + "does not",
@@ -715,7 +897,7 @@ public class EventValidator implements Validator<Event> {
                     if (localization == null) {
                         isValid = false;
                         messages.add("Localization cannot be null");
-                    } else if (!event.getLocalizations().contains(localization)) {
+                    } else if (!event.hasLocalization(localization)) {
                         isValid = false;
                         messages.add(String.format("All localizations must exist in the list of localizations of the " +
                                 "event; localization" +
@@ -748,7 +930,7 @@ public class EventValidator implements Validator<Event> {
             if (player == null) {
                 isValid = false;
                 messages.add("Players at timeslots cannot be null");
-            } else if (!event.getPlayers().contains(player)) {
+            } else if (!event.hasPlayer(player)) {
                 isValid = false;
                 messages.add(String.format(
                         "All players must exist in the list of players of the event; player (%s) " + "does not",
@@ -766,7 +948,7 @@ public class EventValidator implements Validator<Event> {
                     if (timeslot == null) {
                         isValid = false;
                         messages.add("Timeslot cannot be null");
-                    } else if (!event.getTimeslots().contains(timeslot)) {
+                    } else if (!event.hasTimeslot(timeslot)) {
                         isValid = false;
                         messages.add(String.format("All timeslots must exist in the list of timeslots of the event; " +
                                 "timeslots (%s) does " +
@@ -779,7 +961,7 @@ public class EventValidator implements Validator<Event> {
         return isValid;
     }
 
-    public List<String> getValidationMessages() {
-        return messages;
+    public synchronized List<String> getValidationMessages() {
+        return new ArrayList<>(messages);
     }
 }
@@ -6,6 +6,11 @@ import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationEx
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -19,7 +24,12 @@ import java.util.stream.Collectors;
  * </ul>
  * Además, se valida cada una de las categorías de las que el torneo se compone, de forma que si alguna de ellas no
  * es válida, la validación completa del torneo no será satisfactoria. Las reglas de validación de una categoría por
- * defecto, es decir, si no se ha cambiado el objeto que la valida, están definidas en {@link EventValidator}.
+ * defecto, es decir, si no se ha cambiado el objeto que la valida, están definidas en {@link EventValidator}, que
+ * solamente vuelve a comprobar lo que ha cambiado en cada categoría desde su última validación.
+ * <p>
+ * Las categorías se validan en paralelo sobre un ejecutor configurable ({@link #setEventExecutor(Executor)}). Los
+ * mensajes de error de las categorías se recogen siempre en el orden de las categorías del torneo, con independencia
+ * del orden en el que terminen sus validaciones.
  */
 public class TournamentValidator implements Validator<Tournament> {
     /**
@@ -27,7 +37,14 @@ public class TournamentValidator implements Validator<Tournament> {
      */
     private final List<String> messages = new ArrayList<>();
 
+    /**
+     * Ejecutor sobre el que se validan en paralelo las categorías del torneo
+     */
+    private Executor eventExecutor = ForkJoinPool.commonPool();
+
     public boolean validate(Tournament t) {
+        messages.clear();
+
         boolean isValid = validateName(t) && validateEvents(t) && validateLists(t);
         return isValid;
     }
@@ -67,23 +84,20 @@ public class TournamentValidator implements Validator<Tournament> {
             return false;
         }
 
-        for (int i = 0; i < events.size() - 1; i++)
-            for (int j = i + 1; j < events.size(); j++)
-                if (events.get(i) == events.get(j)) {
-                    isValid = false;
-                    messages.add(String.format("All categories must be unique; event (%s) is duplicated",
-                            events.get(i)
-                    ));
-                }
+        for (Event event : EventValidator.findDuplicates(events)) {
+            isValid = false;
+            messages.add(String.format("All categories must be unique; event (%s) is duplicated", event));
+        }
 
         if (isValid) {
-            for (Event event : events) {
-                try {
-                    event.validate();
-                } catch (ValidationException e) {
+            List<List<String>> eventMessages = validateEachEvent(events);
+
+            for (int e = 0; e < events.size(); e++) {
+                if (eventMessages.get(e) != null) {
                     isValid = false;
 
-                    messages.addAll(event.getMessages()
+                    Event event = events.get(e);
+                    messages.addAll(eventMessages.get(e)
                             .stream()
                             .map(err -> String.format("Validation error in event (%s): %s", event, err))
                             .collect(Collectors.toList()));
@@ -94,6 +108,52 @@ public class TournamentValidator implements Validator<Tournament> {
         return isValid;
     }
 
+    /**
+     * Valida cada una de las categorías, en una tarea sobre el ejecutor de categorías para cada una si hay más de
+     * una. El método termina cuando todas ellas se han validado.
+     *
+     * @param events categorías no <code>null</code> y sin repetir
+     * @return mensajes de error de cada categoría en el mismo orden, o <code>null</code> para las categorías válidas
+     */
+    private List<List<String>> validateEachEvent(List<Event> events) {
+        List<List<String>> eventMessages = new ArrayList<>(events.size());
+
+        if (events.size() == 1) {
+            eventMessages.add(validateEvent(events.get(0)));
+            return eventMessages;
+        }
+
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(events.size());
+        for (Event event : events)
+            futures.add(CompletableFuture.supplyAsync(() -> validateEvent(event), eventExecutor));
+
+        try {
+            for (CompletableFuture<List<String>> future : futures)
+                eventMessages.add(future.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+
+        return eventMessages;
+    }
+
+    /**
+     * Valida una categoría.
+     *
+     * @param event categoría no <code>null</code>
+     * @return <code>null</code> si la categoría es válida, o sus mensajes de error si no lo es
+     */
+    private static List<String> validateEvent(Event event) {
+        try {
+            event.validate();
+            return null;
+        } catch (ValidationException e) {
+            return event.getMessages();
+        }
+    }
+
     /**
      * Valida las listas de jugadores, localizaciones y horas de juego del torneo.
      *
@@ -125,4 +185,18 @@ public class TournamentValidator implements Validator<Tournament> {
         return messages;
     }
 
+    public Executor getEventExecutor() {
+        return eventExecutor;
+    }
+
+    /**
+     * Establece el ejecutor sobre el que se validan las categorías del torneo. Por defecto es el <i>pool</i> común de
+     * <i>fork-join</i>.
+     *
+     * @param executor ejecutor no <code>null</code>
+     */
+    public void setEventExecutor(Executor executor) {
+        eventExecutor = Objects.requireNonNull(executor);
+    }
+
 }
@@ -3,12 +3,15 @@ package es.uca.garciachacon.eventscheduler.rest;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.InverseSchedule;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.Schedule;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.ScheduleDiff;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.TournamentSchedule;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
 import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
 import es.uca.garciachacon.eventscheduler.rest.dao.ITournamentDao;
 import es.uca.garciachacon.eventscheduler.solver.ResolutionData;
+import es.uca.garciachacon.eventscheduler.solver.SolutionCounter;
+import es.uca.garciachacon.eventscheduler.solver.SolverEngine;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.ResolutionState;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.SearchStrategy;
@@ -29,6 +32,26 @@ import java.util.stream.Collectors;
  */
 @Path("eventscheduler")
 public class EventSchedulerService {
+    /**
+     * Número máximo de soluciones que cuenta una petición de recuento, y valor por defecto si no se especifica
+     */
+    static final long MAX_COUNT_LIMIT = 1_000_000;
+
+    /**
+     * Tiempo máximo en milisegundos de una petición de recuento, y valor por defecto si no se especifica
+     */
+    static final long MAX_COUNT_TIMEOUT = 30_000;
+
+    /**
+     * Número máximo de sondeos de una petición de estimación del número de soluciones
+     */
+    static final int MAX_ESTIMATE_PROBES = 100_000;
+
+    /**
+     * Número de sondeos de una petición de estimación si no se especifica
+     */
+    static final int DEFAULT_ESTIMATE_PROBES = 1000;
+
     private ITournamentDao dao;
 
     /**
@@ -133,11 +156,87 @@ public class EventSchedulerService {
         Optional<Tournament> optTournament = dao.get(id);
 
         if (optTournament.isPresent())
-            return optTournament.get().getSolver().getFoundSolutions();
+            return optTournament.get().getEngine().getFoundSolutions();
 
         throw new NotFoundException();
     }
 
+    /**
+     * Petición GET para contar el número total de soluciones del torneo sin construir sus horarios. El recuento no
+     * afecta al proceso de resolución en curso.
+     * <p>
+     * Mediante parámetros opcionales se puede acotar el recuento: <i>limit</i> indica el número máximo de soluciones
+     * a contar, <i>timeout</i> el tiempo máximo en milisegundos y <i>parallelism</i> el número de hilos entre los que
+     * se reparte la enumeración. Como el recuento se ejecuta durante la petición, siempre está acotado: el límite y
+     * el tiempo no pueden superar {@link #MAX_COUNT_LIMIT} y {@link #MAX_COUNT_TIMEOUT}, que son sus valores por
+     * defecto, y el número de hilos no puede superar el de procesadores disponibles, siendo 1 por defecto. Si se
+     * alcanza alguno de los límites el recuento no es exacto, sino una cota inferior.
+     * <p>
+     * Si no existe un torneo con ese identificador, se responde con código 404, y si algún parámetro está fuera de
+     * rango, con código 400.
+     *
+     * @param id          el identificador del torneo
+     * @param limit       número máximo de soluciones a contar, entre 1 y {@link #MAX_COUNT_LIMIT}
+     * @param timeout     tiempo máximo del recuento en milisegundos, entre 1 y {@link #MAX_COUNT_TIMEOUT}
+     * @param parallelism número de hilos del recuento, entre 1 y el número de procesadores disponibles
+     * @return recuento de soluciones
+     */
+    @Path("/{id}/schedule/solution-count")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public SolutionCounter.Count countSolutions(@PathParam("id") String id,
+            @QueryParam("limit") Long limit,
+            @QueryParam("timeout") Long timeout,
+            @QueryParam("parallelism") Integer parallelism) {
+        Optional<Tournament> optTournament = dao.get(id);
+        if (!optTournament.isPresent())
+            throw new NotFoundException();
+
+        if (limit != null && (limit < 1 || limit > MAX_COUNT_LIMIT))
+            throw new BadRequestException(String.format("Limit must be between 1 and %d", MAX_COUNT_LIMIT));
+
+        if (timeout != null && (timeout < 1 || timeout > MAX_COUNT_TIMEOUT))
+            throw new BadRequestException(String.format("Timeout must be between 1 and %d", MAX_COUNT_TIMEOUT));
+
+        int maxParallelism = Runtime.getRuntime().availableProcessors();
+        if (parallelism != null && (parallelism < 1 || parallelism > maxParallelism))
+            throw new BadRequestException(String.format("Parallelism must be between 1 and %d", maxParallelism));
+
+        SolutionCounter counter = new SolutionCounter(optTournament.get());
+        if (parallelism != null)
+            counter.setParallelism(parallelism);
+
+        return counter.count(limit == null ? MAX_COUNT_LIMIT : limit, timeout == null ? MAX_COUNT_TIMEOUT : timeout);
+    }
+
+    /**
+     * Petición GET que estima el número total de soluciones del torneo mediante sondeos aleatorios del espacio de
+     * búsqueda, mucho más rápido que su recuento. El parámetro opcional <i>probes</i> indica el número de sondeos;
+     * cuantos más se realicen, más precisa será la estimación. Como cada sondeo propaga el modelo completo durante
+     * la petición, el número de sondeos no puede superar {@link #MAX_ESTIMATE_PROBES}.
+     * <p>
+     * Si no existe un torneo con ese identificador, se responde con código 404, y si el número de sondeos está fuera
+     * de rango, con código 400.
+     *
+     * @param id     el identificador del torneo
+     * @param probes número de sondeos, entre 1 y {@link #MAX_ESTIMATE_PROBES}, {@link #DEFAULT_ESTIMATE_PROBES} si
+     *               no se especifica
+     * @return estimación del número de soluciones
+     */
+    @Path("/{id}/schedule/solution-estimate")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public double estimateSolutions(@PathParam("id") String id, @QueryParam("probes") Integer probes) {
+        Optional<Tournament> optTournament = dao.get(id);
+        if (!optTournament.isPresent())
+            throw new NotFoundException();
+
+        if (probes != null && (probes < 1 || probes > MAX_ESTIMATE_PROBES))
+            throw new BadRequestException(String.format("Probes must be between 1 and %d", MAX_ESTIMATE_PROBES));
+
+        return new SolutionCounter(optTournament.get()).estimate(probes == null ? DEFAULT_ESTIMATE_PROBES : probes);
+    }
+
     /**
      * Petición GET para consultar el estado del proceso de la resolución del torneo cuyo identificador se incluye en
      * la ruta. Si no existe un torneo con ese identificador, se responde con código 404.
@@ -152,7 +251,7 @@ public class EventSchedulerService {
         Optional<Tournament> optTournament = dao.get(id);
 
         if (optTournament.isPresent())
-            return optTournament.get().getSolver().getResolutionState();
+            return optTournament.get().getEngine().getResolutionState();
 
         throw new NotFoundException();
     }
@@ -197,10 +296,10 @@ public class EventSchedulerService {
         Optional<Tournament> optTournament = dao.get(id);
 
         if (optTournament.isPresent()) {
-            TournamentSolver solver = optTournament.get().getSolver();
-            if (solver.getResolutionState() == ResolutionState.COMPUTING)
-                solver.stopResolutionProcess();
-            return solver.getResolutionState();
+            SolverEngine engine = optTournament.get().getEngine();
+            if (engine.getResolutionState() == ResolutionState.COMPUTING)
+                engine.stopResolutionProcess();
+            return engine.getResolutionState();
         }
 
         throw new NotFoundException();
@@ -300,7 +399,7 @@ public class EventSchedulerService {
 
         if (optSchedule.isPresent()) {
             if (Boolean.TRUE.equals(byLocalizations))
-                return new InverseSchedule(tournament);
+                return tournament.getInverseSchedule();
             else
                 return optSchedule.get();
         }
@@ -308,6 +407,82 @@ public class EventSchedulerService {
         return null;
     }
 
+    /**
+     * Petición GET que devuelve las diferencias entre el horario de una solución anterior, cuyo número se indica en el
+     * parámetro <i>from</i>, y el horario de la solución actual del torneo. Permite a un cliente que ya dispone del
+     * horario de esa solución actualizarlo sin descargar el horario completo. El número de la solución actual es el
+     * número de soluciones encontradas ({@link #getFoundSolutions(String)}), salvo que se haya vuelto a una solución
+     * anterior ({@link #goToSolution(String, long, Boolean)}), y solamente se conservan las soluciones visitadas más
+     * recientes.
+     * <p>
+     * Si no existe un torneo con ese identificador, se responde con código 404. Si no se indica la solución de origen
+     * o ya no se conserva, se responde con código 400.
+     *
+     * @param id   el identificador del torneo
+     * @param from número de la solución de origen
+     * @return diferencias entre los horarios, o <code>null</code> si el torneo no tiene un horario calculado
+     */
+    @Path("/{id}/schedule/diff")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public ScheduleDiff getScheduleDiff(@PathParam("id") String id, @QueryParam("from") Long from) {
+        Optional<Tournament> optTournament = dao.get(id);
+        if (!optTournament.isPresent())
+            throw new NotFoundException();
+
+        if (from == null)
+            throw new BadRequestException("Solution to compare with is required");
+
+        Tournament tournament = optTournament.get();
+        if (!tournament.hasSchedule())
+            return null;
+
+        try {
+            return tournament.getScheduleDiff(from);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Petición GET que vuelve a una solución ya visitada en el proceso de resolución del torneo, cuyo número se indica
+     * como parámetro de ruta, y devuelve su horario, que pasa a ser el horario actual del torneo. La búsqueda no se
+     * reinicia: al pedir el siguiente horario ({@link #getTournamentSchedule}) se continúa a partir de la última
+     * solución encontrada. Solamente se conservan las soluciones visitadas más recientes.
+     * <p>
+     * Se puede añadir el parámetro de URL <i>byLocalizations</i> para que el horario tenga formato inverso o por
+     * localizaciones (si el valor del parámetro es <i>true</i>).
+     * <p>
+     * Si no existe un torneo con ese identificador, se responde con código 404. Si la solución no se conserva, se
+     * responde con código 400.
+     *
+     * @param id       el identificador del torneo
+     * @param solution número de la solución, empezando por 1
+     * @return horario de la solución indicada
+     */
+    @Path("/{id}/schedule/solution/{solution}")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Schedule goToSolution(@PathParam("id") String id,
+            @PathParam("solution") long solution,
+            @QueryParam("byLocalizations") Boolean byLocalizations) {
+
+        Optional<Tournament> optTournament = dao.get(id);
+        if (!optTournament.isPresent())
+            throw new NotFoundException();
+
+        Tournament tournament = optTournament.get();
+        try {
+            tournament.goToSolution(solution);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        if (Boolean.TRUE.equals(byLocalizations))
+            return tournament.getInverseSchedule();
+        return tournament.getSchedule();
+    }
+
     /**
      * Petición GET que devuelve los horarios de cada evento del torneo especificado mediante un identificador como
      * parámetro de ruta.
@@ -338,7 +513,7 @@ public class EventSchedulerService {
                 return optSchedules.get()
                         .keySet()
                         .stream()
-                        .collect(Collectors.toMap(Function.identity(), InverseSchedule::new));
+                        .collect(Collectors.toMap(Function.identity(), optTournament.get()::getInverseSchedule));
             else
                 return optSchedules.get()
                         .entrySet()
@@ -375,7 +550,7 @@ public class EventSchedulerService {
         Optional<EventSchedule> schedule = dao.getEventSchedule(id, pos);
         if (schedule.isPresent()) {
             if (Boolean.TRUE.equals(byLocalizations))
-                return new InverseSchedule(schedule.get().getEvent());
+                return optTournament.get().getInverseSchedule(schedule.get().getEvent());
             else
                 return schedule.get();
         }
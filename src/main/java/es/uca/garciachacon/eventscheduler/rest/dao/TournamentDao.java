@@ -168,7 +168,7 @@ public class TournamentDao implements ITournamentDao {
             return Optional.empty();
 
         Tournament tournament = tournaments.get(id);
-        if (tournament.getSolver().getResolutionState() == ResolutionState.READY)
+        if (tournament.getEngine().getResolutionState() == ResolutionState.READY)
             tournament.solve();
         else
             tournament.nextSchedules();
@@ -59,17 +59,17 @@ public class TournamentSerializer extends JsonSerializer<Tournament> {
 
             gen.writeArrayFieldStart("players");
             for (Player player : event.getPlayers())
-                gen.writeNumber(allPlayers.indexOf(player));
+                gen.writeNumber(tournament.getPlayerIndex(player));
             gen.writeEndArray();
 
             gen.writeArrayFieldStart("localizations");
             for (Localization localization : event.getLocalizations())
-                gen.writeNumber(allLocalizations.indexOf(localization));
+                gen.writeNumber(tournament.getLocalizationIndex(localization));
             gen.writeEndArray();
 
             gen.writeArrayFieldStart("timeslots");
             for (Timeslot timeslot : event.getTimeslots())
-                gen.writeNumber(allTimeslots.indexOf(timeslot));
+                gen.writeNumber(tournament.getTimeslotIndex(timeslot));
             gen.writeEndArray();
 
             gen.writeNumberField("matchesPerPlayer", event.getMatchesPerPlayer());
@@ -88,7 +88,7 @@ public class TournamentSerializer extends JsonSerializer<Tournament> {
                     gen.writeStringField("name", team.getName());
                     gen.writeArrayFieldStart("players");
                     for (Player player : team.getPlayers())
-                        gen.writeNumber(allPlayers.indexOf(player));
+                        gen.writeNumber(tournament.getPlayerIndex(player));
                     gen.writeEndArray();
 
                     gen.writeEndObject();
@@ -100,7 +100,7 @@ public class TournamentSerializer extends JsonSerializer<Tournament> {
             if (!breaks.isEmpty()) {
                 gen.writeArrayFieldStart("breaks");
                 for (Timeslot breakTimeslot : breaks)
-                    gen.writeNumber(allTimeslots.indexOf(breakTimeslot));
+                    gen.writeNumber(tournament.getTimeslotIndex(breakTimeslot));
                 gen.writeEndArray();
             }
 
@@ -109,11 +109,11 @@ public class TournamentSerializer extends JsonSerializer<Tournament> {
                 gen.writeObjectFieldStart("unavailablePlayers");
 
                 for (Map.Entry<Player, Set<Timeslot>> entry : unavailablePlayers.entrySet()) {
-                    gen.writeFieldName(String.valueOf(allPlayers.indexOf(entry.getKey())));
+                    gen.writeFieldName(String.valueOf(tournament.getPlayerIndex(entry.getKey())));
 
                     gen.writeStartArray();
                     for (Timeslot timeslot : entry.getValue())
-                        gen.writeNumber(allTimeslots.indexOf(timeslot));
+                        gen.writeNumber(tournament.getTimeslotIndex(timeslot));
                     gen.writeEndArray();
                 }
 
@@ -125,11 +125,11 @@ public class TournamentSerializer extends JsonSerializer<Tournament> {
                 gen.writeObjectFieldStart("unavailableLocalizations");
 
                 for (Map.Entry<Localization, Set<Timeslot>> entry : unavailableLocalizations.entrySet()) {
-                    gen.writeFieldName(String.valueOf(allLocalizations.indexOf(entry.getKey())));
+                    gen.writeFieldName(String.valueOf(tournament.getLocalizationIndex(entry.getKey())));
 
                     gen.writeStartArray();
                     for (Timeslot timeslot : entry.getValue())
-                        gen.writeNumber(allTimeslots.indexOf(timeslot));
+                        gen.writeNumber(tournament.getTimeslotIndex(timeslot));
                     gen.writeEndArray();
                 }
 
@@ -141,11 +141,11 @@ public class TournamentSerializer extends JsonSerializer<Tournament> {
                 gen.writeObjectFieldStart("playersInLocalizations");
 
                 for (Map.Entry<Player, Set<Localization>> entry : playersInLocalizations.entrySet()) {
-                    gen.writeFieldName(String.valueOf(allPlayers.indexOf(entry.getKey())));
+                    gen.writeFieldName(String.valueOf(tournament.getPlayerIndex(entry.getKey())));
 
                     gen.writeStartArray();
                     for (Localization localization : entry.getValue())
-                        gen.writeNumber(allLocalizations.indexOf(localization));
+                        gen.writeNumber(tournament.getLocalizationIndex(localization));
                     gen.writeEndArray();
                 }
 
@@ -157,11 +157,11 @@ public class TournamentSerializer extends JsonSerializer<Tournament> {
                 gen.writeObjectFieldStart("playersAtTimeslots");
 
                 for (Map.Entry<Player, Set<Timeslot>> entry : playersAtTimeslots.entrySet()) {
-                    gen.writeFieldName(String.valueOf(allPlayers.indexOf(entry.getKey())));
+                    gen.writeFieldName(String.valueOf(tournament.getPlayerIndex(entry.getKey())));
 
                     gen.writeStartArray();
                     for (Timeslot timeslot : entry.getValue())
-                        gen.writeNumber(allTimeslots.indexOf(timeslot));
+                        gen.writeNumber(tournament.getTimeslotIndex(timeslot));
                     gen.writeEndArray();
                 }
 
@@ -177,17 +177,17 @@ public class TournamentSerializer extends JsonSerializer<Tournament> {
 
                     gen.writeArrayFieldStart("players");
                     for (Player player : predefinedMatchup.getPlayers())
-                        gen.writeNumber(allPlayers.indexOf(player));
+                        gen.writeNumber(tournament.getPlayerIndex(player));
                     gen.writeEndArray();
 
                     gen.writeArrayFieldStart("localizations");
                     for (Localization localization : predefinedMatchup.getLocalizations())
-                        gen.writeNumber(allLocalizations.indexOf(localization));
+                        gen.writeNumber(tournament.getLocalizationIndex(localization));
                     gen.writeEndArray();
 
                     gen.writeArrayFieldStart("timeslots");
                     for (Timeslot timeslot : predefinedMatchup.getTimeslots())
-                        gen.writeNumber(allTimeslots.indexOf(timeslot));
+                        gen.writeNumber(tournament.getTimeslotIndex(timeslot));
                     gen.writeEndArray();
 
                     gen.writeNumberField("occurrences", predefinedMatchup.getOccurrences());
@@ -8,18 +8,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.OptimizationMode;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.ResolutionState;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.SearchStrategy;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.search.measure.IMeasures;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Contiene información acerca de un problema que se ha modelado para representar un torneo deportivo cuyos horarios
  * se quieren calcular y, si éstos han sido calculados, es decir, el problema ha sido resuelto y tiene solución,
  * también se incluye información acerca del proceso de resolución, como el tiempo de construcción del modelo o el
  * tiempo de resolución del problema.
+ * <p>
+ * En los problemas de optimización en los que se ha encontrado alguna solución se incluye además la mejor puntuación,
+ * la cota de la función objetivo y la diferencia relativa entre ambas.
  */
 public class ResolutionData {
 
@@ -110,6 +115,36 @@ public class ResolutionData {
      */
     private long restarts;
 
+    /**
+     * Modo de optimización del problema
+     */
+    private OptimizationMode optimizationMode;
+
+    /**
+     * Se dispone de información de optimización (problema de optimización con al menos una solución)
+     */
+    private boolean optimizationAvailable;
+
+    /**
+     * Mejor puntuación encontrada
+     */
+    private int bestScore;
+
+    /**
+     * Cota de la función objetivo
+     */
+    private int objectiveBound;
+
+    /**
+     * Diferencia relativa entre la mejor puntuación y la cota
+     */
+    private double optimalityGap;
+
+    /**
+     * La solución proviene de la mejor instantánea registrada al alcanzar el límite de resolución
+     */
+    private boolean anytimeSolution;
+
     public ResolutionData(TournamentSolver tournamentSolver) {
         solver = tournamentSolver.getInternalSolver();
         tournament = tournamentSolver.getTournament();
@@ -133,6 +168,17 @@ public class ResolutionData {
             fails = measures.getFailCount();
             restarts = measures.getRestartCount();
         }
+
+        optimizationMode = tournamentSolver.getOptimizationMode();
+        Optional<SolutionSnapshot> best = tournamentSolver.getBestSolution();
+        optimizationAvailable = optimizationMode != OptimizationMode.NONE && best.isPresent();
+
+        if (optimizationAvailable) {
+            bestScore = best.get().getScore();
+            objectiveBound = tournamentSolver.getObjectiveBound();
+            optimalityGap = tournamentSolver.getOptimalityGap();
+            anytimeSolution = tournamentSolver.isAnytimeSolution();
+        }
     }
 
     public Solver getSolver() {
@@ -205,6 +251,30 @@ public class ResolutionData {
         return restarts;
     }
 
+    public OptimizationMode getOptimizationMode() {
+        return optimizationMode;
+    }
+
+    public boolean isOptimizationAvailable() {
+        return optimizationAvailable;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public int getObjectiveBound() {
+        return objectiveBound;
+    }
+
+    public double getOptimalityGap() {
+        return optimalityGap;
+    }
+
+    public boolean isAnytimeSolution() {
+        return anytimeSolution;
+    }
+
     public String toString() {
         StringBuilder sb = new StringBuilder();
 
@@ -236,6 +306,17 @@ public class ResolutionData {
                     restarts
             ));
 
+        if (optimizationAvailable)
+            sb.append(String.format(
+                    "Optimization features:\n\tOptimization mode: %s\n\tBest score: %d\n\tObjective bound: %d\n\t" +
+                            "Optimality gap: %.2f%%\n\tAnytime solution: %s\n",
+                    optimizationMode,
+                    bestScore,
+                    objectiveBound,
+                    optimalityGap * 100,
+                    anytimeSolution ? "Yes" : "No"
+            ));
+
         return sb.toString();
     }
 
@@ -284,6 +365,14 @@ public class ResolutionData {
                 jgen.writeNumberField("restarts", restarts);
             }
 
+            if (optimizationAvailable) {
+                jgen.writeStringField("optimizationMode", optimizationMode.toString());
+                jgen.writeNumberField("bestScore", bestScore);
+                jgen.writeNumberField("objectiveBound", objectiveBound);
+                jgen.writeNumberField("optimalityGap", optimalityGap);
+                jgen.writeBooleanField("anytimeSolution", anytimeSolution);
+            }
+
             jgen.writeEndObject();
         }
     }
@@ -0,0 +1,118 @@
+package es.uca.garciachacon.eventscheduler.solver;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+
+import java.util.*;
+
+/**
+ * Caché de los horarios de cada categoría de las soluciones visitadas en un proceso de resolución, indexados por su
+ * número de solución.
+ * <p>
+ * Los horarios ocupan mucho más espacio que la instantánea empaquetada de la solución de la que proceden
+ * ({@link SolutionSnapshot}), por lo que solamente se conservan los de las soluciones usadas más recientemente,
+ * hasta la capacidad de la caché. Los horarios de una solución que no esté en la caché se reconstruyen bajo demanda
+ * a partir de su instantánea.
+ */
+public class ScheduleCache {
+    /**
+     * Torneo al que pertenecen los horarios
+     */
+    private final Tournament tournament;
+
+    /**
+     * Número máximo de soluciones cuyos horarios se conservan
+     */
+    private final int capacity;
+
+    /**
+     * Horarios de cada categoría de las soluciones, en orden de uso, del menos al más reciente
+     */
+    private final Map<Long, Map<Event, EventSchedule>> schedules;
+
+    /**
+     * Construye una caché vacía de horarios de las soluciones de un torneo.
+     *
+     * @param tournament torneo al que pertenecen los horarios
+     * @param capacity   número máximo de soluciones cuyos horarios se conservan
+     * @throws NullPointerException     si el torneo es <code>null</code>
+     * @throws IllegalArgumentException si la capacidad es menor que 1
+     */
+    public ScheduleCache(Tournament tournament, int capacity) {
+        Objects.requireNonNull(tournament);
+
+        if (capacity < 1)
+            throw new IllegalArgumentException("Cache capacity cannot be less than one");
+
+        this.tournament = tournament;
+        this.capacity = capacity;
+
+        schedules = new LinkedHashMap<Long, Map<Event, EventSchedule>>(capacity, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<Event, EventSchedule>> eldest) {
+                return size() > ScheduleCache.this.capacity;
+            }
+        };
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Devuelve los horarios de cada categoría de una solución. Si no están en la caché, se reconstruyen a partir de
+     * la instantánea de la solución y se añaden a la caché, descartando los de la solución usada hace más tiempo si
+     * se supera la capacidad.
+     *
+     * @param solution número de la solución
+     * @param snapshot instantánea de la solución
+     * @return horarios de cada categoría de la solución
+     * @throws NullPointerException si la instantánea es <code>null</code>
+     */
+    public synchronized Map<Event, EventSchedule> get(long solution, SolutionSnapshot snapshot) {
+        Objects.requireNonNull(snapshot);
+
+        Map<Event, EventSchedule> solutionSchedules = schedules.get(solution);
+        if (solutionSchedules == null) {
+            List<Event> events = tournament.getEvents();
+            solutionSchedules = new HashMap<>(events.size());
+            for (int e = 0; e < events.size(); e++) {
+                Event event = events.get(e);
+                solutionSchedules.put(event, new EventSchedule(event, snapshot.toMatrix(e, event)));
+            }
+
+            schedules.put(solution, solutionSchedules);
+        }
+        return solutionSchedules;
+    }
+
+    /**
+     * Añade a la caché los horarios ya construidos de una solución.
+     *
+     * @param solution          número de la solución
+     * @param solutionSchedules horarios de cada categoría de la solución
+     * @throws NullPointerException si los horarios son <code>null</code>
+     */
+    public synchronized void put(long solution, Map<Event, EventSchedule> solutionSchedules) {
+        Objects.requireNonNull(solutionSchedules);
+
+        schedules.put(solution, solutionSchedules);
+    }
+
+    /**
+     * Comprueba si los horarios de una solución están en la caché, sin alterar el orden de uso.
+     *
+     * @param solution número de la solución
+     * @return <code>true</code> si los horarios de la solución están en la caché, <code>false</code> si no
+     */
+    public synchronized boolean contains(long solution) {
+        return schedules.containsKey(solution);
+    }
+
+    /**
+     * Descarta los horarios de todas las soluciones.
+     */
+    public synchronized void clear() {
+        schedules.clear();
+    }
+}
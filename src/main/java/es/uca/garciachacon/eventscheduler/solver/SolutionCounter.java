@@ -0,0 +1,349 @@
+package es.uca.garciachacon.eventscheduler.solver;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.IntConstraintFactory;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cuenta o estima el número de soluciones de un torneo sin construir los horarios de cada una de ellas.
+ * <p>
+ * El recuento enumera las soluciones del mismo modelo de Choco que construye {@link TournamentSolver}, pero sobre
+ * <i>solvers</i> independientes del principal del torneo, de modo que no altera el estado del proceso de resolución
+ * en curso. La enumeración se puede repartir entre varios hilos dividiendo el árbol de búsqueda por los valores de
+ * las primeras variables de decisión libres: cada subproblema fija una combinación de esos valores y se enumera por
+ * separado, y la suma de los recuentos es el total.
+ * <p>
+ * La estimación sigue el método de Knuth: se recorren caminos aleatorios desde la raíz del árbol de búsqueda,
+ * propagando las restricciones en cada nodo, y cada camino que alcanza una hoja consistente estima el tamaño del
+ * árbol como el producto de los factores de ramificación encontrados. La media de las estimaciones es un estimador
+ * insesgado del número de asignaciones consistentes de la matriz de horario, y su coste es lineal en el número de
+ * sondeos, independientemente de cuántas soluciones haya.
+ */
+public class SolutionCounter {
+    /**
+     * Número de subproblemas en los que se divide la enumeración por cada hilo, para repartir mejor la carga
+     */
+    private static final int SUBPROBLEMS_PER_THREAD = 4;
+
+    /**
+     * Torneo cuyas soluciones se cuentan
+     */
+    private final Tournament tournament;
+
+    /**
+     * Número de hilos entre los que se reparte la enumeración
+     */
+    private int parallelism = 1;
+
+    /**
+     * Generador de números aleatorios de los sondeos de la estimación
+     */
+    private Random random = new Random();
+
+    /**
+     * Construye un contador de soluciones del torneo.
+     *
+     * @param tournament torneo no nulo
+     */
+    public SolutionCounter(Tournament tournament) {
+        this.tournament = Objects.requireNonNull(tournament);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Establece el número de hilos entre los que se reparte la enumeración de soluciones.
+     *
+     * @param parallelism número mayor que 0
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism cannot be less than one");
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Establece la semilla de los sondeos aleatorios de la estimación, haciéndola reproducible.
+     *
+     * @param seed semilla del generador de números aleatorios
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Enumera las soluciones del torneo hasta agotarlas, alcanzar el límite de soluciones o el tiempo límite.
+     *
+     * @param limit   número máximo de soluciones a contar, 0 para no limitarlo
+     * @param timeout tiempo máximo de enumeración en milisegundos, 0 para no limitarlo
+     * @return recuento de soluciones, exacto si la enumeración se ha completado
+     * @throws IllegalArgumentException si el límite o el tiempo son negativos
+     */
+    public Count count(long limit, long timeout) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Limit cannot be negative");
+
+        if (timeout < 0)
+            throw new IllegalArgumentException("Timeout cannot be negative");
+
+        long start = System.currentTimeMillis();
+        long deadline = timeout > 0 ? start + timeout : Long.MAX_VALUE;
+        long maxSolutions = limit > 0 ? limit : Long.MAX_VALUE;
+
+        AtomicLong solutions = new AtomicLong();
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+
+        List<int[]> subproblems = split();
+
+        if (parallelism == 1 || subproblems.size() < 2) {
+            for (int[] subproblem : subproblems)
+                enumerate(subproblem, solutions, maxSolutions, deadline, interrupted);
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, subproblems.size()));
+            try {
+                List<Future<?>> futures = new ArrayList<>(subproblems.size());
+                for (int[] subproblem : subproblems)
+                    futures.add(executor.submit(() -> enumerate(subproblem,
+                            solutions,
+                            maxSolutions,
+                            deadline,
+                            interrupted
+                    )));
+
+                for (Future<?> future : futures)
+                    future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted.set(true);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        return new Count(Math.min(solutions.get(), maxSolutions),
+                !interrupted.get(),
+                System.currentTimeMillis() - start
+        );
+    }
+
+    /**
+     * Estima el número de soluciones del torneo mediante sondeos aleatorios del árbol de búsqueda.
+     *
+     * @param probes número de sondeos, mayor que 0
+     * @return estimación del número de soluciones; 0 si ningún sondeo alcanza una hoja consistente
+     * @throws IllegalArgumentException si el número de sondeos es menor que 1
+     */
+    public double estimate(int probes) {
+        if (probes < 1)
+            throw new IllegalArgumentException("Probes cannot be less than one");
+
+        TournamentSolver tournamentSolver = new TournamentSolver(tournament);
+        Solver solver = tournamentSolver.buildSearchModel();
+        IntVar[] vars = decisionVariables(tournamentSolver);
+        IEnvironment environment = solver.getEnvironment();
+
+        try {
+            environment.worldPush();
+            solver.propagate();
+        } catch (ContradictionException e) {
+            return 0;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < probes; i++) {
+            int world = environment.getWorldIndex();
+            environment.worldPush();
+
+            sum += probe(solver, vars);
+
+            while (environment.getWorldIndex() > world)
+                environment.worldPop();
+        }
+
+        return sum / probes;
+    }
+
+    /**
+     * Recorre un camino aleatorio del árbol de búsqueda, instanciando las variables de decisión en orden a un valor
+     * aleatorio de su dominio y propagando tras cada decisión.
+     *
+     * @param solver <i>solver</i> con el modelo ya propagado en la raíz
+     * @param vars   variables de decisión
+     * @return producto de los factores de ramificación del camino, o 0 si el camino termina en un fallo
+     */
+    private double probe(Solver solver, IntVar[] vars) {
+        double estimate = 1;
+        try {
+            for (IntVar var : vars) {
+                if (var.isInstantiated())
+                    continue;
+
+                int domainSize = var.getDomainSize();
+                int value = var.getLB() + random.nextInt(var.getUB() - var.getLB() + 1);
+                while (!var.contains(value))
+                    value = var.getLB() + random.nextInt(var.getUB() - var.getLB() + 1);
+
+                estimate *= domainSize;
+
+                var.instantiateTo(value, Cause.Null);
+                solver.propagate();
+            }
+        } catch (ContradictionException e) {
+            return 0;
+        }
+        return estimate;
+    }
+
+    /**
+     * Divide el espacio de búsqueda en subproblemas, uno por cada combinación de valores de las primeras variables
+     * de decisión que permanecen libres tras la propagación inicial. Si la enumeración no es paralela, el único
+     * subproblema es el problema completo.
+     *
+     * @return lista de subproblemas, cada uno como pares consecutivos (índice de variable, valor); vacía si el
+     * problema no es factible
+     */
+    private List<int[]> split() {
+        int subproblems = parallelism == 1 ? 1 : parallelism * SUBPROBLEMS_PER_THREAD;
+
+        TournamentSolver tournamentSolver = new TournamentSolver(tournament);
+        Solver solver = tournamentSolver.buildSearchModel();
+        IntVar[] vars = decisionVariables(tournamentSolver);
+
+        try {
+            solver.propagate();
+        } catch (ContradictionException e) {
+            return new ArrayList<>();
+        }
+
+        // Variables de decisión a fijar, hasta que el número de combinaciones alcance el de subproblemas deseados
+        List<Integer> splitVars = new ArrayList<>();
+        long combinations = 1;
+        for (int i = 0; i < vars.length && combinations < subproblems; i++) {
+            if (!vars[i].isInstantiated()) {
+                splitVars.add(i);
+                combinations *= 2;
+            }
+        }
+
+        List<int[]> result = new ArrayList<>((int) combinations);
+        for (int k = 0; k < combinations; k++) {
+            int[] subproblem = new int[splitVars.size() * 2];
+            for (int j = 0; j < splitVars.size(); j++) {
+                subproblem[2 * j] = splitVars.get(j);
+                subproblem[2 * j + 1] = (k >> j) & 1;
+            }
+            result.add(subproblem);
+        }
+        return result;
+    }
+
+    /**
+     * Enumera las soluciones de un subproblema sobre un <i>solver</i> propio, acumulándolas en el contador compartido.
+     *
+     * @param subproblem   pares (índice de variable, valor) que fijan el subproblema
+     * @param solutions    contador compartido de soluciones encontradas
+     * @param maxSolutions número de soluciones a partir del cual se detiene la enumeración
+     * @param deadline     instante a partir del cual se detiene la enumeración
+     * @param interrupted  se marca si la enumeración se detiene antes de completarse
+     */
+    private void enumerate(int[] subproblem, AtomicLong solutions, long maxSolutions, long deadline,
+            AtomicBoolean interrupted) {
+        if (interrupted.get())
+            return;
+
+        TournamentSolver tournamentSolver = new TournamentSolver(tournament);
+        Solver solver = tournamentSolver.buildSearchModel();
+        IntVar[] vars = decisionVariables(tournamentSolver);
+
+        for (int i = 0; i < subproblem.length; i += 2)
+            solver.post(IntConstraintFactory.arithm(vars[subproblem[i]], "=", subproblem[i + 1]));
+
+        solver.plugMonitor((IMonitorSolution) solutions::incrementAndGet);
+        solver.addStopCriterion(() -> {
+            if (solutions.get() >= maxSolutions || System.currentTimeMillis() >= deadline) {
+                interrupted.set(true);
+                return true;
+            }
+            return interrupted.get();
+        });
+
+        solver.findAllSolutions();
+    }
+
+    /**
+     * Devuelve las variables de decisión del modelo, las de la matriz de horario de todas las categorías, en orden
+     * de categoría, jugador, localización y <i>timeslot</i>.
+     *
+     * @param tournamentSolver <i>solver</i> con el modelo construido
+     * @return variables de decisión
+     */
+    private static IntVar[] decisionVariables(TournamentSolver tournamentSolver) {
+        IntVar[][][][] x = tournamentSolver.getMatchesModel();
+        IntVar[][] vars = new IntVar[x.length][];
+        for (int e = 0; e < x.length; e++)
+            vars[e] = ArrayUtils.flatten(x[e]);
+        return ArrayUtils.flatten(vars);
+    }
+
+    /**
+     * Resultado de un recuento de soluciones
+     */
+    public static class Count {
+        private final long solutions;
+        private final boolean exact;
+        private final long time;
+
+        Count(long solutions, boolean exact, long time) {
+            this.solutions = solutions;
+            this.exact = exact;
+            this.time = time;
+        }
+
+        /**
+         * Devuelve el número de soluciones contadas. Si el recuento no es exacto, es una cota inferior del total.
+         *
+         * @return número de soluciones
+         */
+        public long getSolutions() {
+            return solutions;
+        }
+
+        /**
+         * Indica si la enumeración se ha completado sin alcanzar el límite de soluciones ni el tiempo límite.
+         *
+         * @return <code>true</code> si el recuento es el número total de soluciones, <code>false</code> si no
+         */
+        public boolean isExact() {
+            return exact;
+        }
+
+        /**
+         * Devuelve el tiempo empleado en el recuento.
+         *
+         * @return tiempo en milisegundos
+         */
+        public long getTime() {
+            return time;
+        }
+
+        public String toString() {
+            return String.format("%s%d solutions (%d ms)", exact ? "" : ">= ", solutions, time);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package es.uca.garciachacon.eventscheduler.solver;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+
+import java.util.Arrays;
+
+/**
+ * Instantánea compacta de una solución del problema, tomada a partir de la matriz de comienzos de partidos (g) del
+ * modelo en el momento en el que el <i>solver</i> encuentra la solución.
+ * <p>
+ * Por cada categoría se guardan solamente los huecos en los que comienza un partido, codificados en la posición
+ * <code>jugador * (nLocalizaciones * nTimeslots) + localización * nTimeslots + timeslot</code>. Las posiciones se
+ * ordenan y se empaquetan como diferencias entre posiciones consecutivas, cada una en tantos bytes de 7 bits como
+ * necesite. Como en cada categoría hay solamente unos pocos comienzos por jugador, una solución ocupa del orden de
+ * un byte por comienzo de partido, independientemente del tamaño del modelo. A partir de los comienzos se puede
+ * reconstruir la matriz de horario completa de cada categoría con {@link #toMatrix(int, Event)}, sin necesidad de
+ * que el modelo de Choco conserve la solución.
+ */
+public class SolutionSnapshot {
+    /**
+     * Puntuación de la función objetivo de la solución
+     */
+    private final int score;
+
+    /**
+     * Milisegundos transcurridos desde el inicio del proceso de resolución hasta encontrar la solución
+     */
+    private final long time;
+
+    /**
+     * Diferencias empaquetadas entre los comienzos de partidos ordenados de cada categoría
+     */
+    private final byte[][] matchStarts;
+
+    /**
+     * Construye una instantánea de una solución a partir de los comienzos de partidos codificados de cada categoría.
+     * Los comienzos de cada categoría pueden estar en cualquier orden; los repetidos se guardan una sola vez.
+     *
+     * @param score       puntuación de la solución
+     * @param time        milisegundos transcurridos desde el inicio del proceso de resolución
+     * @param matchStarts comienzos de partidos codificados de cada categoría
+     * @throws IllegalArgumentException si algún comienzo codificado es negativo
+     */
+    public SolutionSnapshot(int score, long time, int[][] matchStarts) {
+        this.score = score;
+        this.time = time;
+
+        this.matchStarts = new byte[matchStarts.length][];
+        for (int e = 0; e < matchStarts.length; e++) {
+            int[] starts = Arrays.stream(matchStarts[e]).sorted().distinct().toArray();
+            if (starts.length > 0 && starts[0] < 0)
+                throw new IllegalArgumentException("Match starts cannot be negative");
+
+            this.matchStarts[e] = pack(starts);
+        }
+    }
+
+    /**
+     * Empaqueta una lista ordenada de posiciones no negativas como las diferencias entre posiciones consecutivas,
+     * cada una en bytes de 7 bits, del menos al más significativo, con el bit más alto activo en todos los bytes de
+     * la diferencia salvo el último.
+     *
+     * @param starts posiciones ordenadas de forma ascendente y sin repetir
+     * @return diferencias empaquetadas
+     */
+    private static byte[] pack(int[] starts) {
+        byte[] packed = new byte[starts.length * 5];
+        int size = 0;
+        int previous = 0;
+        for (int start : starts) {
+            int delta = start - previous;
+            previous = start;
+
+            while ((delta & ~0x7F) != 0) {
+                packed[size++] = (byte) (delta & 0x7F | 0x80);
+                delta >>>= 7;
+            }
+            packed[size++] = (byte) delta;
+        }
+        return Arrays.copyOf(packed, size);
+    }
+
+    /**
+     * Desempaqueta las posiciones empaquetadas por {@link #pack(int[])}.
+     *
+     * @param packed diferencias empaquetadas
+     * @return posiciones ordenadas de forma ascendente
+     */
+    private static int[] unpack(byte[] packed) {
+        // Cada posición termina en el único de sus bytes que no tiene el bit más alto activo
+        int n = 0;
+        for (byte b : packed)
+            if (b >= 0)
+                n++;
+
+        int[] starts = new int[n];
+        int i = 0, previous = 0, delta = 0, shift = 0;
+        for (byte b : packed) {
+            delta |= (b & 0x7F) << shift;
+            if (b < 0)
+                shift += 7;
+            else {
+                previous += delta;
+                starts[i++] = previous;
+                delta = shift = 0;
+            }
+        }
+        return starts;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Devuelve los comienzos de partidos codificados de la categoría indicada.
+     *
+     * @param e índice de la categoría en el torneo
+     * @return comienzos de partidos codificados, ordenados de forma ascendente
+     */
+    public int[] getMatchStarts(int e) {
+        return unpack(matchStarts[e]);
+    }
+
+    /**
+     * Devuelve el número de bytes que ocupan los comienzos empaquetados de todas las categorías.
+     *
+     * @return tamaño en bytes de la solución empaquetada
+     */
+    public int getPackedSize() {
+        int size = 0;
+        for (byte[] eventStarts : matchStarts)
+            size += eventStarts.length;
+        return size;
+    }
+
+    /**
+     * Reconstruye la matriz de horario de una categoría, marcando para cada comienzo de partido los
+     * <i>timeslots</i> que ocupa según la duración de los partidos de la categoría.
+     *
+     * @param e     índice de la categoría en el torneo
+     * @param event la categoría
+     * @return matriz de horario [jugador][localización][timeslot]
+     */
+    public int[][][] toMatrix(int e, Event event) {
+        int nLocalizations = event.getLocalizations().size();
+        int nTimeslots = event.getTimeslots().size();
+        int duration = event.getTimeslotsPerMatch();
+
+        int[][][] matrix = new int[event.getPlayers().size()][nLocalizations][nTimeslots];
+
+        for (int start : unpack(matchStarts[e])) {
+            int p = start / (nLocalizations * nTimeslots);
+            int c = start / nTimeslots % nLocalizations;
+            int t = start % nTimeslots;
+
+            for (int i = 0; i < duration && t + i < nTimeslots; i++)
+                matrix[p][c][t + i] = 1;
+        }
+
+        return matrix;
+    }
+}
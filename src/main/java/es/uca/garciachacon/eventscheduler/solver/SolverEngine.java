@@ -0,0 +1,108 @@
+package es.uca.garciachacon.eventscheduler.solver;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.ResolutionState;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Motor de resolución que calcula los horarios de un torneo.
+ * <p>
+ * Define el contrato común que comparten los distintos motores disponibles, de modo que el torneo pueda delegar
+ * el proceso de resolución en cualquiera de ellos indistintamente. Todos los motores producen el mismo resultado: un
+ * horario {@link EventSchedule} por cada categoría del torneo, a partir de los cuales se construye el horario
+ * combinado del torneo.
+ * <p>
+ * Los motores disponibles son {@link TournamentSolver}, que modela el problema y lo resuelve de forma completa
+ * con Choco, y {@link es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolver}, que aplica una
+ * búsqueda local sobre una representación compacta del horario y está pensado para torneos de gran tamaño.
+ */
+public interface SolverEngine {
+    /**
+     * Devuelve el torneo cuyos horarios calcula este motor.
+     *
+     * @return torneo asociado al motor
+     */
+    Tournament getTournament();
+
+    /**
+     * Inicia el proceso de resolución y busca una primera solución.
+     *
+     * @return <code>true</code> si se ha encontrado una solución, <code>false</code> si no
+     */
+    boolean execute();
+
+    /**
+     * Devuelve los horarios de cada categoría correspondientes a la solución actual. Las sucesivas invocaciones
+     * devuelven los horarios de las siguientes soluciones, si el motor es capaz de calcularlas.
+     *
+     * @return los horarios de cada categoría envueltos en un {@link Optional}, o {@link Optional#empty()} si no hay
+     * más soluciones
+     */
+    Optional<Map<Event, EventSchedule>> getSolution();
+
+    /**
+     * Devuelve los horarios de cada categoría de una solución ya visitada en el proceso de resolución actual, sin
+     * alterar la búsqueda. Por defecto el motor no conserva las soluciones visitadas.
+     *
+     * @param solution número de la solución, empezando por 1
+     * @return los horarios de cada categoría envueltos en un {@link Optional}, o {@link Optional#empty()} si el motor
+     * no conserva la solución
+     */
+    default Optional<Map<Event, EventSchedule>> getSolution(long solution) {
+        return Optional.empty();
+    }
+
+    /**
+     * Detiene el proceso de resolución si está en curso.
+     */
+    void stopResolutionProcess();
+
+    /**
+     * Devuelve el estado actual del proceso de resolución.
+     *
+     * @return estado del proceso de resolución
+     */
+    ResolutionState getResolutionState();
+
+    /**
+     * Devuelve el número de soluciones encontradas hasta el momento.
+     *
+     * @return número de soluciones encontradas
+     */
+    long getFoundSolutions();
+
+    /**
+     * Comprueba si el proceso de resolución ha comenzado y aún no ha terminado.
+     *
+     * @return <code>true</code> si el proceso de resolución está en curso, <code>false</code> si no
+     */
+    default boolean hasResolutionProcessStarted() {
+        ResolutionState state = getResolutionState();
+        return state == ResolutionState.STARTED || state == ResolutionState.COMPUTING;
+    }
+
+    /**
+     * Comprueba si el proceso de resolución ha terminado, bien por haber encontrado todas las soluciones, bien por
+     * no existir ninguna.
+     *
+     * @return <code>true</code> si el proceso de resolución ha terminado, <code>false</code> si no
+     */
+    default boolean hasResolutionProcessFinished() {
+        ResolutionState state = getResolutionState();
+        return state == ResolutionState.FINISHED || state == ResolutionState.UNFEASIBLE;
+    }
+
+    /**
+     * Comprueba si se ha encontrado al menos una solución.
+     *
+     * @return <code>true</code> si hay solución, <code>false</code> si no
+     */
+    default boolean hasSolutions() {
+        ResolutionState state = getResolutionState();
+        return state == ResolutionState.STARTED || state == ResolutionState.FINISHED;
+    }
+}
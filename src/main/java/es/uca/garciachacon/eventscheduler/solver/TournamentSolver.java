@@ -3,11 +3,14 @@ package es.uca.garciachacon.eventscheduler.solver;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
 import es.uca.garciachacon.eventscheduler.solver.constraint.*;
+import es.uca.garciachacon.eventscheduler.solver.model.EventModel;
+import es.uca.garciachacon.eventscheduler.solver.model.ProblemModel;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.objective.ObjectiveManager;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.loop.monitors.SearchMonitorFactory;
 import org.chocosolver.solver.search.strategy.IntStrategyFactory;
 import org.chocosolver.solver.variables.IntVar;
@@ -16,14 +19,32 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.tools.ArrayUtils;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Solucionador del problema que lo modela y resuelve, calculando los horarios de un torneo aplicando las reglas
  * definidas sobre el mismo.
+ * <p>
+ * Es el motor de resolución por defecto, {@link SolverEngine}, y el que mantiene la configuración del proceso de
+ * resolución del torneo. A partir de esta configuración, el torneo puede delegar la resolución en un motor de
+ * búsqueda local cuando el modelo de Choco resulte demasiado grande (ver {@link EngineSelection}).
+ * <p>
+ * En los problemas de optimización, cada solución que mejora la puntuación de las anteriores se registra como una
+ * instantánea compacta, {@link SolutionSnapshot}. Si el proceso de resolución alcanza su límite de tiempo, o es
+ * detenido, sin que el <i>solver</i> conserve una solución, se recurre a la mejor instantánea registrada, de modo
+ * que siempre se obtiene el mejor horario encontrado hasta ese momento (ver {@link #isAnytimeSolution()}).
+ * <p>
+ * Además, se conserva un historial acotado de las soluciones visitadas, también como instantáneas empaquetadas, de
+ * modo que se puede volver a los horarios de una solución anterior sin reiniciar la búsqueda
+ * ({@link #getSolution(long)}). Los horarios de las soluciones usadas más recientemente se conservan en una
+ * {@link ScheduleCache}, y los del resto se reconstruyen bajo demanda a partir de su instantánea.
  */
-public class TournamentSolver {
+public class TournamentSolver implements SolverEngine {
 
     /**
      * Modos de emparejamiento (para categorías con más de un partido por jugador).
@@ -136,6 +157,51 @@ public class TournamentSolver {
         STEP_STRICT
     }
 
+    /**
+     * Selección del motor de resolución con el que se calculan los horarios del torneo
+     */
+    public enum EngineSelection {
+        /**
+         * Modelo completo resuelto con Choco
+         */
+        CHOCO,
+
+        /**
+         * Búsqueda local sobre una representación compacta del horario
+         */
+        LOCAL_SEARCH,
+
+        /**
+         * Construcción voraz sobre la representación compacta del horario, sin búsqueda posterior
+         */
+        GREEDY,
+
+        /**
+         * Se emplea Choco salvo que el tamaño del modelo supere {@link TournamentSolver#AUTO_ENGINE_THRESHOLD}
+         * variables, en cuyo caso se emplea la búsqueda local. La búsqueda local no aplica el modo de optimización
+         * ni la estrategia de búsqueda: si hay configurado un modo de optimización distinto de
+         * {@link OptimizationMode#NONE} se emplea siempre Choco, y si se cambia a la búsqueda local se registra un
+         * aviso indicando que la estrategia de búsqueda se ignora
+         */
+        AUTO
+    }
+
+    /**
+     * Número de variables del modelo de Choco a partir del cual la selección automática del motor de resolución
+     * opta por la búsqueda local
+     */
+    public static final long AUTO_ENGINE_THRESHOLD = 500000;
+
+    /**
+     * Número de soluciones visitadas que se conservan en el historial por defecto
+     */
+    public static final int DEFAULT_SOLUTION_HISTORY_SIZE = 1024;
+
+    /**
+     * Número de soluciones cuyos horarios se conservan construidos en la caché de horarios
+     */
+    private static final int SCHEDULE_CACHE_SIZE = 8;
+
     /**
      * Logger del solver
      */
@@ -222,6 +288,62 @@ public class TournamentSolver {
      */
     private IntVar score;
 
+    /**
+     * Selección del motor de resolución que empleará el torneo
+     */
+    private EngineSelection engineSelection = EngineSelection.AUTO;
+
+    /**
+     * Instantáneas de cada solución que ha mejorado la puntuación de las anteriores, en orden de aparición
+     */
+    private List<SolutionSnapshot> improvingSolutions = new ArrayList<>();
+
+    /**
+     * Indica si la solución actual proviene de la mejor instantánea registrada en lugar del modelo de Choco
+     */
+    private boolean anytimeSolution = false;
+
+    /**
+     * Cota de la función objetivo en el sentido de la optimización (superior si se maximiza, inferior si se
+     * minimiza)
+     */
+    private int objectiveBound;
+
+    /**
+     * Instante de comienzo del proceso de resolución en milisegundos
+     */
+    private long resolutionStart;
+
+    /**
+     * Representación intermedia del torneo a partir de la cual se construye el modelo de Choco
+     */
+    private ProblemModel problemModel;
+
+    /**
+     * Ejecutor sobre el que se construyen en paralelo los horarios de cada categoría a partir de una solución
+     */
+    private Executor scheduleExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * Número máximo de soluciones visitadas que se conservan en el historial
+     */
+    private int solutionHistorySize = DEFAULT_SOLUTION_HISTORY_SIZE;
+
+    /**
+     * Instantáneas de las últimas soluciones visitadas en el proceso de resolución, indexadas por su número de
+     * solución
+     */
+    private final Map<Long, SolutionSnapshot> solutionHistory = new LinkedHashMap<Long, SolutionSnapshot>() {
+        protected boolean removeEldestEntry(Map.Entry<Long, SolutionSnapshot> eldest) {
+            return size() > solutionHistorySize;
+        }
+    };
+
+    /**
+     * Horarios construidos de las soluciones visitadas usadas más recientemente
+     */
+    private final ScheduleCache scheduleCache;
+
     /**
      * Construye un <i>solver</i> a partir de la información del torneo.
      *
@@ -229,6 +351,7 @@ public class TournamentSolver {
      */
     public TournamentSolver(Tournament tournament) {
         this.tournament = tournament;
+        scheduleCache = new ScheduleCache(tournament, SCHEDULE_CACHE_SIZE);
 
         LOGGER.setLevel(Level.WARNING);
 
@@ -253,7 +376,7 @@ public class TournamentSolver {
     /**
      * Constructor de copia que crea una instancia de <i>solver</i> a partir de otro existente. Tendrá el mismo torneo
      * que la copia, y además se reproducen propiedades de configuración como son la estrategia de búsqueda, la
-     * priorización de <i>timeslots</i> o jugadores, o el tiempo límite de resolución
+     * priorización de <i>timeslots</i> o jugadores, el tiempo límite de resolución o el modo de optimización
      *
      * @param aSolver <i>solver</i> existente a partir del cual se va a crear una copia
      */
@@ -262,6 +385,11 @@ public class TournamentSolver {
         searchStrategy = aSolver.getSearchStrategy();
         prioritizeTimeslots = aSolver.getPrioritizeTimeslots();
         resolutionTimeLimit = aSolver.getResolutionTimeLimit();
+        engineSelection = aSolver.getEngineSelection();
+        optimizationMode = aSolver.getOptimizationMode();
+        resolutionPolicy = aSolver.getResolutionPolicy();
+        scheduleExecutor = aSolver.getScheduleExecutor();
+        solutionHistorySize = aSolver.getSolutionHistorySize();
     }
 
     public void setLoggerLevel(Level level) {
@@ -286,6 +414,16 @@ public class TournamentSolver {
         return tournament;
     }
 
+    /**
+     * Devuelve la representación intermedia del torneo, independiente de Choco, a partir de la cual se ha construido
+     * el modelo en el último proceso de resolución.
+     *
+     * @return representación intermedia, o <code>null</code> si el proceso de resolución no ha comenzado
+     */
+    public ProblemModel getProblemModel() {
+        return problemModel;
+    }
+
     public IntVar[][][][] getMatchesModel() {
         return x;
     }
@@ -419,10 +557,86 @@ public class TournamentSolver {
         resolutionTimeLimit = limit;
     }
 
+    public Executor getScheduleExecutor() {
+        return scheduleExecutor;
+    }
+
+    /**
+     * Establece el ejecutor sobre el que se construyen los horarios de cada categoría cada vez que se obtiene una
+     * solución. Por defecto es el <i>pool</i> común de <i>fork-join</i>.
+     *
+     * @param executor ejecutor no <code>null</code>
+     */
+    public void setScheduleExecutor(Executor executor) {
+        scheduleExecutor = Objects.requireNonNull(executor);
+    }
+
+    public int getSolutionHistorySize() {
+        return solutionHistorySize;
+    }
+
+    /**
+     * Establece el número máximo de soluciones visitadas que se conservan en el historial. Si el historial tiene más
+     * soluciones, se descartan las más antiguas. Cada solución guarda solamente sus comienzos de partidos, como
+     * diferencias entre posiciones consecutivas en bytes de 7 bits (ver {@link SolutionSnapshot}), por lo que ocupa
+     * del orden de un byte por comienzo de partido, independientemente del tamaño del modelo.
+     *
+     * @param size número mayor o igual que 1
+     * @throws IllegalArgumentException si el tamaño es menor que 1
+     */
+    public void setSolutionHistorySize(int size) {
+        if (size < 1)
+            throw new IllegalArgumentException("Solution history size cannot be less than one");
+
+        solutionHistorySize = size;
+
+        Iterator<Long> it = solutionHistory.keySet().iterator();
+        while (solutionHistory.size() > size) {
+            it.next();
+            it.remove();
+        }
+    }
+
     public ResolutionData getResolutionData() {
         return resolutionData;
     }
 
+    /**
+     * Devuelve la selección del motor de resolución que empleará el torneo al iniciar el proceso de resolución.
+     *
+     * @return selección del motor de resolución
+     */
+    public EngineSelection getEngineSelection() {
+        return engineSelection;
+    }
+
+    /**
+     * Establece qué motor de resolución empleará el torneo. El cambio tiene efecto la próxima vez que se inicie el
+     * proceso de resolución.
+     *
+     * @param engineSelection selección del motor de resolución, no <code>null</code>
+     */
+    public void setEngineSelection(EngineSelection engineSelection) {
+        Objects.requireNonNull(engineSelection);
+
+        this.engineSelection = engineSelection;
+    }
+
+    /**
+     * Calcula el número de variables principales que compondrían el modelo de Choco del torneo, es decir, el tamaño
+     * de las matrices de horario y de comienzos de partidos. Permite decidir, sin construir el modelo, si éste es
+     * demasiado grande para ser resuelto de forma completa.
+     *
+     * @param tournament torneo no nulo
+     * @return número de variables de las matrices del modelo
+     */
+    public static long getModelSize(Tournament tournament) {
+        long size = 0;
+        for (Event event : tournament.getEvents())
+            size += 2L * event.getPlayers().size() * event.getLocalizations().size() * event.getTimeslots().size();
+        return size;
+    }
+
     /**
      * Establece el modo de optimización en la resolución del problema y si se debe maximizar o minimizar la función
      * objetivo.
@@ -451,6 +665,14 @@ public class TournamentSolver {
         setOptimization(optimizationMode, ResolutionPolicy.MAXIMIZE);
     }
 
+    public OptimizationMode getOptimizationMode() {
+        return optimizationMode;
+    }
+
+    public ResolutionPolicy getResolutionPolicy() {
+        return resolutionPolicy;
+    }
+
     /**
      * Devuelve la puntuación (valor de la función objetivo) de la solución actual. Al llamar este método debe haber
      * configurado un modo de optimización y una solución calculada.
@@ -467,259 +689,168 @@ public class TournamentSolver {
         if (optimizationMode == OptimizationMode.NONE)
             throw new IllegalStateException("No optimization mode was configured");
 
+        if (anytimeSolution)
+            return getBestSolution().get().getScore();
+
         return score.getValue();
     }
 
     /**
-     * Construye y modela el problema, configura las estrategias de búsqueda e inicia el proceso de resolución. Si
-     * hay un modo de optimización configurado éste será aplicado en la búsqueda de la solución y afectará al
-     * conjunto final de soluciones.
+     * Devuelve las instantáneas de las soluciones que han ido mejorando la puntuación durante el proceso de
+     * resolución, en el orden en el que fueron encontradas. Solamente se registran en los problemas de optimización.
      *
-     * @return true si se ha encontrado una solución, false si no
+     * @return lista no modificable de instantáneas, vacía si no hay ninguna
      */
-    public boolean execute() {
-        solver = new Solver("Tournament Solver [" + tournament.getName() + "]");
-
-        schedules = null;
-
-        resolutionState = ResolutionState.STARTED;
-        foundSolutions = 0;
-        stop = false;
-
-        buildModel();
-
-        configureSearch();
-
-        if (optimizationMode != OptimizationMode.NONE)
-            postObjective();
-
-        return solve();
+    public List<SolutionSnapshot> getImprovingSolutions() {
+        return Collections.unmodifiableList(improvingSolutions);
     }
 
     /**
-     * Inicializa las variables del modelo del problema
+     * Devuelve la instantánea de la mejor solución encontrada en el proceso de resolución.
+     *
+     * @return la mejor instantánea envuelta en un {@link Optional}, o {@link Optional#empty()} si no hay ninguna
      */
-    private void buildModel() {
-        List<Event> events = tournament.getEvents();
-
-        for (int e = 0; e < events.size(); e++) {
-            Event event = events.get(e);
-            int nPlayers = event.getPlayers().size();
-            int nLocalizations = event.getLocalizations().size();
-            int nTimeslots = event.getTimeslots().size();
-
-            for (int p = 0; p < nPlayers; p++)
-                for (int c = 0; c < nLocalizations; c++)
-                    for (int t = 0; t < nTimeslots; t++) {
-                        // Dominio [0, 1]: 0 -> no juega, 1 -> juega
-                        x[e][p][c][t] = VariableFactory.bounded("x" + e + "," + p + "," + c + "," + t, 0, 1, solver);
-
-                        // Dominio [0, 1]: 0 -> el partido no empieza a esa hora, 1 -> el partido empieza a esa hora
-                        g[e][p][c][t] = VariableFactory.bounded("g" + e + "," + p + "," + c + "," + t, 0, 1, solver);
-                    }
-        }
-
-        markUnavailablePlayers();
-        markUnavailableLocalizations();
-        markPlayersNotInLocalizations();
-        markPlayersNotAtTimeslots();
-        markBreaks();
-
-        setupConstraints();
-        postConstraints();
+    public Optional<SolutionSnapshot> getBestSolution() {
+        if (improvingSolutions.isEmpty())
+            return Optional.empty();
+        return Optional.of(improvingSolutions.get(improvingSolutions.size() - 1));
     }
 
     /**
-     * Marca los jugadores no disponibles en las horas especificadas en las matrices del problema
+     * Comprueba si la solución actual es la mejor instantánea registrada, recuperada porque el proceso de resolución
+     * alcanzó su límite o fue detenido antes de que el <i>solver</i> pudiera devolver una solución.
+     *
+     * @return <code>true</code> si la solución actual proviene de una instantánea, <code>false</code> si no
      */
+    public boolean isAnytimeSolution() {
+        return anytimeSolution;
+    }
 
-    private void markUnavailablePlayers() {
-        List<Event> events = tournament.getEvents();
-
-        // Marcar los jugadores no disponibles con 0
-        for (int e = 0; e < events.size(); e++) {
-            Event event = events.get(e);
-
-            if (event.hasUnavailablePlayers()) {
-                int nTimeslotsPerMatch = event.getTimeslotsPerMatch();
-
-                Map<Player, Set<Timeslot>> unavailablePlayers = event.getUnavailablePlayers();
-
-                for (Player player : unavailablePlayers.keySet()) {
-                    List<Player> players = event.getPlayers();
-                    Set<Timeslot> unavailableTimeslots = unavailablePlayers.get(player);
-
-                    int nLocalizations = event.getLocalizations().size();
-                    int nUnavailableTimeslots = unavailableTimeslots.size();
-
-                    int[] tIndex = new int[nUnavailableTimeslots];
-
-                    int pos = 0;
-                    for (Timeslot timeslot : unavailableTimeslots)
-                        tIndex[pos++] = event.getTimeslots().indexOf(timeslot);
-
-                    int p = players.indexOf(player);
-
-                    for (int t : tIndex) {
-                        int nRange = nTimeslotsPerMatch;
-                        if (t + 1 < nTimeslotsPerMatch)
-                            nRange -= nTimeslotsPerMatch - t - 1;
+    /**
+     * Devuelve la cota de la función objetivo: la puntuación máxima alcanzable si se maximiza, o la mínima si se
+     * minimiza. Si el proceso de resolución demostró la optimalidad, la cota coincide con la mejor puntuación.
+     *
+     * @return cota de la función objetivo
+     * @throws IllegalStateException si el problema actual no es de optimización o el proceso no ha comenzado
+     */
+    public int getObjectiveBound() {
+        if (optimizationMode == OptimizationMode.NONE)
+            throw new IllegalStateException("No optimization mode was configured");
 
-                        for (int c = 0; c < nLocalizations; c++) {
-                            // Si un jugador no está disponible en t, n no podrá empezar un partido en el rango t-n..t
-                            // (siendo n la duración o número de timeslots de un partido)
-                            for (int i = 0; i < nRange; i++)
-                                g[e][p][c][t - i] = VariableFactory.fixed(0, solver);
+        if (solver == null)
+            throw new IllegalStateException("Resolution process has not started");
 
-                            // Además, se marca con 0 las horas de la matriz de horario/partidos si el jugador no
-                            // puede jugar
-                            x[e][p][c][t] = VariableFactory.fixed(0, solver);
-                        }
-                    }
-                }
-            }
-        }
+        return objectiveBound;
     }
 
     /**
-     * Marca las localizaciones no disponibles a las horas especificadas en las matrices del problema.
+     * Devuelve la diferencia relativa entre la mejor puntuación encontrada y la cota de la función objetivo, es
+     * decir, <code>|cota - mejor| / |mejor|</code>. Un valor de 0 indica que la mejor solución es óptima.
+     *
+     * @return diferencia relativa no negativa
+     * @throws IllegalStateException si no se ha encontrado ninguna solución en un problema de optimización
      */
-    private void markUnavailableLocalizations() {
-        List<Event> events = tournament.getEvents();
-
-        // Marcar las localizaciones descartadas con 0
-        for (int e = 0; e < events.size(); e++) {
-            Event event = events.get(e);
+    public double getOptimalityGap() {
+        Optional<SolutionSnapshot> best = getBestSolution();
+        if (!best.isPresent())
+            throw new IllegalStateException("There cannot be an optimality gap if there is no solution");
 
-            if (event.hasUnavailableLocalizations()) {
-                int nPlayers = event.getPlayers().size();
+        int bestScore = best.get().getScore();
+        return Math.abs(getObjectiveBound() - bestScore) / (double) Math.max(1, Math.abs(bestScore));
+    }
 
-                Map<Localization, Set<Timeslot>> unavailableLocalizations = event.getUnavailableLocalizations();
-                Set<Localization> localizations = unavailableLocalizations.keySet();
+    /**
+     * Construye y modela el problema, configura las estrategias de búsqueda e inicia el proceso de resolución. Si
+     * hay un modo de optimización configurado éste será aplicado en la búsqueda de la solución y afectará al
+     * conjunto final de soluciones.
+     *
+     * @return true si se ha encontrado una solución, false si no
+     */
+    public boolean execute() {
+        schedules = null;
 
-                for (Localization localization : localizations) {
-                    Set<Timeslot> timeslots = unavailableLocalizations.get(localization);
-                    int nUnavailableTimeslots = timeslots.size();
+        resolutionState = ResolutionState.STARTED;
+        foundSolutions = 0;
+        stop = false;
 
-                    int[] tIndex = new int[nUnavailableTimeslots];
+        improvingSolutions = new ArrayList<>();
+        anytimeSolution = false;
+        solutionHistory.clear();
+        scheduleCache.clear();
+        resolutionStart = System.currentTimeMillis();
 
-                    int i = 0;
-                    for (Timeslot timeslot : timeslots)
-                        tIndex[i++] = event.getTimeslots().indexOf(timeslot);
+        buildSearchModel();
 
-                    int c = event.getLocalizations().indexOf(localization);
+        if (optimizationMode != OptimizationMode.NONE) {
+            postObjective();
 
-                    for (int p = 0; p < nPlayers; p++)
-                        for (int t = 0; t < nUnavailableTimeslots; t++) {
-                            x[e][p][c][tIndex[t]] = VariableFactory.fixed(0, solver);
-                            g[e][p][c][tIndex[t]] = VariableFactory.fixed(0, solver);
-                        }
-                }
-            }
+            objectiveBound = computeObjectiveBound();
+            solver.plugMonitor((IMonitorSolution) this::recordSolution);
         }
-    }
-
-    /**
-     * Fuerza a que los jugadores indicados jueguen sus partidos en las localizaciones indicadas, marcando todas las
-     * demás con 0
-     */
-    private void markPlayersNotInLocalizations() {
-        List<Event> events = tournament.getEvents();
 
-        // Si para el jugador_p en la categoría_e se indica que debe jugar en un conjunto de localizaciones,
-        // se marcan con 0 todas las localizaciones del evento que no sean ésas, de este modo invalidándolas
-        for (int e = 0; e < events.size(); e++) {
-            Event event = events.get(e);
-
-            if (event.hasPlayersInLocalizations()) {
-                int nLocalizations = event.getLocalizations().size();
-                int nTimeslots = event.getTimeslots().size();
-                Map<Player, Set<Localization>> eventPlayersInLocalizations = event.getPlayersInLocalizations();
-                Set<Player> players = eventPlayersInLocalizations.keySet();
-
-                // Para cada jugador al que se le ha indicado una lista de pistas donde jugar, "invalidar" las pistas
-                // que no pertenecen a esa lista
-                for (Player player : players) {
-                    Set<Localization> assignedLocalizations = eventPlayersInLocalizations.get(player);
-
-                    int p = event.getPlayers().indexOf(player);
-
-                    for (int c = 0; c < nLocalizations; c++) {
-                        // Si la pista no es de las asignadas al jugador
-                        if (!assignedLocalizations.contains(event.getLocalizations().get(c))) {
-                            for (int t = 0; t < nTimeslots; t++) {
-                                x[e][p][c][t] = VariableFactory.fixed(0, solver);
-                                g[e][p][c][t] = VariableFactory.fixed(0, solver);
-                            }
-                        }
-                    }
-                }
-            }
-        }
+        return solve();
     }
 
     /**
-     * Fuerza a que los jugadores indicados jueguen sus partidos en los timeslots indicados, marcando todos los demás
-     * con 0.
+     * Construye el modelo del problema sobre un <i>solver</i> de Choco nuevo y configura la estrategia de búsqueda,
+     * sin lanzar el proceso de resolución ni publicar un objetivo de optimización.
+     * <p>
+     * <p>Las restricciones se construyen sobre el modelo de esta instancia y no sobre el del <i>solver</i> principal
+     * del torneo, de modo que varias instancias del mismo torneo pueden mantener modelos independientes a la vez,
+     * como hace {@link SolutionCounter}.</p>
+     *
+     * @return <i>solver</i> interno con el modelo construido
      */
-    private void markPlayersNotAtTimeslots() {
-        List<Event> events = tournament.getEvents();
-
-        // Si para el jugador_p en la categoría_e se indica que debe jugar en un conjunto de timeslots,
-        // se marcan con 0 todos los timeslots del evento que no esan ésos, de este modo invalidándolos
-        for (int e = 0; e < events.size(); e++) {
-            Event event = events.get(e);
+    Solver buildSearchModel() {
+        solver = new Solver("Tournament Solver [" + tournament.getName() + "]");
+        constraints.clear();
 
-            if (event.hasPlayersAtTimeslots()) {
-                int nLocalizations = event.getLocalizations().size();
-                int nTimeslots = event.getTimeslots().size();
-                Map<Player, Set<Timeslot>> eventPlayersAtTimeslots = event.getPlayersAtTimeslots();
-                Set<Player> players = eventPlayersAtTimeslots.keySet();
+        problemModel = new ProblemModel(tournament);
 
-                for (Player player : players) {
-                    Set<Timeslot> assignedTimeslots = eventPlayersAtTimeslots.get(player);
+        buildModel();
 
-                    int p = event.getPlayers().indexOf(player);
+        configureSearch();
 
-                    for (int t = 0; t < nTimeslots; t++) {
-                        if (!assignedTimeslots.contains(event.getTimeslots().get(t))) {
-                            for (int c = 0; c < nLocalizations; c++) {
-                                g[e][p][c][t] = VariableFactory.fixed(0, solver);
-                            }
-                        }
-                    }
-                }
-            }
-        }
+        return solver;
     }
 
     /**
-     * Marca los descansos o breaks en las matrices del problema
+     * Inicializa las variables del modelo del problema a partir de los dominios reducidos de la representación
+     * intermedia. Solamente se crean variables libres para los pares (localización, timeslot) factibles de cada
+     * jugador; el resto se fija a 0 antes de publicar las restricciones.
      */
-    private void markBreaks() {
-        List<Event> events = tournament.getEvents();
+    private void buildModel() {
+        for (EventModel eventModel : problemModel.getEvents()) {
+            int e = eventModel.getIndex();
+            int nPlayers = eventModel.getNumberOfPlayers();
+            int nLocalizations = eventModel.getNumberOfLocalizations();
+            int nTimeslots = eventModel.getNumberOfTimeslots();
+            int nTimeslotsPerMatch = eventModel.getTimeslotsPerMatch();
 
-        // Marcar los breaks con 0
-        for (int e = 0; e < events.size(); e++) {
-            Event event = events.get(e);
-            if (event.hasBreaks()) {
-                int nPlayers = event.getPlayers().size();
-                int nLocalizations = event.getLocalizations().size();
-                int nTimeslots = event.getTimeslots().size();
+            for (int p = 0; p < nPlayers; p++)
+                for (int c = 0; c < nLocalizations; c++)
+                    for (int t = 0; t < nTimeslots; t++) {
+                        // Dominio [0, 1]: 0 -> no juega, 1 -> juega
+                        if (eventModel.isFeasiblePlay(p, c, t))
+                            x[e][p][c][t] =
+                                    VariableFactory.bounded("x" + e + "," + p + "," + c + "," + t, 0, 1, solver);
+                        else
+                            x[e][p][c][t] = VariableFactory.fixed(0, solver);
 
-                for (int t = 0; t < nTimeslots; t++) {
-                    // Si el timeslot_t es un break, entonces en él no se puede jugar y se marca como 0
-                    if (event.isBreak(event.getTimeslots().get(t))) {
-                        for (int p = 0; p < nPlayers; p++) {
-                            for (int c = 0; c < nLocalizations; c++) {
-                                x[e][p][c][t] = VariableFactory.fixed(0, solver);
-                                g[e][p][c][t] = VariableFactory.fixed(0, solver);
-                            }
-                        }
+                        // Dominio [0, 1]: 0 -> el partido no empieza a esa hora, 1 -> el partido empieza a esa hora.
+                        // Los comienzos cuyo partido excedería los timeslots de la categoría se dejan libres si se
+                        // puede jugar en ellos, pues las restricciones de mapeo ya los descartan
+                        boolean overruns = t + nTimeslotsPerMatch > nTimeslots;
+                        if (eventModel.isFeasibleStart(p, c, t) || overruns && eventModel.isFeasiblePlay(p, c, t))
+                            g[e][p][c][t] =
+                                    VariableFactory.bounded("g" + e + "," + p + "," + c + "," + t, 0, 1, solver);
+                        else
+                            g[e][p][c][t] = VariableFactory.fixed(0, solver);
                     }
-                }
-            }
         }
+
+        setupConstraints();
+        postConstraints();
     }
 
     /**
@@ -731,7 +862,7 @@ public class TournamentSolver {
         for (Event event : tournament.getEvents()) {
             // Restricciones de equipos
             if (event.hasTeams()) {
-                builder = new ConstraintBuilder(new TeamsConstraint(event));
+                builder = new ConstraintBuilder(new TeamsConstraint(event, this));
                 constraints.addAll(builder.getConstraints());
             }
 
@@ -739,44 +870,44 @@ public class TournamentSolver {
             if (event.getMatchesPerPlayer() > 1 && event.getPlayersPerMatch() > 1) {
                 MatchupMode mode = event.getMatchupMode();
                 if (mode == MatchupMode.ALL_DIFFERENT || mode == MatchupMode.ALL_EQUAL) {
-                    builder = new ConstraintBuilder(new MatchupModeConstraint(event));
+                    builder = new ConstraintBuilder(new MatchupModeConstraint(event, this));
                     constraints.addAll(builder.getConstraints());
                 }
             }
 
             // Restricciones de suma de partidos
-            builder = new ConstraintBuilder(new TotalMatchesConstraint(event));
+            builder = new ConstraintBuilder(new TotalMatchesConstraint(event, this));
             constraints.addAll(builder.getConstraints());
 
             // Restricciones de emparejamientos predefinidos
             if (event.hasPredefinedMatchups()) {
-                builder = new ConstraintBuilder(new PredefinedMatchupsConstraint(event));
+                builder = new ConstraintBuilder(new PredefinedMatchupsConstraint(event, this));
                 constraints.addAll(builder.getConstraints());
             }
 
             // Restricciones de número de partidos por jugador
-            builder = new ConstraintBuilder(new MatchesPerPlayerConstraint(event));
+            builder = new ConstraintBuilder(new MatchesPerPlayerConstraint(event, this));
             constraints.addAll(builder.getConstraints());
 
             // Restricciones de número de jugadores en la misma pista
-            builder = new ConstraintBuilder(new LocalizationOccupationConstraint(event));
+            builder = new ConstraintBuilder(new LocalizationOccupationConstraint(event, this));
             constraints.addAll(builder.getConstraints());
         }
 
         // Restricciones que mapean los comienzos de los partidos
-        //builder = new ConstraintBuilder(new MatchStartMappingConstraint(tournament));
+        //builder = new ConstraintBuilder(new MatchStartMappingConstraint(tournament, this));
         //constraints.addAll(builder.getConstraints());
 
         // Restricciones que mapean los partidos
-        builder = new ConstraintBuilder(new MatchMappingConstraint(tournament));
+        builder = new ConstraintBuilder(new MatchMappingConstraint(tournament, this));
         constraints.addAll(builder.getConstraints());
 
         // Restricciones de jugadores de distintas categorías en la misma pista
-        builder = new ConstraintBuilder(new LocalizationCollisionConstraint(tournament));
+        builder = new ConstraintBuilder(new LocalizationCollisionConstraint(tournament, this));
         constraints.addAll(builder.getConstraints());
 
         // Restricciones de jugador en la misma pista a la misma hora en distintas categorías
-        builder = new ConstraintBuilder(new PlayerNotSimultaneousConstraint(tournament));
+        builder = new ConstraintBuilder(new PlayerNotSimultaneousConstraint(tournament, this));
         constraints.addAll(builder.getConstraints());
     }
 
@@ -866,6 +997,10 @@ public class TournamentSolver {
         switch (optimizationMode) {
             case OPTIMAL:
                 solver.findOptimalSolution(resolutionPolicy, score);
+
+                // Si la búsqueda del óptimo se ha completado, la mejor solución es óptima y la cota es su puntuación
+                if (solver.getSearchLoop().isSearchCompleted() && !improvingSolutions.isEmpty())
+                    objectiveBound = getBestSolution().get().getScore();
                 break;
             case STEP:
                 solver.set(new ObjectiveManager(score, resolutionPolicy, false));
@@ -880,6 +1015,13 @@ public class TournamentSolver {
         if (solutionFound) {
             resolutionState = ResolutionState.STARTED;
             foundSolutions++;
+        } else if (!improvingSolutions.isEmpty()) {
+            // Se ha alcanzado el límite, pero se conserva la mejor solución encontrada hasta el momento
+            LOGGER.log(Level.INFO, "Resolution limit reached, best solution found so far is kept");
+            resolutionState = ResolutionState.STARTED;
+            anytimeSolution = true;
+            foundSolutions++;
+            solutionFound = true;
         } else {
             if (solver.isFeasible() == ESat.FALSE) {
                 LOGGER.log(Level.INFO, "Problem unfeasible");
@@ -934,10 +1076,13 @@ public class TournamentSolver {
             if (schedules == null && foundSolutions == 1) {
                 schedules = new HashMap<>(tournament.getEvents().size());
                 buildSchedules();
-            } else if (solver.nextSolution()) {
-                schedules.clear();
+                recordVisitedSolution();
+            } else if (!anytimeSolution && solver.nextSolution()) {
+                // Los horarios de la solución anterior se conservan en la caché, por lo que no se reutiliza el mapa
+                schedules = new HashMap<>(tournament.getEvents().size());
                 buildSchedules();
                 foundSolutions++;
+                recordVisitedSolution();
 
                 resolutionData = new ResolutionData(this);
             } else {
@@ -950,14 +1095,213 @@ public class TournamentSolver {
     }
 
     /**
-     * Inicializa los horarios de cada categoría a partir de la solución calculada por el solver
+     * Devuelve los horarios de cada categoría de una solución ya visitada en el proceso de resolución actual, sin
+     * alterar la búsqueda: las siguientes invocaciones a {@link #getSolution()} continúan a partir de la última
+     * solución encontrada.
+     * <p>
+     * Solamente se conservan las últimas soluciones visitadas (ver {@link #setSolutionHistorySize(int)}). Si los
+     * horarios de la solución no están en la caché de horarios, se reconstruyen a partir de su instantánea.
+     *
+     * @param solution número de la solución, empezando por 1
+     * @return los horarios de cada categoría envueltos en un {@link Optional}, o {@link Optional#empty()} si la
+     * solución no está en el historial
+     */
+    public Optional<Map<Event, EventSchedule>> getSolution(long solution) {
+        SolutionSnapshot snapshot = solutionHistory.get(solution);
+        if (snapshot == null)
+            return Optional.empty();
+
+        return Optional.of(scheduleCache.get(solution, snapshot));
+    }
+
+    /**
+     * Devuelve la instantánea de una solución ya visitada en el proceso de resolución actual.
+     *
+     * @param solution número de la solución, empezando por 1
+     * @return la instantánea envuelta en un {@link Optional}, o {@link Optional#empty()} si la solución no está en
+     * el historial
+     */
+    public Optional<SolutionSnapshot> getVisitedSolution(long solution) {
+        return Optional.ofNullable(solutionHistory.get(solution));
+    }
+
+    /**
+     * Devuelve los números de las soluciones visitadas que se conservan en el historial, de la más antigua a la más
+     * reciente.
+     *
+     * @return conjunto no modificable de números de solución
+     */
+    public Set<Long> getVisitedSolutions() {
+        return Collections.unmodifiableSet(solutionHistory.keySet());
+    }
+
+    /**
+     * Cuenta las soluciones del torneo sin construir sus horarios. La enumeración se realiza sobre un modelo
+     * independiente, por lo que no altera el proceso de resolución de este <i>solver</i>.
+     *
+     * @param limit   número máximo de soluciones a contar, 0 para no limitarlo
+     * @param timeout tiempo máximo de enumeración en milisegundos, 0 para no limitarlo
+     * @return recuento de soluciones, exacto si la enumeración se ha completado
+     * @see SolutionCounter#count(long, long)
+     */
+    public SolutionCounter.Count countSolutions(long limit, long timeout) {
+        return new SolutionCounter(tournament).count(limit, timeout);
+    }
+
+    /**
+     * Inicializa los horarios de cada categoría a partir de la solución calculada por el solver.
+     * <p>
+     * Los horarios de las categorías son independientes entre sí, de modo que cada uno se construye en una tarea
+     * sobre el ejecutor de horarios ({@link #setScheduleExecutor(Executor)}). El método termina cuando todos ellos
+     * están construidos, y a partir de ese momento puede construirse el horario combinado del torneo.
      */
     private void buildSchedules() {
         List<Event> events = tournament.getEvents();
+        SolutionSnapshot snapshot = anytimeSolution ? getBestSolution().get() : null;
+
+        if (events.size() == 1) {
+            schedules.put(events.get(0), buildSchedule(0, snapshot));
+            return;
+        }
+
+        List<CompletableFuture<EventSchedule>> futures = new ArrayList<>(events.size());
+        for (int e = 0; e < events.size(); e++) {
+            int eventIndex = e;
+            futures.add(CompletableFuture.supplyAsync(() -> buildSchedule(eventIndex, snapshot), scheduleExecutor));
+        }
+
+        try {
+            for (int e = 0; e < events.size(); e++)
+                schedules.put(events.get(e), futures.get(e).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Construye el horario de una categoría a partir de la solución actual. Las variables del modelo solamente se
+     * leen, por lo que los horarios de distintas categorías se pueden construir a la vez.
+     *
+     * @param e        índice de la categoría
+     * @param snapshot instantánea de la que se toma la solución, o <code>null</code> si se toma del modelo
+     * @return horario de la categoría
+     */
+    private EventSchedule buildSchedule(int e, SolutionSnapshot snapshot) {
+        Event event = tournament.getEvents().get(e);
+        int[][][] matrix = snapshot == null ? internalMatrixToInt(event, x[e]) : snapshot.toMatrix(e, event);
+        return new EventSchedule(event, matrix);
+    }
+
+    /**
+     * Registra en el historial la instantánea de la solución actual, cuyos horarios se acaban de construir, y añade
+     * éstos a la caché de horarios.
+     */
+    private void recordVisitedSolution() {
+        SolutionSnapshot snapshot;
+        if (anytimeSolution)
+            snapshot = getBestSolution().get();
+        else
+            snapshot = takeSnapshot(optimizationMode == OptimizationMode.NONE ? 0 : score.getValue());
+
+        solutionHistory.put(foundSolutions, snapshot);
+        scheduleCache.put(foundSolutions, schedules);
+    }
+
+    /**
+     * Toma una instantánea de la solución actual del modelo, recogiendo las posiciones de la matriz de comienzos de
+     * partidos de cada categoría en las que comienza un partido.
+     *
+     * @param solutionScore puntuación de la solución
+     * @return instantánea de la solución
+     */
+    private SolutionSnapshot takeSnapshot(int solutionScore) {
+        List<Event> events = tournament.getEvents();
+        int[][] matchStarts = new int[events.size()][];
+
         for (int e = 0; e < events.size(); e++) {
             Event event = events.get(e);
-            schedules.put(event, new EventSchedule(event, internalMatrixToInt(event, x[e])));
+            int nLocalizations = event.getLocalizations().size();
+            int nTimeslots = event.getTimeslots().size();
+
+            // Cada jugador comienza tantos partidos como partidos por jugador defina la categoría
+            int[] starts = new int[event.getPlayers().size() * event.getMatchesPerPlayer()];
+            int nStarts = 0;
+            for (int p = 0; p < g[e].length; p++)
+                for (int c = 0; c < nLocalizations; c++)
+                    for (int t = 0; t < nTimeslots; t++)
+                        if (g[e][p][c][t].getValue() == 1) {
+                            if (nStarts == starts.length)
+                                starts = Arrays.copyOf(starts, Math.max(1, 2 * nStarts));
+                            starts[nStarts++] = (p * nLocalizations + c) * nTimeslots + t;
+                        }
+            matchStarts[e] = Arrays.copyOf(starts, nStarts);
+        }
+
+        return new SolutionSnapshot(solutionScore, System.currentTimeMillis() - resolutionStart, matchStarts);
+    }
+
+    /**
+     * Registra una instantánea de la solución recién encontrada por el <i>solver</i> si mejora la puntuación de la
+     * mejor registrada hasta el momento.
+     */
+    private void recordSolution() {
+        int solutionScore = score.getValue();
+
+        Optional<SolutionSnapshot> best = getBestSolution();
+        if (best.isPresent()) {
+            int bestScore = best.get().getScore();
+            if (resolutionPolicy == ResolutionPolicy.MINIMIZE ? solutionScore >= bestScore : solutionScore <= bestScore)
+                return;
+        }
+
+        improvingSolutions.add(takeSnapshot(solutionScore));
+    }
+
+    /**
+     * Calcula una cota de la función objetivo sin resolver el problema, relajando las restricciones del modelo.
+     * <p>
+     * Para cada categoría se toma la más ajustada de dos relajaciones: la que considera a cada jugador por separado,
+     * con sus partidos tan pronto (o tan tarde) como su duración lo permite, y la que considera la capacidad de las
+     * localizaciones, donde en cada ventana de <i>timeslots</i> del tamaño de un partido cada localización solamente
+     * puede albergar un comienzo de partido. La cota del torneo es la suma de las cotas de cada categoría.
+     *
+     * @return cota superior si se maximiza o cota inferior si se minimiza
+     */
+    private int computeObjectiveBound() {
+        boolean maximize = resolutionPolicy != ResolutionPolicy.MINIMIZE;
+
+        int bound = 0;
+        for (Event event : tournament.getEvents()) {
+            int nPlayers = event.getPlayers().size();
+            int nTimeslots = event.getTimeslots().size();
+            int nMatchesPerPlayer = event.getMatchesPerPlayer();
+            int duration = event.getTimeslotsPerMatch();
+
+            // Puntuación de un comienzo en la ventana k-ésima, contando desde el principio o desde el final
+            int[] windowScores = new int[(nTimeslots + duration - 1) / duration];
+            for (int k = 0; k < windowScores.length; k++)
+                windowScores[k] = maximize ? nTimeslots - k * duration : (k + 1) * duration;
+
+            int playerBound = 0;
+            for (int k = 0; k < nMatchesPerPlayer; k++)
+                playerBound += windowScores[Math.min(k, windowScores.length - 1)];
+            playerBound *= nPlayers;
+
+            int remaining = nPlayers * nMatchesPerPlayer;
+            int capacity = event.getLocalizations().size() * event.getPlayersPerMatch();
+            int capacityBound = 0;
+            for (int k = 0; k < windowScores.length && remaining > 0; k++) {
+                int starts = Math.min(capacity, remaining);
+                capacityBound += starts * windowScores[k];
+                remaining -= starts;
+            }
+            capacityBound += remaining * windowScores[windowScores.length - 1];
+
+            bound += maximize ? Math.min(playerBound, capacityBound) : Math.max(playerBound, capacityBound);
         }
+        return bound;
     }
 
     /**
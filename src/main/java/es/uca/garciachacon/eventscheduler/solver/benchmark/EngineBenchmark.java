@@ -0,0 +1,211 @@
+package es.uca.garciachacon.eventscheduler.solver.benchmark;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.SolverEngine;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
+import es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolver;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Banco de pruebas común para comparar los distintos motores de resolución ({@link SolverEngine}) sobre las mismas
+ * instancias.
+ * <p>
+ * Cada motor se registra con un nombre y una factoría que lo construye a partir de un torneo. Para cada instancia y
+ * cada motor se ejecuta el proceso de resolución el número de repeticiones configurado, construyendo en cada
+ * repetición un torneo nuevo a partir del proveedor de la instancia, de modo que ninguna ejecución se beneficie del
+ * estado dejado por otra. Se mide el tiempo de resolución hasta obtener los horarios de la primera solución.
+ */
+public class EngineBenchmark {
+    /**
+     * Factorías de los motores registrados, en orden de registro
+     */
+    private final Map<String, Function<Tournament, SolverEngine>> engines = new LinkedHashMap<>();
+
+    /**
+     * Número de ejecuciones de cada motor sobre cada instancia
+     */
+    private int repetitions = 1;
+
+    /**
+     * Registra un motor de resolución.
+     *
+     * @param name    nombre no nulo y único del motor
+     * @param factory factoría no nula que construye el motor para un torneo
+     * @return este banco de pruebas
+     * @throws IllegalArgumentException si ya existe un motor con el mismo nombre
+     */
+    public EngineBenchmark addEngine(String name, Function<Tournament, SolverEngine> factory) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(factory);
+
+        if (engines.containsKey(name))
+            throw new IllegalArgumentException("Engine " + name + " already registered");
+
+        engines.put(name, factory);
+        return this;
+    }
+
+    public Set<String> getEngines() {
+        return Collections.unmodifiableSet(engines.keySet());
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    /**
+     * Establece el número de ejecuciones de cada motor sobre cada instancia.
+     *
+     * @param repetitions número mayor que 0
+     */
+    public void setRepetitions(int repetitions) {
+        if (repetitions < 1)
+            throw new IllegalArgumentException("Repetitions cannot be less than one");
+
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Ejecuta todos los motores registrados sobre una instancia.
+     *
+     * @param instance nombre de la instancia
+     * @param supplier proveedor que construye un torneo nuevo de la instancia en cada invocación
+     * @return un resultado por cada motor, en orden de registro
+     */
+    public List<Result> run(String instance, Supplier<Tournament> supplier) {
+        Objects.requireNonNull(instance);
+        Objects.requireNonNull(supplier);
+
+        List<Result> results = new ArrayList<>(engines.size());
+        for (Map.Entry<String, Function<Tournament, SolverEngine>> entry : engines.entrySet()) {
+            long[] times = new long[repetitions];
+            int solved = 0;
+
+            for (int i = 0; i < repetitions; i++) {
+                SolverEngine engine = entry.getValue().apply(supplier.get());
+
+                long start = System.nanoTime();
+                if (engine.execute() && engine.getSolution().isPresent())
+                    solved++;
+                times[i] = System.nanoTime() - start;
+
+                engine.stopResolutionProcess();
+            }
+
+            results.add(new Result(entry.getKey(), instance, solved, times));
+        }
+        return results;
+    }
+
+    /**
+     * Construye un banco de pruebas con los motores disponibles: Choco con su estrategia por defecto, búsqueda tabú,
+     * recocido simulado y construcción voraz.
+     *
+     * @param timeLimit tiempo límite de resolución de cada motor en milisegundos, 0 para no limitarlo
+     * @return banco de pruebas con los motores registrados
+     */
+    public static EngineBenchmark withDefaultEngines(long timeLimit) {
+        EngineBenchmark benchmark = new EngineBenchmark();
+
+        benchmark.addEngine("Choco", tournament -> {
+            TournamentSolver solver = new TournamentSolver(tournament);
+            solver.setResolutionTimeLimit(timeLimit);
+            return solver;
+        });
+
+        for (LocalSearchSolver.Strategy strategy : LocalSearchSolver.Strategy.values())
+            benchmark.addEngine(strategy.toString(), tournament -> {
+                LocalSearchSolver solver = new LocalSearchSolver(tournament);
+                solver.setStrategy(strategy);
+                solver.setResolutionTimeLimit(timeLimit);
+                return solver;
+            });
+
+        return benchmark;
+    }
+
+    public static void main(String[] args) {
+        EngineBenchmark benchmark = withDefaultEngines(30000);
+        benchmark.setRepetitions(args.length > 0 ? Integer.parseInt(args[0]) : 3);
+
+        Map<String, Supplier<Tournament>> instances = new LinkedHashMap<>();
+        instances.put("Simple", TournamentUtils::getSimpleTournament);
+        instances.put("Teams", TournamentUtils::getTournamentWithTeamsAndAllDifferentMatchupMode);
+        instances.put("Zarlon", TournamentUtils::getZarlonTournament);
+        instances.put("League", TournamentUtils::getLeague);
+
+        for (Map.Entry<String, Supplier<Tournament>> instance : instances.entrySet())
+            benchmark.run(instance.getKey(), instance.getValue()).forEach(System.out::println);
+    }
+
+    /**
+     * Resultado de las ejecuciones de un motor sobre una instancia
+     */
+    public static class Result {
+        private final String engine;
+        private final String instance;
+        private final int solved;
+        private final long[] times;
+
+        Result(String engine, String instance, int solved, long[] times) {
+            this.engine = engine;
+            this.instance = instance;
+            this.solved = solved;
+            this.times = times;
+        }
+
+        public String getEngine() {
+            return engine;
+        }
+
+        public String getInstance() {
+            return instance;
+        }
+
+        public int getRuns() {
+            return times.length;
+        }
+
+        /**
+         * Devuelve el número de ejecuciones en las que el motor encontró un horario.
+         *
+         * @return número de ejecuciones con solución
+         */
+        public int getSolved() {
+            return solved;
+        }
+
+        /**
+         * Devuelve el tiempo medio de resolución.
+         *
+         * @return tiempo medio en milisegundos
+         */
+        public double getMeanTime() {
+            return Arrays.stream(times).average().orElse(0) / 1e6;
+        }
+
+        public double getMinTime() {
+            return Arrays.stream(times).min().orElse(0) / 1e6;
+        }
+
+        public double getMaxTime() {
+            return Arrays.stream(times).max().orElse(0) / 1e6;
+        }
+
+        public String toString() {
+            return String.format("%-10s %-20s solved %d/%d  mean %,.1f ms  min %,.1f ms  max %,.1f ms",
+                    instance,
+                    engine,
+                    solved,
+                    getRuns(),
+                    getMeanTime(),
+                    getMinTime(),
+                    getMaxTime()
+            );
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 
+/**
+ * Restricción del modelo que se aplica sobre una categoría concreta del torneo.
+ * <p>
+ * <p>Por defecto se publica sobre el modelo del <i>solver</i> principal del torneo, pero también puede construirse
+ * sobre el de otro {@link TournamentSolver} del mismo torneo. Así es como todas las subclases pueden levantar modelos
+ * independientes del mismo problema, por ejemplo para contar soluciones sin alterar el del <i>solver</i> principal
+ * (ver {@link es.uca.garciachacon.eventscheduler.solver.SolutionCounter}).</p>
+ */
 public abstract class EventConstraint extends SolverConstraint {
     protected final Event event;
     protected final int eventIndex;
 
     public EventConstraint(Event e) {
-        super(e.getTournament());
+        this(e, e.getTournament().getSolver());
+    }
+
+    public EventConstraint(Event e, TournamentSolver tournamentSolver) {
+        super(tournamentSolver);
 
         event = e;
         eventIndex = e.getTournament().getEvents().indexOf(e);
@@ -4,6 +4,7 @@ import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Localization;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Timeslot;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.VariableFactory;
@@ -19,7 +20,11 @@ import java.util.Set;
  */
 public class LocalizationCollisionConstraint extends TournamentConstraint {
     public LocalizationCollisionConstraint(Tournament trmnt) {
-        super(trmnt);
+        this(trmnt, trmnt.getSolver());
+    }
+
+    public LocalizationCollisionConstraint(Tournament trmnt, TournamentSolver tournamentSolver) {
+        super(trmnt, tournamentSolver);
 
         Map<Integer, Set<Event>> eventsByNumberOfPlayersPerMatch = tournament.groupEventsByNumberOfPlayersPerMatch();
 
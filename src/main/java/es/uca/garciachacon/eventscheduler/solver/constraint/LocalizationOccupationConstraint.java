@@ -2,6 +2,7 @@ package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Timeslot;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.VariableFactory;
@@ -16,7 +17,11 @@ import java.util.List;
 public class LocalizationOccupationConstraint extends EventConstraint {
 
     public LocalizationOccupationConstraint(Event e) {
-        super(e);
+        this(e, e.getTournament().getSolver());
+    }
+
+    public LocalizationOccupationConstraint(Event e, TournamentSolver tournamentSolver) {
+        super(e, tournamentSolver);
 
         int nPlayers = e.getPlayers().size();
         int nLocalizations = e.getLocalizations().size();
@@ -2,6 +2,7 @@ package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.VariableFactory;
@@ -11,7 +12,11 @@ import org.chocosolver.solver.variables.VariableFactory;
  */
 public class MatchMappingConstraint extends TournamentConstraint {
     public MatchMappingConstraint(Tournament trmnt) {
-        super(trmnt);
+        this(trmnt, trmnt.getSolver());
+    }
+
+    public MatchMappingConstraint(Tournament trmnt, TournamentSolver tournamentSolver) {
+        super(trmnt, tournamentSolver);
 
         int nCategories = tournament.getEvents().size();
 
@@ -2,6 +2,7 @@ package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.VariableFactory;
@@ -12,7 +13,11 @@ import org.chocosolver.solver.variables.VariableFactory;
 public class MatchStartMappingConstraint extends TournamentConstraint {
 
     public MatchStartMappingConstraint(Tournament trnmnt) {
-        super(trnmnt);
+        this(trnmnt, trnmnt.getSolver());
+    }
+
+    public MatchStartMappingConstraint(Tournament trnmnt, TournamentSolver tournamentSolver) {
+        super(trnmnt, tournamentSolver);
 
         int nCategories = tournament.getEvents().size();
 
@@ -1,6 +1,7 @@
 package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.VariableFactory;
 import org.chocosolver.util.tools.ArrayUtils;
@@ -10,7 +11,11 @@ import org.chocosolver.util.tools.ArrayUtils;
  */
 public class MatchesPerPlayerConstraint extends EventConstraint {
     public MatchesPerPlayerConstraint(Event e) {
-        super(e);
+        this(e, e.getTournament().getSolver());
+    }
+
+    public MatchesPerPlayerConstraint(Event e, TournamentSolver tournamentSolver) {
+        super(e, tournamentSolver);
 
         // Que cada jugador juegue nMatchesPerPlayer partidos
         int nMatchesPerPlayer = event.getMatchesPerPlayer();
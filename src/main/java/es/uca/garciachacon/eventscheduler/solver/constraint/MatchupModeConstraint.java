@@ -1,6 +1,7 @@
 package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.VariableFactory;
@@ -19,7 +20,11 @@ import java.util.stream.IntStream;
  */
 public class MatchupModeConstraint extends EventConstraint {
     public MatchupModeConstraint(Event e) {
-        super(e);
+        this(e, e.getTournament().getSolver());
+    }
+
+    public MatchupModeConstraint(Event e, TournamentSolver tournamentSolver) {
+        super(e, tournamentSolver);
 
         int nPlayers = e.getPlayers().size();
         int nLocalizations = e.getLocalizations().size();
@@ -4,6 +4,7 @@ import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Player;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Timeslot;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.VariableFactory;
@@ -16,7 +17,11 @@ import java.util.List;
  */
 public class PlayerNotSimultaneousConstraint extends TournamentConstraint {
     public PlayerNotSimultaneousConstraint(Tournament trnmnt) {
-        super(trnmnt);
+        this(trnmnt, trnmnt.getSolver());
+    }
+
+    public PlayerNotSimultaneousConstraint(Tournament trnmnt, TournamentSolver tournamentSolver) {
+        super(trnmnt, tournamentSolver);
 
         int nAllPlayers = tournament.getAllPlayers().size();
         int nAllTimeslots = tournament.getAllTimeslots().size();
@@ -2,6 +2,7 @@ package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.MatchupMode;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.VariableFactory;
@@ -22,7 +23,11 @@ import java.util.Set;
 public class PredefinedMatchupsConstraint extends EventConstraint {
 
     public PredefinedMatchupsConstraint(Event event) {
-        super(event);
+        this(event, event.getTournament().getSolver());
+    }
+
+    public PredefinedMatchupsConstraint(Event event, TournamentSolver tournamentSolver) {
+        super(event, tournamentSolver);
 
         MatchupMode matchupMode = event.getMatchupMode();
 
@@ -32,7 +32,18 @@ public abstract class SolverConstraint implements ISolverConstraint {
      *          representan el modelo
      */
     public SolverConstraint(Tournament t) {
-        tournamentSolver = t.getSolver();
+        this(t.getSolver());
+    }
+
+    /**
+     * Construye una restricción a aplicar sobre el modelo de un <i>solver</i> concreto, que no tiene por qué ser el
+     * <i>solver</i> principal del torneo.
+     *
+     * @param tournamentSolver <i>solver</i> del que se obtiene el <i>solver</i> interno de Choco 3 y las matrices
+     *                         internas que representan el modelo
+     */
+    public SolverConstraint(TournamentSolver tournamentSolver) {
+        this.tournamentSolver = tournamentSolver;
         solver = tournamentSolver.getInternalSolver();
         x = tournamentSolver.getMatchesModel();
         g = tournamentSolver.getMatchesBeginningsModel();
@@ -3,6 +3,7 @@ package es.uca.garciachacon.eventscheduler.solver.constraint;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Player;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Team;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 
 import java.util.List;
@@ -14,7 +15,11 @@ import java.util.Set;
 public class TeamsConstraint extends EventConstraint {
 
     public TeamsConstraint(Event e) {
-        super(e);
+        this(e, e.getTournament().getSolver());
+    }
+
+    public TeamsConstraint(Event e, TournamentSolver tournamentSolver) {
+        super(e, tournamentSolver);
 
         List<Team> teams = event.getTeams();
         int nLocalizations = e.getLocalizations().size();
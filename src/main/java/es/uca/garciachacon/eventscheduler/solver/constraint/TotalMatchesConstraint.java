@@ -1,6 +1,7 @@
 package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 import org.chocosolver.solver.constraints.IntConstraintFactory;
 import org.chocosolver.solver.variables.VariableFactory;
 import org.chocosolver.util.tools.ArrayUtils;
@@ -13,7 +14,11 @@ import org.chocosolver.util.tools.ArrayUtils;
  */
 public class TotalMatchesConstraint extends EventConstraint {
     public TotalMatchesConstraint(Event event) {
-        super(event);
+        this(event, event.getTournament().getSolver());
+    }
+
+    public TotalMatchesConstraint(Event event, TournamentSolver tournamentSolver) {
+        super(event, tournamentSolver);
 
         int nMatches = event.getPlayers().size() * event.getMatchesPerPlayer();
 
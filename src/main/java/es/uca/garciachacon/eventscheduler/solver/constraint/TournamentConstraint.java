@@ -1,6 +1,7 @@
 package es.uca.garciachacon.eventscheduler.solver.constraint;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
 
 /**
  * Clase abstracta que representa una restricción a aplicar sobre un torneo.
@@ -14,7 +15,17 @@ public abstract class TournamentConstraint extends SolverConstraint {
      * @param t torneo al que se le aplica la restricción
      */
     public TournamentConstraint(Tournament t) {
-        super(t);
+        this(t, t.getSolver());
+    }
+
+    /**
+     * Construye una restricción del torneo sobre el modelo de un <i>solver</i> concreto.
+     *
+     * @param t                torneo al que se le aplica la restricción
+     * @param tournamentSolver <i>solver</i> cuyo modelo se restringe
+     */
+    public TournamentConstraint(Tournament t, TournamentSolver tournamentSolver) {
+        super(tournamentSolver);
         tournament = t;
     }
 
@@ -0,0 +1,749 @@
+package es.uca.garciachacon.eventscheduler.solver.localsearch;
+
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.MatchupMode;
+import es.uca.garciachacon.eventscheduler.solver.model.EventModel;
+import es.uca.garciachacon.eventscheduler.solver.model.MatchupRule;
+import es.uca.garciachacon.eventscheduler.solver.model.ProblemModel;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Representación compacta del problema sobre la que opera la búsqueda local, construida a partir de la
+ * representación intermedia del torneo ({@link ProblemModel}).
+ * <p>
+ * A diferencia del modelo de Choco, que emplea una variable por cada combinación de jugador, localización y
+ * <i>timeslot</i>, aquí la composición de cada partido se fija de antemano y un horario se representa únicamente
+ * como la asignación de cada partido a una pareja (localización, <i>timeslot</i> de comienzo), almacenada en los
+ * vectores {@link #courts} y {@link #starts}. El tamaño del modelo es, por tanto, proporcional al número de partidos
+ * del torneo.
+ * <p>
+ * Las reglas que dependen únicamente de un partido (disponibilidad de jugadores y localizaciones, <i>breaks</i>,
+ * localizaciones y <i>timeslots</i> asignados y restricciones de los enfrentamientos predefinidos) se incorporan al
+ * dominio de cada partido, que contiene solamente las asignaciones válidas. Las reglas de equipos, número de
+ * partidos por jugador y modo de enfrentamiento se satisfacen al componer los partidos. El resto de reglas, que
+ * relacionan distintos partidos entre sí, se evalúan como violaciones:
+ * <ul>
+ * <li>Una localización del torneo ocupada por más de un partido en el mismo <i>timeslot</i></li>
+ * <li>Un jugador del torneo que participa en más de un partido en el mismo <i>timeslot</i>, ya sea de la misma
+ * categoría o de categorías distintas</li>
+ * </ul>
+ * El número de violaciones se mantiene de forma incremental mediante contadores de ocupación, de modo que evaluar un
+ * movimiento tiene un coste proporcional a la duración y el número de jugadores de los partidos implicados. Del mismo
+ * modo, al mover o intercambiar partidos se actualiza el conjunto de partidos en conflicto a partir de los contadores
+ * que cambian, por lo que la búsqueda puede muestrearlo sin recorrer todos los partidos.
+ */
+class LocalSearchModel {
+    /**
+     * Número máximo de nodos explorados al buscar la composición de un partido
+     */
+    private static final int MAX_COMPOSITION_NODES = 10000;
+
+    /**
+     * Número de intentos de composición de los partidos de una categoría
+     */
+    private static final int MAX_COMPOSITION_ATTEMPTS = 20;
+
+    /**
+     * Representación intermedia del torneo
+     */
+    private final ProblemModel problemModel;
+
+    /**
+     * Generador de números aleatorios para la composición de partidos
+     */
+    private final Random random;
+
+    /**
+     * Categoría a la que pertenece cada partido
+     */
+    private int[] matchEvents;
+
+    /**
+     * Índices (en la categoría) de los jugadores que componen cada partido
+     */
+    private int[][] matchPlayers;
+
+    /**
+     * Asignaciones válidas de cada partido, codificadas como <code>localización * nTimeslots + comienzo</code> con
+     * índices de la categoría y ordenadas de forma ascendente
+     */
+    private int[][] domains;
+
+    /**
+     * Localización (índice en la categoría) asignada a cada partido
+     */
+    private int[] courts;
+
+    /**
+     * <i>Timeslot</i> de comienzo (índice en la categoría) asignado a cada partido
+     */
+    private int[] starts;
+
+    /**
+     * Número de partidos que ocupan cada localización global en cada <i>timeslot</i> global
+     */
+    private int[][] localizationUse;
+
+    /**
+     * Número de partidos en los que participa cada jugador global en cada <i>timeslot</i> global
+     */
+    private int[][] playerUse;
+
+    /**
+     * <i>XOR</i> de los índices de los partidos que ocupan cada localización global en cada <i>timeslot</i> global,
+     * que identifica al único ocupante cuando el contador correspondiente vale 1
+     */
+    private int[][] localizationOccupants;
+
+    /**
+     * <i>XOR</i> de los índices de los partidos en los que participa cada jugador global en cada <i>timeslot</i>
+     * global, que identifica al único partido cuando el contador correspondiente vale 1
+     */
+    private int[][] playerOccupants;
+
+    /**
+     * Número de celdas (localización o jugador en un <i>timeslot</i>) ocupadas por cada partido que comparte con
+     * algún otro partido
+     */
+    private int[] conflicts;
+
+    /**
+     * Partidos en conflicto de la asignación actual, almacenados en las primeras {@link #nConflicted} posiciones
+     */
+    private int[] conflicted;
+
+    /**
+     * Posición de cada partido en {@link #conflicted}, o -1 si no está en conflicto
+     */
+    private int[] conflictedPositions;
+
+    /**
+     * Número de partidos en conflicto
+     */
+    private int nConflicted;
+
+    /**
+     * Número total de violaciones de la asignación actual
+     */
+    private int violations;
+
+    /**
+     * Construye la representación compacta del torneo, componiendo sus partidos y calculando el dominio de cada uno
+     * de ellos.
+     *
+     * @param problemModel representación intermedia del torneo
+     * @param random       generador de números aleatorios empleado en la composición de partidos
+     * @throws IllegalStateException si no se ha podido encontrar una composición de partidos válida
+     */
+    LocalSearchModel(ProblemModel problemModel, Random random) {
+        this.problemModel = problemModel;
+        this.random = random;
+
+        int nTimeslots = problemModel.getTimeslots().size();
+        localizationUse = new int[problemModel.getLocalizations().size()][nTimeslots];
+        playerUse = new int[problemModel.getPlayers().size()][nTimeslots];
+        localizationOccupants = new int[problemModel.getLocalizations().size()][nTimeslots];
+        playerOccupants = new int[problemModel.getPlayers().size()][nTimeslots];
+
+        buildMatches();
+    }
+
+    ProblemModel getProblemModel() {
+        return problemModel;
+    }
+
+    int getNumberOfMatches() {
+        return matchEvents.length;
+    }
+
+    int getEvent(int m) {
+        return matchEvents[m];
+    }
+
+    int[] getPlayers(int m) {
+        return matchPlayers[m];
+    }
+
+    int[] getDomain(int m) {
+        return domains[m];
+    }
+
+    int getCourt(int m) {
+        return courts[m];
+    }
+
+    int getStart(int m) {
+        return starts[m];
+    }
+
+    int getViolations() {
+        return violations;
+    }
+
+    int getNumberOfConflicted() {
+        return nConflicted;
+    }
+
+    /**
+     * Devuelve el partido en conflicto que ocupa la posición indicada. Las posiciones cambian al mover o intercambiar
+     * partidos.
+     *
+     * @param i posición entre 0 y {@link #getNumberOfConflicted()} (sin incluir)
+     * @return índice del partido
+     */
+    int getConflicted(int i) {
+        return conflicted[i];
+    }
+
+    /**
+     * Devuelve una copia de los partidos en conflicto de la asignación actual.
+     *
+     * @return índices de los partidos en conflicto
+     */
+    int[] getConflictedMatches() {
+        return Arrays.copyOf(conflicted, nConflicted);
+    }
+
+    /**
+     * Codifica una asignación de un partido de la categoría indicada.
+     *
+     * @param e     índice de la categoría
+     * @param court índice de la localización en la categoría
+     * @param start índice del <i>timeslot</i> de comienzo en la categoría
+     * @return asignación codificada
+     */
+    int encode(int e, int court, int start) {
+        return court * problemModel.getEvent(e).getNumberOfTimeslots() + start;
+    }
+
+    int decodeCourt(int e, int cell) {
+        return cell / problemModel.getEvent(e).getNumberOfTimeslots();
+    }
+
+    int decodeStart(int e, int cell) {
+        return cell % problemModel.getEvent(e).getNumberOfTimeslots();
+    }
+
+    /**
+     * Comprueba si la asignación codificada pertenece al dominio del partido.
+     *
+     * @param m    índice del partido
+     * @param cell asignación codificada con los índices de la categoría del partido
+     * @return <code>true</code> si es una asignación válida para el partido, <code>false</code> si no
+     */
+    boolean inDomain(int m, int cell) {
+        return Arrays.binarySearch(domains[m], cell) >= 0;
+    }
+
+    /**
+     * Coloca todos los partidos de forma voraz: en orden creciente de tamaño de dominio, cada partido se asigna a la
+     * posición que menos violaciones añade.
+     */
+    void initialize() {
+        int nMatches = getNumberOfMatches();
+
+        Integer[] order = new Integer[nMatches];
+        for (int m = 0; m < nMatches; m++)
+            order[m] = m;
+        Arrays.sort(order, Comparator.comparingInt(m -> domains[m].length));
+
+        for (int m : order) {
+            int e = matchEvents[m];
+            int best = -1, bestCost = Integer.MAX_VALUE, ties = 0;
+            for (int cell : domains[m]) {
+                int cost = add(m, decodeCourt(e, cell), decodeStart(e, cell));
+                remove(m, decodeCourt(e, cell), decodeStart(e, cell));
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = cell;
+                    ties = 1;
+                } else if (cost == bestCost && random.nextInt(++ties) == 0)
+                    best = cell;
+                if (bestCost == 0 && ties > 8)
+                    break;
+            }
+            courts[m] = decodeCourt(e, best);
+            starts[m] = decodeStart(e, best);
+            violations += occupy(m, courts[m], starts[m]);
+        }
+    }
+
+    /**
+     * Calcula la variación del número de violaciones si el partido se moviese a la asignación indicada, sin
+     * modificar la asignación actual.
+     *
+     * @param m     índice del partido
+     * @param court localización de destino
+     * @param start comienzo de destino
+     * @return variación del número de violaciones
+     */
+    int delta(int m, int court, int start) {
+        if (court == courts[m] && start == starts[m])
+            return 0;
+
+        int delta = add(m, court, start) - remove(m, courts[m], starts[m]);
+        remove(m, court, start);
+        add(m, courts[m], starts[m]);
+        return delta;
+    }
+
+    /**
+     * Calcula la variación del número de violaciones si se intercambiasen las asignaciones de dos partidos, sin
+     * modificar la asignación actual.
+     *
+     * @param m1 índice del primer partido
+     * @param m2 índice del segundo partido
+     * @return variación del número de violaciones
+     */
+    int swapDelta(int m1, int m2) {
+        int c1 = courts[m1], s1 = starts[m1], c2 = courts[m2], s2 = starts[m2];
+
+        int delta = -remove(m1, c1, s1) - remove(m2, c2, s2);
+        delta += add(m1, c2, s2) + add(m2, c1, s1);
+
+        remove(m1, c2, s2);
+        remove(m2, c1, s1);
+        add(m1, c1, s1);
+        add(m2, c2, s2);
+
+        return delta;
+    }
+
+    /**
+     * Mueve un partido a la asignación indicada, actualizando el número de violaciones.
+     *
+     * @param m     índice del partido
+     * @param court localización de destino
+     * @param start comienzo de destino
+     */
+    void move(int m, int court, int start) {
+        violations -= release(m, courts[m], starts[m]);
+        courts[m] = court;
+        starts[m] = start;
+        violations += occupy(m, court, start);
+    }
+
+    /**
+     * Intercambia las asignaciones de dos partidos, actualizando el número de violaciones.
+     *
+     * @param m1 índice del primer partido
+     * @param m2 índice del segundo partido
+     */
+    void swap(int m1, int m2) {
+        int c1 = courts[m1], s1 = starts[m1];
+        violations -= release(m1, c1, s1);
+        violations -= release(m2, courts[m2], starts[m2]);
+        courts[m1] = courts[m2];
+        starts[m1] = starts[m2];
+        courts[m2] = c1;
+        starts[m2] = s1;
+        violations += occupy(m1, courts[m1], starts[m1]);
+        violations += occupy(m2, c1, s1);
+    }
+
+    /**
+     * Comprueba si el partido participa en alguna violación en su asignación actual.
+     *
+     * @param m índice del partido
+     * @return <code>true</code> si el partido está en conflicto con otro, <code>false</code> si no
+     */
+    boolean isConflicted(int m) {
+        return conflicts[m] > 0;
+    }
+
+    /**
+     * Construye la matriz de horario de la categoría indicada a partir de la asignación actual, con el formato que
+     * espera {@link es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule}.
+     *
+     * @param e índice de la categoría
+     * @return matriz de horario [jugador][localización][timeslot]
+     */
+    int[][][] toMatrix(int e) {
+        EventModel event = problemModel.getEvent(e);
+        int duration = event.getTimeslotsPerMatch();
+
+        int[][][] matrix =
+                new int[event.getNumberOfPlayers()][event.getNumberOfLocalizations()][event.getNumberOfTimeslots()];
+
+        for (int m = 0; m < matchEvents.length; m++)
+            if (matchEvents[m] == e)
+                for (int p : matchPlayers[m])
+                    for (int i = 0; i < duration; i++)
+                        matrix[p][courts[m]][starts[m] + i] = 1;
+
+        return matrix;
+    }
+
+    /**
+     * Ocupa los contadores con el partido en la asignación indicada.
+     *
+     * @return número de violaciones añadidas
+     */
+    private int add(int m, int court, int start) {
+        EventModel event = problemModel.getEvent(matchEvents[m]);
+        int gc = event.getGlobalLocalization(court);
+        int duration = event.getTimeslotsPerMatch();
+
+        int cost = 0;
+        for (int i = 0; i < duration; i++) {
+            int gt = event.getGlobalTimeslot(start + i);
+            if (localizationUse[gc][gt]++ > 0)
+                cost++;
+            for (int p : matchPlayers[m])
+                if (playerUse[event.getGlobalPlayer(p)][gt]++ > 0)
+                    cost++;
+        }
+        return cost;
+    }
+
+    /**
+     * Ocupa los contadores con el partido en la asignación indicada y actualiza los partidos en conflicto. A
+     * diferencia de {@link #add(int, int, int)}, que solamente se emplea para evaluar movimientos y se deshace a
+     * continuación, esta operación modifica la asignación actual.
+     *
+     * @return número de violaciones añadidas
+     */
+    private int occupy(int m, int court, int start) {
+        EventModel event = problemModel.getEvent(matchEvents[m]);
+        int gc = event.getGlobalLocalization(court);
+        int duration = event.getTimeslotsPerMatch();
+
+        int cost = 0;
+        for (int i = 0; i < duration; i++) {
+            int gt = event.getGlobalTimeslot(start + i);
+            cost += occupyCell(m, localizationUse, localizationOccupants, gc, gt);
+            for (int p : matchPlayers[m])
+                cost += occupyCell(m, playerUse, playerOccupants, event.getGlobalPlayer(p), gt);
+        }
+        return cost;
+    }
+
+    /**
+     * Libera los contadores ocupados por el partido en la asignación indicada y actualiza los partidos en conflicto.
+     *
+     * @return número de violaciones eliminadas
+     */
+    private int release(int m, int court, int start) {
+        EventModel event = problemModel.getEvent(matchEvents[m]);
+        int gc = event.getGlobalLocalization(court);
+        int duration = event.getTimeslotsPerMatch();
+
+        int cost = 0;
+        for (int i = 0; i < duration; i++) {
+            int gt = event.getGlobalTimeslot(start + i);
+            cost += releaseCell(m, localizationUse, localizationOccupants, gc, gt);
+            for (int p : matchPlayers[m])
+                cost += releaseCell(m, playerUse, playerOccupants, event.getGlobalPlayer(p), gt);
+        }
+        return cost;
+    }
+
+    private int occupyCell(int m, int[][] use, int[][] occupants, int r, int gt) {
+        int previous = use[r][gt]++;
+        if (previous == 1)
+            addConflict(occupants[r][gt]);
+        if (previous > 0)
+            addConflict(m);
+        occupants[r][gt] ^= m;
+        return previous > 0 ? 1 : 0;
+    }
+
+    private int releaseCell(int m, int[][] use, int[][] occupants, int r, int gt) {
+        occupants[r][gt] ^= m;
+        int remaining = --use[r][gt];
+        if (remaining > 0)
+            removeConflict(m);
+        if (remaining == 1)
+            removeConflict(occupants[r][gt]);
+        return remaining > 0 ? 1 : 0;
+    }
+
+    private void addConflict(int m) {
+        if (conflicts[m]++ == 0) {
+            conflictedPositions[m] = nConflicted;
+            conflicted[nConflicted++] = m;
+        }
+    }
+
+    private void removeConflict(int m) {
+        if (--conflicts[m] == 0) {
+            int last = conflicted[--nConflicted];
+            conflicted[conflictedPositions[m]] = last;
+            conflictedPositions[last] = conflictedPositions[m];
+            conflictedPositions[m] = -1;
+        }
+    }
+
+    /**
+     * Libera los contadores ocupados por el partido en la asignación indicada.
+     *
+     * @return número de violaciones eliminadas
+     */
+    private int remove(int m, int court, int start) {
+        EventModel event = problemModel.getEvent(matchEvents[m]);
+        int gc = event.getGlobalLocalization(court);
+        int duration = event.getTimeslotsPerMatch();
+
+        int cost = 0;
+        for (int i = 0; i < duration; i++) {
+            int gt = event.getGlobalTimeslot(start + i);
+            if (--localizationUse[gc][gt] > 0)
+                cost++;
+            for (int p : matchPlayers[m])
+                if (--playerUse[event.getGlobalPlayer(p)][gt] > 0)
+                    cost++;
+        }
+        return cost;
+    }
+
+    /**
+     * Compone los partidos de todas las categorías y calcula sus dominios.
+     */
+    private void buildMatches() {
+        List<EventModel> events = problemModel.getEvents();
+
+        List<Integer> eventsList = new ArrayList<>();
+        List<int[]> playersList = new ArrayList<>();
+        List<int[]> domainsList = new ArrayList<>();
+
+        for (int e = 0; e < events.size(); e++) {
+            EventModel event = events.get(e);
+
+            List<int[]> eventPlayers = null;
+            List<int[]> eventDomains = null;
+            for (int attempt = 0; attempt < MAX_COMPOSITION_ATTEMPTS && eventDomains == null; attempt++) {
+                List<Composition> compositions = compose(event);
+                if (compositions == null)
+                    continue;
+
+                eventPlayers = new ArrayList<>(compositions.size());
+                eventDomains = new ArrayList<>(compositions.size());
+                for (Composition composition : compositions) {
+                    int[] domain = computeDomain(event, composition);
+                    if (domain.length == 0) {
+                        eventDomains = null;
+                        break;
+                    }
+                    eventPlayers.add(composition.players);
+                    eventDomains.add(domain);
+                }
+            }
+
+            if (eventDomains == null)
+                throw new IllegalStateException("Matches of event " + event.getEvent() + " could not be composed");
+
+            for (int i = 0; i < eventDomains.size(); i++) {
+                eventsList.add(e);
+                playersList.add(eventPlayers.get(i));
+                domainsList.add(eventDomains.get(i));
+            }
+        }
+
+        int nMatches = eventsList.size();
+        matchEvents = eventsList.stream().mapToInt(Integer::intValue).toArray();
+        matchPlayers = playersList.toArray(new int[nMatches][]);
+        domains = domainsList.toArray(new int[nMatches][]);
+        courts = new int[nMatches];
+        starts = new int[nMatches];
+        conflicts = new int[nMatches];
+        conflicted = new int[nMatches];
+        conflictedPositions = new int[nMatches];
+        Arrays.fill(conflictedPositions, -1);
+    }
+
+    /**
+     * Calcula las asignaciones válidas de un partido a partir de las reglas de su categoría.
+     *
+     * @param event       categoría del partido
+     * @param composition composición del partido
+     * @return asignaciones codificadas ordenadas de forma ascendente
+     */
+    private int[] computeDomain(EventModel event, Composition composition) {
+        MatchupRule matchup = composition.matchup;
+
+        List<Integer> domain = new ArrayList<>();
+        for (int c = 0; c < event.getNumberOfLocalizations(); c++) {
+            if (matchup != null && !matchup.isLocalizationAllowed(c))
+                continue;
+
+            for (int t = 0; t < event.getNumberOfTimeslots(); t++) {
+                if (matchup != null && !matchup.isStartAllowed(t))
+                    continue;
+
+                boolean valid = true;
+                for (int i = 0; i < composition.players.length && valid; i++)
+                    valid = event.isFeasibleStart(composition.players[i], c, t);
+
+                if (valid)
+                    domain.add(encode(event.getIndex(), c, t));
+            }
+        }
+
+        return domain.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Compone los partidos de una categoría: primero los enfrentamientos predefinidos y después el resto, agrupando
+     * equipos o jugadores según el modo de enfrentamiento de la categoría.
+     *
+     * @param event categoría
+     * @return la composición de cada partido de la categoría, o <code>null</code> si no se ha encontrado una
+     * composición válida
+     */
+    private List<Composition> compose(EventModel event) {
+        int nPlayers = event.getNumberOfPlayers();
+        int nMatchesPerPlayer = event.getMatchesPerPlayer();
+        int nPlayersPerMatch = event.getPlayersPerMatch();
+
+        // Unidades a agrupar: equipos, o jugadores individuales si no pertenecen a ningún equipo
+        List<int[]> units = new ArrayList<>();
+        int[] unitByPlayer = new int[nPlayers];
+        Arrays.fill(unitByPlayer, -1);
+        for (int[] team : event.getTeams()) {
+            for (int p : team)
+                unitByPlayer[p] = units.size();
+            units.add(IntStream.of(team).sorted().toArray());
+        }
+        for (int p = 0; p < nPlayers; p++)
+            if (unitByPlayer[p] == -1) {
+                unitByPlayer[p] = units.size();
+                units.add(new int[]{ p });
+            }
+
+        int[] remaining = new int[units.size()];
+        Arrays.fill(remaining, nMatchesPerPlayer);
+
+        MatchupMode mode = event.getMatchupMode();
+        if (nMatchesPerPlayer == 1 || nPlayersPerMatch == 1)
+            mode = MatchupMode.ANY;
+
+        List<Composition> compositions = new ArrayList<>(event.getNumberOfMatches());
+        Set<Set<Integer>> usedGroups = new HashSet<>();
+
+        for (MatchupRule matchup : event.getPredefinedMatchups()) {
+            int occurrences;
+            switch (event.getMatchupMode()) {
+                case ALL_EQUAL:
+                    occurrences = nMatchesPerPlayer;
+                    break;
+                case CUSTOM:
+                    occurrences = matchup.getOccurrences();
+                    break;
+                default:
+                    occurrences = 1;
+            }
+
+            Set<Integer> group = new TreeSet<>();
+            for (int p : matchup.getPlayers())
+                group.add(unitByPlayer[p]);
+
+            for (int i = 0; i < occurrences; i++)
+                compositions.add(new Composition(toPlayers(group, units), matchup));
+
+            for (int u : group)
+                if ((remaining[u] -= occurrences) < 0)
+                    return null;
+
+            usedGroups.add(group);
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        while (true) {
+            candidates.clear();
+            for (int u = 0; u < units.size(); u++)
+                if (remaining[u] > 0)
+                    candidates.add(u);
+
+            if (candidates.isEmpty())
+                break;
+
+            // Primero las unidades con más partidos pendientes, desempatando al azar
+            Collections.shuffle(candidates, random);
+            candidates.sort((u1, u2) -> Integer.compare(remaining[u2], remaining[u1]));
+
+            List<Integer> group = findGroup(candidates, units, nPlayersPerMatch, usedGroups, true);
+            if (group == null && mode != MatchupMode.ALL_DIFFERENT)
+                group = findGroup(candidates, units, nPlayersPerMatch, usedGroups, false);
+            if (group == null)
+                return null;
+
+            int occurrences = 1;
+            if (mode == MatchupMode.ALL_EQUAL) {
+                occurrences = remaining[group.get(0)];
+                for (int u : group)
+                    if (remaining[u] != occurrences)
+                        return null;
+            }
+
+            Set<Integer> groupSet = new TreeSet<>(group);
+            for (int i = 0; i < occurrences; i++)
+                compositions.add(new Composition(toPlayers(groupSet, units), null));
+            for (int u : group)
+                remaining[u] -= occurrences;
+
+            usedGroups.add(groupSet);
+        }
+
+        return compositions;
+    }
+
+    /**
+     * Busca un grupo de unidades que forme un partido completo y que contenga la primera unidad candidata.
+     *
+     * @param candidates     unidades con partidos pendientes, por orden de preferencia
+     * @param units          jugadores de cada unidad
+     * @param size           número de jugadores por partido
+     * @param usedGroups     grupos ya empleados en otros partidos
+     * @param requireNew     si el grupo no debe haber sido empleado previamente
+     * @return grupo de unidades, o <code>null</code> si no se ha encontrado ninguno
+     */
+    private List<Integer> findGroup(List<Integer> candidates, List<int[]> units, int size,
+            Set<Set<Integer>> usedGroups, boolean requireNew) {
+        List<Integer> group = new ArrayList<>();
+        group.add(candidates.get(0));
+        int[] nodes = { 0 };
+        if (completeGroup(group, units.get(candidates.get(0)).length, 1, candidates, units, size, usedGroups,
+                requireNew, nodes))
+            return group;
+        return null;
+    }
+
+    private boolean completeGroup(List<Integer> group, int players, int from, List<Integer> candidates,
+            List<int[]> units, int size, Set<Set<Integer>> usedGroups, boolean requireNew, int[] nodes) {
+        if (players == size)
+            return !requireNew || !usedGroups.contains(new HashSet<>(group));
+
+        for (int i = from; i < candidates.size() && nodes[0]++ < MAX_COMPOSITION_NODES; i++) {
+            int u = candidates.get(i);
+            int unitSize = units.get(u).length;
+            if (players + unitSize > size)
+                continue;
+
+            group.add(u);
+            if (completeGroup(group, players + unitSize, i + 1, candidates, units, size, usedGroups, requireNew,
+                    nodes))
+                return true;
+            group.remove(group.size() - 1);
+        }
+        return false;
+    }
+
+    private static int[] toPlayers(Set<Integer> group, List<int[]> units) {
+        return group.stream().flatMapToInt(u -> Arrays.stream(units.get(u))).sorted().toArray();
+    }
+
+    /**
+     * Composición de un partido: los jugadores que lo disputan y, si procede, el enfrentamiento predefinido del que
+     * proviene
+     */
+    private static class Composition {
+        private final int[] players;
+        private final MatchupRule matchup;
+
+        Composition(int[] players, MatchupRule matchup) {
+            this.players = players;
+            this.matchup = matchup;
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package es.uca.garciachacon.eventscheduler.solver.localsearch;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.SolverEngine;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.OptimizationMode;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.ResolutionState;
+import es.uca.garciachacon.eventscheduler.solver.model.ProblemModel;
+
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Motor de resolución basado en búsqueda local, pensado para torneos cuyo modelo de Choco sería demasiado grande
+ * para ser construido o resuelto.
+ * <p>
+ * Opera sobre {@link LocalSearchModel}, una representación compacta donde cada partido tiene una composición fija y
+ * únicamente se decide su localización y su <i>timeslot</i> de comienzo. Partiendo de una asignación voraz, la
+ * búsqueda intenta eliminar todas las violaciones aplicando tres tipos de movimiento sobre los partidos en conflicto:
+ * <ul>
+ * <li><b>Desplazamiento</b>: cambiar el comienzo del partido manteniendo su localización</li>
+ * <li><b>Reubicación</b>: cambiar la localización y el comienzo del partido</li>
+ * <li><b>Intercambio</b>: intercambiar las asignaciones de dos partidos de la misma categoría</li>
+ * </ul>
+ * La selección de movimientos se rige por la estrategia configurada, {@link Strategy#TABU} o
+ * {@link Strategy#SIMULATED_ANNEALING}, y cada movimiento se evalúa de forma incremental. La estrategia
+ * {@link Strategy#GREEDY} se limita a la asignación voraz inicial, sin búsqueda posterior.
+ * <p>
+ * La búsqueda local no es completa: si no encuentra un horario dentro de los límites configurados el estado de la
+ * resolución será {@link ResolutionState#INCOMPLETE}, ya que no es posible demostrar que el problema no tenga
+ * solución. Tampoco enumera soluciones alternativas ni aplica la función objetivo de {@link TournamentSolver}: el
+ * resultado es un único horario que cumple todas las reglas del torneo.
+ */
+public class LocalSearchSolver implements SolverEngine {
+
+    /**
+     * Estrategia de selección de movimientos
+     */
+    public enum Strategy {
+        /**
+         * Búsqueda tabú: en cada iteración se aplica el mejor movimiento no prohibido sobre un partido en conflicto
+         */
+        TABU,
+
+        /**
+         * Recocido simulado: se aplican movimientos aleatorios, aceptando los que empeoran con una probabilidad que
+         * decrece con la temperatura
+         */
+        SIMULATED_ANNEALING,
+
+        /**
+         * Construcción voraz: únicamente se aplica la asignación inicial, sin búsqueda posterior. Es la estrategia
+         * más rápida, pero solamente encuentra horario en problemas poco ajustados
+         */
+        GREEDY
+    }
+
+    /**
+     * Logger del solver
+     */
+    private static final Logger LOGGER = Logger.getLogger(LocalSearchSolver.class.getName());
+
+    /**
+     * Número máximo de iteraciones por defecto
+     */
+    public static final long DEFAULT_MAX_ITERATIONS = 1000000;
+
+    /**
+     * Número de partidos de la misma categoría evaluados como candidatos a intercambio en cada iteración
+     */
+    private static final int SWAP_CANDIDATES = 32;
+
+    /**
+     * Número de iteraciones sin mejora tras las cuales se perturba la asignación actual
+     */
+    private static final int STAGNATION_LIMIT = 5000;
+
+    /**
+     * Número de asignaciones muestreadas por el recocido simulado para proponer un movimiento
+     */
+    private static final int ANNEALING_SAMPLE = 8;
+
+    /**
+     * Temperatura inicial del recocido simulado
+     */
+    private static final double INITIAL_TEMPERATURE = 2.0;
+
+    /**
+     * Factor de enfriamiento del recocido simulado
+     */
+    private static final double COOLING_RATE = 0.9995;
+
+    /**
+     * Torneo para el que se calcula el horario
+     */
+    private final Tournament tournament;
+
+    /**
+     * Representación compacta del problema
+     */
+    private LocalSearchModel model;
+
+    /**
+     * Horarios calculados correspondientes a la solución encontrada
+     */
+    private Map<Event, EventSchedule> schedules;
+
+    /**
+     * Estado del proceso de la resolución del problema
+     */
+    private volatile ResolutionState resolutionState = ResolutionState.READY;
+
+    /**
+     * Contador de soluciones encontradas
+     */
+    private long foundSolutions = 0;
+
+    /**
+     * Estrategia de selección de movimientos
+     */
+    private Strategy strategy = Strategy.TABU;
+
+    /**
+     * Tiempo máximo de resolución en milisegundos. 0 significa sin límite
+     */
+    private long resolutionTimeLimit = 0;
+
+    /**
+     * Número máximo de iteraciones de la búsqueda
+     */
+    private long maxIterations = DEFAULT_MAX_ITERATIONS;
+
+    /**
+     * Número de iteraciones realizadas en el último proceso de resolución
+     */
+    private long iterations;
+
+    /**
+     * Bandera que indica la parada del proceso de resolución
+     */
+    private volatile boolean stop = false;
+
+    /**
+     * Generador de números aleatorios de la búsqueda
+     */
+    private Random random = new Random();
+
+    /**
+     * Construye un motor de búsqueda local para el torneo.
+     *
+     * @param tournament torneo no nulo
+     */
+    public LocalSearchSolver(Tournament tournament) {
+        this.tournament = Objects.requireNonNull(tournament);
+
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    /**
+     * Construye un motor de búsqueda local tomando la configuración aplicable de un <i>solver</i> existente: el
+     * torneo y el tiempo límite de resolución. La búsqueda local no aplica el modo de optimización, así que si el
+     * <i>solver</i> tiene uno configurado se registra un aviso.
+     *
+     * @param aSolver <i>solver</i> existente
+     */
+    public LocalSearchSolver(TournamentSolver aSolver) {
+        this(aSolver.getTournament());
+        resolutionTimeLimit = aSolver.getResolutionTimeLimit();
+
+        if (aSolver.getOptimizationMode() != OptimizationMode.NONE)
+            LOGGER.log(Level.WARNING, String.format("Optimization mode (%s) is not supported by local search and " +
+                    "is ignored", aSolver.getOptimizationMode()));
+    }
+
+    public Tournament getTournament() {
+        return tournament;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Establece la estrategia de selección de movimientos. Tiene efecto en el próximo proceso de resolución.
+     *
+     * @param strategy estrategia no nula
+     */
+    public void setStrategy(Strategy strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+    }
+
+    public long getResolutionTimeLimit() {
+        return resolutionTimeLimit;
+    }
+
+    /**
+     * Establece el tiempo máximo de resolución en milisegundos. El valor de 0 indica que no hay límite de tiempo,
+     * aunque la búsqueda seguirá limitada por el número máximo de iteraciones.
+     *
+     * @param limit número mayor o igual que 0
+     */
+    public void setResolutionTimeLimit(long limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Resolution time limit cannot be less than zero");
+
+        resolutionTimeLimit = limit;
+    }
+
+    public long getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Establece el número máximo de iteraciones de la búsqueda.
+     *
+     * @param maxIterations número mayor que 0
+     */
+    public void setMaxIterations(long maxIterations) {
+        if (maxIterations < 1)
+            throw new IllegalArgumentException("Max iterations cannot be less than one");
+
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Fija la semilla del generador de números aleatorios, de modo que la búsqueda sea reproducible.
+     *
+     * @param seed semilla
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Devuelve el número de iteraciones realizadas en el último proceso de resolución.
+     *
+     * @return número de iteraciones
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Devuelve el número de violaciones de la mejor asignación alcanzada. Si es 0, la asignación es un horario
+     * válido.
+     *
+     * @return número de violaciones, o -1 si el proceso de resolución no ha comenzado
+     */
+    public int getViolations() {
+        return model == null ? -1 : model.getViolations();
+    }
+
+    public ResolutionState getResolutionState() {
+        return resolutionState;
+    }
+
+    public long getFoundSolutions() {
+        return foundSolutions;
+    }
+
+    /**
+     * Compone los partidos del torneo y lanza la búsqueda local hasta encontrar una asignación sin violaciones o
+     * alcanzar alguno de los límites configurados.
+     *
+     * @return <code>true</code> si se ha encontrado un horario, <code>false</code> si no
+     * @throws IllegalStateException si el proceso de resolución ya ha sido lanzado (desde otro hilo)
+     */
+    public boolean execute() {
+        if (resolutionState == ResolutionState.COMPUTING)
+            throw new IllegalStateException("Resolution process has already been launched");
+
+        resolutionState = ResolutionState.COMPUTING;
+        schedules = null;
+        foundSolutions = 0;
+        iterations = 0;
+        stop = false;
+
+        try {
+            model = new LocalSearchModel(new ProblemModel(tournament), random);
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.INFO, e.getMessage());
+            model = null;
+            resolutionState = ResolutionState.INCOMPLETE;
+            return false;
+        }
+
+        model.initialize();
+
+        if (strategy == Strategy.TABU)
+            tabuSearch();
+        else if (strategy == Strategy.SIMULATED_ANNEALING)
+            simulatedAnnealing();
+
+        if (model.getViolations() == 0) {
+            resolutionState = ResolutionState.STARTED;
+            foundSolutions++;
+            return true;
+        }
+
+        LOGGER.log(Level.INFO, "Solution could not be found within given limits");
+        resolutionState = ResolutionState.INCOMPLETE;
+        return false;
+    }
+
+    /**
+     * Para el proceso de resolución si éste se está llevando a cabo, dejándolo en estado incompleto.
+     */
+    public void stopResolutionProcess() {
+        if (resolutionState != ResolutionState.COMPUTING)
+            return;
+
+        stop = true;
+    }
+
+    /**
+     * La primera invocación tras encontrar una solución construye y devuelve los horarios de cada categoría. Como la
+     * búsqueda local no enumera soluciones alternativas, las subsiguientes invocaciones marcan el proceso de
+     * resolución como finalizado y devuelven un opcional vacío.
+     *
+     * @return los horarios de cada categoría envueltos en un {@link Optional}, o {@link Optional#empty()} si no hay
+     * solución o ya se ha devuelto
+     * @throws IllegalStateException si la solución aún está siendo calculada
+     */
+    public Optional<Map<Event, EventSchedule>> getSolution() {
+        if (resolutionState == ResolutionState.COMPUTING)
+            throw new IllegalStateException("Solution is still being computed");
+
+        if (resolutionState == ResolutionState.STARTED) {
+            if (schedules == null) {
+                List<Event> events = tournament.getEvents();
+                schedules = new HashMap<>(events.size());
+                for (int e = 0; e < events.size(); e++)
+                    schedules.put(events.get(e), new EventSchedule(events.get(e), model.toMatrix(e)));
+            } else {
+                LOGGER.log(Level.INFO, "All solutions found");
+                schedules = null;
+                resolutionState = ResolutionState.FINISHED;
+            }
+        }
+        return Optional.ofNullable(schedules);
+    }
+
+    /**
+     * Búsqueda tabú. En cada iteración se elige al azar un partido en conflicto y se aplica el mejor de sus
+     * movimientos (desplazamientos, reubicaciones e intercambios) que no esté prohibido, salvo que mejore la mejor
+     * asignación alcanzada. Tras mover un partido, volver a su asignación anterior queda prohibido durante un número
+     * de iteraciones.
+     */
+    private void tabuSearch() {
+        Map<Long, Long> tabu = new HashMap<>();
+        List<int[]> bestMoves = new ArrayList<>();
+
+        int best = model.getViolations();
+        long lastImprovement = 0;
+        long deadline = deadline();
+
+        while (model.getViolations() > 0 && !limitReached(deadline)) {
+            iterations++;
+
+            int m = model.getConflicted(random.nextInt(model.getNumberOfConflicted()));
+            int e = model.getEvent(m);
+            int current = model.getViolations();
+
+            // Movimientos: {delta, celda destino, partido con el que intercambiar o -1}
+            bestMoves.clear();
+            int bestDelta = Integer.MAX_VALUE;
+
+            for (int cell : model.getDomain(m)) {
+                int court = model.decodeCourt(e, cell), start = model.decodeStart(e, cell);
+                if (court == model.getCourt(m) && start == model.getStart(m))
+                    continue;
+
+                int delta = model.delta(m, court, start);
+                if (isTabu(tabu, m, cell) && current + delta >= best)
+                    continue;
+
+                if (delta < bestDelta) {
+                    bestDelta = delta;
+                    bestMoves.clear();
+                }
+                if (delta == bestDelta)
+                    bestMoves.add(new int[]{ cell, -1 });
+            }
+
+            for (int other : swapCandidates(m)) {
+                int cell = model.encode(e, model.getCourt(other), model.getStart(other));
+                int otherCell = model.encode(e, model.getCourt(m), model.getStart(m));
+                if (cell == otherCell || !model.inDomain(m, cell) || !model.inDomain(other, otherCell))
+                    continue;
+
+                int delta = model.swapDelta(m, other);
+                if ((isTabu(tabu, m, cell) || isTabu(tabu, other, otherCell)) && current + delta >= best)
+                    continue;
+
+                if (delta < bestDelta) {
+                    bestDelta = delta;
+                    bestMoves.clear();
+                }
+                if (delta == bestDelta)
+                    bestMoves.add(new int[]{ cell, other });
+            }
+
+            if (bestMoves.isEmpty())
+                continue;
+
+            int[] move = bestMoves.get(random.nextInt(bestMoves.size()));
+            int tenure = 10 + random.nextInt(10);
+
+            tabu.put(key(m, model.encode(e, model.getCourt(m), model.getStart(m))), iterations + tenure);
+            if (move[1] == -1)
+                model.move(m, model.decodeCourt(e, move[0]), model.decodeStart(e, move[0]));
+            else {
+                int other = move[1];
+                tabu.put(key(other, model.encode(e, model.getCourt(other), model.getStart(other))),
+                        iterations + tenure);
+                model.swap(m, other);
+            }
+
+            if (model.getViolations() < best) {
+                best = model.getViolations();
+                lastImprovement = iterations;
+            } else if (iterations - lastImprovement > STAGNATION_LIMIT) {
+                perturb();
+                tabu.clear();
+                lastImprovement = iterations;
+            }
+        }
+    }
+
+    /**
+     * Recocido simulado. En cada iteración se propone un movimiento aleatorio sobre un partido en conflicto, que se
+     * acepta si no empeora la asignación o, si la empeora, con una probabilidad que decrece con la temperatura.
+     */
+    private void simulatedAnnealing() {
+        double temperature = INITIAL_TEMPERATURE;
+        int best = model.getViolations();
+        long lastImprovement = 0;
+        long deadline = deadline();
+
+        while (model.getViolations() > 0 && !limitReached(deadline)) {
+            iterations++;
+
+            int m = model.getConflicted(random.nextInt(model.getNumberOfConflicted()));
+            int e = model.getEvent(m);
+
+            if (random.nextInt(4) == 0) {
+                List<Integer> candidates = swapCandidates(m);
+                if (!candidates.isEmpty()) {
+                    int other = candidates.get(random.nextInt(candidates.size()));
+                    int cell = model.encode(e, model.getCourt(other), model.getStart(other));
+                    int otherCell = model.encode(e, model.getCourt(m), model.getStart(m));
+
+                    if (cell != otherCell && model.inDomain(m, cell) && model.inDomain(other, otherCell) &&
+                            accept(model.swapDelta(m, other), temperature))
+                        model.swap(m, other);
+                }
+            } else {
+                // Se propone el mejor de una pequeña muestra de desplazamientos o reubicaciones aleatorias
+                int[] domain = model.getDomain(m);
+                boolean shift = random.nextBoolean();
+                int from = 0, to = domain.length;
+                if (shift) {
+                    from = lowerBound(domain, model.encode(e, model.getCourt(m), 0));
+                    to = lowerBound(domain, model.encode(e, model.getCourt(m) + 1, 0));
+                }
+
+                int cell = -1, cellDelta = Integer.MAX_VALUE;
+                for (int i = 0; i < ANNEALING_SAMPLE; i++) {
+                    int candidate = domain[from + random.nextInt(to - from)];
+                    int delta = model.delta(m, model.decodeCourt(e, candidate), model.decodeStart(e, candidate));
+                    if (delta < cellDelta) {
+                        cell = candidate;
+                        cellDelta = delta;
+                    }
+                }
+
+                if (accept(cellDelta, temperature))
+                    model.move(m, model.decodeCourt(e, cell), model.decodeStart(e, cell));
+            }
+
+            temperature *= COOLING_RATE;
+
+            if (model.getViolations() < best) {
+                best = model.getViolations();
+                lastImprovement = iterations;
+            } else if (iterations - lastImprovement > STAGNATION_LIMIT) {
+                temperature = INITIAL_TEMPERATURE;
+                lastImprovement = iterations;
+            }
+        }
+    }
+
+    /**
+     * Reasigna al azar parte de los partidos en conflicto para escapar de un estancamiento.
+     */
+    private void perturb() {
+        for (int m : model.getConflictedMatches()) {
+            if (random.nextBoolean()) {
+                int e = model.getEvent(m);
+                int[] domain = model.getDomain(m);
+                int cell = domain[random.nextInt(domain.length)];
+                model.move(m, model.decodeCourt(e, cell), model.decodeStart(e, cell));
+            }
+        }
+    }
+
+    /**
+     * Selecciona al azar partidos de la misma categoría que el indicado como candidatos a intercambio.
+     *
+     * @param m índice del partido
+     * @return lista de partidos candidatos
+     */
+    private List<Integer> swapCandidates(int m) {
+        int nMatches = model.getNumberOfMatches();
+        int e = model.getEvent(m);
+
+        List<Integer> candidates = new ArrayList<>(SWAP_CANDIDATES);
+        for (int i = 0; i < SWAP_CANDIDATES; i++) {
+            int other = random.nextInt(nMatches);
+            if (other != m && model.getEvent(other) == e)
+                candidates.add(other);
+        }
+        return candidates;
+    }
+
+    private boolean accept(int delta, double temperature) {
+        return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+    }
+
+    private long deadline() {
+        return resolutionTimeLimit > 0 ? System.currentTimeMillis() + resolutionTimeLimit : Long.MAX_VALUE;
+    }
+
+    private boolean limitReached(long deadline) {
+        return stop || iterations >= maxIterations || System.currentTimeMillis() > deadline;
+    }
+
+    private boolean isTabu(Map<Long, Long> tabu, int m, int cell) {
+        Long until = tabu.get(key(m, cell));
+        return until != null && until >= iterations;
+    }
+
+    private static long key(int m, int cell) {
+        return ((long) m << 32) | (cell & 0xffffffffL);
+    }
+
+    private static int lowerBound(int[] array, int value) {
+        int pos = Arrays.binarySearch(array, value);
+        if (pos < 0)
+            return -pos - 1;
+        while (pos > 0 && array[pos - 1] == value)
+            pos--;
+        return pos;
+    }
+}
@@ -0,0 +1,513 @@
+package es.uca.garciachacon.eventscheduler.solver.model;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.MatchupMode;
+
+import java.util.*;
+
+/**
+ * Representación independiente del <i>solver</i> de una categoría del torneo.
+ * <p>
+ * Los jugadores, localizaciones y <i>timeslots</i> de la categoría se identifican por su posición en las listas
+ * de la categoría (índices locales), y cada uno de ellos conoce además su índice en el conjunto del torneo (índice
+ * global, ver {@link ProblemModel}). Las reglas de la categoría se almacenan como mapas de bits indexados por los
+ * índices locales, tomados de las filas de bits de {@link Event}, de modo que los motores de resolución pueden
+ * consultarlas en tiempo constante y combinar filas completas con operaciones de bits.
+ * <p>
+ * Al construirse se reducen los dominios de la categoría: se calcula, para cada jugador, el conjunto exacto de
+ * pares (localización, comienzo) en los que puede comenzar un partido (ver {@link #isFeasibleStart(int, int, int)}).
+ * Además de las reglas propias del jugador y de la duración de los partidos, este conjunto se interseca con el de
+ * los demás miembros de su equipo, puesto que siempre juegan juntos, y con el de los demás jugadores de los
+ * enfrentamientos predefinidos que abarcan todos sus partidos.
+ */
+public class EventModel {
+    /**
+     * Categoría representada
+     */
+    private final Event event;
+
+    /**
+     * Posición de la categoría en el torneo
+     */
+    private final int index;
+
+    /**
+     * Índice global de cada jugador, localización y <i>timeslot</i> de la categoría
+     */
+    private final int[] players, localizations, timeslots;
+
+    private final int matchesPerPlayer, playersPerMatch, timeslotsPerMatch, numberOfMatches;
+
+    private final MatchupMode matchupMode;
+
+    /**
+     * Jugadores (índices locales) de cada equipo de la categoría
+     */
+    private final int[][] teams;
+
+    /**
+     * <i>Timeslots</i> que son <i>breaks</i>
+     */
+    private final BitSet breaks;
+
+    /**
+     * <i>Timeslots</i> no disponibles de cada jugador, en orden cronológico
+     */
+    private final int[][] unavailablePlayerTimeslots;
+
+    /**
+     * <i>Timeslots</i> no disponibles de cada localización, en orden cronológico
+     */
+    private final int[][] unavailableLocalizationTimeslots;
+
+    /**
+     * <i>Timeslots</i> no disponibles de cada jugador y de cada localización
+     */
+    private final BitSet[] unavailablePlayers, unavailableLocalizations;
+
+    /**
+     * Localizaciones asignadas a cada jugador, o <code>null</code> si puede jugar en cualquiera
+     */
+    private final BitSet[] assignedLocalizations;
+
+    /**
+     * <i>Timeslots</i> asignados a cada jugador, o <code>null</code> si puede jugar en cualquiera
+     */
+    private final BitSet[] assignedTimeslots;
+
+    /**
+     * Enfrentamientos predefinidos de la categoría
+     */
+    private final List<MatchupRule> predefinedMatchups;
+
+    /**
+     * Pares (localización, comienzo) en los que cada jugador puede comenzar un partido, [jugador][localización][t]
+     */
+    private final boolean[][][] feasibleStarts;
+
+    /**
+     * Pares (localización, timeslot) en los que cada jugador puede estar jugando, [jugador][localización][t]
+     */
+    private final boolean[][][] feasiblePlays;
+
+    EventModel(Event event, int index, EntityIndex<Player> allPlayers, EntityIndex<Localization> allLocalizations,
+            EntityIndex<Timeslot> allTimeslots) {
+        this.event = event;
+        this.index = index;
+
+        List<Player> eventPlayers = event.getPlayers();
+        List<Localization> eventLocalizations = event.getLocalizations();
+        List<Timeslot> eventTimeslots = event.getTimeslots();
+
+        EntityIndex<Player> playersIndex = new EntityIndex<>(eventPlayers);
+        EntityIndex<Localization> localizationsIndex = new EntityIndex<>(eventLocalizations);
+        EntityIndex<Timeslot> timeslotsIndex = new EntityIndex<>(eventTimeslots);
+
+        players = eventPlayers.stream().mapToInt(allPlayers::indexOf).toArray();
+        localizations = eventLocalizations.stream().mapToInt(allLocalizations::indexOf).toArray();
+        timeslots = eventTimeslots.stream().mapToInt(allTimeslots::indexOf).toArray();
+
+        int nPlayers = players.length;
+        int nLocalizations = localizations.length;
+        int nTimeslots = timeslots.length;
+
+        matchesPerPlayer = event.getMatchesPerPlayer();
+        playersPerMatch = event.getPlayersPerMatch();
+        timeslotsPerMatch = event.getTimeslotsPerMatch();
+        numberOfMatches = event.getNumberOfMatches();
+        matchupMode = event.getMatchupMode();
+
+        teams = event.getTeams()
+                .stream()
+                .map(team -> indicesOf(team.getPlayers(), playersIndex))
+                .toArray(int[][]::new);
+
+        breaks = new BitSet(nTimeslots);
+        for (Timeslot timeslot : event.getBreaks())
+            if (timeslotsIndex.contains(timeslot))
+                breaks.set(timeslotsIndex.indexOf(timeslot));
+
+        unavailablePlayers = new BitSet[nPlayers];
+        unavailablePlayerTimeslots = new int[nPlayers][];
+        assignedLocalizations = new BitSet[nPlayers];
+        assignedTimeslots = new BitSet[nPlayers];
+        for (int p = 0; p < nPlayers; p++) {
+            Player player = eventPlayers.get(p);
+
+            unavailablePlayers[p] = event.getUnavailableTimeslotsOf(player);
+            unavailablePlayerTimeslots[p] = unavailablePlayers[p].stream().toArray();
+
+            BitSet playerLocalizations = event.getAssignedLocalizationsOf(player);
+            if (!playerLocalizations.isEmpty())
+                assignedLocalizations[p] = playerLocalizations;
+
+            BitSet playerTimeslots = event.getAssignedTimeslotsOf(player);
+            if (!playerTimeslots.isEmpty())
+                assignedTimeslots[p] = playerTimeslots;
+        }
+
+        unavailableLocalizations = new BitSet[nLocalizations];
+        unavailableLocalizationTimeslots = new int[nLocalizations][];
+        for (int c = 0; c < nLocalizations; c++) {
+            unavailableLocalizations[c] = event.getUnavailableTimeslotsOf(eventLocalizations.get(c));
+            unavailableLocalizationTimeslots[c] = unavailableLocalizations[c].stream().toArray();
+        }
+
+        List<MatchupRule> matchups = new ArrayList<>(event.getPredefinedMatchups().size());
+        for (Matchup matchup : event.getPredefinedMatchups()) {
+            int[] matchupPlayers = indicesOf(matchup.getPlayers(), playersIndex);
+            Arrays.sort(matchupPlayers);
+
+            boolean[] matchupLocalizations = matchup.getLocalizations().isEmpty() ? null :
+                    toMask(indicesOf(matchup.getLocalizations(), localizationsIndex), nLocalizations);
+            boolean[] matchupStarts = matchup.getTimeslots().isEmpty() ? null :
+                    toMask(indicesOf(matchup.getTimeslots(), timeslotsIndex), nTimeslots);
+
+            matchups.add(new MatchupRule(matchup, matchupPlayers, matchupLocalizations, matchupStarts));
+        }
+        predefinedMatchups = Collections.unmodifiableList(matchups);
+
+        feasibleStarts = new boolean[nPlayers][nLocalizations][nTimeslots];
+        feasiblePlays = new boolean[nPlayers][nLocalizations][nTimeslots];
+        reduceDomains();
+    }
+
+    /**
+     * Calcula los comienzos factibles de cada jugador intersecando las reglas de los grupos de jugadores que deben
+     * jugar juntos, y a partir de ellos los <i>timeslots</i> en los que cada jugador puede estar jugando.
+     */
+    private void reduceDomains() {
+        int nPlayers = players.length;
+        int nLocalizations = localizations.length;
+        int nTimeslots = timeslots.length;
+
+        // Un partido puede comenzar en t si ninguno de los timeslots que ocupa está bloqueado por un break o por la
+        // no disponibilidad del jugador o de la localización, es decir, si el siguiente timeslot bloqueado a partir
+        // de t queda fuera del partido
+        for (int p = 0; p < nPlayers; p++)
+            for (int c = 0; c < nLocalizations; c++) {
+                if (!isLocalizationAssigned(p, c))
+                    continue;
+
+                BitSet blocked = (BitSet) breaks.clone();
+                blocked.or(unavailablePlayers[p]);
+                blocked.or(unavailableLocalizations[c]);
+
+                for (int t = 0; t + timeslotsPerMatch <= nTimeslots; t++) {
+                    int nextBlocked = blocked.nextSetBit(t);
+                    feasibleStarts[p][c][t] = isTimeslotAssigned(p, t) &&
+                            (nextBlocked < 0 || nextBlocked >= t + timeslotsPerMatch);
+                }
+            }
+
+        // Los miembros de un equipo juegan siempre el mismo partido
+        for (int[] team : teams)
+            intersect(team);
+
+        // Si un enfrentamiento predefinido abarca todos los partidos de sus jugadores, éstos solamente pueden
+        // comenzar un partido donde todos ellos puedan y el enfrentamiento lo permita
+        Map<Integer, boolean[][]> matchupStarts = new HashMap<>();
+        for (MatchupRule matchup : predefinedMatchups) {
+            if (!coversAllMatches(matchup))
+                continue;
+
+            boolean[][] allowed = intersection(matchup.getPlayers(), matchup);
+            for (int p : matchup.getPlayers()) {
+                boolean[][] starts = matchupStarts.computeIfAbsent(p, k -> new boolean[nLocalizations][nTimeslots]);
+                for (int c = 0; c < nLocalizations; c++)
+                    for (int t = 0; t < nTimeslots; t++)
+                        starts[c][t] |= allowed[c][t];
+            }
+        }
+        for (Map.Entry<Integer, boolean[][]> entry : matchupStarts.entrySet())
+            for (int c = 0; c < nLocalizations; c++)
+                for (int t = 0; t < nTimeslots; t++)
+                    feasibleStarts[entry.getKey()][c][t] &= entry.getValue()[c][t];
+
+        for (int p = 0; p < nPlayers; p++)
+            for (int c = 0; c < nLocalizations; c++)
+                for (int t = 0; t < nTimeslots; t++)
+                    if (feasibleStarts[p][c][t])
+                        for (int i = 0; i < timeslotsPerMatch; i++)
+                            feasiblePlays[p][c][t + i] = true;
+    }
+
+    /**
+     * Comprueba si un enfrentamiento predefinido abarca todos los partidos de sus jugadores según el modo de
+     * enfrentamiento de la categoría.
+     */
+    private boolean coversAllMatches(MatchupRule matchup) {
+        switch (matchupMode) {
+            case ALL_EQUAL:
+                return true;
+            case CUSTOM:
+                return matchup.getOccurrences() == matchesPerPlayer;
+            default:
+                return matchesPerPlayer == 1;
+        }
+    }
+
+    /**
+     * Restringe los comienzos factibles de cada jugador del grupo a los que son factibles para todo el grupo.
+     */
+    private void intersect(int[] group) {
+        boolean[][] allowed = intersection(group, null);
+        for (int p : group)
+            for (int c = 0; c < localizations.length; c++)
+                for (int t = 0; t < timeslots.length; t++)
+                    feasibleStarts[p][c][t] &= allowed[c][t];
+    }
+
+    /**
+     * Calcula los comienzos factibles para todos los jugadores del grupo y, si se indica, permitidos por el
+     * enfrentamiento.
+     */
+    private boolean[][] intersection(int[] group, MatchupRule matchup) {
+        boolean[][] allowed = new boolean[localizations.length][timeslots.length];
+        for (int c = 0; c < localizations.length; c++)
+            for (int t = 0; t < timeslots.length; t++) {
+                boolean feasible = matchup == null || matchup.isLocalizationAllowed(c) && matchup.isStartAllowed(t);
+                for (int i = 0; i < group.length && feasible; i++)
+                    feasible = feasibleStarts[group[i]][c][t];
+                allowed[c][t] = feasible;
+            }
+        return allowed;
+    }
+
+    /**
+     * Devuelve los índices de los elementos de la colección que pertenecen a la categoría, ignorando el resto.
+     */
+    private static <T extends Entity> int[] indicesOf(Collection<T> elements, EntityIndex<T> index) {
+        return elements.stream().mapToInt(index::indexOf).filter(i -> i >= 0).toArray();
+    }
+
+    private static boolean[] toMask(int[] indices, int length) {
+        boolean[] mask = new boolean[length];
+        for (int i : indices)
+            mask[i] = true;
+        return mask;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getNumberOfPlayers() {
+        return players.length;
+    }
+
+    public int getNumberOfLocalizations() {
+        return localizations.length;
+    }
+
+    public int getNumberOfTimeslots() {
+        return timeslots.length;
+    }
+
+    /**
+     * Devuelve el índice global del jugador indicado.
+     *
+     * @param p índice del jugador en la categoría
+     * @return índice del jugador en el torneo
+     */
+    public int getGlobalPlayer(int p) {
+        return players[p];
+    }
+
+    /**
+     * Devuelve el índice global de la localización indicada.
+     *
+     * @param c índice de la localización en la categoría
+     * @return índice de la localización en el torneo
+     */
+    public int getGlobalLocalization(int c) {
+        return localizations[c];
+    }
+
+    /**
+     * Devuelve el índice global del <i>timeslot</i> indicado.
+     *
+     * @param t índice del <i>timeslot</i> en la categoría
+     * @return índice del <i>timeslot</i> en el torneo
+     */
+    public int getGlobalTimeslot(int t) {
+        return timeslots[t];
+    }
+
+    public int getMatchesPerPlayer() {
+        return matchesPerPlayer;
+    }
+
+    public int getPlayersPerMatch() {
+        return playersPerMatch;
+    }
+
+    public int getTimeslotsPerMatch() {
+        return timeslotsPerMatch;
+    }
+
+    public int getNumberOfMatches() {
+        return numberOfMatches;
+    }
+
+    public MatchupMode getMatchupMode() {
+        return matchupMode;
+    }
+
+    /**
+     * Devuelve los equipos de la categoría.
+     *
+     * @return por cada equipo, los índices de sus jugadores en la categoría
+     */
+    public int[][] getTeams() {
+        return teams;
+    }
+
+    public List<MatchupRule> getPredefinedMatchups() {
+        return predefinedMatchups;
+    }
+
+    public boolean isBreak(int t) {
+        return breaks.get(t);
+    }
+
+    public boolean isPlayerUnavailable(int p, int t) {
+        return unavailablePlayers[p].get(t);
+    }
+
+    public boolean isLocalizationUnavailable(int c, int t) {
+        return unavailableLocalizations[c].get(t);
+    }
+
+    /**
+     * Devuelve los <i>timeslots</i> en los que el jugador no está disponible.
+     *
+     * @param p índice del jugador en la categoría
+     * @return índices de los <i>timeslots</i>, vacío si el jugador está siempre disponible
+     */
+    public int[] getUnavailableTimeslotsOfPlayer(int p) {
+        return unavailablePlayerTimeslots[p];
+    }
+
+    /**
+     * Devuelve los <i>timeslots</i> en los que la localización no está disponible.
+     *
+     * @param c índice de la localización en la categoría
+     * @return índices de los <i>timeslots</i>, vacío si la localización está siempre disponible
+     */
+    public int[] getUnavailableTimeslotsOfLocalization(int c) {
+        return unavailableLocalizationTimeslots[c];
+    }
+
+    public boolean hasAssignedLocalizations(int p) {
+        return assignedLocalizations[p] != null;
+    }
+
+    /**
+     * Comprueba si el jugador puede jugar en la localización indicada según las localizaciones que tenga asignadas.
+     *
+     * @param p índice del jugador en la categoría
+     * @param c índice de la localización en la categoría
+     * @return <code>true</code> si no tiene localizaciones asignadas o la localización es una de ellas
+     */
+    public boolean isLocalizationAssigned(int p, int c) {
+        return assignedLocalizations[p] == null || assignedLocalizations[p].get(c);
+    }
+
+    public boolean hasAssignedTimeslots(int p) {
+        return assignedTimeslots[p] != null;
+    }
+
+    /**
+     * Comprueba si el jugador puede comenzar un partido en el <i>timeslot</i> indicado según los <i>timeslots</i>
+     * que tenga asignados.
+     *
+     * @param p índice del jugador en la categoría
+     * @param t índice del <i>timeslot</i> en la categoría
+     * @return <code>true</code> si no tiene <i>timeslots</i> asignados o el <i>timeslot</i> es uno de ellos
+     */
+    public boolean isTimeslotAssigned(int p, int t) {
+        return assignedTimeslots[p] == null || assignedTimeslots[p].get(t);
+    }
+
+    /**
+     * Comprueba si el jugador puede estar jugando en la localización y <i>timeslot</i> indicados, considerando los
+     * <i>breaks</i>, la disponibilidad de ambos y las localizaciones asignadas al jugador.
+     *
+     * @param p índice del jugador en la categoría
+     * @param c índice de la localización en la categoría
+     * @param t índice del <i>timeslot</i> en la categoría
+     * @return <code>true</code> si ninguna regla de la categoría lo impide, <code>false</code> si no
+     */
+    public boolean canPlay(int p, int c, int t) {
+        return !breaks.get(t) && !unavailablePlayers[p].get(t) && !unavailableLocalizations[c].get(t) &&
+                isLocalizationAssigned(p, c);
+    }
+
+    /**
+     * Comprueba si el jugador puede comenzar un partido en la localización y <i>timeslot</i> indicados, es decir, si
+     * el partido cabe en la categoría, el comienzo está entre los <i>timeslots</i> asignados al jugador y éste puede
+     * jugar en todos los <i>timeslots</i> que ocuparía el partido.
+     *
+     * @param p índice del jugador en la categoría
+     * @param c índice de la localización en la categoría
+     * @param t índice del <i>timeslot</i> en la categoría
+     * @return <code>true</code> si ninguna regla de la categoría lo impide, <code>false</code> si no
+     */
+    public boolean canStart(int p, int c, int t) {
+        if (t + timeslotsPerMatch > timeslots.length || !isTimeslotAssigned(p, t))
+            return false;
+
+        for (int i = 0; i < timeslotsPerMatch; i++)
+            if (!canPlay(p, c, t + i))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Comprueba si el jugador puede comenzar un partido en la localización y <i>timeslot</i> indicados una vez
+     * reducidos los dominios. A diferencia de {@link #canStart(int, int, int)}, que solamente considera las reglas
+     * del jugador, tiene en cuenta además las de los jugadores con los que necesariamente ha de jugar.
+     *
+     * @param p índice del jugador en la categoría
+     * @param c índice de la localización en la categoría
+     * @param t índice del <i>timeslot</i> en la categoría
+     * @return <code>true</code> si el comienzo es factible, <code>false</code> si no
+     */
+    public boolean isFeasibleStart(int p, int c, int t) {
+        return feasibleStarts[p][c][t];
+    }
+
+    /**
+     * Comprueba si el jugador puede estar jugando en la localización y <i>timeslot</i> indicados una vez reducidos
+     * los dominios, es decir, si alguno de sus comienzos factibles en esa localización abarca el <i>timeslot</i>.
+     *
+     * @param p índice del jugador en la categoría
+     * @param c índice de la localización en la categoría
+     * @param t índice del <i>timeslot</i> en la categoría
+     * @return <code>true</code> si el jugador puede estar jugando, <code>false</code> si no
+     */
+    public boolean isFeasiblePlay(int p, int c, int t) {
+        return feasiblePlays[p][c][t];
+    }
+
+    /**
+     * Devuelve el número de pares (localización, comienzo) factibles del jugador.
+     *
+     * @param p índice del jugador en la categoría
+     * @return número de comienzos factibles
+     */
+    public int getNumberOfFeasibleStarts(int p) {
+        int count = 0;
+        for (boolean[] localizationStarts : feasibleStarts[p])
+            for (boolean feasible : localizationStarts)
+                if (feasible)
+                    count++;
+        return count;
+    }
+}
@@ -0,0 +1,74 @@
+package es.uca.garciachacon.eventscheduler.solver.model;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Matchup;
+
+/**
+ * Representación independiente del <i>solver</i> de un enfrentamiento predefinido de una categoría
+ * ({@link Matchup}), donde los jugadores, las localizaciones y los <i>timeslots</i> se expresan mediante sus índices
+ * en la categoría.
+ */
+public class MatchupRule {
+    /**
+     * Enfrentamiento del que procede la regla
+     */
+    private final Matchup matchup;
+
+    /**
+     * Índices de los jugadores del enfrentamiento, ordenados de forma ascendente
+     */
+    private final int[] players;
+
+    /**
+     * Localizaciones donde puede tener lugar el enfrentamiento, o <code>null</code> si puede ser en cualquiera
+     */
+    private final boolean[] localizations;
+
+    /**
+     * <i>Timeslots</i> donde puede comenzar el enfrentamiento, o <code>null</code> si puede ser en cualquiera
+     */
+    private final boolean[] starts;
+
+    MatchupRule(Matchup matchup, int[] players, boolean[] localizations, boolean[] starts) {
+        this.matchup = matchup;
+        this.players = players;
+        this.localizations = localizations;
+        this.starts = starts;
+    }
+
+    public Matchup getMatchup() {
+        return matchup;
+    }
+
+    /**
+     * Devuelve los índices en la categoría de los jugadores que componen el enfrentamiento.
+     *
+     * @return índices de los jugadores ordenados de forma ascendente
+     */
+    public int[] getPlayers() {
+        return players.clone();
+    }
+
+    public int getOccurrences() {
+        return matchup.getOccurrences();
+    }
+
+    /**
+     * Comprueba si el enfrentamiento puede tener lugar en la localización indicada.
+     *
+     * @param c índice de la localización en la categoría
+     * @return <code>true</code> si la localización está permitida, <code>false</code> si no
+     */
+    public boolean isLocalizationAllowed(int c) {
+        return localizations == null || localizations[c];
+    }
+
+    /**
+     * Comprueba si el enfrentamiento puede comenzar en el <i>timeslot</i> indicado.
+     *
+     * @param t índice del <i>timeslot</i> en la categoría
+     * @return <code>true</code> si el comienzo está permitido, <code>false</code> si no
+     */
+    public boolean isStartAllowed(int t) {
+        return starts == null || starts[t];
+    }
+}
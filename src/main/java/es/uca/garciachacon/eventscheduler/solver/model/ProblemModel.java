@@ -0,0 +1,97 @@
+package es.uca.garciachacon.eventscheduler.solver.model;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
+
+import java.util.*;
+
+/**
+ * Representación intermedia del problema de un torneo, independiente del motor de resolución que se emplee.
+ * <p>
+ * Se construye una única vez a partir del torneo y contiene los recursos del problema (jugadores, localizaciones y
+ * <i>timeslots</i> del conjunto del torneo, identificados por un índice global) y, por cada categoría, un
+ * {@link EventModel} con sus partidos y reglas expresados sobre índices. Los motores de resolución traducen esta
+ * representación a su propio modelo: {@link es.uca.garciachacon.eventscheduler.solver.TournamentSolver} a variables y
+ * restricciones de Choco, y {@link es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolver} a
+ * partidos con un dominio de asignaciones válidas.
+ * <p>
+ * La representación es una instantánea: los cambios posteriores en el torneo no se reflejan en ella.
+ */
+public class ProblemModel {
+    /**
+     * Torneo representado
+     */
+    private final Tournament tournament;
+
+    /**
+     * Recursos del torneo, cuyas posiciones son los índices globales
+     */
+    private final List<Player> players;
+    private final List<Localization> localizations;
+    private final List<Timeslot> timeslots;
+
+    /**
+     * Representación de cada categoría, en el orden del torneo
+     */
+    private final List<EventModel> events;
+
+    /**
+     * Construye la representación intermedia del torneo.
+     *
+     * @param tournament torneo no nulo
+     */
+    public ProblemModel(Tournament tournament) {
+        this.tournament = Objects.requireNonNull(tournament);
+
+        players = Collections.unmodifiableList(new ArrayList<>(tournament.getAllPlayers()));
+        localizations = Collections.unmodifiableList(new ArrayList<>(tournament.getAllLocalizations()));
+        timeslots = Collections.unmodifiableList(new ArrayList<>(tournament.getAllTimeslots()));
+
+        EntityIndex<Player> playersIndex = new EntityIndex<>(players);
+        EntityIndex<Localization> localizationsIndex = new EntityIndex<>(localizations);
+        EntityIndex<Timeslot> timeslotsIndex = new EntityIndex<>(timeslots);
+
+        List<Event> tournamentEvents = tournament.getEvents();
+        List<EventModel> eventModels = new ArrayList<>(tournamentEvents.size());
+        for (int e = 0; e < tournamentEvents.size(); e++)
+            eventModels.add(new EventModel(tournamentEvents.get(e),
+                    e,
+                    playersIndex,
+                    localizationsIndex,
+                    timeslotsIndex
+            ));
+        events = Collections.unmodifiableList(eventModels);
+    }
+
+    public Tournament getTournament() {
+        return tournament;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public List<Localization> getLocalizations() {
+        return localizations;
+    }
+
+    public List<Timeslot> getTimeslots() {
+        return timeslots;
+    }
+
+    public List<EventModel> getEvents() {
+        return events;
+    }
+
+    public EventModel getEvent(int e) {
+        return events.get(e);
+    }
+
+    /**
+     * Devuelve el número total de partidos del torneo.
+     *
+     * @return suma del número de partidos de cada categoría
+     */
+    public int getNumberOfMatches() {
+        return events.stream().mapToInt(EventModel::getNumberOfMatches).sum();
+    }
+}
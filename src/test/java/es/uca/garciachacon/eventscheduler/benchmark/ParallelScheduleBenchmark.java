@@ -0,0 +1,80 @@
+package es.uca.garciachacon.eventscheduler.benchmark;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Timeslot;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banco de pruebas JMH de la escalabilidad de la construcción de los horarios de cada categoría al avanzar de una
+ * solución a la siguiente, con un número creciente de categorías.
+ * <p>
+ * Cada categoría tiene sus propios jugadores y localizaciones de juego y comparte las horas de juego con el resto, de
+ * modo que el número de soluciones es suficiente para avanzar durante todas las iteraciones. Se compara la
+ * construcción secuencial, en el mismo hilo que la resolución, con la construcción en paralelo sobre el <i>pool</i>
+ * común de <i>fork-join</i>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParallelScheduleBenchmark {
+    @Param({ "1", "8", "24" })
+    private int events;
+
+    @Param({ "sequential", "forkjoin" })
+    private String executor;
+
+    private Tournament tournament;
+
+    @Setup
+    public void setUp() throws ValidationException {
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(12);
+
+        List<Event> categories = new ArrayList<>(events);
+        for (int e = 0; e < events; e++) {
+            Event event = new Event("Event " + e,
+                    TournamentUtils.buildGenericPlayers(16, "Player E" + e),
+                    TournamentUtils.buildGenericLocalizations(4, "Court E" + e),
+                    timeslots
+            );
+            event.setMatchesPerPlayer(2);
+            categories.add(event);
+        }
+
+        tournament = new Tournament("Tournament", categories);
+
+        TournamentSolver solver = tournament.getSolver();
+        solver.setSearchStrategy(TournamentSolver.SearchStrategy.MINDOM_LB);
+        if (executor.equals("sequential"))
+            solver.setScheduleExecutor(Runnable::run);
+        else
+            solver.setScheduleExecutor(ForkJoinPool.commonPool());
+
+        if (!tournament.solve())
+            throw new IllegalStateException("Tournament could not be solved");
+    }
+
+    @Benchmark
+    public boolean nextSchedules() throws ValidationException {
+        // Si se agotan las soluciones se reinicia la resolución
+        return tournament.nextSchedules() || tournament.solve();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParallelScheduleBenchmark.class.getSimpleName()).build()).run();
+    }
+}
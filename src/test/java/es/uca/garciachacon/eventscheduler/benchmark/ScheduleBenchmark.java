@@ -0,0 +1,149 @@
+package es.uca.garciachacon.eventscheduler.benchmark;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.*;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.value.AbstractScheduleValue;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Player;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Timeslot;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.TimeslotOrder;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Banco de pruebas JMH de la construcción y el recorrido de los horarios sobre el torneo de Zarlon
+ * ({@link TournamentUtils#getZarlonTournament()}).
+ * <p>
+ * El torneo se resuelve una sola vez al preparar el banco de pruebas; cada iteración construye de nuevo los horarios
+ * a partir de la solución obtenida, sin volver a resolver. Los bancos de filtrado consultan el horario del torneo ya
+ * construido, y los de comparación de <i>timeslots</i> contrastan {@link Timeslot#compareTo(Timeslot)} con los rangos
+ * precalculados de {@link TimeslotOrder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ScheduleBenchmark {
+    private Tournament tournament;
+
+    /**
+     * Matrices de la solución de cada categoría, en el formato que recibe el constructor de {@link EventSchedule}
+     */
+    private int[][][][] solution;
+
+    /**
+     * Horario del torneo sobre el que se aplican los filtros
+     */
+    private TournamentSchedule schedule;
+
+    private List<Timeslot> timeslots;
+
+    @Setup
+    public void setUp() throws ValidationException {
+        tournament = TournamentUtils.getZarlonTournament();
+        if (!tournament.solve())
+            throw new IllegalStateException("Zarlon tournament could not be solved");
+
+        List<Event> events = tournament.getEvents();
+        solution = new int[events.size()][][][];
+        for (int e = 0; e < events.size(); e++) {
+            Event event = events.get(e);
+            int nPlayers = event.getPlayers().size();
+            int nLocalizations = event.getLocalizations().size();
+            int nTimeslots = event.getTimeslots().size();
+
+            int[][][] x = new int[nPlayers][nLocalizations][nTimeslots];
+
+            for (Match match : tournament.getEventSchedules().get(event).getMatches()) {
+                int c = event.getLocalizations().indexOf(match.getLocalization());
+                int start = event.getTimeslots().indexOf(match.getStartTimeslot());
+                for (Player player : match.getPlayers())
+                    for (int t = start; t < start + match.getDuration(); t++)
+                        x[event.getPlayers().indexOf(player)][c][t] = 1;
+            }
+            solution[e] = x;
+        }
+
+        schedule = tournament.getSchedule();
+        timeslots = tournament.getAllTimeslots();
+    }
+
+    @Benchmark
+    public void eventSchedules(Blackhole blackhole) {
+        List<Event> events = tournament.getEvents();
+        for (int e = 0; e < events.size(); e++)
+            blackhole.consume(new EventSchedule(events.get(e), solution[e]));
+    }
+
+    @Benchmark
+    public TournamentSchedule tournamentSchedule() {
+        return new TournamentSchedule(tournament);
+    }
+
+    @Benchmark
+    public InverseSchedule inverseSchedule() {
+        return new InverseSchedule(tournament);
+    }
+
+    @Benchmark
+    public int scheduleValuePredicates() {
+        int playable = 0;
+        for (AbstractScheduleValue[] row : new InverseSchedule(tournament).getScheduleValues())
+            for (AbstractScheduleValue value : row)
+                if (value.isPlayable() && !value.isOccupied())
+                    playable++;
+        return playable;
+    }
+
+    @Benchmark
+    public void filterMatchesDuringTimeslot(Blackhole blackhole) {
+        for (Timeslot timeslot : timeslots)
+            blackhole.consume(schedule.filterMatchesDuringTimeslot(timeslot));
+    }
+
+    @Benchmark
+    public void filterMatchesDuringTimeslotRange(Blackhole blackhole) {
+        for (int t = 0; t + 3 < timeslots.size(); t++)
+            blackhole.consume(schedule.filterMatchesDuringTimeslotRange(timeslots.get(t), timeslots.get(t + 3)));
+    }
+
+    @Benchmark
+    public List<Match> filterMatchesDuringTimeslots() {
+        return schedule.filterMatchesDuringTimeslots(timeslots.subList(0, timeslots.size() / 2));
+    }
+
+    @Benchmark
+    public int timeslotCompareTo() {
+        int within = 0;
+        for (Match match : schedule.getMatches())
+            for (Timeslot timeslot : timeslots)
+                if (timeslot.within(match.getStartTimeslot(), match.getEndTimeslot()))
+                    within++;
+        return within;
+    }
+
+    @Benchmark
+    public int timeslotRanks() {
+        TimeslotOrder order = tournament.getTimeslotOrder();
+        int within = 0;
+        for (Match match : schedule.getMatches())
+            for (Timeslot timeslot : timeslots)
+                if (order.within(timeslot, match.getStartTimeslot(), match.getEndTimeslot()))
+                    within++;
+        return within;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ScheduleBenchmark.class.getSimpleName()).build()).run();
+    }
+}
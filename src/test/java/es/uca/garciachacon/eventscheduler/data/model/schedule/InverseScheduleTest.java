@@ -149,6 +149,27 @@ public class InverseScheduleTest {
         );
     }
 
+    @Test
+    public void unavailableAndLimitedTimeslotsTest() {
+        InverseSchedule schedule = new InverseSchedule(tournament);
+        AbstractScheduleValue[][] values = schedule.getScheduleValues();
+
+        // Pista no disponible en la única categoría a cuyo dominio pertenece el hueco
+        assertTrue(values[0][0].isUnavailable());
+
+        // Break común a las dos categorías
+        assertTrue(values[0][5].isUnavailable());
+        assertTrue(values[1][5].isUnavailable());
+
+        // Pista no disponible para dobles, pero disponible para individuales
+        assertTrue(values[1][4].isLimited() || values[1][4].isOccupied() || values[1][4].isContinuation());
+        assertFalse(values[1][4].isUnavailable());
+
+        // Huecos que no están bloqueados en ninguna categoría
+        assertFalse(values[1][0].isLimited() || values[1][0].isUnavailable());
+        assertFalse(values[0][9].isLimited() || values[0][9].isUnavailable());
+    }
+
     @Test
     public void getTotalTimeslotsTest() {
         InverseSchedule schedule = new InverseSchedule(tournament);
@@ -0,0 +1,130 @@
+package es.uca.garciachacon.eventscheduler.data.model.schedule;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link ScheduleDiff}.
+ */
+public class ScheduleDiffTest {
+    private Event event;
+    private List<Player> players;
+
+    @Before
+    public void setUp() {
+        event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(6, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(4)
+        );
+        event.setTimeslotsPerMatch(1);
+        new Tournament("Tournament", event);
+
+        players = event.getPlayers();
+    }
+
+    @Test
+    public void diffTest() {
+        // Partidos de origen: 0-1 en la pista 0 a t0, 2-3 en la pista 1 a t0 y 4-5 en la pista 0 a t1
+        int[][][] x = new int[6][2][4];
+        x[0][0][0] = x[1][0][0] = 1;
+        x[2][1][0] = x[3][1][0] = 1;
+        x[4][0][1] = x[5][0][1] = 1;
+        EventSchedule from = new EventSchedule(event, x);
+
+        // Partidos de destino: 0-1 igual, 2-3 pasa a t2 y 4-5 pasa a la pista 1 a t3
+        x = new int[6][2][4];
+        x[0][0][0] = x[1][0][0] = 1;
+        x[2][1][2] = x[3][1][2] = 1;
+        x[4][1][3] = x[5][1][3] = 1;
+        EventSchedule to = new EventSchedule(event, x);
+
+        ScheduleDiff diff = new ScheduleDiff(1, from, 2, to);
+        assertEquals(1, diff.getFromSolution());
+        assertEquals(2, diff.getToSolution());
+        assertFalse(diff.isEmpty());
+
+        assertTrue(diff.getAddedMatches().isEmpty());
+        assertTrue(diff.getRemovedMatches().isEmpty());
+        assertEquals(2, diff.getMovedMatches().size());
+
+        ScheduleDiff.MovedMatch moved = diff.getMovedMatches().get(0);
+        assertEquals(Arrays.asList(players.get(2), players.get(3)), moved.getFrom().getPlayers());
+        assertEquals(event.getTimeslots().get(0), moved.getFrom().getStartTimeslot());
+        assertEquals(event.getTimeslots().get(2), moved.getTo().getStartTimeslot());
+
+        moved = diff.getMovedMatches().get(1);
+        assertEquals(event.getLocalizations().get(0), moved.getFrom().getLocalization());
+        assertEquals(event.getLocalizations().get(1), moved.getTo().getLocalization());
+
+        // Cada jugador de los partidos movidos deja un hueco y ocupa otro
+        assertEquals(8, diff.getChangedCells().size());
+        ScheduleDiff.ChangedCell cell = diff.getChangedCells().get(0);
+        assertEquals(2, cell.getRow());
+        assertEquals(0, cell.getColumn());
+        assertTrue(cell.getFrom().isOccupied());
+        assertTrue(cell.getTo().isFree());
+
+        assertTrue(new ScheduleDiff(2, to, 2, to).isEmpty());
+    }
+
+    @Test
+    public void addedAndRemovedMatchesTest() {
+        int[][][] x = new int[6][2][4];
+        x[0][0][0] = x[1][0][0] = 1;
+        x[2][0][1] = x[3][0][1] = 1;
+        EventSchedule from = new EventSchedule(event, x);
+
+        x = new int[6][2][4];
+        x[0][0][0] = x[1][0][0] = 1;
+        x[2][0][1] = x[4][0][1] = 1;
+        EventSchedule to = new EventSchedule(event, x);
+
+        ScheduleDiff diff = new ScheduleDiff(3, from, 5, to);
+        assertEquals(1, diff.getAddedMatches().size());
+        assertEquals(Arrays.asList(players.get(2), players.get(4)), diff.getAddedMatches().get(0).getPlayers());
+        assertEquals(1, diff.getRemovedMatches().size());
+        assertEquals(Arrays.asList(players.get(2), players.get(3)), diff.getRemovedMatches().get(0).getPlayers());
+        assertTrue(diff.getMovedMatches().isEmpty());
+
+        // El jugador 2 sigue ocupando la misma pista a la misma hora
+        assertEquals(2, diff.getChangedCells().size());
+        assertEquals(3, diff.getChangedCells().get(0).getRow());
+        assertEquals(4, diff.getChangedCells().get(1).getRow());
+
+        assertEquals("Diff from solution 3 to 5: 1 added, 1 removed, 0 moved, 2 changed cells", diff.toString());
+    }
+
+    @Test
+    public void invalidSchedulesTest() {
+        EventSchedule schedule = new EventSchedule(event, new int[6][2][4]);
+
+        Event otherEvent = new Event("Other Event",
+                TournamentUtils.buildGenericPlayers(2, "Player"),
+                TournamentUtils.buildGenericLocalizations(1, "Court"),
+                TournamentUtils.buildSimpleTimeslots(2)
+        );
+        new Tournament("Other Tournament", otherEvent);
+
+        try {
+            new ScheduleDiff(1, schedule, 2, new EventSchedule(otherEvent, new int[2][1][2]));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Schedules do not share the same players and timeslots", e.getMessage());
+        }
+
+        try {
+            new ScheduleDiff(1, null, 2, schedule);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+    }
+}
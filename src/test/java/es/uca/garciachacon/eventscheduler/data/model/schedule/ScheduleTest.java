@@ -109,6 +109,180 @@ public class ScheduleTest {
         }
     }
 
+    @Test
+    public void eventScheduleValuesTest() {
+        Event singles = tournament.getEvents().get(0);
+        List<Player> players = singles.getPlayers();
+        List<Timeslot> timeslots = singles.getTimeslots();
+
+        int[][][] x = new int[8][2][8];
+        for (int t = 1; t <= 2; t++) {
+            x[0][1][t] = 1;
+            x[7][1][t] = 1;
+        }
+        for (int t = 3; t <= 4; t++) {
+            x[1][0][t] = 1;
+            x[2][0][t] = 1;
+        }
+
+        EventSchedule schedule = new EventSchedule(singles, x);
+        AbstractScheduleValue[][] values = schedule.getScheduleValues();
+
+        assertSame(values, schedule.getScheduleValues());
+        assertEquals(8, values.length);
+        assertEquals(8, values[0].length);
+
+        assertTrue(values[0][1].isOccupied());
+        assertEquals(1, ((ScheduleValueOccupied) values[0][1]).getLocalization());
+        assertEquals(0, ((ScheduleValueOccupied) values[1][3]).getLocalization());
+
+        // Los valores que no dependen del hueco son instancias compartidas
+        assertSame(values[0][1], values[7][2]);
+        assertSame(values[1][3], values[2][4]);
+        assertSame(values[3][6], values[4][6]);
+
+        assertTrue(values[3][0].isLimited());
+        assertTrue(values[3][5].isBreak());
+        assertTrue(values[0][7].isUnavailable());
+        assertTrue(values[3][6].isFree());
+        assertEquals(new ScheduleValue(ScheduleValue.FREE), values[3][6]);
+
+        List<Match> matches = schedule.getMatches();
+        assertEquals(2, matches.size());
+        assertEquals(Arrays.asList(players.get(0), players.get(7)), matches.get(0).getPlayers());
+        assertEquals(singles.getLocalizations().get(1), matches.get(0).getLocalization());
+        assertEquals(timeslots.get(1), matches.get(0).getStartTimeslot());
+        assertEquals(timeslots.get(2), matches.get(0).getEndTimeslot());
+        assertEquals(Arrays.asList(players.get(1), players.get(2)), matches.get(1).getPlayers());
+
+        assertEquals(4, schedule.getOccupation());
+        assertThat(schedule.toString(), StringContains.containsString("¬"));
+    }
+
+    @Test
+    public void eventScheduleMatchesTest() {
+        Event doubles = tournament.getEvents().get(1);
+        List<Player> players = doubles.getPlayers();
+        List<Localization> localizations = doubles.getLocalizations();
+        List<Timeslot> timeslots = doubles.getTimeslots();
+
+        // Dos partidos simultáneos en pistas distintas, con los jugadores de ambos intercalados
+        int[][][] x = new int[8][2][5];
+        for (int t = 0; t <= 1; t++) {
+            for (int p : new int[]{ 0, 2, 5, 7 })
+                x[p][0][t] = 1;
+            for (int p : new int[]{ 1, 3, 4, 6 })
+                x[p][1][t] = 1;
+        }
+
+        List<Match> matches = new EventSchedule(doubles, x).getMatches();
+        assertEquals(2, matches.size());
+
+        Match first = matches.get(0);
+        assertEquals(Arrays.asList(players.get(0), players.get(2), players.get(5), players.get(7)),
+                first.getPlayers()
+        );
+        assertEquals(localizations.get(0), first.getLocalization());
+        assertEquals(timeslots.get(0), first.getStartTimeslot());
+        assertEquals(timeslots.get(1), first.getEndTimeslot());
+        assertTrue(first.getTeams().contains(doubles.filterTeamByPlayer(players.get(0))));
+        assertTrue(first.getTeams().contains(doubles.filterTeamByPlayer(players.get(7))));
+
+        Match second = matches.get(1);
+        assertEquals(Arrays.asList(players.get(1), players.get(3), players.get(4), players.get(6)),
+                second.getPlayers()
+        );
+        assertEquals(localizations.get(1), second.getLocalization());
+        assertEquals(timeslots.get(0), second.getStartTimeslot());
+
+        // Dos partidos consecutivos de la misma pareja en la misma pista
+        x = new int[8][2][5];
+        for (int t = 0; t <= 1; t++)
+            for (int p : new int[]{ 0, 2, 5, 7 })
+                x[p][1][t] = 1;
+        for (int t = 3; t <= 4; t++)
+            for (int p : new int[]{ 0, 2, 5, 7 })
+                x[p][1][t] = 1;
+
+        matches = new EventSchedule(doubles, x).getMatches();
+        assertEquals(2, matches.size());
+        assertEquals(timeslots.get(0), matches.get(0).getStartTimeslot());
+        assertEquals(timeslots.get(3), matches.get(1).getStartTimeslot());
+        assertEquals(matches.get(0).getPlayers(), matches.get(1).getPlayers());
+    }
+
+    @Test
+    public void filterMatchesIndexTest() {
+        Event singles = tournament.getEvents().get(0);
+        List<Player> players = singles.getPlayers();
+        List<Localization> localizations = singles.getLocalizations();
+        List<Timeslot> timeslots = singles.getTimeslots();
+
+        int[][][] x = new int[8][2][8];
+        for (int t = 1; t <= 2; t++) {
+            x[0][1][t] = 1;
+            x[7][1][t] = 1;
+        }
+        for (int t = 3; t <= 4; t++) {
+            x[1][0][t] = 1;
+            x[2][0][t] = 1;
+        }
+        for (int t = 2; t <= 3; t++) {
+            x[5][1][t] = 1;
+            x[6][1][t] = 1;
+        }
+
+        EventSchedule schedule = new EventSchedule(singles, x);
+        List<Match> matches = schedule.getMatches();
+        assertEquals(3, matches.size());
+
+        Match first = schedule.filterMatchesByPlayer(players.get(0)).get(0);
+        Match second = schedule.filterMatchesByPlayer(players.get(1)).get(0);
+        Match third = schedule.filterMatchesByPlayer(players.get(5)).get(0);
+        assertEquals(timeslots.get(1), first.getStartTimeslot());
+        assertEquals(timeslots.get(3), second.getStartTimeslot());
+        assertEquals(timeslots.get(2), third.getStartTimeslot());
+
+        assertTrue(schedule.filterMatchesByPlayer(players.get(3)).isEmpty());
+        assertEquals(Collections.singletonList(second),
+                schedule.filterMatchesByPlayers(Arrays.asList(players.get(2), players.get(1)))
+        );
+        assertTrue(schedule.filterMatchesByPlayers(Arrays.asList(players.get(0), players.get(1))).isEmpty());
+        assertEquals(matches, schedule.filterMatchesByPlayers(new ArrayList<>()));
+
+        assertEquals(Collections.singletonList(second), schedule.filterMatchesByLocalization(localizations.get(0)));
+        assertEquals(matches.stream().filter(m -> m != second).collect(Collectors.toList()),
+                schedule.filterMatchesByLocalization(localizations.get(1))
+        );
+
+        assertEquals(Collections.singletonList(third), schedule.filterMatchesByStartTimeslot(timeslots.get(2)));
+        assertTrue(schedule.filterMatchesByStartTimeslot(timeslots.get(0)).isEmpty());
+        assertEquals(Collections.singletonList(second), schedule.filterMatchesByEndTimeslot(timeslots.get(4)));
+        assertEquals(Collections.singletonList(first),
+                schedule.filterMatchesInTimeslotRange(timeslots.get(1), timeslots.get(2))
+        );
+        assertTrue(schedule.filterMatchesInTimeslotRange(timeslots.get(1), timeslots.get(3)).isEmpty());
+
+        assertEquals(Collections.singletonList(first), schedule.filterMatchesDuringTimeslot(timeslots.get(1)));
+        assertEquals(matches.stream().filter(m -> m != first).collect(Collectors.toList()),
+                schedule.filterMatchesDuringTimeslot(timeslots.get(3))
+        );
+        assertEquals(matches,
+                schedule.filterMatchesDuringTimeslots(Arrays.asList(timeslots.get(3), timeslots.get(1)))
+        );
+        assertTrue(schedule.filterMatchesDuringTimeslots(Arrays.asList(timeslots.get(0), timeslots.get(5))).isEmpty());
+
+        // El rango se recorre igual independientemente del orden de sus extremos
+        assertEquals(matches.stream().filter(m -> m != first).collect(Collectors.toList()),
+                schedule.filterMatchesDuringTimeslotRange(timeslots.get(3), timeslots.get(4))
+        );
+        assertEquals(matches.stream().filter(m -> m != first).collect(Collectors.toList()),
+                schedule.filterMatchesDuringTimeslotRange(timeslots.get(4), timeslots.get(3))
+        );
+        assertEquals(matches, schedule.filterMatchesDuringTimeslotRange(timeslots.get(7), timeslots.get(0)));
+        assertNull(schedule.filterMatchesDuringTimeslotRange(new Timeslot(10), timeslots.get(0)));
+    }
+
     @Test(expected = NullPointerException.class)
     public void tournamentScheduleTest() throws ValidationException {
         assertNull(tournament.getEventSchedules());
@@ -153,9 +327,84 @@ public class ScheduleTest {
         assertNotNull(schedule);
         assertEquals(tournament.getNumberOfMatches(), schedule.getMatches().size());
 
+        // Los partidos de todas las categorías quedan ordenados por su comienzo
+        List<Match> matches = schedule.getMatches();
+        for (int i = 1; i < matches.size(); i++)
+            assertTrue(matches.get(i - 1).getStartTimeslot().compareTo(matches.get(i).getStartTimeslot()) >= 0);
+        for (Event event : tournament.getEvents())
+            assertTrue(matches.containsAll(tournament.getEventSchedules().get(event).getMatches()));
+
+        // Cada jugador juega en el horario del torneo los partidos de todas sus categorías
+        for (Player player : tournament.getAllPlayers())
+            assertEquals(tournament.getEvents()
+                            .stream()
+                            .mapToLong(e -> tournament.getEventSchedules().get(e).filterMatchesByPlayer(player).size())
+                            .sum(),
+                    schedule.filterMatchesByPlayer(player).size()
+            );
+
         new TournamentSchedule(null);
     }
 
+    @Test
+    public void tournamentScheduleTimeslotOrderTest() {
+        List<Localization> localizations = TournamentUtils.buildGenericLocalizations(2, "Court");
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(4);
+
+        // El orden de los timeslots en el torneo es [t0, t2, t1, t3], así que los de la segunda categoría ocupan
+        // posiciones no consecutivas aunque la primera y la última estén a la distancia esperada
+        Event first = new Event("First",
+                TournamentUtils.buildGenericPlayers(2, "FPl"),
+                localizations,
+                Arrays.asList(timeslots.get(0), timeslots.get(2))
+        );
+        first.setTimeslotsPerMatch(1);
+        Event second = new Event("Second", TournamentUtils.buildGenericPlayers(4, "SPl"), localizations, timeslots);
+        second.setTimeslotsPerMatch(1);
+        second.addBreak(timeslots.get(3));
+        Tournament tournament = new Tournament("Tournament", first, second);
+
+        assertEquals(Arrays.asList(timeslots.get(0), timeslots.get(2), timeslots.get(1), timeslots.get(3)),
+                tournament.getAllTimeslots()
+        );
+
+        int[][][] x = new int[2][2][2];
+        x[0][0][0] = x[1][0][0] = 1;
+        EventSchedule firstSchedule = new EventSchedule(first, x);
+
+        x = new int[4][2][4];
+        x[0][0][1] = x[1][0][1] = 1;
+        x[2][1][2] = x[3][1][2] = 1;
+        EventSchedule secondSchedule = new EventSchedule(second, x);
+
+        Map<Event, EventSchedule> schedules = new HashMap<>();
+        schedules.put(first, firstSchedule);
+        schedules.put(second, secondSchedule);
+        TournamentSchedule schedule = new TournamentSchedule(tournament, schedules);
+
+        AbstractScheduleValue[][] values = schedule.getScheduleValues();
+        for (Event event : tournament.getEvents()) {
+            AbstractScheduleValue[][] eventValues = schedules.get(event).getScheduleValues();
+
+            for (int p = 0; p < event.getPlayers().size(); p++) {
+                for (int t = 0; t < event.getTimeslots().size(); t++) {
+                    AbstractScheduleValue eventValue = eventValues[p][t];
+                    AbstractScheduleValue value = values[tournament.getPlayerIndex(event.getPlayers().get(p))]
+                            [tournament.getTimeslotIndex(event.getTimeslots().get(t))];
+
+                    if (eventValue.isOccupied()) {
+                        assertTrue(value.isOccupied());
+                        assertSame(event.getLocalizations()
+                                        .get(((ScheduleValueOccupied) eventValue).getLocalization()),
+                                tournament.getAllLocalizations().get(((ScheduleValueOccupied) value).getLocalization())
+                        );
+                    } else
+                        assertEquals(eventValue, value);
+                }
+            }
+        }
+    }
+
     @Test
     public void filterMatchesByTest() throws ValidationException {
         tournament.solve();
@@ -334,5 +583,39 @@ public class ScheduleTest {
         assertFalse(v.equals(new Value("STATE_2")));
         assertNotNull(v);
         assertFalse(v.equals(new Object()));
+        assertNull(v.getKind());
+        assertFalse(v.isAnyOf(Value.Kind.PLAYABLE));
+    }
+
+    @Test
+    public void valueKindTest() {
+        Value v = new Value(" occupied ");
+        assertEquals("OCCUPIED", v.getName());
+        assertEquals(Value.Kind.OCCUPIED, v.getKind());
+        assertTrue(v.is(Value.Kind.OCCUPIED));
+        assertFalse(v.is(Value.Kind.FREE));
+        assertTrue(v.isAnyOf(Value.Kind.IN_MATCH));
+        assertTrue(v.isAnyOf(Value.Kind.PLAYABLE));
+        assertEquals(ScheduleValue.OCCUPIED, v);
+        assertEquals(ScheduleValue.OCCUPIED.hashCode(), v.hashCode());
+
+        assertTrue(Value.Kind.FREE.belongsTo(Value.Kind.PLAYABLE));
+        assertFalse(Value.Kind.FREE.belongsTo(Value.Kind.IN_MATCH));
+        assertTrue(Value.Kind.CONTINUATION.belongsTo(Value.Kind.IN_MATCH));
+        for (Value.Kind kind : EnumSet.of(Value.Kind.UNAVAILABLE,
+                Value.Kind.BREAK,
+                Value.Kind.LIMITED,
+                Value.Kind.NOT_IN_DOMAIN
+        )) {
+            assertFalse(kind.belongsTo(Value.Kind.PLAYABLE));
+            assertFalse(Value.Kind.belongsTo(kind.ordinal(), Value.Kind.PLAYABLE));
+            assertEquals(kind, Value.Kind.of(kind.ordinal()));
+        }
+
+        // Los predicados de los valores de horario se corresponden con los tipos
+        assertTrue(new ScheduleValue(ScheduleValue.FREE).isPlayable());
+        assertFalse(new ScheduleValue(ScheduleValue.NOT_IN_DOMAIN).isPlayable());
+        assertTrue(new ScheduleValue(ScheduleValue.NOT_IN_DOMAIN).isNotInDomain());
+        assertEquals(Value.Kind.LIMITED, new ScheduleValue(ScheduleValue.LIMITED).getValue().getKind());
     }
 }
@@ -0,0 +1,323 @@
+package es.uca.garciachacon.eventscheduler.data.model.schedule;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.ScheduleViolation.Type;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.MatchupMode;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link ScheduleVerifier}.
+ */
+public class ScheduleVerifierTest {
+    private Tournament tournament;
+    private Event event, otherEvent;
+    private List<Player> players;
+    private List<Localization> localizations;
+    private List<Timeslot> timeslots;
+    private ScheduleVerifier verifier;
+
+    @Before
+    public void setUp() {
+        players = TournamentUtils.buildGenericPlayers(6, "Player");
+        localizations = TournamentUtils.buildGenericLocalizations(2, "Court");
+        timeslots = TournamentUtils.buildSimpleTimeslots(4);
+
+        event = new Event("Event", players.subList(0, 4), localizations, timeslots);
+        event.setTimeslotsPerMatch(1);
+        otherEvent = new Event("Other Event", players.subList(2, 6), localizations.subList(1, 2), timeslots);
+        otherEvent.setTimeslotsPerMatch(1);
+        tournament = new Tournament("Tournament", event, otherEvent);
+
+        verifier = new ScheduleVerifier(tournament);
+    }
+
+    private Match match(int p1, int p2, int localization, int timeslot) {
+        return new Match(Arrays.asList(players.get(p1), players.get(p2)),
+                localizations.get(localization),
+                timeslots.get(timeslot),
+                timeslots.get(timeslot),
+                1
+        );
+    }
+
+    private List<ScheduleViolation> verify(Match... matches) {
+        return verifier.verify(Collections.singletonMap(event, Arrays.asList(matches)));
+    }
+
+    private static List<Type> types(List<ScheduleViolation> violations) {
+        return violations.stream().map(ScheduleViolation::getType).collect(Collectors.toList());
+    }
+
+    @Test
+    public void validScheduleTest() {
+        assertTrue(verify(match(0, 1, 0, 0), match(2, 3, 1, 0)).isEmpty());
+
+        int[][][] x = new int[4][2][4];
+        x[0][0][1] = x[1][0][1] = 1;
+        x[2][1][3] = x[3][1][3] = 1;
+        EventSchedule eventSchedule = new EventSchedule(event, x);
+        assertTrue(verifier.verify(eventSchedule).isEmpty());
+
+        x = new int[4][1][4];
+        x[0][0][0] = x[2][0][0] = 1;
+        x[1][0][2] = x[3][0][2] = 1;
+        EventSchedule otherEventSchedule = new EventSchedule(otherEvent, x);
+        assertTrue(verifier.verify(otherEventSchedule).isEmpty());
+
+        Map<Event, EventSchedule> schedules = new HashMap<>();
+        schedules.put(event, eventSchedule);
+        schedules.put(otherEvent, otherEventSchedule);
+        assertTrue(verifier.verify(new TournamentSchedule(tournament, schedules)).isEmpty());
+    }
+
+    @Test
+    public void matchRulesTest() {
+        event.addBreak(timeslots.get(1));
+        event.addUnavailablePlayerAtTimeslot(players.get(2), timeslots.get(2));
+        event.addUnavailableLocalizationAtTimeslot(localizations.get(1), timeslots.get(2));
+        event.addPlayerInLocalization(players.get(0), localizations.get(1));
+        event.addPlayerAtTimeslot(players.get(1), timeslots.get(3));
+
+        Match first = match(0, 1, 0, 1), second = match(2, 3, 1, 2);
+        List<ScheduleViolation> violations = verify(first, second);
+
+        assertEquals(Arrays.asList(Type.ASSIGNED_LOCALIZATION,
+                Type.ASSIGNED_TIMESLOT,
+                Type.BREAK,
+                Type.LOCALIZATION_UNAVAILABLE,
+                Type.PLAYER_UNAVAILABLE
+        ), types(violations));
+
+        ScheduleViolation violation = violations.get(0);
+        assertSame(event, violation.getEvent());
+        assertSame(first, violation.getMatch());
+        assertSame(players.get(0), violation.getPlayer());
+        assertSame(localizations.get(0), violation.getLocalization());
+
+        violation = violations.get(2);
+        assertSame(timeslots.get(1), violation.getTimeslot());
+        assertNull(violation.getPlayer());
+        assertEquals(String.format("Match (%s) takes place during a break (%s)", first, timeslots.get(1)),
+                violation.getMessage()
+        );
+
+        violation = violations.get(4);
+        assertSame(second, violation.getMatch());
+        assertSame(players.get(2), violation.getPlayer());
+        assertSame(timeslots.get(2), violation.getTimeslot());
+
+        // El horario se comprueba contra el estado actual de la categoría
+        event.removeBreak(timeslots.get(1));
+        assertEquals(4, verify(first, second).size());
+    }
+
+    @Test
+    public void outOfDomainTest() {
+        Player unknownPlayer = new Player("Unknown Player");
+        Localization unknownLocalization = new Localization("Unknown Court");
+
+        Match first = new Match(Arrays.asList(players.get(0), unknownPlayer),
+                localizations.get(0),
+                timeslots.get(0),
+                timeslots.get(0),
+                1
+        );
+        Match second = new Match(players.subList(1, 4), unknownLocalization, timeslots.get(2), timeslots.get(3), 2);
+        List<ScheduleViolation> violations = verify(first, second);
+
+        assertEquals(Arrays.asList(Type.OUT_OF_DOMAIN, Type.PLAYERS_PER_MATCH, Type.OUT_OF_DOMAIN, Type.MATCH_DURATION),
+                types(violations)
+        );
+        assertSame(unknownPlayer, violations.get(0).getPlayer());
+        assertSame(unknownLocalization, violations.get(2).getLocalization());
+        assertEquals(String.format("Match (%s) has 3 players instead of the players per match of the event (2)",
+                second
+        ), violations.get(1).getMessage());
+    }
+
+    @Test
+    public void matchExceedsTimeslotsTest() {
+        event.setTimeslotsPerMatch(2);
+
+        Match match = new Match(players.subList(0, 2), localizations.get(0), timeslots.get(3), timeslots.get(3), 1);
+        Match longMatch = new Match(players.subList(2, 4), localizations.get(1), timeslots.get(2), timeslots.get(3), 2);
+        List<ScheduleViolation> violations = verify(match, longMatch);
+
+        assertEquals(Collections.singletonList(Type.MATCH_DURATION), types(violations));
+        assertSame(match, violations.get(0).getMatch());
+
+        event.setTimeslotsPerMatch(3);
+
+        Match lastMatch = new Match(players.subList(0, 2), localizations.get(0), timeslots.get(2), timeslots.get(3), 3);
+        Match firstMatch = new Match(players.subList(2, 4), localizations.get(1), timeslots.get(0), timeslots.get(2),
+                3
+        );
+        violations = verify(lastMatch, firstMatch);
+
+        // El fin del partido no se corresponde con su duración, y el partido no cabe en los timeslots de la categoría
+        assertEquals(Arrays.asList(Type.MATCH_DURATION, Type.MATCH_DURATION), types(violations));
+        assertEquals(String.format("Match (%s) exceeds the last timeslot of the event", lastMatch),
+                violations.get(1).getMessage()
+        );
+    }
+
+    @Test
+    public void collisionsTest() {
+        int[][][] x = new int[4][2][4];
+        x[0][0][0] = x[1][0][0] = 1;
+        x[2][1][0] = x[3][1][0] = 1;
+        EventSchedule eventSchedule = new EventSchedule(event, x);
+
+        // Los jugadores 2 y 4 de la otra categoría juegan en la misma pista y a la vez que los jugadores 2 y 3
+        x = new int[4][1][4];
+        x[0][0][0] = x[2][0][0] = 1;
+        x[1][0][1] = x[3][0][1] = 1;
+        EventSchedule otherEventSchedule = new EventSchedule(otherEvent, x);
+
+        assertTrue(verifier.verify(eventSchedule).isEmpty());
+        assertTrue(verifier.verify(otherEventSchedule).isEmpty());
+
+        Map<Event, EventSchedule> schedules = new HashMap<>();
+        schedules.put(otherEvent, otherEventSchedule);
+        schedules.put(event, eventSchedule);
+        List<ScheduleViolation> violations = verifier.verify(new TournamentSchedule(tournament, schedules));
+
+        assertEquals(Arrays.asList(Type.LOCALIZATION_COLLISION, Type.PLAYER_COLLISION), types(violations));
+        for (ScheduleViolation violation : violations) {
+            assertSame(otherEvent, violation.getEvent());
+            assertSame(timeslots.get(0), violation.getTimeslot());
+        }
+        assertSame(localizations.get(1), violations.get(0).getLocalization());
+        assertSame(players.get(2), violations.get(1).getPlayer());
+
+        // Colisiones dentro de la misma categoría
+        violations = verify(match(0, 1, 0, 2), match(1, 2, 0, 2));
+        assertEquals(Arrays.asList(Type.LOCALIZATION_COLLISION,
+                Type.PLAYER_COLLISION,
+                Type.MATCHES_PER_PLAYER,
+                Type.MATCHES_PER_PLAYER
+        ), types(violations));
+        assertSame(players.get(1), violations.get(1).getPlayer());
+        assertSame(players.get(1), violations.get(2).getPlayer());
+        assertSame(players.get(3), violations.get(3).getPlayer());
+    }
+
+    @Test
+    public void matchesTest() {
+        event.setMatchesPerPlayer(2);
+        event.setMatchupMode(MatchupMode.ALL_DIFFERENT);
+
+        Match repeated = match(0, 1, 0, 1);
+        List<ScheduleViolation> violations = verify(match(0, 1, 0, 0), match(2, 3, 1, 0), repeated);
+
+        assertEquals(Arrays.asList(Type.MATCHES_PER_PLAYER,
+                Type.MATCHES_PER_PLAYER,
+                Type.NUMBER_OF_MATCHES,
+                Type.MATCHUP_MODE
+        ), types(violations));
+        assertSame(players.get(2), violations.get(0).getPlayer());
+        assertSame(players.get(3), violations.get(1).getPlayer());
+        assertEquals("Number of matches (3) is not the expected number of matches of the event (4)",
+                violations.get(2).getMessage()
+        );
+        assertSame(repeated, violations.get(3).getMatch());
+
+        event.setMatchupMode(MatchupMode.ALL_EQUAL);
+        violations = verify(match(0, 1, 0, 0), match(2, 3, 1, 0), match(0, 1, 0, 1), match(2, 3, 1, 1));
+        assertTrue(violations.isEmpty());
+
+        violations = verify(match(0, 1, 0, 0), match(2, 3, 1, 0), match(0, 2, 0, 1), match(1, 3, 1, 1));
+        assertEquals(Collections.nCopies(4, Type.MATCHUP_MODE), types(violations));
+    }
+
+    @Test
+    public void predefinedMatchupsTest() {
+        Matchup matchup = new Matchup(new HashSet<>(players.subList(0, 2)),
+                Collections.singleton(localizations.get(1)),
+                new HashSet<>()
+        );
+        event.addMatchup(matchup);
+
+        assertTrue(verify(match(0, 1, 1, 3), match(2, 3, 0, 3)).isEmpty());
+
+        // El enfrentamiento predefinido asigna la localización a sus jugadores
+        List<ScheduleViolation> violations = verify(match(0, 1, 0, 3), match(2, 3, 1, 3));
+        assertEquals(Arrays.asList(Type.ASSIGNED_LOCALIZATION, Type.ASSIGNED_LOCALIZATION, Type.PREDEFINED_MATCHUP),
+                types(violations)
+        );
+
+        ScheduleViolation violation = violations.get(2);
+        assertSame(matchup, violation.getMatchup());
+        assertNull(violation.getMatch());
+        assertEquals(String.format("Predefined matchup (%s) takes place 0 times instead of 1", matchup),
+                violation.getMessage()
+        );
+    }
+
+    @Test
+    public void teamsTest() {
+        event.setPlayersPerMatch(4);
+        event.addTeam(players.get(0), players.get(1));
+        event.addTeam(players.get(2), players.get(3));
+
+        assertTrue(verify(new Match(players.subList(0, 4), localizations.get(0), timeslots.get(0), timeslots.get(0),
+                1
+        )).isEmpty());
+
+        event.setPlayersPerMatch(2);
+        event.addTeam(players.get(0), players.get(1));
+
+        List<ScheduleViolation> violations = verify(match(0, 2, 0, 0), match(1, 3, 1, 0));
+        assertEquals(Arrays.asList(Type.TEAM, Type.TEAM), types(violations));
+        assertSame(players.get(0), violations.get(0).getPlayer());
+        assertSame(players.get(1), violations.get(1).getPlayer());
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        Event foreignEvent = new Event("Foreign Event", players.subList(0, 2), localizations, timeslots);
+        foreignEvent.setTimeslotsPerMatch(1);
+        Tournament foreignTournament = new Tournament("Foreign Tournament", foreignEvent);
+
+        int[][][] x = new int[2][2][4];
+        x[0][0][0] = x[1][0][0] = 1;
+        EventSchedule foreignSchedule = new EventSchedule(foreignEvent, x);
+
+        try {
+            verifier.verify(Collections.singletonMap(foreignEvent, new ArrayList<>()));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Event (Foreign Event) does not belong to the tournament", e.getMessage());
+        }
+
+        try {
+            verifier.verify(new TournamentSchedule(foreignTournament,
+                    Collections.singletonMap(foreignEvent, foreignSchedule)
+            ));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Schedule does not belong to the tournament", e.getMessage());
+        }
+
+        try {
+            verifier.verify(Collections.singletonMap(event, null));
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+
+        try {
+            new ScheduleVerifier(null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+    }
+}
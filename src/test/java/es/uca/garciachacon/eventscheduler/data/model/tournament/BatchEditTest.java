@@ -0,0 +1,259 @@
+package es.uca.garciachacon.eventscheduler.data.model.tournament;
+
+import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
+import es.uca.garciachacon.eventscheduler.data.validation.validator.EventValidator;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link BatchEdit} y de los métodos de edición por lotes de {@link Tournament} y {@link Event}.
+ */
+public class BatchEditTest {
+    private Tournament tournament;
+    private Event primaryEvent, secondaryEvent;
+    private List<Player> players;
+    private List<Localization> localizations;
+    private List<Timeslot> timeslots;
+
+    @Before
+    public void setUp() {
+        players = TournamentUtils.buildGenericPlayers(8, "Player");
+        localizations = TournamentUtils.buildGenericLocalizations(3, "Court");
+        timeslots = TournamentUtils.buildSimpleTimeslots(10);
+
+        primaryEvent = new Event("Primary Event", players, localizations, timeslots);
+        secondaryEvent = new Event("Secondary Event",
+                players.subList(4, 8),
+                localizations.subList(1, 3),
+                timeslots.subList(5, 10)
+        );
+        tournament = new Tournament("Tournament", primaryEvent, secondaryEvent);
+    }
+
+    @Test
+    public void unavailablePlayersTest() throws ValidationException {
+        tournament.edit(b -> {
+            b.addUnavailablePlayerAtTimeslotRange(players.get(5), timeslots.get(3), timeslots.get(7));
+            b.addUnavailablePlayerAtTimeslot(players.get(1), timeslots.get(8));
+            b.addUnavailablePlayerAtTimeslots(players.get(6), new HashSet<>(Arrays.asList(timeslots.get(0),
+                    timeslots.get(9)
+            )));
+        });
+
+        assertEquals(new HashSet<>(timeslots.subList(3, 8)),
+                new HashSet<>(primaryEvent.getUnavailablePlayers().get(players.get(5)))
+        );
+        assertEquals(new HashSet<>(timeslots.subList(5, 8)),
+                new HashSet<>(secondaryEvent.getUnavailablePlayers().get(players.get(5)))
+        );
+        assertTrue(primaryEvent.isPlayerUnavailable(players.get(1), timeslots.get(8)));
+        assertFalse(secondaryEvent.getUnavailablePlayers().containsKey(players.get(1)));
+        assertEquals(2, primaryEvent.getUnavailablePlayers().get(players.get(6)).size());
+        assertEquals(Collections.singleton(timeslots.get(9)),
+                new HashSet<>(secondaryEvent.getUnavailablePlayers().get(players.get(6)))
+        );
+
+        assertTrue(primaryEvent.hasChanged());
+        assertTrue(secondaryEvent.hasChanged());
+
+        tournament.edit(b -> {
+            b.removeUnavailablePlayerAtTimeslot(players.get(5), timeslots.get(6));
+            b.removeUnavailablePlayer(players.get(6));
+            b.removeUnavailablePlayer(new Player("Unknown"));
+        });
+
+        assertFalse(primaryEvent.isPlayerUnavailable(players.get(5), timeslots.get(6)));
+        assertFalse(secondaryEvent.isPlayerUnavailable(players.get(5), timeslots.get(6)));
+        assertTrue(primaryEvent.isPlayerUnavailable(players.get(5), timeslots.get(7)));
+        assertFalse(primaryEvent.getUnavailablePlayers().containsKey(players.get(6)));
+        assertFalse(secondaryEvent.getUnavailablePlayers().containsKey(players.get(6)));
+    }
+
+    @Test
+    public void lastChangePrevailsTest() throws ValidationException {
+        primaryEvent.addUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(2));
+
+        primaryEvent.edit(b -> {
+            b.addUnavailablePlayerAtTimeslotRange(players.get(0), timeslots.get(0), timeslots.get(4));
+            b.removeUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(2));
+            b.removeUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(3));
+            b.addUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(3));
+        });
+
+        assertEquals(Arrays.asList(timeslots.get(0), timeslots.get(1), timeslots.get(3), timeslots.get(4)),
+                new ArrayList<>(primaryEvent.getUnavailablePlayers().get(players.get(0)))
+        );
+    }
+
+    @Test
+    public void unavailableLocalizationsTest() throws ValidationException {
+        tournament.edit(b -> {
+            b.addUnavailableLocalizationAtTimeslotRange(localizations.get(2), timeslots.get(9), timeslots.get(6));
+            b.addUnavailableLocalizationAtTimeslot(localizations.get(0), timeslots.get(7));
+        });
+
+        assertEquals(4, primaryEvent.getUnavailableLocalizations().get(localizations.get(2)).size());
+        assertEquals(4, secondaryEvent.getUnavailableLocalizations().get(localizations.get(2)).size());
+        assertTrue(primaryEvent.isLocalizationUnavailable(localizations.get(0), timeslots.get(7)));
+        assertFalse(secondaryEvent.getUnavailableLocalizations().containsKey(localizations.get(0)));
+
+        tournament.edit(b -> {
+            b.removeUnavailableLocalizationAtTimeslot(localizations.get(2), timeslots.get(9));
+            b.removeUnavailableLocalization(localizations.get(0));
+        });
+
+        assertEquals(3, primaryEvent.getUnavailableLocalizations().get(localizations.get(2)).size());
+        assertFalse(secondaryEvent.isLocalizationUnavailable(localizations.get(2), timeslots.get(9)));
+        assertFalse(primaryEvent.getUnavailableLocalizations().containsKey(localizations.get(0)));
+    }
+
+    @Test
+    public void breaksTest() throws ValidationException {
+        primaryEvent.addBreak(timeslots.get(1));
+
+        tournament.edit(b -> {
+            b.addBreak(timeslots.get(8));
+            b.addBreakRange(timeslots.get(4), timeslots.get(5));
+            b.removeBreak(timeslots.get(1));
+        });
+
+        assertEquals(Arrays.asList(timeslots.get(4), timeslots.get(5), timeslots.get(8)), primaryEvent.getBreaks());
+        assertEquals(Arrays.asList(timeslots.get(5), timeslots.get(8)), secondaryEvent.getBreaks());
+    }
+
+    @Test
+    public void changedOnceTest() throws ValidationException {
+        tournament.edit(b -> {
+            for (Player player : players.subList(0, 4))
+                b.addUnavailablePlayerAtTimeslotRange(player, timeslots.get(0), timeslots.get(4));
+        });
+
+        assertTrue(primaryEvent.hasChanged());
+        assertFalse(secondaryEvent.hasChanged());
+
+        // Una edición que no modifica nada no marca las categorías como cambiadas
+        primaryEvent.setAsUnchanged();
+        tournament.edit(b -> b.addUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(0)));
+        assertFalse(primaryEvent.hasChanged());
+
+        tournament.edit(b -> {});
+        assertFalse(primaryEvent.hasChanged());
+    }
+
+    @Test
+    public void invalidArgumentsTest() throws ValidationException {
+        try {
+            tournament.edit(b -> {
+                b.addUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(0));
+                b.addUnavailablePlayerAtTimeslot(new Player("Unknown"), timeslots.get(0));
+            });
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Player (Unknown) does not exist in the edited events", e.getMessage());
+        }
+
+        // Ningún cambio de la edición se ha aplicado
+        assertFalse(primaryEvent.hasUnavailablePlayers());
+        assertFalse(primaryEvent.hasChanged());
+
+        try {
+            secondaryEvent.edit(b -> b.addBreak(timeslots.get(0)));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Timeslot (Timeslot [order=0]) does not exist in the edited events", e.getMessage());
+        }
+
+        try {
+            tournament.edit(b -> b.addUnavailableLocalizationAtTimeslot(localizations.get(0), null));
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+
+        try {
+            tournament.edit(null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void validationRollbackTest() {
+        secondaryEvent.addUnavailablePlayerAtTimeslot(players.get(4), timeslots.get(5));
+        secondaryEvent.setAsUnchanged();
+
+        // Validador que no admite breaks en la categoría secundaria
+        secondaryEvent.setValidator(new EventValidator() {
+            public boolean validate(Event event) {
+                return super.validate(event) && !event.hasBreaks();
+            }
+        });
+
+        try {
+            tournament.edit(b -> {
+                b.addUnavailablePlayerAtTimeslotRange(players.get(4), timeslots.get(0), timeslots.get(9));
+                b.removeUnavailablePlayerAtTimeslot(players.get(4), timeslots.get(5));
+                b.addBreak(timeslots.get(7));
+            });
+            fail("ValidationException expected");
+        } catch (ValidationException e) {
+            assertEquals("Validation has failed for this event (Secondary Event)", e.getMessage());
+        }
+
+        // Se ha restaurado el estado anterior de ambas categorías
+        assertFalse(primaryEvent.hasUnavailablePlayers());
+        assertFalse(primaryEvent.hasBreaks());
+        assertFalse(primaryEvent.hasChanged());
+        assertEquals(Collections.singleton(timeslots.get(5)),
+                new HashSet<>(secondaryEvent.getUnavailablePlayers().get(players.get(4)))
+        );
+        assertFalse(secondaryEvent.hasBreaks());
+        assertFalse(secondaryEvent.hasChanged());
+    }
+
+    @Test
+    public void changeLogTest() throws ValidationException {
+        primaryEvent.addBreak(timeslots.get(1));
+        long version = primaryEvent.getVersion();
+
+        tournament.edit(b -> {
+            b.addUnavailablePlayerAtTimeslotRange(players.get(0), timeslots.get(2), timeslots.get(3));
+            b.addBreak(timeslots.get(8));
+            b.removeBreak(timeslots.get(1));
+        });
+
+        List<EventChange> changes = primaryEvent.getChangesSince(version).get();
+        assertEquals(4, changes.size());
+        assertEquals(EventChange.Type.PLAYER_UNAVAILABLE, changes.get(0).getType());
+        assertEquals(timeslots.get(2), changes.get(0).getTimeslot());
+        assertEquals(timeslots.get(3), changes.get(1).getTimeslot());
+        assertEquals(EventChange.Type.BREAK_ADDED, changes.get(2).getType());
+        assertEquals(timeslots.get(8), changes.get(2).getTimeslot());
+        assertEquals(EventChange.Type.BREAK_REMOVED, changes.get(3).getType());
+        assertEquals(timeslots.get(1), changes.get(3).getTimeslot());
+
+        // La reversión de una edición fallida se registra como los cambios inversos
+        secondaryEvent.setValidator(new EventValidator() {
+            public boolean validate(Event event) {
+                return false;
+            }
+        });
+        version = primaryEvent.getVersion();
+        try {
+            tournament.edit(b -> b.addBreak(timeslots.get(9)));
+            fail("ValidationException expected");
+        } catch (ValidationException e) {
+            changes = primaryEvent.getChangesSince(version).get();
+            assertEquals(2, changes.size());
+            assertEquals(EventChange.Type.BREAK_ADDED, changes.get(0).getType());
+            assertEquals(EventChange.Type.BREAK_REMOVED, changes.get(1).getType());
+            assertEquals(timeslots.get(9), changes.get(1).getTimeslot());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package es.uca.garciachacon.eventscheduler.data.model.tournament;
+
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link EntityIndex}.
+ */
+public class EntityIndexTest {
+
+    @Test
+    public void indexOfTest() {
+        List<Player> players = TournamentUtils.buildGenericPlayers(8, "Player");
+        Collections.reverse(players);
+        EntityIndex<Player> index = new EntityIndex<>(players);
+
+        assertEquals(8, index.size());
+        for (int p = 0; p < players.size(); p++) {
+            assertTrue(index.contains(players.get(p)));
+            assertEquals(p, index.indexOf(players.get(p)));
+        }
+
+        assertEquals(-1, index.indexOf(new Player("Player")));
+        assertEquals(-1, index.indexOf(null));
+        assertEquals(-1, index.indexOf("Player"));
+        assertFalse(index.contains(new Localization("Court")));
+
+        // El índice no refleja los cambios posteriores sobre la lista ni sobre el nombre de las entidades
+        Player player = players.get(3);
+        player.setName("Renamed Player");
+        players.remove(0);
+        assertEquals(3, index.indexOf(player));
+    }
+
+    @Test
+    public void sparseIdsTest() {
+        List<Localization> localizations = new ArrayList<>();
+        localizations.add(new Localization("First Court"));
+        for (int i = 0; i < 500; i++)
+            new Player("Unindexed Player");
+        Localization outOfIndex = new Localization("Unindexed Court");
+        localizations.add(new Localization("Second Court"));
+
+        EntityIndex<Localization> index = new EntityIndex<>(localizations);
+
+        assertEquals(2, index.size());
+        assertEquals(0, index.indexOf(localizations.get(0)));
+        assertEquals(1, index.indexOf(localizations.get(1)));
+        assertEquals(-1, index.indexOf(outOfIndex));
+    }
+
+    @Test
+    public void duplicatesTest() {
+        Timeslot t1 = new Timeslot(1), t2 = new Timeslot(2);
+        EntityIndex<Timeslot> index = new EntityIndex<>(Arrays.asList(t1, t2, t1));
+
+        assertEquals(3, index.size());
+        assertEquals(0, index.indexOf(t1));
+        assertEquals(1, index.indexOf(t2));
+    }
+
+    @Test
+    public void emptyTest() {
+        EntityIndex<Team> index = new EntityIndex<>(new ArrayList<>());
+
+        assertEquals(0, index.size());
+        assertEquals(-1, index.indexOf(new Player("Player")));
+    }
+
+    @Test
+    public void tournamentIndexTest() {
+        List<Player> players = TournamentUtils.buildGenericPlayers(4, "Player");
+        List<Localization> localizations = TournamentUtils.buildGenericLocalizations(2, "Court");
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(4);
+        Event event = new Event("Event", players.subList(2, 4), localizations, timeslots.subList(1, 4));
+        Event otherEvent = new Event("Other Event", players, localizations.subList(1, 2), timeslots);
+        Tournament tournament = new Tournament("Tournament", event, otherEvent);
+
+        assertEquals(0, tournament.getPlayerIndex(players.get(2)));
+        assertEquals(2, tournament.getPlayerIndex(players.get(0)));
+        assertEquals(1, tournament.getLocalizationIndex(localizations.get(1)));
+        assertEquals(3, tournament.getTimeslotIndex(timeslots.get(0)));
+        assertEquals(-1, tournament.getPlayerIndex(new Player("Player")));
+
+        assertTrue(event.hasPlayer(players.get(3)));
+        assertFalse(event.hasPlayer(players.get(0)));
+        assertFalse(event.hasTimeslot(timeslots.get(0)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullElementsTest() {
+        new EntityIndex<Player>(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullElementTest() {
+        new EntityIndex<>(Arrays.asList(new Player("Player"), null));
+    }
+}
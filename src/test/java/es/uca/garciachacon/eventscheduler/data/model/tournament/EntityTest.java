@@ -31,4 +31,19 @@ public class EntityTest {
         }
     }
 
+    @Test
+    public void idTest() {
+        Player player = new Player("Player");
+        Localization localization = new Localization("Court");
+        Timeslot timeslot = new Timeslot(1);
+
+        assertNotEquals(player.getId(), localization.getId());
+        assertNotEquals(localization.getId(), timeslot.getId());
+        assertEquals(player.getId() + 1, localization.getId());
+
+        int id = player.getId();
+        player.setName("Renamed Player");
+        assertEquals(id, player.getId());
+    }
+
 }
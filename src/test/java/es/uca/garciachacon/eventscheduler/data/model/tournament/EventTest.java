@@ -15,6 +15,7 @@ import java.time.Duration;
 import java.time.LocalTime;
 import java.time.Month;
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
@@ -940,6 +941,49 @@ public class EventTest {
         assertFalse(event.hasUnavailablePlayers());
     }
 
+    @Test
+    public void availabilityRowsTest() {
+        Player player = players.get(2);
+        Localization localization = localizations.get(1);
+
+        assertTrue(event.getUnavailableTimeslotsOf(player).isEmpty());
+        assertTrue(event.getUnavailableTimeslotsOf(localization).isEmpty());
+        assertTrue(event.getAssignedLocalizationsOf(player).isEmpty());
+        assertTrue(event.getAssignedTimeslotsOf(player).isEmpty());
+
+        event.addUnavailablePlayerAtTimeslotRange(player, timeslots.get(2), timeslots.get(4));
+        event.addUnavailableLocalizationAtTimeslot(localization, timeslots.get(6));
+        event.addPlayerInLocalization(player, localization);
+        event.addPlayerAtTimeslot(player, timeslots.get(0));
+
+        BitSet unavailable = event.getUnavailableTimeslotsOf(player);
+        assertEquals(3, unavailable.cardinality());
+        assertTrue(unavailable.get(2) && unavailable.get(3) && unavailable.get(4));
+        assertEquals(6, event.getUnavailableTimeslotsOf(localization).nextSetBit(0));
+        assertEquals(1, event.getAssignedLocalizationsOf(player).nextSetBit(0));
+        assertEquals(0, event.getAssignedTimeslotsOf(player).nextSetBit(0));
+
+        // Las filas devueltas son copias
+        unavailable.clear();
+        assertTrue(event.isPlayerUnavailable(player, timeslots.get(3)));
+
+        // Los diccionarios son vistas que reflejan los cambios
+        Map<Player, Set<Timeslot>> unavailablePlayers = event.getUnavailablePlayers();
+        Set<Timeslot> playerTimeslots = unavailablePlayers.get(player);
+        assertEquals(Arrays.asList(timeslots.get(2), timeslots.get(3), timeslots.get(4)),
+                new ArrayList<>(playerTimeslots)
+        );
+
+        event.removeUnavailablePlayerAtTimeslot(player, timeslots.get(3));
+        assertEquals(2, playerTimeslots.size());
+        assertFalse(playerTimeslots.contains(timeslots.get(3)));
+
+        event.removeUnavailablePlayerAtTimeslot(player, timeslots.get(2));
+        event.removeUnavailablePlayerAtTimeslot(player, timeslots.get(4));
+        assertTrue(unavailablePlayers.isEmpty());
+        assertNull(unavailablePlayers.get(player));
+    }
+
     @Test
     public void setPredefinedMatchupsTest() {
         assertFalse(event.hasPredefinedMatchups());
@@ -1443,6 +1487,141 @@ public class EventTest {
         event.getPredefinedMatchups().clear();
     }
 
+    @Test
+    public void predefinedMatchupOccurrencesTest() {
+        event.setMatchesPerPlayer(4);
+        Set<Player> players1 = new HashSet<>(Arrays.asList(players.get(0), players.get(1)));
+        Set<Player> players2 = new HashSet<>(Arrays.asList(players.get(0), players.get(2)));
+        Matchup matchup1 = new Matchup(players1, new HashSet<>(), new HashSet<>(), 2);
+        Matchup matchup2 = new Matchup(players1, new HashSet<>(), new HashSet<>(), 1);
+        event.addMatchup(matchup1);
+        event.addMatchup(matchup2);
+        event.addMatchup(players2);
+
+        assertEquals(4, event.getPredefinedMatchupOccurrences(players.get(0)));
+        assertEquals(3, event.getPredefinedMatchupOccurrences(players.get(1)));
+        assertEquals(1, event.getPredefinedMatchupOccurrences(players.get(2)));
+        assertEquals(0, event.getPredefinedMatchupOccurrences(players.get(3)));
+        assertEquals(0, event.getPredefinedMatchupOccurrences(new Player("Unknown")));
+
+        assertEquals(new HashSet<>(Arrays.asList(matchup1, matchup2)),
+                event.getPredefinedMatchups(new HashSet<>(Arrays.asList(players.get(1), players.get(0))))
+        );
+        assertEquals(1, event.getPredefinedMatchups(players2).size());
+        assertTrue(event.getPredefinedMatchups(new HashSet<>(Arrays.asList(players.get(1), players.get(2)))).isEmpty());
+
+        try {
+            event.addMatchup(players.get(2), players.get(0));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Player's (Player 1) number of predefined matchups (5) would exceed the limit (4)",
+                    e.getMessage()
+            );
+        }
+        assertEquals(1, event.getPredefinedMatchupOccurrences(players.get(2)));
+
+        event.removeMatchup(matchup1);
+        assertEquals(2, event.getPredefinedMatchupOccurrences(players.get(0)));
+        assertEquals(1, event.getPredefinedMatchupOccurrences(players.get(1)));
+        assertEquals(Collections.singleton(matchup2), event.getPredefinedMatchups(players1));
+
+        event.removeMatchup(players1);
+        assertEquals(1, event.getPredefinedMatchupOccurrences(players.get(0)));
+        assertEquals(0, event.getPredefinedMatchupOccurrences(players.get(1)));
+        assertTrue(event.getPredefinedMatchups(players1).isEmpty());
+
+        event.setTimeslotsPerMatch(1);
+        assertFalse(event.hasPredefinedMatchups());
+        assertEquals(0, event.getPredefinedMatchupOccurrences(players.get(0)));
+        assertTrue(event.getPredefinedMatchups(players2).isEmpty());
+
+        // Tras vaciarse los contadores se puede volver a alcanzar el límite
+        event.addMatchup(new Matchup(players2, new HashSet<>(), new HashSet<>(), 4));
+        assertEquals(4, event.getPredefinedMatchupOccurrences(players.get(2)));
+    }
+
+    @Test
+    public void changeLogTest() {
+        assertEquals(0, event.getVersion());
+        assertEquals(Collections.emptyList(), event.getChangesSince(0).get());
+
+        event.addBreak(timeslots.get(2));
+        event.addBreak(timeslots.get(2));
+        event.addUnavailablePlayerAtTimeslotRange(players.get(1), timeslots.get(3), timeslots.get(5));
+        event.removeUnavailablePlayerAtTimeslot(players.get(1), timeslots.get(4));
+        event.removeUnavailablePlayerAtTimeslot(players.get(1), timeslots.get(4));
+        event.setMatchesPerPlayer(2);
+
+        List<EventChange> changes = event.getChangesSince(0).get();
+        assertEquals(6, event.getVersion());
+        assertEquals(6, changes.size());
+        for (int i = 0; i < changes.size(); i++)
+            assertEquals(i + 1, changes.get(i).getVersion());
+
+        assertEquals(EventChange.Type.BREAK_ADDED, changes.get(0).getType());
+        assertEquals(timeslots.get(2), changes.get(0).getTimeslot());
+        assertNull(changes.get(0).getPlayer());
+
+        assertEquals(EventChange.Type.PLAYER_UNAVAILABLE, changes.get(1).getType());
+        assertEquals(players.get(1), changes.get(1).getPlayer());
+        assertEquals(Arrays.asList(timeslots.get(3), timeslots.get(5), timeslots.get(4)),
+                changes.subList(1, 4).stream().map(EventChange::getTimeslot).collect(Collectors.toList())
+        );
+
+        assertEquals(EventChange.Type.PLAYER_AVAILABLE, changes.get(4).getType());
+        assertEquals(timeslots.get(4), changes.get(4).getTimeslot());
+        assertEquals(EventChange.Type.MATCHES_PER_PLAYER, changes.get(5).getType());
+
+        assertEquals(changes.subList(4, 6), event.getChangesSince(4).get());
+        assertTrue(event.getChangesSince(6).get().isEmpty());
+
+        event.addMatchup(players.get(0), players.get(1));
+        changes = event.getChangesSince(6).get();
+        assertEquals(EventChange.Type.MATCHUP_ADDED, changes.get(0).getType());
+        assertEquals(event.getPredefinedMatchups().iterator().next(), changes.get(0).getMatchup());
+        assertEquals(2 * localizations.size(), changes.stream()
+                .filter(c -> c.getType() == EventChange.Type.PLAYER_IN_LOCALIZATION_ADDED)
+                .count());
+
+        long version = event.getVersion();
+        event.setTimeslotsPerMatch(1);
+        assertEquals(Arrays.asList(EventChange.Type.MATCHUPS_CLEARED, EventChange.Type.TIMESLOTS_PER_MATCH),
+                event.getChangesSince(version).get().stream().map(EventChange::getType).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    public void changeLogSizeTest() {
+        assertEquals(Event.DEFAULT_CHANGE_LOG_SIZE, event.getChangeLogSize());
+
+        event.setChangeLogSize(3);
+        event.addBreakRange(timeslots.get(0), timeslots.get(4));
+
+        assertEquals(5, event.getVersion());
+        assertFalse(event.getChangesSince(0).isPresent());
+        assertFalse(event.getChangesSince(1).isPresent());
+        assertEquals(3, event.getChangesSince(2).get().size());
+        assertEquals(3, event.getChangesSince(2).get().get(0).getVersion());
+
+        event.setChangeLogSize(1);
+        assertFalse(event.getChangesSince(3).isPresent());
+        assertEquals(1, event.getChangesSince(4).get().size());
+
+        try {
+            event.getChangesSince(6);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Version (6) must be between 0 and the current version (5)", e.getMessage());
+        }
+
+        try {
+            event.setChangeLogSize(0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Change log size cannot be less than one", e.getMessage());
+        }
+    }
+
     @Test
     public void setBreaksTest() {
         assertFalse(event.hasBreaks());
@@ -0,0 +1,146 @@
+package es.uca.garciachacon.eventscheduler.data.model.tournament;
+
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link TimeslotOrder}.
+ */
+public class TimeslotOrderTest {
+    private List<Timeslot> timeslots;
+    private TimeslotOrder order;
+
+    @Before
+    public void setUp() {
+        timeslots = TournamentUtils.buildSimpleTimeslots(6);
+        order = new TimeslotOrder(Arrays.asList(timeslots.get(4),
+                timeslots.get(0),
+                timeslots.get(5),
+                timeslots.get(2),
+                timeslots.get(1),
+                timeslots.get(3)
+        ));
+    }
+
+    @Test
+    public void rankOfTest() {
+        assertEquals(6, order.size());
+        for (int t = 0; t < timeslots.size(); t++) {
+            assertTrue(order.contains(timeslots.get(t)));
+            assertEquals(t, order.rankOf(timeslots.get(t)));
+        }
+
+        Timeslot foreign = new Timeslot(2);
+        assertFalse(order.contains(foreign));
+        try {
+            order.rankOf(foreign);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Timeslot (Timeslot [order=2]) is not ranked", e.getMessage());
+        }
+    }
+
+    @Test
+    public void equalTimeslotsShareRankTest() {
+        Timeslot t1 = new Timeslot(1, LocalTime.of(10, 0));
+        Timeslot t2 = new Timeslot(1, LocalTime.of(11, 0));
+        Timeslot t3 = new Timeslot(1, LocalTime.of(11, 0));
+        Timeslot t4 = new Timeslot(2);
+        TimeslotOrder order = new TimeslotOrder(Arrays.asList(t4, t3, t2, t1, t2));
+
+        assertEquals(3, order.size());
+        assertEquals(0, order.rankOf(t1));
+        assertEquals(1, order.rankOf(t2));
+        assertEquals(1, order.rankOf(t3));
+        assertEquals(2, order.rankOf(t4));
+        assertEquals(0, order.compare(t2, t3));
+    }
+
+    @Test
+    public void compareTest() {
+        for (Timeslot t1 : timeslots)
+            for (Timeslot t2 : timeslots)
+                assertEquals(t1.compareTo(t2), order.compare(t1, t2));
+
+        Timeslot foreign = new Timeslot(10);
+        assertEquals(1, order.compare(timeslots.get(5), foreign));
+        assertEquals(-1, order.compare(foreign, timeslots.get(0)));
+    }
+
+    @Test
+    public void rankBoundsTest() {
+        assertEquals(3, order.firstRankNotBefore(timeslots.get(3)));
+        assertEquals(3, order.lastRankNotAfter(timeslots.get(3)));
+
+        // Timeslots ajenos al orden, iguales a uno de los rangos, entre dos rangos o fuera de ellos
+        Timeslot equal = new Timeslot(2, LocalTime.of(10, 0));
+        assertEquals(2, order.firstRankNotBefore(equal));
+        assertEquals(2, order.lastRankNotAfter(equal));
+
+        TimeslotOrder startOrder = new TimeslotOrder(Arrays.asList(new Timeslot(1, LocalTime.of(10, 0)),
+                new Timeslot(1, LocalTime.of(12, 0))
+        ));
+        Timeslot inBetween = new Timeslot(1, LocalTime.of(11, 0));
+        assertEquals(1, startOrder.firstRankNotBefore(inBetween));
+        assertEquals(0, startOrder.lastRankNotAfter(inBetween));
+
+        assertEquals(0, order.firstRankNotBefore(new Timeslot(-1)));
+        assertEquals(-1, order.lastRankNotAfter(new Timeslot(-1)));
+        assertEquals(6, order.firstRankNotBefore(new Timeslot(20)));
+        assertEquals(5, order.lastRankNotAfter(new Timeslot(20)));
+    }
+
+    @Test
+    public void withinTest() {
+        for (Timeslot t : timeslots)
+            for (Timeslot t1 : timeslots)
+                for (Timeslot t2 : timeslots)
+                    assertEquals(t.within(t1, t2), order.within(t, t1, t2));
+
+        assertTrue(order.within(new Timeslot(3), timeslots.get(1), timeslots.get(4)));
+        assertFalse(order.within(new Timeslot(8), timeslots.get(1), timeslots.get(4)));
+    }
+
+    @Test
+    public void overlapsTest() {
+        assertTrue(order.overlaps(timeslots.get(0), timeslots.get(2), timeslots.get(2), timeslots.get(4)));
+        assertTrue(order.overlaps(timeslots.get(4), timeslots.get(0), timeslots.get(1), timeslots.get(1)));
+        assertTrue(order.overlaps(timeslots.get(3), timeslots.get(5), timeslots.get(5), timeslots.get(0)));
+        assertFalse(order.overlaps(timeslots.get(0), timeslots.get(1), timeslots.get(2), timeslots.get(4)));
+        assertFalse(order.overlaps(timeslots.get(5), timeslots.get(4), timeslots.get(3), timeslots.get(0)));
+
+        assertTrue(order.overlaps(timeslots.get(0), timeslots.get(3), new Timeslot(2), new Timeslot(7)));
+        assertFalse(order.overlaps(timeslots.get(0), timeslots.get(3), new Timeslot(4), new Timeslot(7)));
+    }
+
+    @Test
+    public void tournamentOrderTest() {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(2, "Player"),
+                TournamentUtils.buildGenericLocalizations(1, "Court"),
+                timeslots.subList(2, 6)
+        );
+        Event otherEvent = new Event("Other Event",
+                TournamentUtils.buildGenericPlayers(2, "Player"),
+                TournamentUtils.buildGenericLocalizations(1, "Court"),
+                timeslots.subList(0, 3)
+        );
+        TimeslotOrder tournamentOrder = new Tournament("Tournament", event, otherEvent).getTimeslotOrder();
+
+        assertEquals(6, tournamentOrder.size());
+        for (int t = 0; t < timeslots.size(); t++)
+            assertEquals(t, tournamentOrder.rankOf(timeslots.get(t)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullTimeslotsTest() {
+        new TimeslotOrder(null);
+    }
+}
@@ -1,10 +1,16 @@
 package es.uca.garciachacon.eventscheduler.data.model.tournament;
 
 import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.InverseSchedule;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.ScheduleDiff;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.TournamentSchedule;
 import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
 import es.uca.garciachacon.eventscheduler.data.validation.validator.TournamentValidator;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.EngineSelection;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.OptimizationMode;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.SearchStrategy;
+import es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolver;
 import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
 import org.hamcrest.core.StringContains;
 import org.junit.Before;
@@ -185,6 +191,47 @@ public class TournamentTest {
         tournament.getAllTimeslots().set(3, new Timeslot(3));
     }
 
+    @Test
+    public void getIndexTest() {
+        List<Player> players = TournamentUtils.buildGenericPlayers(6, "Player");
+        List<Localization> localizations = TournamentUtils.buildGenericLocalizations(3, "Localization");
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(8);
+
+        Event primaryEvent = new Event("Primary Event",
+                players.subList(2, 6),
+                localizations.subList(1, 3),
+                timeslots.subList(3, 8)
+        );
+        Event secondaryEvent =
+                new Event("Secondary Event", players.subList(0, 4), localizations, timeslots.subList(0, 5));
+        Tournament tournament = new Tournament("Tournament", primaryEvent, secondaryEvent);
+
+        // Los elementos compartidos por varias categorías se incluyen una sola vez, en el orden en que aparecen
+        assertEquals(Arrays.asList(players.get(2), players.get(3), players.get(4), players.get(5), players.get(0),
+                players.get(1)
+        ), tournament.getAllPlayers());
+        assertEquals(3, tournament.getAllLocalizations().size());
+        assertEquals(8, tournament.getAllTimeslots().size());
+
+        for (int i = 0; i < tournament.getAllPlayers().size(); i++)
+            assertEquals(i, tournament.getPlayerIndex(tournament.getAllPlayers().get(i)));
+        for (int i = 0; i < tournament.getAllLocalizations().size(); i++)
+            assertEquals(i, tournament.getLocalizationIndex(tournament.getAllLocalizations().get(i)));
+        for (int i = 0; i < tournament.getAllTimeslots().size(); i++)
+            assertEquals(i, tournament.getTimeslotIndex(tournament.getAllTimeslots().get(i)));
+
+        assertEquals(-1, tournament.getPlayerIndex(new Player("Player")));
+        assertEquals(-1, tournament.getLocalizationIndex(new Localization("Localization")));
+        assertEquals(-1, tournament.getTimeslotIndex(new Timeslot(1)));
+
+        assertTrue(primaryEvent.hasPlayer(players.get(5)));
+        assertFalse(primaryEvent.hasPlayer(players.get(0)));
+        assertTrue(secondaryEvent.hasLocalization(localizations.get(0)));
+        assertFalse(primaryEvent.hasLocalization(localizations.get(0)));
+        assertTrue(primaryEvent.hasTimeslot(timeslots.get(3)));
+        assertFalse(primaryEvent.hasTimeslot(timeslots.get(2)));
+    }
+
     @Test
     public void getNumberOfMatches() {
         List<Localization> localizations = TournamentUtils.buildGenericLocalizations(2, "Localization");
@@ -286,6 +333,155 @@ public class TournamentTest {
         }
     }
 
+    @Test
+    public void derivedSchedulesTest() throws ValidationException {
+        Event event = tournament.getEvents().get(0);
+
+        try {
+            tournament.getInverseSchedule();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Tournament schedule not calculated", e.getMessage());
+        }
+
+        try {
+            tournament.getInverseSchedule(event);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Tournament schedules not calculated", e.getMessage());
+        }
+
+        tournament.getSolver().setSearchStrategy(SearchStrategy.MINDOM_UB);
+        assertTrue(tournament.solve());
+
+        // Los horarios derivados se construyen una sola vez por solución
+        TournamentSchedule schedule = tournament.getSchedule();
+        InverseSchedule inverseSchedule = tournament.getInverseSchedule();
+        InverseSchedule eventInverseSchedule = tournament.getInverseSchedule(event);
+        assertSame(schedule, tournament.getSchedule());
+        assertSame(inverseSchedule, tournament.getInverseSchedule());
+        assertSame(eventInverseSchedule, tournament.getInverseSchedule(event));
+        assertEquals(inverseSchedule.getAvailableTimeslots(), schedule.getAvailableTimeslots());
+        assertEquals(eventInverseSchedule.getAvailableTimeslots(),
+                tournament.getEventSchedules().get(event).getAvailableTimeslots()
+        );
+
+        assertTrue(tournament.nextSchedules());
+        assertNotSame(schedule, tournament.getSchedule());
+        assertNotSame(inverseSchedule, tournament.getInverseSchedule());
+        assertNotSame(eventInverseSchedule, tournament.getInverseSchedule(event));
+
+        // Si cambia la configuración de una categoría los horarios agrupados se vuelven a construir
+        inverseSchedule = tournament.getInverseSchedule();
+        event.addBreak(event.getTimeslots().get(9));
+        assertNotSame(inverseSchedule, tournament.getInverseSchedule());
+        assertNotSame(tournament.getInverseSchedule(), tournament.getInverseSchedule());
+
+        try {
+            tournament.getInverseSchedule(new Event("Event",
+                    TournamentUtils.buildGenericPlayers(2, "Player"),
+                    TournamentUtils.buildGenericLocalizations(1, "Localization"),
+                    TournamentUtils.buildSimpleTimeslots(2)
+            ));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Event does not belong to the tournament", e.getMessage());
+        }
+    }
+
+    @Test
+    public void scheduleDiffTest() throws ValidationException {
+        assertEquals(0, tournament.getSolutionNumber());
+
+        try {
+            tournament.getScheduleDiff(1);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Tournament schedule not calculated", e.getMessage());
+        }
+
+        tournament.getSolver().setSearchStrategy(SearchStrategy.MINDOM_UB);
+        tournament.getSolver().setSolutionHistorySize(16);
+        assertTrue(tournament.solve());
+        assertEquals(1, tournament.getSolutionNumber());
+        assertTrue(tournament.getScheduleDiff(1).isEmpty());
+
+        TournamentSchedule first = tournament.getSchedule();
+        for (int i = 0; i < 20; i++)
+            assertTrue(tournament.nextSchedules());
+        assertEquals(21, tournament.getSolutionNumber());
+
+        ScheduleDiff diff = tournament.getScheduleDiff(20);
+        assertEquals(20, diff.getFromSolution());
+        assertEquals(21, diff.getToSolution());
+        assertFalse(diff.isEmpty());
+
+        // Solamente se conservan las soluciones más recientes
+        try {
+            tournament.getScheduleDiff(1);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Solution 1 is not available", e.getMessage());
+        }
+
+        // Al reiniciar la resolución se descartan las soluciones anteriores
+        assertTrue(tournament.solve());
+        assertEquals(1, tournament.getSolutionNumber());
+        assertTrue(new ScheduleDiff(1, first, 1, tournament.getSchedule()).isEmpty());
+        try {
+            tournament.getScheduleDiff(20);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Solution 20 is not available", e.getMessage());
+        }
+    }
+
+    @Test
+    public void goToSolutionTest() throws ValidationException {
+        try {
+            tournament.goToSolution(1);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Solution 1 is not available", e.getMessage());
+        }
+
+        tournament.getSolver().setSearchStrategy(SearchStrategy.MINDOM_UB);
+        assertTrue(tournament.solve());
+        String first = tournament.getSchedule().getMatches().toString();
+        for (int i = 0; i < 4; i++)
+            assertTrue(tournament.nextSchedules());
+        String fifth = tournament.getSchedule().getMatches().toString();
+
+        tournament.goToSolution(1);
+        assertEquals(1, tournament.getSolutionNumber());
+        assertEquals(first, tournament.getSchedule().getMatches().toString());
+        assertFalse(tournament.getScheduleDiff(5).isEmpty());
+
+        tournament.goToSolution(5);
+        assertEquals(fifth, tournament.getSchedule().getMatches().toString());
+        assertTrue(tournament.getScheduleDiff(5).isEmpty());
+
+        // La búsqueda continúa a partir de la última solución encontrada
+        tournament.goToSolution(2);
+        assertTrue(tournament.nextSchedules());
+        assertEquals(6, tournament.getSolutionNumber());
+
+        try {
+            tournament.goToSolution(7);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Solution 7 is not available", e.getMessage());
+        }
+
+        tournament.getEvents().get(0).setTimeslotsPerMatch(1);
+        try {
+            tournament.goToSolution(1);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("An event has an inconsistent state", e.getMessage());
+        }
+    }
+
     @Test
     public void groupEventsByNumberOfPlayersPerMatchTest() {
         List<Player> players = TournamentUtils.buildGenericPlayers(64, "Player");
@@ -633,6 +829,33 @@ public class TournamentTest {
         assertEquals("Tournament", tournament.toString());
     }
 
+    @Test
+    public void autoEngineSelectionTest() {
+        // Modelo de 2 * 100 * 50 * 60 = 600000 variables, por encima del umbral de la selección automática
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(100, "Player"),
+                TournamentUtils.buildGenericLocalizations(50, "Court"),
+                TournamentUtils.buildSimpleTimeslots(60)
+        );
+        tournament = new Tournament("Tournament", event);
+        TournamentSolver solver = tournament.getSolver();
+
+        assertTrue(TournamentSolver.getModelSize(tournament) > TournamentSolver.AUTO_ENGINE_THRESHOLD);
+        assertEquals(EngineSelection.AUTO, solver.getEngineSelection());
+        assertTrue(tournament.selectEngine() instanceof LocalSearchSolver);
+
+        // La búsqueda local no aplica la optimización, así que se mantiene Choco
+        solver.setOptimization(OptimizationMode.OPTIMAL);
+        assertSame(solver, tournament.selectEngine());
+
+        solver.setEngineSelection(EngineSelection.LOCAL_SEARCH);
+        assertTrue(tournament.selectEngine() instanceof LocalSearchSolver);
+
+        solver.setOptimization(OptimizationMode.NONE);
+        solver.setEngineSelection(EngineSelection.CHOCO);
+        assertSame(solver, tournament.selectEngine());
+    }
+
     @Test
     public void modifiedEventAndNextSchedules() throws ValidationException {
         List<Player> players = TournamentUtils.buildGenericPlayers(4, "Player");
@@ -2,16 +2,17 @@ package es.uca.garciachacon.eventscheduler.data.validation;
 
 import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
 import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
+import es.uca.garciachacon.eventscheduler.data.validation.validator.EventValidator;
+import es.uca.garciachacon.eventscheduler.data.validation.validator.TournamentValidator;
 import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.fail;
+import static org.junit.Assert.*;
 
 /**
  * Tests de las clases de validación e implementaciones concretas.
@@ -85,4 +86,162 @@ public class ValidationTest {
         }
     }
 
+    @Test
+    public void incrementalValidationTest() {
+        EventValidator validator = new EventValidator();
+        assertTrue(validator.validate(event));
+
+        event.setTimeslotsPerMatch(7);
+        assertFalse(validator.validate(event));
+        assertEquals(Collections.singletonList(
+                "Number of timeslots (12) must not be less than the minimum needed amount (14)"),
+                validator.getValidationMessages()
+        );
+
+        // El resultado en caché es el mismo mientras la categoría no cambie
+        assertFalse(validator.validate(event));
+        assertEquals(1, validator.getValidationMessages().size());
+
+        event.setTimeslotsPerMatch(1);
+        assertTrue(validator.validate(event));
+        assertTrue(validator.getValidationMessages().isEmpty());
+    }
+
+    @Test
+    public void incrementalValidationAffectedRulesTest() {
+        int[] teamReads = new int[1];
+        int[] breakReads = new int[1];
+        Event countingEvent = new Event("Event",
+                TournamentUtils.buildGenericPlayers(8, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Localization"),
+                TournamentUtils.buildSimpleTimeslots(6)
+        ) {
+            public List<Team> getTeams() {
+                teamReads[0]++;
+                return super.getTeams();
+            }
+
+            public List<Timeslot> getBreaks() {
+                breakReads[0]++;
+                return super.getBreaks();
+            }
+        };
+
+        EventValidator validator = new EventValidator();
+        assertTrue(validator.validate(countingEvent));
+        assertEquals(1, teamReads[0]);
+        assertEquals(1, breakReads[0]);
+
+        // Solamente se vuelven a comprobar las reglas afectadas por los cambios
+        countingEvent.addBreak(countingEvent.getTimeslots().get(2));
+        assertTrue(validator.validate(countingEvent));
+        assertEquals(1, teamReads[0]);
+        assertEquals(2, breakReads[0]);
+
+        assertTrue(validator.validate(countingEvent));
+        assertEquals(1, teamReads[0]);
+        assertEquals(2, breakReads[0]);
+
+        // Si los cambios se han descartado del registro, se valida todo de nuevo
+        countingEvent.setChangeLogSize(1);
+        countingEvent.addUnavailablePlayerAtTimeslot(countingEvent.getPlayers().get(0),
+                countingEvent.getTimeslots().get(0)
+        );
+        countingEvent.addUnavailablePlayerAtTimeslot(countingEvent.getPlayers().get(0),
+                countingEvent.getTimeslots().get(1)
+        );
+        assertTrue(validator.validate(countingEvent));
+        assertEquals(2, teamReads[0]);
+        assertEquals(3, breakReads[0]);
+    }
+
+    @Test
+    public void sharedValidatorTest() {
+        Event otherEvent = new Event("Other Event",
+                TournamentUtils.buildGenericPlayers(4, "Player"),
+                TournamentUtils.buildGenericLocalizations(1, "Localization"),
+                TournamentUtils.buildSimpleTimeslots(2)
+        );
+
+        EventValidator validator = new EventValidator();
+        assertTrue(validator.validate(event));
+        otherEvent.setMatchesPerPlayer(2);
+        assertFalse(validator.validate(otherEvent));
+        assertTrue(validator.validate(event));
+        assertTrue(validator.getValidationMessages().isEmpty());
+        assertFalse(validator.validate(otherEvent));
+
+        EventValidator otherValidator = new EventValidator();
+        assertFalse(otherValidator.validate(otherEvent));
+        assertEquals(otherValidator.getValidationMessages(), validator.getValidationMessages());
+    }
+
+    @Test
+    public void parallelTournamentValidatorTest() {
+        List<Event> events = new ArrayList<>();
+        EventValidator sharedValidator = new EventValidator();
+        for (int i = 0; i < 6; i++) {
+            Event e = new Event("Event " + i,
+                    TournamentUtils.buildGenericPlayers(4, "Player"),
+                    TournamentUtils.buildGenericLocalizations(1, "Localization"),
+                    TournamentUtils.buildSimpleTimeslots(2)
+            );
+            e.setValidator(sharedValidator);
+            events.add(e);
+        }
+        for (int i : new int[]{ 1, 3, 4 })
+            events.get(i).setMatchesPerPlayer(2);
+
+        // Las primeras categorías en enviarse son las últimas en validarse
+        AtomicInteger submitted = new AtomicInteger();
+        Executor reversingExecutor = task -> {
+            long delay = 20 * (events.size() - submitted.getAndIncrement() % events.size());
+            new Thread(() -> {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                task.run();
+            }).start();
+        };
+
+        TournamentValidator validator = new TournamentValidator();
+        validator.setEventExecutor(reversingExecutor);
+        assertSame(reversingExecutor, validator.getEventExecutor());
+
+        Tournament tournament = new Tournament("Tournament", events);
+        tournament.setValidator(validator);
+
+        try {
+            tournament.validate();
+            fail("ValidationException expected");
+        } catch (ValidationException e) {
+            assertEquals(6, submitted.get());
+
+            String message = "Number of timeslots (2) must not be less than the minimum needed amount (4)";
+            assertEquals(Arrays.asList(String.format("Validation error in event (Event 1): %s", message),
+                    String.format("Validation error in event (Event 3): %s", message),
+                    String.format("Validation error in event (Event 4): %s", message)
+            ), tournament.getMessages());
+
+            for (int i = 0; i < events.size(); i++)
+                assertEquals(i == 1 || i == 3 || i == 4 ? 1 : 0, events.get(i).getMessages().size());
+        }
+
+        // Los mensajes de una validación anterior no se acumulan
+        for (int i : new int[]{ 1, 3, 4 })
+            events.get(i).setMatchesPerPlayer(1);
+        try {
+            tournament.validate();
+            assertTrue(tournament.getMessages().isEmpty());
+        } catch (ValidationException e) {
+            fail("Unexpected ValidationException thrown");
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullEventExecutorTest() {
+        new TournamentValidator().setEventExecutor(null);
+    }
 }
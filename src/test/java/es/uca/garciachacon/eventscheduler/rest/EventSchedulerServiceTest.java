@@ -410,4 +410,122 @@ public class EventSchedulerServiceTest extends JerseyTest {
         response = target(path + "/" + id + "/schedules/1").request().get();
         assertEquals(Response.Status.NO_CONTENT.getStatusCode(), response.getStatus());
     }
+
+    @Test
+    public void solutionCountTest() {
+        String id = target(path).request()
+                .post(Entity.entity(tournaments.get(0), MediaType.APPLICATION_JSON))
+                .readEntity(String.class);
+
+        Map count = target(path + "/" + id + "/schedule/solution-count").queryParam("limit", 10)
+                .queryParam("parallelism", Math.min(2, Runtime.getRuntime().availableProcessors()))
+                .request()
+                .get(Map.class);
+        assertEquals(10, ((Number) count.get("solutions")).intValue());
+        assertEquals(false, count.get("exact"));
+
+        // El recuento no lanza el proceso de resolución del torneo
+        String resolutionState = target(path + "/" + id + "/schedule/resolution-state").request().get(String.class);
+        assertEquals("\"READY\"", resolutionState);
+
+        Double estimate = target(path + "/" + id + "/schedule/solution-estimate").queryParam("probes", 10)
+                .request()
+                .get(Double.class);
+        assertTrue(estimate >= 0);
+
+        Response response =
+                target(path + "/" + id + "/schedule/solution-count").queryParam("limit", -1).request().get();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        // El recuento siempre está acotado, así que los valores fuera de rango se rechazan
+        for (Object[] param : new Object[][]{ { "limit", 0 },
+                { "limit", EventSchedulerService.MAX_COUNT_LIMIT + 1 },
+                { "timeout", 0 },
+                { "timeout", EventSchedulerService.MAX_COUNT_TIMEOUT + 1 },
+                { "parallelism", 0 },
+                { "parallelism", Runtime.getRuntime().availableProcessors() + 1 } }) {
+            response = target(path + "/" + id + "/schedule/solution-count").queryParam((String) param[0], param[1])
+                    .request()
+                    .get();
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        }
+
+        response = target(path + "/" + id + "/schedule/solution-estimate").queryParam("probes", 0).request().get();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        response = target(path + "/" + id + "/schedule/solution-estimate").queryParam("probes",
+                EventSchedulerService.MAX_ESTIMATE_PROBES + 1
+        ).request().get();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        response = target(path + "/unknown-id/schedule/solution-count").request().get();
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+
+        response = target(path + "/unknown-id/schedule/solution-estimate").request().get();
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    public void scheduleDiffTest() {
+        String id = target(path).request()
+                .post(Entity.entity(tournaments.get(0), MediaType.APPLICATION_JSON))
+                .readEntity(String.class);
+
+        Response response = target(path + "/" + id + "/schedule/diff").queryParam("from", 1).request().get();
+        assertEquals(Response.Status.NO_CONTENT.getStatusCode(), response.getStatus());
+
+        target(path + "/" + id + "/schedule").request().get();
+        target(path + "/" + id + "/schedule").request().get();
+
+        Map diff = target(path + "/" + id + "/schedule/diff").queryParam("from", 1).request().get(Map.class);
+        assertEquals(1, ((Number) diff.get("fromSolution")).intValue());
+        assertEquals(2, ((Number) diff.get("toSolution")).intValue());
+        assertTrue(diff.containsKey("movedMatches"));
+        assertTrue(diff.containsKey("changedCells"));
+
+        diff = target(path + "/" + id + "/schedule/diff").queryParam("from", 2).request().get(Map.class);
+        assertEquals(true, diff.get("empty"));
+
+        response = target(path + "/" + id + "/schedule/diff").queryParam("from", 3).request().get();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        response = target(path + "/" + id + "/schedule/diff").request().get();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        response = target(path + "/unknown-id/schedule/diff").queryParam("from", 1).request().get();
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    public void goToSolutionTest() {
+        String id = target(path).request()
+                .post(Entity.entity(tournaments.get(0), MediaType.APPLICATION_JSON))
+                .readEntity(String.class);
+
+        Response response = target(path + "/" + id + "/schedule/solution/1").request().get();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        Map first = target(path + "/" + id + "/schedule").request().get(Map.class);
+        target(path + "/" + id + "/schedule").request().get();
+        target(path + "/" + id + "/schedule").request().get();
+
+        Map schedule = target(path + "/" + id + "/schedule/solution/1").request().get(Map.class);
+        assertEquals(first.get("matches"), schedule.get("matches"));
+
+        Map diff = target(path + "/" + id + "/schedule/diff").queryParam("from", 3).request().get(Map.class);
+        assertEquals(3, ((Number) diff.get("fromSolution")).intValue());
+        assertEquals(1, ((Number) diff.get("toSolution")).intValue());
+
+        schedule = target(path + "/" + id + "/schedule/solution/2")
+                .queryParam("byLocalizations", true)
+                .request()
+                .get(Map.class);
+        assertNotNull(schedule);
+
+        response = target(path + "/" + id + "/schedule/solution/4").request().get();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+
+        response = target(path + "/unknown-id/schedule/solution/1").request().get();
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
 }
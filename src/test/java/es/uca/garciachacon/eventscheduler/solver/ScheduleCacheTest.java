@@ -0,0 +1,162 @@
+package es.uca.garciachacon.eventscheduler.solver;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.Match;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link ScheduleCache} y del empaquetado de las soluciones en {@link SolutionSnapshot}.
+ */
+public class ScheduleCacheTest {
+    private Tournament tournament;
+    private Event event;
+
+    @Before
+    public void setUp() {
+        event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(4, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(3)
+        );
+        tournament = new Tournament("Tournament", event);
+    }
+
+    /**
+     * Construye la instantánea de una solución en la que el jugador 0 juega contra el jugador <code>rival</code> en
+     * la pista 0 a la hora <code>t</code>, y los otros dos jugadores en la pista 1 a la misma hora.
+     *
+     * @param rival índice del rival del jugador 0
+     * @param t     hora de los partidos
+     * @return instantánea de la solución
+     */
+    private SolutionSnapshot snapshot(int rival, int t) {
+        int[] starts = new int[4];
+        int i = 0;
+        for (int p = 0; p < 4; p++) {
+            int c = p == 0 || p == rival ? 0 : 1;
+            starts[i++] = (p * 2 + c) * 3 + t;
+        }
+        return new SolutionSnapshot(0, 0, new int[][]{ starts });
+    }
+
+    @Test
+    public void packedSnapshotTest() {
+        SolutionSnapshot snapshot = snapshot(1, 2);
+        assertArrayEquals(new int[]{ 2, 8, 17, 23 }, snapshot.getMatchStarts(0));
+        // Las diferencias entre comienzos consecutivos ocupan un byte cada una
+        assertEquals(4, snapshot.getPackedSize());
+
+        SolutionSnapshot copy = new SolutionSnapshot(5, 10, new int[][]{ snapshot.getMatchStarts(0) });
+        assertEquals(5, copy.getScore());
+        assertEquals(10, copy.getTime());
+        assertArrayEquals(snapshot.getMatchStarts(0), copy.getMatchStarts(0));
+
+        int[][][] matrix = copy.toMatrix(0, event);
+        assertEquals(1, matrix[0][0][2]);
+        assertEquals(1, matrix[3][1][2]);
+        assertEquals(0, matrix[0][0][1]);
+        assertEquals(0, matrix[2][0][2]);
+
+        // Una categoría sin partidos no ocupa espacio
+        assertEquals(0, new SolutionSnapshot(0, 0, new int[][]{ {} }).getPackedSize());
+    }
+
+    @Test
+    public void sparseSnapshotTest() {
+        // Los comienzos se ordenan y se guardan sin repetir, y su tamaño depende de las diferencias entre ellos, no
+        // de la posición más alta
+        int[] starts = { 3_000_000, 0, 127, 128, 3_000_000, Integer.MAX_VALUE, 16_511 };
+        SolutionSnapshot snapshot = new SolutionSnapshot(0, 0, new int[][]{ starts, { 5 } });
+
+        assertArrayEquals(new int[]{ 0, 127, 128, 16_511, 3_000_000, Integer.MAX_VALUE }, snapshot.getMatchStarts(0));
+        assertArrayEquals(new int[]{ 5 }, snapshot.getMatchStarts(1));
+        assertEquals(1 + 1 + 1 + 2 + 4 + 5 + 1, snapshot.getPackedSize());
+
+        try {
+            new SolutionSnapshot(0, 0, new int[][]{ { 4, -1 } });
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Match starts cannot be negative", e.getMessage());
+        }
+    }
+
+    @Test
+    public void getTest() {
+        ScheduleCache cache = new ScheduleCache(tournament, 2);
+        assertEquals(2, cache.getCapacity());
+        assertFalse(cache.contains(1));
+
+        Map<Event, EventSchedule> schedules = cache.get(1, snapshot(1, 0));
+        assertTrue(cache.contains(1));
+
+        List<Match> matches = schedules.get(event).getMatches();
+        assertEquals(2, matches.size());
+        assertEquals(Arrays.asList(event.getPlayers().get(0), event.getPlayers().get(1)), matches.get(0).getPlayers());
+        assertEquals(event.getLocalizations().get(0), matches.get(0).getLocalization());
+        assertEquals(event.getTimeslots().get(0), matches.get(0).getStartTimeslot());
+
+        // Si los horarios están en la caché no se reconstruyen
+        assertSame(schedules, cache.get(1, snapshot(2, 1)));
+
+        cache.put(2, cache.get(3, snapshot(2, 1)));
+        assertTrue(cache.contains(2));
+        assertTrue(cache.contains(3));
+        assertFalse(cache.contains(1));
+
+        // Se descartan los horarios de la solución usada hace más tiempo
+        cache.get(2, snapshot(2, 1));
+        cache.get(4, snapshot(3, 1));
+        assertTrue(cache.contains(2));
+        assertFalse(cache.contains(3));
+
+        Map<Event, EventSchedule> rebuilt = cache.get(1, snapshot(1, 0));
+        assertNotSame(schedules, rebuilt);
+        assertEquals(matches.toString(), rebuilt.get(event).getMatches().toString());
+
+        cache.clear();
+        assertFalse(cache.contains(1));
+        assertFalse(cache.contains(2));
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        try {
+            new ScheduleCache(null, 1);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+
+        try {
+            new ScheduleCache(tournament, 0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Cache capacity cannot be less than one", e.getMessage());
+        }
+
+        ScheduleCache cache = new ScheduleCache(tournament, 1);
+        try {
+            cache.get(1, null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+
+        try {
+            cache.put(1, null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+    }
+}
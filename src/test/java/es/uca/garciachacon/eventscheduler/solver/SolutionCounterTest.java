@@ -0,0 +1,147 @@
+package es.uca.garciachacon.eventscheduler.solver;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Player;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Timeslot;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link SolutionCounter}.
+ */
+public class SolutionCounterTest {
+    private Tournament tournament;
+
+    @Before
+    public void setUp() {
+        // 4 jugadores en 2 timeslots de una pista: 3 emparejamientos posibles y 2 órdenes de los partidos
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(4, "Player"),
+                TournamentUtils.buildGenericLocalizations(1, "Court"),
+                TournamentUtils.buildSimpleTimeslots(2)
+        );
+        event.setTimeslotsPerMatch(1);
+        tournament = new Tournament("Tournament", event);
+    }
+
+    @Test
+    public void countTest() {
+        SolutionCounter.Count count = new SolutionCounter(tournament).count(0, 0);
+        assertEquals(6, count.getSolutions());
+        assertTrue(count.isExact());
+        assertTrue(count.getTime() >= 0);
+        assertTrue(count.toString().startsWith("6 solutions"));
+
+        // El recuento no altera el proceso de resolución del torneo
+        assertEquals(TournamentSolver.ResolutionState.READY, tournament.getSolver().getResolutionState());
+        assertEquals(6, tournament.getSolver().countSolutions(0, 0).getSolutions());
+
+        count = new SolutionCounter(tournament).count(4, 0);
+        assertEquals(4, count.getSolutions());
+        assertFalse(count.isExact());
+        assertTrue(count.toString().startsWith(">= 4 solutions"));
+    }
+
+    @Test
+    public void parallelCountTest() {
+        SolutionCounter counter = new SolutionCounter(tournament);
+        counter.setParallelism(4);
+        assertEquals(4, counter.getParallelism());
+
+        SolutionCounter.Count count = counter.count(0, 0);
+        assertEquals(6, count.getSolutions());
+        assertTrue(count.isExact());
+
+        count = counter.count(3, 0);
+        assertEquals(3, count.getSolutions());
+        assertFalse(count.isExact());
+
+        Tournament tournament = TournamentUtils.getSimpleTournament();
+        counter = new SolutionCounter(tournament);
+        counter.setParallelism(2);
+        assertEquals(new SolutionCounter(tournament).count(500, 0).getSolutions(),
+                counter.count(500, 0).getSolutions()
+        );
+    }
+
+    @Test
+    public void estimateTest() {
+        SolutionCounter counter = new SolutionCounter(tournament);
+        counter.setSeed(1);
+        assertEquals(6, counter.estimate(2000), 1);
+
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(2, "Player"),
+                TournamentUtils.buildGenericLocalizations(1, "Court"),
+                TournamentUtils.buildSimpleTimeslots(3)
+        );
+        event.setTimeslotsPerMatch(1);
+        counter = new SolutionCounter(new Tournament("Tournament", event));
+        counter.setSeed(1);
+        assertEquals(3, counter.estimate(2000), 0.5);
+    }
+
+    @Test
+    public void unfeasibleTest() {
+        Event event = tournament.getEvents().get(0);
+        List<Player> players = event.getPlayers();
+        List<Timeslot> timeslots = event.getTimeslots();
+        event.addUnavailablePlayerAtTimeslots(players.get(0), new HashSet<>(timeslots));
+
+        SolutionCounter counter = new SolutionCounter(tournament);
+        SolutionCounter.Count count = counter.count(0, 0);
+        assertEquals(0, count.getSolutions());
+        assertTrue(count.isExact());
+        assertEquals(0, counter.estimate(10), 0);
+
+        counter.setParallelism(2);
+        assertEquals(0, counter.count(0, 0).getSolutions());
+    }
+
+    @Test
+    public void invalidArgumentsTest() {
+        SolutionCounter counter = new SolutionCounter(tournament);
+
+        try {
+            counter.count(-1, 0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Limit cannot be negative", e.getMessage());
+        }
+
+        try {
+            counter.count(0, -1);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Timeout cannot be negative", e.getMessage());
+        }
+
+        try {
+            counter.setParallelism(0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Parallelism cannot be less than one", e.getMessage());
+        }
+
+        try {
+            counter.estimate(0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Probes cannot be less than one", e.getMessage());
+        }
+
+        try {
+            new SolutionCounter(null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+    }
+}
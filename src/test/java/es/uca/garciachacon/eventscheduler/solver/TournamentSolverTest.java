@@ -19,6 +19,10 @@ import org.junit.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -1364,6 +1368,116 @@ public class TournamentSolverTest {
         assertEquals(100, new Double(new InverseSchedule(tournament).getOccupationRatio() * 100).intValue());
     }
 
+    @Test
+    public void scheduleExecutorTest() throws ValidationException {
+        List<Localization> courts = TournamentUtils.buildGenericLocalizations(3, "Court");
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(8);
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= 3; i++)
+            events.add(new Event("Category " + i,
+                    TournamentUtils.buildGenericPlayers(8, "PCat" + i),
+                    courts,
+                    timeslots
+            ));
+
+        Tournament tournament = new Tournament("Tournament", events);
+        TournamentSolver solver = tournament.getSolver();
+        solver.setSearchStrategy(SearchStrategy.MINDOM_UB);
+
+        assertSame(ForkJoinPool.commonPool(), solver.getScheduleExecutor());
+
+        AtomicInteger tasks = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            solver.setScheduleExecutor(command -> {
+                tasks.incrementAndGet();
+                executor.execute(command);
+            });
+
+            assertTrue(tournament.solve());
+            assertEquals(events.size(), tasks.get());
+
+            // Los horarios construidos en paralelo coinciden con los construidos secuencialmente
+            Map<Event, EventSchedule> schedules = new HashMap<>(tournament.getEventSchedules());
+            solver.setScheduleExecutor(Runnable::run);
+            assertTrue(tournament.solve());
+
+            for (Event event : events)
+                assertEquals(schedules.get(event).getMatches().toString(),
+                        tournament.getEventSchedules().get(event).getMatches().toString()
+                );
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            solver.setScheduleExecutor(null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void solutionHistoryTest() throws ValidationException {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(8, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(6)
+        );
+        Tournament tournament = new Tournament("Tournament", event);
+        TournamentSolver solver = tournament.getSolver();
+        solver.setSearchStrategy(SearchStrategy.MINDOM_UB);
+
+        assertEquals(TournamentSolver.DEFAULT_SOLUTION_HISTORY_SIZE, solver.getSolutionHistorySize());
+        assertFalse(solver.getSolution(1).isPresent());
+
+        assertTrue(tournament.solve());
+        List<String> matches = new ArrayList<>();
+        matches.add(tournament.getEventSchedules().get(event).getMatches().toString());
+        for (int i = 0; i < 11; i++) {
+            assertTrue(tournament.nextSchedules());
+            matches.add(tournament.getEventSchedules().get(event).getMatches().toString());
+        }
+
+        assertEquals(12, solver.getFoundSolutions());
+        assertEquals(12, solver.getVisitedSolutions().size());
+
+        // Los horarios de las soluciones visitadas se recuperan sin alterar la búsqueda, estén o no en la caché
+        for (long k = 1; k <= 12; k++)
+            assertEquals(matches.get((int) k - 1),
+                    solver.getSolution(k).get().get(event).getMatches().toString()
+            );
+        assertEquals(12, solver.getFoundSolutions());
+
+        // Cada solución ocupa como mucho un bit por hueco de la categoría
+        SolutionSnapshot snapshot = solver.getVisitedSolution(1).get();
+        assertTrue(snapshot.getPackedSize() <= (8 * 2 * 6 / Long.SIZE + 1) * Long.BYTES);
+        assertEquals(8, snapshot.getMatchStarts(0).length);
+
+        assertTrue(tournament.nextSchedules());
+        assertEquals(13, solver.getFoundSolutions());
+
+        solver.setSolutionHistorySize(4);
+        assertEquals(new HashSet<>(Arrays.asList(10L, 11L, 12L, 13L)), solver.getVisitedSolutions());
+        assertFalse(solver.getSolution(9).isPresent());
+        assertFalse(solver.getVisitedSolution(9).isPresent());
+        assertTrue(solver.getSolution(10).isPresent());
+
+        // Al reiniciar la resolución se descarta el historial
+        assertTrue(tournament.solve());
+        assertEquals(Collections.singleton(1L), solver.getVisitedSolutions());
+        assertFalse(solver.getSolution(2).isPresent());
+
+        try {
+            solver.setSolutionHistorySize(0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Solution history size cannot be less than one", e.getMessage());
+        }
+    }
+
     @Test
     public void multiTournamentWithFewSolutionsCaseTest() throws ValidationException {
         List<Localization> courts = TournamentUtils.buildGenericLocalizations(1, "Court");
@@ -2423,4 +2537,203 @@ public class TournamentSolverTest {
             assertEquals("No optimization mode was configured", e.getMessage());
         }
     }
+
+    @Test
+    public void optimalityGapTest() throws ValidationException {
+        Tournament tournament = new Tournament("Tournament", new Event("Event",
+                TournamentUtils.buildGenericPlayers(6, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(6)
+        ));
+        TournamentSolver solver = tournament.getSolver();
+
+        try {
+            solver.getObjectiveBound();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("No optimization mode was configured", e.getMessage());
+        }
+
+        solver.setOptimization(TournamentSolver.OptimizationMode.OPTIMAL, ResolutionPolicy.MAXIMIZE);
+
+        assertEquals(TournamentSolver.OptimizationMode.OPTIMAL, solver.getOptimizationMode());
+        assertEquals(ResolutionPolicy.MAXIMIZE, solver.getResolutionPolicy());
+        assertFalse(solver.getBestSolution().isPresent());
+        assertTrue(solver.getImprovingSolutions().isEmpty());
+
+        try {
+            solver.getOptimalityGap();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals("There cannot be an optimality gap if there is no solution", e.getMessage());
+        }
+
+        assertTrue(tournament.solve());
+
+        assertFalse(solver.isAnytimeSolution());
+        assertFalse(solver.getImprovingSolutions().isEmpty());
+        assertTrue(solver.getBestSolution().isPresent());
+
+        SolutionSnapshot best = solver.getBestSolution().get();
+        assertEquals(32, best.getScore());
+        assertEquals(32, solver.getObjectiveBound());
+        assertEquals(0, solver.getOptimalityGap(), 0);
+        assertEquals(6, best.getMatchStarts(0).length);
+
+        List<SolutionSnapshot> improvingSolutions = solver.getImprovingSolutions();
+        for (int i = 1; i < improvingSolutions.size(); i++)
+            assertTrue(improvingSolutions.get(i).getScore() > improvingSolutions.get(i - 1).getScore());
+
+        // La instantánea reproduce el horario de la solución
+        Event event = tournament.getEvents().get(0);
+        EventSchedule snapshotSchedule = new EventSchedule(event, best.toMatrix(0, event));
+        assertEquals(tournament.getEventSchedules().get(event).getMatches().toString(),
+                snapshotSchedule.getMatches().toString());
+
+        ResolutionData data = solver.getResolutionData();
+        assertTrue(data.isOptimizationAvailable());
+        assertEquals(32, data.getBestScore());
+        assertEquals(32, data.getObjectiveBound());
+        assertFalse(data.isAnytimeSolution());
+        assertThat(data.toString(), StringContains.containsString("Optimization features"));
+    }
+
+    @Test
+    public void objectiveBoundTest() throws ValidationException {
+        Tournament tournament = new Tournament("Tournament", new Event("Event",
+                TournamentUtils.buildGenericPlayers(6, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(6)
+        ));
+        TournamentSolver solver = tournament.getSolver();
+        solver.setOptimization(TournamentSolver.OptimizationMode.STEP, ResolutionPolicy.MINIMIZE);
+
+        assertTrue(tournament.solve());
+
+        // Cuatro comienzos en el penúltimo timeslot (2 puntos cada uno) y dos en el cuarto (4 puntos cada uno)
+        assertEquals(16, solver.getObjectiveBound());
+        assertTrue(solver.getScore() >= solver.getObjectiveBound());
+        assertTrue(solver.getOptimalityGap() >= 0);
+    }
+
+    @Test
+    public void anytimeSolutionTest() throws InterruptedException {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(32, "Player"),
+                TournamentUtils.buildGenericLocalizations(6, "Court"),
+                TournamentUtils.buildSimpleTimeslots(10)
+        );
+        event.setMatchesPerPlayer(2);
+
+        tournament = new Tournament("Tournament", event);
+        tournament.getSolver().setSearchStrategy(SearchStrategy.MINDOM_UB);
+        tournament.getSolver().setOptimization(TournamentSolver.OptimizationMode.OPTIMAL, ResolutionPolicy.MAXIMIZE);
+
+        Thread solveThread = new Thread(() -> {
+            try {
+                assertTrue(tournament.solve());
+            } catch (ValidationException e) {
+                fail("Unexpected ValidationException");
+            }
+        });
+        solveThread.start();
+
+        // Se detiene la búsqueda del óptimo en cuanto se encuentra la primera solución que mejora la puntuación
+        while (tournament.getSolver().getResolutionState() != TournamentSolver.ResolutionState.COMPUTING ||
+                tournament.getSolver().getImprovingSolutions().isEmpty())
+            Thread.sleep(1);
+        tournament.getSolver().stopResolutionProcess();
+
+        solveThread.join();
+
+        TournamentSolver solver = tournament.getSolver();
+        assertEquals(TournamentSolver.ResolutionState.STARTED, solver.getResolutionState());
+        assertTrue(solver.isAnytimeSolution());
+        assertEquals(1, solver.getFoundSolutions());
+
+        // Los horarios del torneo son los de la mejor solución encontrada
+        SolutionSnapshot best = solver.getBestSolution().get();
+        assertEquals(new EventSchedule(event, best.toMatrix(0, event)).getMatches().toString(),
+                tournament.getEventSchedules().get(event).getMatches().toString()
+        );
+
+        ResolutionData data = solver.getResolutionData();
+        assertTrue(data.isOptimizationAvailable());
+        assertTrue(data.isAnytimeSolution());
+        assertEquals(best.getScore(), data.getBestScore());
+        assertEquals(solver.getObjectiveBound(), data.getObjectiveBound());
+        assertTrue(data.getObjectiveBound() >= best.getScore());
+        assertEquals(solver.getOptimalityGap(), data.getOptimalityGap(), 0);
+        assertThat(data.toString(), StringContains.containsString("Anytime solution: Yes"));
+
+        // No se continúa la búsqueda detenida: la siguiente solución no existe y el solver de Choco no avanza
+        long chocoSolutions = solver.getInternalSolver().getMeasures().getSolutionCount();
+        assertFalse(solver.getSolution().isPresent());
+        assertEquals(TournamentSolver.ResolutionState.FINISHED, solver.getResolutionState());
+        assertEquals(chocoSolutions, solver.getInternalSolver().getMeasures().getSolutionCount());
+        assertEquals(1, solver.getFoundSolutions());
+    }
+
+    @Test
+    public void copyConstructorOptimizationTest() {
+        Tournament tournament = new Tournament("Tournament", new Event("Event",
+                TournamentUtils.buildGenericPlayers(4, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(4)
+        ));
+        TournamentSolver solver = tournament.getSolver();
+        solver.setOptimization(TournamentSolver.OptimizationMode.STEP_STRICT, ResolutionPolicy.MINIMIZE);
+
+        TournamentSolver copy = new TournamentSolver(solver);
+        assertEquals(TournamentSolver.OptimizationMode.STEP_STRICT, copy.getOptimizationMode());
+        assertEquals(ResolutionPolicy.MINIMIZE, copy.getResolutionPolicy());
+    }
+
+    @Test
+    public void domainReductionTest() {
+        List<Player> players = TournamentUtils.buildGenericPlayers(8, "Player");
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(8);
+        Event event = new Event("Event", players, TournamentUtils.buildGenericLocalizations(2, "Court"), timeslots);
+        event.setPlayersPerTeam(2);
+        event.addTeam(players.get(0), players.get(1));
+        event.addUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(3));
+        event.addPlayerAtTimeslots(players.get(4), new HashSet<>(timeslots.subList(0, 2)));
+
+        TournamentSolver solver = new Tournament("Tournament", event).getSolver();
+        assertTrue(solver.execute());
+
+        IntVarMatrix x = new IntVarMatrix(solver.getMatchesModel()[0]);
+        IntVarMatrix g = new IntVarMatrix(solver.getMatchesBeginningsModel()[0]);
+
+        for (int c = 0; c < 2; c++) {
+            // La no disponibilidad del jugador 0 se extiende a su compañero de equipo y a la ventana del partido
+            for (int p = 0; p < 2; p++) {
+                assertTrue(x.isFixedToZero(p, c, 3));
+                assertTrue(g.isFixedToZero(p, c, 2));
+                assertTrue(g.isFixedToZero(p, c, 3));
+            }
+
+            // Los timeslots asignados al jugador 4 también reducen la matriz de horario
+            assertTrue(g.isFixedToZero(4, c, 2));
+            assertTrue(x.isFixedToZero(4, c, 3));
+            assertFalse(x.isFixedToZero(4, c, 2));
+        }
+
+        assertEquals(solver.getProblemModel().getEvent(0).getNumberOfFeasibleStarts(4), 2 * 2);
+    }
+
+    /**
+     * Acceso a una matriz de variables del modelo de una categoría
+     */
+    private static class IntVarMatrix {
+        private final org.chocosolver.solver.variables.IntVar[][][] vars;
+
+        IntVarMatrix(org.chocosolver.solver.variables.IntVar[][][] vars) {
+            this.vars = vars;
+        }
+
+        boolean isFixedToZero(int p, int c, int t) {
+            return vars[p][c][t].isInstantiated() && vars[p][c][t].getValue() == 0;
+        }
+    }
 }
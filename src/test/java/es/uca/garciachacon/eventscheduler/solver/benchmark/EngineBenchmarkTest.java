@@ -0,0 +1,86 @@
+package es.uca.garciachacon.eventscheduler.solver.benchmark;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Event;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.Tournament;
+import es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolver;
+import es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolver.Strategy;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link EngineBenchmark}.
+ */
+public class EngineBenchmarkTest {
+
+    @Test
+    public void runTest() {
+        EngineBenchmark benchmark = new EngineBenchmark();
+        benchmark.setRepetitions(2);
+
+        benchmark.addEngine("Tabu", tournament -> {
+            LocalSearchSolver solver = new LocalSearchSolver(tournament);
+            solver.setSeed(1);
+            return solver;
+        }).addEngine("Greedy", tournament -> {
+            LocalSearchSolver solver = new LocalSearchSolver(tournament);
+            solver.setStrategy(Strategy.GREEDY);
+            return solver;
+        });
+
+        assertEquals(Arrays.asList("Tabu", "Greedy"), new ArrayList<>(benchmark.getEngines()));
+        assertEquals(2, benchmark.getRepetitions());
+
+        Supplier<Tournament> instance = () -> new Tournament("Tournament",
+                new Event("Event",
+                        TournamentUtils.buildGenericPlayers(8, "Player"),
+                        TournamentUtils.buildGenericLocalizations(2, "Court"),
+                        TournamentUtils.buildSimpleTimeslots(8)
+                )
+        );
+
+        List<EngineBenchmark.Result> results = benchmark.run("Simple", instance);
+        assertEquals(2, results.size());
+
+        EngineBenchmark.Result tabu = results.get(0);
+        assertEquals("Tabu", tabu.getEngine());
+        assertEquals("Simple", tabu.getInstance());
+        assertEquals(2, tabu.getRuns());
+        assertEquals(2, tabu.getSolved());
+        assertTrue(tabu.getMinTime() <= tabu.getMeanTime());
+        assertTrue(tabu.getMeanTime() <= tabu.getMaxTime());
+        assertTrue(tabu.toString().contains("solved 2/2"));
+
+        // La construcción voraz resuelve un problema tan holgado como éste
+        assertEquals("Greedy", results.get(1).getEngine());
+        assertEquals(2, results.get(1).getSolved());
+    }
+
+    @Test
+    public void configurationTest() {
+        EngineBenchmark benchmark = EngineBenchmark.withDefaultEngines(1000);
+        assertTrue(benchmark.getEngines().contains("Choco"));
+        for (Strategy strategy : Strategy.values())
+            assertTrue(benchmark.getEngines().contains(strategy.toString()));
+
+        try {
+            benchmark.addEngine("Choco", LocalSearchSolver::new);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Engine Choco already registered", e.getMessage());
+        }
+
+        try {
+            benchmark.setRepetitions(0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Repetitions cannot be less than one", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package es.uca.garciachacon.eventscheduler.solver.localsearch;
+
+import es.uca.garciachacon.eventscheduler.data.model.schedule.EventSchedule;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.Match;
+import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
+import es.uca.garciachacon.eventscheduler.data.validation.validable.ValidationException;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.EngineSelection;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.MatchupMode;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.ResolutionState;
+import es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolver.Strategy;
+import es.uca.garciachacon.eventscheduler.solver.model.EventModel;
+import es.uca.garciachacon.eventscheduler.solver.model.ProblemModel;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la clase {@link LocalSearchSolver}.
+ */
+public class LocalSearchSolverTest {
+
+    @Test
+    public void constructorTest() {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(8, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(8)
+        );
+        Tournament tournament = new Tournament("Tournament", event);
+        tournament.getSolver().setResolutionTimeLimit(5000);
+
+        LocalSearchSolver solver = new LocalSearchSolver(tournament.getSolver());
+        assertSame(tournament, solver.getTournament());
+        assertEquals(5000, solver.getResolutionTimeLimit());
+        assertEquals(Strategy.TABU, solver.getStrategy());
+        assertEquals(LocalSearchSolver.DEFAULT_MAX_ITERATIONS, solver.getMaxIterations());
+        assertEquals(ResolutionState.READY, solver.getResolutionState());
+        assertEquals(0, solver.getFoundSolutions());
+        assertEquals(-1, solver.getViolations());
+        assertFalse(solver.getSolution().isPresent());
+
+        try {
+            solver.setResolutionTimeLimit(-1);
+            fail("IllegalArgumentException expected for invalid resolution time limit value");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Resolution time limit cannot be less than zero", e.getMessage());
+        }
+
+        try {
+            solver.setMaxIterations(0);
+            fail("IllegalArgumentException expected for invalid max iterations value");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Max iterations cannot be less than one", e.getMessage());
+        }
+    }
+
+    @Test
+    public void simpleTournamentTest() {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(8, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(8),
+                2,
+                2,
+                2
+        );
+        Tournament tournament = new Tournament("Tournament", event);
+
+        LocalSearchSolver solver = new LocalSearchSolver(tournament);
+        solver.setSeed(1);
+
+        assertTrue(solver.execute());
+        assertEquals(ResolutionState.STARTED, solver.getResolutionState());
+        assertEquals(0, solver.getViolations());
+        assertEquals(1, solver.getFoundSolutions());
+
+        Optional<Map<Event, EventSchedule>> schedules = solver.getSolution();
+        assertTrue(schedules.isPresent());
+        assertValidSchedules(tournament, schedules.get());
+
+        assertFalse(solver.getSolution().isPresent());
+        assertEquals(ResolutionState.FINISHED, solver.getResolutionState());
+        assertTrue(solver.hasResolutionProcessFinished());
+    }
+
+    @Test
+    public void simulatedAnnealingTest() {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(12, "Player"),
+                TournamentUtils.buildGenericLocalizations(3, "Court"),
+                TournamentUtils.buildSimpleTimeslots(12),
+                2,
+                2,
+                2
+        );
+        Tournament tournament = new Tournament("Tournament", event);
+
+        LocalSearchSolver solver = new LocalSearchSolver(tournament);
+        solver.setStrategy(Strategy.SIMULATED_ANNEALING);
+        solver.setSeed(7);
+
+        assertTrue(solver.execute());
+        assertValidSchedules(tournament, solver.getSolution().get());
+    }
+
+    @Test
+    public void greedyTest() throws ValidationException {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(8, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(8)
+        );
+        Tournament tournament = new Tournament("Tournament", event);
+
+        LocalSearchSolver solver = new LocalSearchSolver(tournament);
+        solver.setStrategy(Strategy.GREEDY);
+        solver.setSeed(1);
+
+        assertTrue(solver.execute());
+        assertEquals(0, solver.getIterations());
+        assertValidSchedules(tournament, solver.getSolution().get());
+
+        tournament.getSolver().setEngineSelection(EngineSelection.GREEDY);
+        assertTrue(tournament.solve());
+        assertEquals(Strategy.GREEDY, ((LocalSearchSolver) tournament.getEngine()).getStrategy());
+        assertValidSchedules(tournament, tournament.getEventSchedules());
+    }
+
+    @Test
+    public void tournamentWithRestrictionsTest() {
+        List<Player> players = TournamentUtils.buildGenericPlayers(8, "Player");
+        List<Localization> courts = TournamentUtils.buildGenericLocalizations(2, "Court");
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(10);
+
+        Event event = new Event("Event", players, courts, timeslots, 2, 1, 2);
+        event.setMatchupMode(MatchupMode.ALL_DIFFERENT);
+        event.addBreak(timeslots.get(4));
+        event.addUnavailablePlayerAtTimeslotRange(players.get(0), timeslots.get(0), timeslots.get(3));
+        event.addUnavailableLocalizationAtTimeslot(courts.get(1), timeslots.get(9));
+        event.addPlayerInLocalization(players.get(3), courts.get(0));
+        event.addMatchup(players.get(1), players.get(2));
+
+        Tournament tournament = new Tournament("Tournament", event);
+
+        LocalSearchSolver solver = new LocalSearchSolver(tournament);
+        solver.setSeed(3);
+
+        assertTrue(solver.execute());
+        Map<Event, EventSchedule> schedules = solver.getSolution().get();
+        assertValidSchedules(tournament, schedules);
+
+        List<Match> matches = schedules.get(event).getMatches();
+        assertTrue(matches.stream()
+                .anyMatch(m -> m.getPlayers().containsAll(Arrays.asList(players.get(1), players.get(2)))));
+
+        // Todos los emparejamientos son distintos
+        Set<Set<Player>> matchups = new HashSet<>();
+        matches.forEach(m -> assertTrue(matchups.add(new HashSet<>(m.getPlayers()))));
+    }
+
+    @Test
+    public void tournamentWithTeamsTest() {
+        List<Player> players = TournamentUtils.buildGenericPlayers(8, "Player");
+        Event event = new Event("Event",
+                players,
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(6),
+                1,
+                2,
+                4
+        );
+        event.setPlayersPerTeam(2);
+        for (int i = 0; i < players.size(); i += 2)
+            event.addTeam(players.get(i), players.get(i + 1));
+
+        Tournament tournament = new Tournament("Tournament", event);
+
+        LocalSearchSolver solver = new LocalSearchSolver(tournament);
+        solver.setSeed(5);
+
+        assertTrue(solver.execute());
+        Map<Event, EventSchedule> schedules = solver.getSolution().get();
+        assertValidSchedules(tournament, schedules);
+
+        for (Match match : schedules.get(event).getMatches())
+            for (Team team : event.getTeams())
+                assertTrue(match.getPlayers().containsAll(team.getPlayers()) ||
+                        Collections.disjoint(match.getPlayers(), team.getPlayers()));
+    }
+
+    @Test
+    public void multiEventWithSharedResourcesTest() {
+        List<Player> players = TournamentUtils.buildGenericPlayers(12, "Player");
+        List<Localization> courts = TournamentUtils.buildGenericLocalizations(2, "Court");
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(12);
+
+        Event cat1 = new Event("Category 1", players.subList(0, 8), courts, timeslots, 1, 2, 2);
+        Event cat2 = new Event("Category 2", players.subList(4, 12), courts, timeslots.subList(2, 12), 1, 2, 2);
+
+        Tournament tournament = new Tournament("Tournament", cat1, cat2);
+
+        LocalSearchSolver solver = new LocalSearchSolver(tournament);
+        solver.setSeed(11);
+
+        assertTrue(solver.execute());
+        assertValidSchedules(tournament, solver.getSolution().get());
+    }
+
+    @Test
+    public void conflictedMatchesTest() {
+        List<Player> players = TournamentUtils.buildGenericPlayers(12, "Player");
+        List<Localization> courts = TournamentUtils.buildGenericLocalizations(2, "Court");
+        List<Timeslot> timeslots = TournamentUtils.buildSimpleTimeslots(6);
+
+        Event cat1 = new Event("Category 1", players.subList(0, 8), courts, timeslots, 2, 2, 2);
+        Event cat2 = new Event("Category 2", players.subList(4, 12), courts, timeslots.subList(1, 6), 1, 1, 2);
+
+        Tournament tournament = new Tournament("Tournament", cat1, cat2);
+
+        Random random = new Random(3);
+        LocalSearchModel model = new LocalSearchModel(new ProblemModel(tournament), random);
+        model.initialize();
+        assertConflictedMatches(model);
+        assertTrue(model.getNumberOfConflicted() > 0);
+
+        int nMatches = model.getNumberOfMatches();
+        for (int i = 0; i < 2000; i++) {
+            int m = random.nextInt(nMatches);
+            int e = model.getEvent(m);
+            int other = random.nextInt(nMatches);
+
+            if (random.nextBoolean() && other != m && model.getEvent(other) == e &&
+                    model.inDomain(m, model.encode(e, model.getCourt(other), model.getStart(other))) &&
+                    model.inDomain(other, model.encode(e, model.getCourt(m), model.getStart(m)))) {
+                int delta = model.swapDelta(m, other);
+                int violations = model.getViolations();
+                model.swap(m, other);
+                assertEquals(violations + delta, model.getViolations());
+            } else {
+                int[] domain = model.getDomain(m);
+                int cell = domain[random.nextInt(domain.length)];
+                int court = model.decodeCourt(e, cell), start = model.decodeStart(e, cell);
+                int delta = model.delta(m, court, start);
+                int violations = model.getViolations();
+                model.move(m, court, start);
+                assertEquals(violations + delta, model.getViolations());
+            }
+
+            assertConflictedMatches(model);
+        }
+    }
+
+    @Test
+    public void incompleteTest() {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(8, "Player"),
+                TournamentUtils.buildGenericLocalizations(1, "Court"),
+                TournamentUtils.buildSimpleTimeslots(7)
+        );
+        Tournament tournament = new Tournament("Tournament", event);
+
+        LocalSearchSolver solver = new LocalSearchSolver(tournament);
+        solver.setMaxIterations(100);
+
+        assertFalse(solver.execute());
+        assertEquals(ResolutionState.INCOMPLETE, solver.getResolutionState());
+        assertEquals(100, solver.getIterations());
+        assertTrue(solver.getViolations() > 0);
+        assertFalse(solver.getSolution().isPresent());
+        assertFalse(solver.hasSolutions());
+    }
+
+    @Test
+    public void tournamentEngineSelectionTest() throws ValidationException {
+        Event event = new Event("Event",
+                TournamentUtils.buildGenericPlayers(8, "Player"),
+                TournamentUtils.buildGenericLocalizations(2, "Court"),
+                TournamentUtils.buildSimpleTimeslots(8)
+        );
+        Tournament tournament = new Tournament("Tournament", event);
+        TournamentSolver tournamentSolver = tournament.getSolver();
+
+        assertEquals(EngineSelection.AUTO, tournamentSolver.getEngineSelection());
+        assertSame(tournamentSolver, tournament.getEngine());
+        assertEquals(2 * 8 * 2 * 8, TournamentSolver.getModelSize(tournament));
+
+        tournamentSolver.setEngineSelection(EngineSelection.LOCAL_SEARCH);
+        assertTrue(tournament.solve());
+
+        assertTrue(tournament.getEngine() instanceof LocalSearchSolver);
+        assertEquals(ResolutionState.STARTED, tournament.getEngine().getResolutionState());
+        assertNotNull(tournament.getSchedule());
+        assertEquals(4, tournament.getSchedule().getMatches().size());
+        assertValidSchedules(tournament, tournament.getEventSchedules());
+
+        assertFalse(tournament.nextSchedules());
+        assertNull(tournament.getSchedule());
+        assertEquals(ResolutionState.FINISHED, tournament.getEngine().getResolutionState());
+
+        try {
+            tournamentSolver.setEngineSelection(null);
+            fail("NullPointerException expected");
+        } catch (NullPointerException e) {
+            assertEquals(EngineSelection.LOCAL_SEARCH, tournamentSolver.getEngineSelection());
+        }
+
+        assertEquals(EngineSelection.LOCAL_SEARCH, new TournamentSolver(tournamentSolver).getEngineSelection());
+    }
+
+    /**
+     * Comprueba que los partidos en conflicto y el número de violaciones que mantiene el modelo de forma incremental
+     * coinciden con los que resultan de recorrer todos los partidos.
+     */
+    private void assertConflictedMatches(LocalSearchModel model) {
+        ProblemModel problemModel = model.getProblemModel();
+        int nTimeslots = problemModel.getTimeslots().size();
+        int[][] localizationUse = new int[problemModel.getLocalizations().size()][nTimeslots];
+        int[][] playerUse = new int[problemModel.getPlayers().size()][nTimeslots];
+
+        int nMatches = model.getNumberOfMatches();
+        for (int m = 0; m < nMatches; m++) {
+            EventModel event = problemModel.getEvent(model.getEvent(m));
+            for (int i = 0; i < event.getTimeslotsPerMatch(); i++) {
+                int gt = event.getGlobalTimeslot(model.getStart(m) + i);
+                localizationUse[event.getGlobalLocalization(model.getCourt(m))][gt]++;
+                for (int p : model.getPlayers(m))
+                    playerUse[event.getGlobalPlayer(p)][gt]++;
+            }
+        }
+
+        int violations = 0;
+        for (int[][] use : new int[][][]{ localizationUse, playerUse })
+            for (int[] row : use)
+                for (int count : row)
+                    violations += Math.max(0, count - 1);
+        assertEquals(violations, model.getViolations());
+
+        Set<Integer> expected = new HashSet<>();
+        for (int m = 0; m < nMatches; m++) {
+            EventModel event = problemModel.getEvent(model.getEvent(m));
+            for (int i = 0; i < event.getTimeslotsPerMatch(); i++) {
+                int gt = event.getGlobalTimeslot(model.getStart(m) + i);
+                if (localizationUse[event.getGlobalLocalization(model.getCourt(m))][gt] > 1)
+                    expected.add(m);
+                for (int p : model.getPlayers(m))
+                    if (playerUse[event.getGlobalPlayer(p)][gt] > 1)
+                        expected.add(m);
+            }
+        }
+
+        Set<Integer> conflicted = new HashSet<>();
+        for (int i = 0; i < model.getNumberOfConflicted(); i++)
+            assertTrue(conflicted.add(model.getConflicted(i)));
+        assertEquals(expected, conflicted);
+
+        for (int m = 0; m < nMatches; m++)
+            assertEquals(expected.contains(m), model.isConflicted(m));
+    }
+
+    /**
+     * Comprueba que los horarios cumplen las reglas del torneo que la búsqueda local evalúa como violaciones, además
+     * del número de partidos de cada jugador y la disponibilidad.
+     */
+    private void assertValidSchedules(Tournament tournament, Map<Event, EventSchedule> schedules) {
+        Map<Localization, Set<Timeslot>> occupiedLocalizations = new HashMap<>();
+        Map<Player, Set<Timeslot>> occupiedPlayers = new HashMap<>();
+
+        for (Event event : tournament.getEvents()) {
+            List<Match> matches = schedules.get(event).getMatches();
+            assertEquals(event.getNumberOfMatches(), matches.size());
+
+            for (Player player : event.getPlayers())
+                assertEquals(event.getMatchesPerPlayer(),
+                        matches.stream().filter(m -> m.getPlayers().contains(player)).count());
+
+            List<Timeslot> timeslots = event.getTimeslots();
+            for (Match match : matches) {
+                int start = timeslots.indexOf(match.getStartTimeslot());
+                for (int t = start; t < start + event.getTimeslotsPerMatch(); t++) {
+                    Timeslot timeslot = timeslots.get(t);
+                    assertFalse(event.isBreak(timeslot));
+                    assertFalse(event.isLocalizationUnavailable(match.getLocalization(), timeslot));
+                    assertTrue(occupiedLocalizations.computeIfAbsent(match.getLocalization(), l -> new HashSet<>())
+                            .add(timeslot));
+
+                    for (Player player : match.getPlayers()) {
+                        assertFalse(event.isPlayerUnavailable(player, timeslot));
+                        assertTrue(occupiedPlayers.computeIfAbsent(player, p -> new HashSet<>()).add(timeslot));
+                    }
+                }
+
+                for (Player player : match.getPlayers())
+                    if (event.getPlayersInLocalizations().containsKey(player))
+                        assertTrue(event.getPlayersInLocalizations().get(player).contains(match.getLocalization()));
+            }
+        }
+    }
+}
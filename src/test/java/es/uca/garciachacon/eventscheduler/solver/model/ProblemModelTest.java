@@ -0,0 +1,254 @@
+package es.uca.garciachacon.eventscheduler.solver.model;
+
+import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
+import es.uca.garciachacon.eventscheduler.solver.TournamentSolver.MatchupMode;
+import es.uca.garciachacon.eventscheduler.utils.TournamentUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la representación intermedia del problema, {@link ProblemModel}, {@link EventModel} y
+ * {@link MatchupRule}.
+ */
+public class ProblemModelTest {
+    private List<Player> players;
+    private List<Localization> localizations;
+    private List<Timeslot> timeslots;
+    private Event event1, event2;
+    private Tournament tournament;
+
+    @Before
+    public void setUp() {
+        players = TournamentUtils.buildGenericPlayers(8, "Player");
+        localizations = TournamentUtils.buildGenericLocalizations(3, "Court");
+        timeslots = TournamentUtils.buildSimpleTimeslots(8);
+
+        event1 = new Event("Event 1", players.subList(0, 6), localizations.subList(0, 2), timeslots, 2, 2, 2);
+        event2 = new Event("Event 2", players.subList(4, 8), localizations.subList(1, 3), timeslots.subList(2, 8));
+
+        tournament = new Tournament("Tournament", event1, event2);
+    }
+
+    @Test
+    public void resourcesTest() {
+        ProblemModel model = new ProblemModel(tournament);
+
+        assertSame(tournament, model.getTournament());
+        assertEquals(tournament.getAllPlayers(), model.getPlayers());
+        assertEquals(tournament.getAllLocalizations(), model.getLocalizations());
+        assertEquals(tournament.getAllTimeslots(), model.getTimeslots());
+        assertEquals(2, model.getEvents().size());
+        assertEquals(event1.getNumberOfMatches() + event2.getNumberOfMatches(), model.getNumberOfMatches());
+
+        EventModel eventModel = model.getEvent(1);
+        assertSame(event2, eventModel.getEvent());
+        assertEquals(1, eventModel.getIndex());
+        assertEquals(4, eventModel.getNumberOfPlayers());
+        assertEquals(2, eventModel.getNumberOfLocalizations());
+        assertEquals(6, eventModel.getNumberOfTimeslots());
+        assertEquals(event2.getMatchesPerPlayer(), eventModel.getMatchesPerPlayer());
+        assertEquals(event2.getPlayersPerMatch(), eventModel.getPlayersPerMatch());
+        assertEquals(event2.getTimeslotsPerMatch(), eventModel.getTimeslotsPerMatch());
+        assertEquals(MatchupMode.ANY, eventModel.getMatchupMode());
+
+        for (int p = 0; p < eventModel.getNumberOfPlayers(); p++)
+            assertSame(event2.getPlayers().get(p), model.getPlayers().get(eventModel.getGlobalPlayer(p)));
+        for (int c = 0; c < eventModel.getNumberOfLocalizations(); c++)
+            assertSame(event2.getLocalizations().get(c),
+                    model.getLocalizations().get(eventModel.getGlobalLocalization(c))
+            );
+        for (int t = 0; t < eventModel.getNumberOfTimeslots(); t++)
+            assertSame(event2.getTimeslots().get(t), model.getTimeslots().get(eventModel.getGlobalTimeslot(t)));
+
+        // Los modelos son instantáneas del torneo
+        event2.addBreak(timeslots.get(2));
+        assertFalse(eventModel.isBreak(0));
+        assertTrue(new ProblemModel(tournament).getEvent(1).isBreak(0));
+    }
+
+    @Test
+    public void rulesTest() {
+        event1.addBreak(timeslots.get(3));
+        event1.addUnavailablePlayerAtTimeslots(players.get(0), new HashSet<>(timeslots.subList(5, 7)));
+        event1.addUnavailableLocalizationAtTimeslot(localizations.get(1), timeslots.get(0));
+        event1.addPlayerInLocalization(players.get(1), localizations.get(0));
+        event1.addPlayerAtTimeslots(players.get(2), new HashSet<>(timeslots.subList(0, 4)));
+
+        EventModel eventModel = new ProblemModel(tournament).getEvent(0);
+
+        assertTrue(eventModel.isBreak(3));
+        assertFalse(eventModel.isBreak(2));
+
+        assertTrue(eventModel.isPlayerUnavailable(0, 5));
+        assertTrue(eventModel.isPlayerUnavailable(0, 6));
+        assertFalse(eventModel.isPlayerUnavailable(0, 4));
+        assertEquals(0, eventModel.getUnavailableTimeslotsOfPlayer(1).length);
+        assertEquals(new HashSet<>(Arrays.asList(5, 6)), toSet(eventModel.getUnavailableTimeslotsOfPlayer(0)));
+
+        assertTrue(eventModel.isLocalizationUnavailable(1, 0));
+        assertArrayEquals(new int[]{ 0 }, eventModel.getUnavailableTimeslotsOfLocalization(1));
+
+        assertTrue(eventModel.hasAssignedLocalizations(1));
+        assertFalse(eventModel.hasAssignedLocalizations(0));
+        assertTrue(eventModel.isLocalizationAssigned(1, 0));
+        assertFalse(eventModel.isLocalizationAssigned(1, 1));
+        assertTrue(eventModel.isLocalizationAssigned(0, 1));
+
+        assertTrue(eventModel.hasAssignedTimeslots(2));
+        assertTrue(eventModel.isTimeslotAssigned(2, 3));
+        assertFalse(eventModel.isTimeslotAssigned(2, 4));
+
+        assertTrue(eventModel.canPlay(0, 0, 0));
+        assertFalse(eventModel.canPlay(0, 0, 3));
+        assertFalse(eventModel.canPlay(0, 0, 5));
+        assertFalse(eventModel.canPlay(0, 1, 0));
+        assertFalse(eventModel.canPlay(1, 1, 1));
+
+        // Los partidos duran dos timeslots
+        assertTrue(eventModel.canStart(0, 0, 0));
+        assertFalse(eventModel.canStart(0, 0, 2));
+        assertFalse(eventModel.canStart(0, 0, 4));
+        assertTrue(eventModel.canStart(3, 0, 6));
+        assertFalse(eventModel.canStart(3, 0, 7));
+        assertFalse(eventModel.canStart(2, 0, 4));
+        assertTrue(eventModel.canStart(2, 0, 1));
+    }
+
+    @Test
+    public void teamsAndMatchupsTest() {
+        event1.setPlayersPerTeam(2);
+        event1.addTeam(players.get(0), players.get(1));
+        event1.addTeam(players.get(2), players.get(3));
+        event1.setMatchupMode(MatchupMode.CUSTOM);
+
+        Set<Player> matchupPlayers = new HashSet<>(Arrays.asList(players.get(3), players.get(0)));
+        event1.addMatchup(new Matchup(matchupPlayers,
+                new HashSet<>(Collections.singletonList(localizations.get(1))),
+                new HashSet<>(Arrays.asList(timeslots.get(2), timeslots.get(4))),
+                2
+        ));
+
+        EventModel eventModel = new ProblemModel(tournament).getEvent(0);
+
+        int[][] teams = eventModel.getTeams();
+        assertEquals(2, teams.length);
+        assertEquals(new HashSet<>(Arrays.asList(0, 1)), toSet(teams[0]));
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), toSet(teams[1]));
+
+        assertEquals(1, eventModel.getPredefinedMatchups().size());
+        MatchupRule rule = eventModel.getPredefinedMatchups().get(0);
+        assertArrayEquals(new int[]{ 0, 3 }, rule.getPlayers());
+        assertEquals(2, rule.getOccurrences());
+        assertFalse(rule.isLocalizationAllowed(0));
+        assertTrue(rule.isLocalizationAllowed(1));
+        assertTrue(rule.isStartAllowed(2));
+        assertTrue(rule.isStartAllowed(4));
+        assertFalse(rule.isStartAllowed(3));
+
+        assertTrue(new ProblemModel(tournament).getEvent(1).getPredefinedMatchups().isEmpty());
+    }
+
+    @Test
+    public void unrestrictedMatchupTest() {
+        event2.addMatchup(players.get(4), players.get(7));
+
+        MatchupRule rule = new ProblemModel(tournament).getEvent(1).getPredefinedMatchups().get(0);
+        assertArrayEquals(new int[]{ 0, 3 }, rule.getPlayers());
+        for (int c = 0; c < 2; c++)
+            assertTrue(rule.isLocalizationAllowed(c));
+        for (int t = 0; t < 6; t++)
+            assertTrue(rule.isStartAllowed(t));
+    }
+
+    @Test
+    public void domainReductionTest() {
+        // Event 1: 6 jugadores, 2 localizaciones, 8 timeslots, partidos de 2 timeslots
+        event1.addBreak(timeslots.get(4));
+        event1.addUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(1));
+        event1.addPlayerAtTimeslots(players.get(5), new HashSet<>(timeslots.subList(0, 3)));
+
+        EventModel eventModel = new ProblemModel(tournament).getEvent(0);
+
+        // Ventanas de los breaks y de la no disponibilidad, y final de la categoría
+        for (int c = 0; c < 2; c++) {
+            assertFalse(eventModel.isFeasibleStart(1, c, 3));
+            assertFalse(eventModel.isFeasibleStart(1, c, 4));
+            assertTrue(eventModel.isFeasibleStart(1, c, 5));
+            assertFalse(eventModel.isFeasibleStart(1, c, 7));
+
+            assertFalse(eventModel.isFeasibleStart(0, c, 0));
+            assertFalse(eventModel.isFeasibleStart(0, c, 1));
+            assertTrue(eventModel.isFeasibleStart(0, c, 2));
+        }
+        assertEquals(2 * 5, eventModel.getNumberOfFeasibleStarts(1));
+
+        // Los timeslots asignados reducen también los timeslots en los que el jugador puede estar jugando
+        assertTrue(eventModel.isFeasibleStart(5, 0, 2));
+        assertFalse(eventModel.isFeasibleStart(5, 0, 5));
+        assertTrue(eventModel.isFeasiblePlay(5, 0, 3));
+        assertFalse(eventModel.isFeasiblePlay(5, 0, 4));
+        assertFalse(eventModel.isFeasiblePlay(5, 0, 6));
+        assertTrue(eventModel.isFeasiblePlay(1, 0, 6));
+        assertFalse(eventModel.isFeasiblePlay(0, 0, 1));
+    }
+
+    @Test
+    public void teamDomainReductionTest() {
+        event1.setPlayersPerTeam(2);
+        event1.addTeam(players.get(0), players.get(1));
+        event1.addUnavailablePlayerAtTimeslot(players.get(0), timeslots.get(0));
+        event1.addPlayerInLocalization(players.get(1), localizations.get(1));
+
+        EventModel eventModel = new ProblemModel(tournament).getEvent(0);
+
+        // Cada miembro del equipo hereda las reglas del otro
+        for (int p = 0; p < 2; p++) {
+            assertFalse(eventModel.isFeasibleStart(p, 0, 2));
+            assertFalse(eventModel.isFeasibleStart(p, 1, 0));
+            assertTrue(eventModel.isFeasibleStart(p, 1, 1));
+        }
+        assertTrue(eventModel.canStart(0, 0, 2));
+        assertTrue(eventModel.isFeasibleStart(2, 0, 0));
+    }
+
+    @Test
+    public void matchupDomainReductionTest() {
+        // Event 2: un partido por jugador, luego el enfrentamiento abarca todos los partidos de sus jugadores
+        event2.addUnavailablePlayerAtTimeslot(players.get(7), timeslots.get(3));
+        event2.addMatchup(new Matchup(new HashSet<>(Arrays.asList(players.get(4), players.get(7))),
+                new HashSet<>(Collections.singletonList(localizations.get(2))),
+                new HashSet<>(),
+                1
+        ));
+
+        EventModel eventModel = new ProblemModel(tournament).getEvent(1);
+
+        // Localización 2 del torneo es la localización 1 de la categoría, y el timeslot 3 es el 1 de la categoría
+        for (int p : new int[]{ 0, 3 }) {
+            assertFalse(eventModel.isFeasibleStart(p, 0, 2));
+            assertFalse(eventModel.isFeasibleStart(p, 1, 0));
+            assertFalse(eventModel.isFeasibleStart(p, 1, 1));
+            assertTrue(eventModel.isFeasibleStart(p, 1, 2));
+        }
+        assertTrue(eventModel.isFeasibleStart(1, 0, 0));
+
+        // Con más de un partido por jugador en modo ANY, el enfrentamiento no abarca todos sus partidos
+        event1.addMatchup(new Matchup(new HashSet<>(Arrays.asList(players.get(0), players.get(1))),
+                new HashSet<>(Collections.singletonList(localizations.get(1))),
+                new HashSet<>(),
+                1
+        ));
+        assertTrue(new ProblemModel(tournament).getEvent(0).isFeasibleStart(0, 0, 0));
+    }
+
+    private static Set<Integer> toSet(int[] array) {
+        Set<Integer> set = new HashSet<>();
+        for (int i : array)
+            set.add(i);
+        return set;
+    }
+}
@@ -2,7 +2,9 @@ package es.uca.garciachacon.eventscheduler.suites;
 
 import es.uca.garciachacon.eventscheduler.data.model.schedule.InverseScheduleTest;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.MatchTest;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.ScheduleDiffTest;
 import es.uca.garciachacon.eventscheduler.data.model.schedule.ScheduleTest;
+import es.uca.garciachacon.eventscheduler.data.model.schedule.ScheduleVerifierTest;
 import es.uca.garciachacon.eventscheduler.data.model.tournament.*;
 import es.uca.garciachacon.eventscheduler.data.validation.ValidationTest;
 import es.uca.garciachacon.eventscheduler.rest.EventSchedulerServiceTest;
@@ -11,7 +13,12 @@ import es.uca.garciachacon.eventscheduler.rest.deserializer.TournamentDeserializ
 import es.uca.garciachacon.eventscheduler.rest.serializer.ScheduleSerializerTest;
 import es.uca.garciachacon.eventscheduler.rest.serializer.TimeslotSerializerTest;
 import es.uca.garciachacon.eventscheduler.rest.serializer.TournamentSerializerTest;
+import es.uca.garciachacon.eventscheduler.solver.ScheduleCacheTest;
+import es.uca.garciachacon.eventscheduler.solver.SolutionCounterTest;
 import es.uca.garciachacon.eventscheduler.solver.TournamentSolverTest;
+import es.uca.garciachacon.eventscheduler.solver.benchmark.EngineBenchmarkTest;
+import es.uca.garciachacon.eventscheduler.solver.localsearch.LocalSearchSolverTest;
+import es.uca.garciachacon.eventscheduler.solver.model.ProblemModelTest;
 import es.uca.garciachacon.eventscheduler.utils.TournamentUtilsTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -22,7 +29,10 @@ import org.junit.runners.Suite.SuiteClasses;
         TimeslotTest.class, TournamentTest.class, ScheduleTest.class, MatchTest.class, InverseScheduleTest.class,
         ValidationTest.class, TournamentSolverTest.class, TournamentUtilsTest.class, MatchupTest.class,
         TimeslotSerializerTest.class, TournamentSerializerTest.class, ScheduleSerializerTest.class,
-        TimeslotDeserializerTest.class, TournamentDeserializerTest.class, EventSchedulerServiceTest.class
+        TimeslotDeserializerTest.class, TournamentDeserializerTest.class, EventSchedulerServiceTest.class,
+        LocalSearchSolverTest.class, ProblemModelTest.class, EngineBenchmarkTest.class, SolutionCounterTest.class,
+        ScheduleDiffTest.class, ScheduleCacheTest.class, TimeslotOrderTest.class, BatchEditTest.class,
+        EntityIndexTest.class, ScheduleVerifierTest.class
 })
 public class AllTestsSuite {
     // clase vacía, solamente se usa para las anotaciones de arriba